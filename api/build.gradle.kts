@@ -44,6 +44,30 @@ tasks.register<JavaExec>("jmh") {
     args = listOf("org.xxdc.oss.example.interop.benchmark.PlayerIdsBenchmark")
 }
 
+// Solve small boards offline into a perfect-play tablebase
+// e.g. ./gradlew :api:generateTablebase --args="4 build/tablebase/tablebase-4x4.ttb"
+tasks.register<JavaExec>("generateTablebase") {
+    group = "build"
+    description = "Generates the perfect-play tablebase of two-player games on small boards."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("org.xxdc.oss.example.bot.tablebase.TablebaseGenerator")
+    // 4x4 boards hold about a million positions in memory while solving
+    maxHeapSize = "3g"
+    val output = layout.buildDirectory.file("tablebase/tablebase-3x3.ttb").get().asFile
+    args = listOf("3", output.path)
+}
+
+// Count the opening moves of offline self-play into an opening book
+// e.g. ./gradlew :api:generateOpeningBook --args="4 2 4 50 2000 mcts build/book/opening-book-4x4.tob"
+tasks.register<JavaExec>("generateOpeningBook") {
+    group = "build"
+    description = "Generates an opening book of 4x4 games from offline self-play."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("org.xxdc.oss.example.bot.tablebase.OpeningBookGenerator")
+    val output = layout.buildDirectory.file("book/opening-book-4x4.tob").get().asFile
+    args = listOf("4", "2", "4", "50", "2000", "mcts", output.path)
+}
+
 // TODO: Disable preview features on the branch when the next JDK is released
 val enablePreviewFeatures = true
 
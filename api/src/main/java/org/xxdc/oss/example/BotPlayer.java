@@ -1,8 +1,10 @@
 package org.xxdc.oss.example;
 
 import java.io.Serializable;
+import java.util.concurrent.Executor;
 import java.util.function.ToIntFunction;
 import org.xxdc.oss.example.bot.BotStrategy;
+import org.xxdc.oss.example.bot.MoveSearch;
 
 /**
  * Represents a bot player in the game. The bot player uses a random number generator to make moves
@@ -23,4 +25,16 @@ public record BotPlayer(ToIntFunction<GameState> strategyFunction) implements Pl
   public int nextMove(GameState state) {
     return strategyFunction.applyAsInt(state);
   }
+
+  /**
+   * Starts choosing the bot's next move on the executor, returning a search that the caller can
+   * wait on, bound with a deadline, or cancel to take the best move so far.
+   *
+   * @param state the current state of the game
+   * @param executor the executor to search on
+   * @return the started search for the next move
+   */
+  public MoveSearch nextMoveAsync(GameState state, Executor executor) {
+    return MoveSearch.start(strategyFunction, state, executor);
+  }
 }
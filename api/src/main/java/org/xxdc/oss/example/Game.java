@@ -6,17 +6,19 @@ import java.io.Serializable;
 import java.lang.System.Logger;
 import java.lang.System.Logger.Level;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.Optional;
 import java.util.SequencedCollection;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 /**
  * Represents a game of Tic-Tac-Toe, including the game board, players, and game state. The game can
- * be serialized and persisted to a file, and loaded from a file. The game can be played by
- * alternating moves between human and bot players.
+ * be encoded with {@link GameCodec} and persisted to a file, and loaded from a file. The game can
+ * be played by alternating moves between human and bot players.
  */
 public class Game implements Serializable, AutoCloseable {
 
@@ -38,6 +40,21 @@ public class Game implements Serializable, AutoCloseable {
 
   private final transient Consumer<GameContext.Builder> contextCustomizer;
 
+  private transient Path journalDirectory;
+
+  private transient GameJournal.FlushPolicy journalFlushPolicy;
+
+  private transient GamePersistenceWriter persistenceWriter;
+
+  private transient CompletableFuture<Void> lastSave;
+
+  private transient boolean lowAllocation;
+
+  /** The moves of the low-allocation loop not yet added to the history, in order. */
+  private transient int[] pendingMoves;
+
+  private transient int pendingMoveCount;
+
   /**
    * Constructs a new {@link Game} instance with a 3x3 game board, persistence enabled, and a human
    * player as player 'X' and a bot player as player 'O'.
@@ -83,6 +100,23 @@ public class Game implements Serializable, AutoCloseable {
     this.contextCustomizer = contextCustomizer;
   }
 
+  /**
+   * Reconstructs a previously persisted game from its identifier, players and history. Used by
+   * {@link GameCodec} to restore a game without reflection.
+   */
+  Game(
+      UUID gameId,
+      PlayerNodes playerNodes,
+      boolean persistenceEnabled,
+      Deque<GameState> gameState) {
+    this.playerNodes = playerNodes;
+    this.gameId = gameId;
+    this.moveNumber = gameState.size() - 1;
+    this.gameState = gameState;
+    this.persistenceEnabled = persistenceEnabled;
+    this.contextCustomizer = null;
+  }
+
   /**
    * Convenience constructor with default size and persistence flags, but allowing context
    * customization.
@@ -99,7 +133,7 @@ public class Game implements Serializable, AutoCloseable {
   /**
    * Loads a {@link Game} instance from the specified file.
    *
-   * @param gameFile The file containing the serialized {@link Game} instance.
+   * @param gameFile The file containing the encoded, or legacy serialized, {@link Game} instance.
    * @return The loaded {@link Game} instance.
    * @throws IOException If an I/O error occurs while reading the file.
    * @throws ClassNotFoundException If the serialized class cannot be found.
@@ -109,6 +143,68 @@ public class Game implements Serializable, AutoCloseable {
     return persistence.loadFrom(gameFile);
   }
 
+  /**
+   * Enables journaled persistence. Rather than writing a new file holding the whole game after each
+   * move, the game appends each move as a checksummed record to a single {@link GameJournal},
+   * {@code <gameId>.journal}, in the given directory. Recover the game from its journal with {@link
+   * #from(File)}.
+   *
+   * @param directory the directory to create the journal in
+   * @param flushPolicy when appended moves are forced to storage
+   * @return this game
+   */
+  public Game withJournal(Path directory, GameJournal.FlushPolicy flushPolicy) {
+    this.journalDirectory = directory;
+    this.journalFlushPolicy = flushPolicy;
+    return this;
+  }
+
+  /**
+   * Saves the game asynchronously with the given writer when persistence is enabled, so the move
+   * loop no longer waits for each save to reach storage. Use {@link #persisted()} to wait for the
+   * game's saves to become durable.
+   *
+   * @param persistenceWriter the writer to submit saves to
+   * @return this game
+   */
+  public Game withPersistenceWriter(GamePersistenceWriter persistenceWriter) {
+    this.persistenceWriter = persistenceWriter;
+    return this;
+  }
+
+  /**
+   * Returns a future completed once the latest save submitted to the {@link
+   * #withPersistenceWriter(GamePersistenceWriter) persistence writer} is durable. Completed
+   * immediately if the game saves synchronously or has not been saved.
+   *
+   * @return the durability of the game's latest save
+   */
+  public CompletableFuture<Void> persisted() {
+    return lastSave == null ? CompletableFuture.completedFuture(null) : lastSave;
+  }
+
+  /**
+   * Plays the game in a low-allocation loop, for running many local games on a small heap. Moves
+   * are placed on one mutable board and logged in an array sized for every move of the game, rather
+   * than each move copying the board into a new game state for the history, which is instead built
+   * from the logged moves when {@link #history()} is next called. The board is only rendered when
+   * logging at INFO, and no temporary directory is created unless persistence is enabled. Saves of
+   * the game encode the logged moves, so persisting each move allocates only its encoding.
+   *
+   * <p>Players are handed the mutable board in the game state of their turn, so must not keep the
+   * state past choosing their move. Players searching on other threads that may run on once they
+   * have moved, such as strategies bounded by {@link
+   * org.xxdc.oss.example.bot.BotStrategy#withThinkTime think-time}, search a {@link
+   * GameState#snapshot() snapshot} of the state, as every search {@link
+   * org.xxdc.oss.example.bot.MoveSearch#start started} on an executor does.
+   *
+   * @return this game
+   */
+  public Game withLowAllocation() {
+    this.lowAllocation = true;
+    return this;
+  }
+
   /**
    * Constructs a new {@link Game} instance with a 3x3 game board, persistence disabled, and a bot
    * player as player 'X' and a bot player as player 'O'.
@@ -141,7 +237,11 @@ public class Game implements Serializable, AutoCloseable {
     ScopedValue.where(gameContext, newGameContext())
         .run(
             () -> {
-              try {
+              try (GameJournal journal = openJournal()) {
+                if (lowAllocation) {
+                  playLowAllocation(journal, postMoveAction);
+                  return;
+                }
                 GamePersistence persistence = new GamePersistence();
                 File persistenceDir = gameFileDirectory();
                 GameState state = currentGameState();
@@ -157,7 +257,11 @@ public class Game implements Serializable, AutoCloseable {
                   moveNumber += 1;
                   var newState = state.afterPlayerMoves(currentPlayer.applyAsInt(state));
                   state = pushGameState(newState);
-                  if (persistenceEnabled && state.board() instanceof Serializable) {
+                  if (journal != null) {
+                    journal.append(moveNumber, state.lastMove());
+                  } else if (persistenceEnabled && persistenceWriter != null) {
+                    lastSave = persistenceWriter.submit(gameFile(persistenceDir), this);
+                  } else if (persistenceEnabled) {
                     persistence.saveTo(gameFile(persistenceDir), this);
                   }
                   winningPlayer = checkWon(state);
@@ -179,6 +283,52 @@ public class Game implements Serializable, AutoCloseable {
             });
   }
 
+  /** Plays the game on a mutable board, logging the moves to add to the history on demand. */
+  private void playLowAllocation(GameJournal journal, Consumer<Game> postMoveAction)
+      throws Exception {
+    GameState initial = currentGameState();
+    var board = new GameBoardMutableImpl(initial.board());
+    var markers = initial.playerMarkers();
+    int player = initial.currentPlayerIndex();
+    int lastMove = initial.lastMove();
+    boolean won = lastMove > -1 && initial.lastPlayerHasChain();
+    pendingMoves = new int[board.dimension() * board.dimension()];
+    pendingMoveCount = 0;
+    GamePersistence persistence = new GamePersistence();
+    File persistenceDir = persistenceEnabled && journal == null ? gameFileDirectory() : null;
+
+    playerNodes.render();
+    while (!won && board.hasMovesAvailable()) {
+      renderBoard(board);
+      moveNumber += 1;
+      int move =
+          playerNodes.byIndex(player).applyAsInt(new GameState(board, markers, player, lastMove));
+      won = board.place(markers.get(player), move);
+      pendingMoves[pendingMoveCount++] = move;
+      lastMove = move;
+      player = (player + 1) % markers.size();
+      if (journal != null) {
+        journal.append(moveNumber, move);
+      } else if (persistenceEnabled && persistenceWriter != null) {
+        lastSave = persistenceWriter.submit(gameFile(persistenceDir), this);
+      } else if (persistenceEnabled) {
+        persistence.saveTo(gameFile(persistenceDir), this);
+      }
+      if (postMoveAction != null) {
+        postMoveAction.accept(this);
+      }
+    }
+
+    if (won) {
+      int winner = (player + markers.size() - 1) % markers.size();
+      log.log(Level.INFO, "Winner: Player {0}!", markers.get(winner));
+    } else {
+      log.log(Level.INFO, "Tie Game!");
+    }
+    renderBoard(board);
+    close();
+  }
+
   private GameContext newGameContext() {
     var builder = new GameContext.Builder().id(id().toString());
     if (contextCustomizer != null) {
@@ -212,14 +362,52 @@ public class Game implements Serializable, AutoCloseable {
 
   /** Returns the history of the game, including all moves made. */
   public SequencedCollection<GameState> history() {
+    if (pendingMoveCount > 0) {
+      var state = gameState.peekLast();
+      for (int i = 0; i < pendingMoveCount; i++) {
+        state = pushGameState(state.afterPlayerMoves(pendingMoves[i]));
+      }
+      pendingMoveCount = 0;
+    }
     return gameState;
   }
 
+  /** Returns the state the game started from. */
+  GameState initialState() {
+    return gameState.getFirst();
+  }
+
+  /**
+   * Returns the moves made, in order, without building the history of moves made by the
+   * low-allocation loop.
+   */
+  int[] moves() {
+    var moves = new int[gameState.size() - 1 + pendingMoveCount];
+    var states = gameState.iterator();
+    states.next();
+    int count = 0;
+    while (states.hasNext()) {
+      moves[count++] = states.next().lastMove();
+    }
+    for (int i = 0; i < pendingMoveCount; i++) {
+      moves[count++] = pendingMoves[i];
+    }
+    return moves;
+  }
+
   /** Returns the current move number. */
   public int moveNumber() {
     return moveNumber;
   }
 
+  PlayerNodes playerNodes() {
+    return playerNodes;
+  }
+
+  boolean persistenceEnabled() {
+    return persistenceEnabled;
+  }
+
   /** Returns the current game context, if any. */
   public static Optional<GameContext> gameContext() {
     return gameContext.isBound() ? Optional.of(gameContext.get()) : Optional.empty();
@@ -235,6 +423,13 @@ public class Game implements Serializable, AutoCloseable {
         : Optional.empty();
   }
 
+  private GameJournal openJournal() throws IOException {
+    return journalDirectory == null
+        ? null
+        : GameJournal.create(
+            journalDirectory.resolve(gameId + ".journal"), this, journalFlushPolicy);
+  }
+
   private File gameFileDirectory() throws IOException {
     return Files.createTempDirectory(String.valueOf(gameId)).toFile();
   }
@@ -249,7 +444,13 @@ public class Game implements Serializable, AutoCloseable {
   }
 
   private void renderBoard() {
-    log.log(Level.INFO, "\n" + currentGameState().board());
+    renderBoard(currentGameState().board());
+  }
+
+  private void renderBoard(GameBoard board) {
+    if (log.isLoggable(Level.INFO)) {
+      log.log(Level.INFO, "\n" + board);
+    }
   }
 
   private GameState currentGameState() {
@@ -0,0 +1,157 @@
+package org.xxdc.oss.example;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * A game board changed in place, move by move, for the {@link Game#withLowAllocation()
+ * low-allocation} game loop. Moves are {@link #place placed} and {@link #undo undone} on the one
+ * board, rather than each move copying the board as {@link #withMove} does, and placing a move
+ * reports whether it completes a line, examining only the lines through it.
+ *
+ * <p>The board is handed to players in the game state of their turn, for them to choose their move
+ * from, so players must not keep it past their move: {@link #withMove} and {@link #content()}
+ * return copies of the board to keep.
+ */
+final class GameBoardMutableImpl implements GameBoard, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final int dimension;
+
+  private final String[] content;
+
+  private int marks;
+
+  /**
+   * Constructs a new mutable board holding the given board's marks.
+   *
+   * @param board the board to copy
+   */
+  GameBoardMutableImpl(GameBoard board) {
+    this.dimension = board.dimension();
+    this.content = board.content().clone();
+    for (String cell : content) {
+      marks += cell == null ? 0 : 1;
+    }
+  }
+
+  /**
+   * Places the player's marker at the location.
+   *
+   * @param playerMarker the player's marker
+   * @param location the empty location
+   * @return true if the marker completes a row, column or diagonal
+   * @throws InvalidMoveException if the location is not empty
+   */
+  boolean place(String playerMarker, int location) {
+    if (!isValidMove(location)) {
+      throw new InvalidMoveException("Invalid move: " + playerMarker + "@" + location);
+    }
+    boolean completesLine = ThreatIndex.wouldCompleteLine(this, playerMarker, location);
+    content[location] = playerMarker;
+    marks++;
+    return completesLine;
+  }
+
+  /**
+   * Removes the marker placed at the location, undoing its move.
+   *
+   * @param location the marked location
+   * @throws IllegalArgumentException if the location is not marked
+   */
+  void undo(int location) {
+    if (location < 0 || location >= content.length || content[location] == null) {
+      throw new IllegalArgumentException("Location is not marked: " + location);
+    }
+    content[location] = null;
+    marks--;
+  }
+
+  @Override
+  public boolean isValidMove(int location) {
+    return location >= 0 && location < content.length && content[location] == null;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return marks == 0;
+  }
+
+  @Override
+  public boolean hasPlayer(String playerMarker, int location) {
+    return location >= 0 && location < content.length && playerMarker.equals(content[location]);
+  }
+
+  @Override
+  public boolean hasChain(String playerMarker) {
+    for (int i = 0; i < dimension; i++) {
+      if (isLine(playerMarker, i * dimension, 1) || isLine(playerMarker, i, dimension)) {
+        return true;
+      }
+    }
+    return isLine(playerMarker, 0, dimension + 1)
+        || isLine(playerMarker, dimension - 1, dimension - 1);
+  }
+
+  private boolean isLine(String playerMarker, int start, int step) {
+    for (int i = 0, cell = start; i < dimension; i++, cell += step) {
+      if (!playerMarker.equals(content[cell])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean hasMovesAvailable() {
+    return marks < content.length;
+  }
+
+  @Override
+  public GameBoard withMove(String playerMarker, int location) {
+    if (!isValidMove(location)) {
+      throw new InvalidMoveException("Invalid move: " + playerMarker + "@" + location);
+    }
+    String[] boardCopy = content.clone();
+    boardCopy[location] = playerMarker;
+    return new GameBoardLocalImpl(dimension, boardCopy);
+  }
+
+  @Override
+  public int dimension() {
+    return dimension;
+  }
+
+  @Override
+  public String[] content() {
+    return content.clone();
+  }
+
+  @Override
+  public String asJsonString() {
+    StringBuilder json = new StringBuilder();
+    json.append("{");
+    json.append("\"dimension\":").append(dimension).append(",");
+    json.append("\"content\":")
+        .append(
+            Arrays.stream(content)
+                .map(m -> m == null ? "null" : "\"" + m + "\"")
+                .collect(Collectors.joining(",", "[", "]")));
+    json.append("}");
+    return json.toString();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder board = new StringBuilder(content.length + dimension);
+    for (int location = 0; location < content.length; location++) {
+      board.append(content[location] == null ? "_" : content[location]);
+      if (location % dimension == dimension - 1) {
+        board.append('\n');
+      }
+    }
+    return board.toString();
+  }
+}
@@ -0,0 +1,215 @@
+package org.xxdc.oss.example;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.UUID;
+
+/**
+ * A compact, versioned binary codec for {@link Game}. Rather than the full object graph, a game is
+ * encoded as a fixed header, its player markers and its move log; the history of {@link GameState}s
+ * is rebuilt on decode by replaying the moves, without reflection.
+ *
+ * <p>Layout (version 1), integers big-endian, {@code varint} unsigned LEB128:
+ *
+ * <pre>
+ * magic      int      'T' 'T' 'T' 'G'
+ * version    byte     1
+ * flags      byte     bit 0: persistence enabled
+ * gameId     long,long  most, least significant bits
+ * dimension  varint
+ * first      varint   index of the player to move first
+ * players    varint   count, then per player: kind byte, marker varint length + UTF-8
+ * moves      varint   count, then per move: board location varint
+ * </pre>
+ *
+ * <p>Player implementations are not encoded, only their kind: local humans are restored as {@link
+ * HumanPlayer}s, and local bots and remote players as local {@link BotPlayer}s with the default
+ * strategy.
+ */
+public final class GameCodec {
+
+  /** The magic number identifying an encoded game, "TTTG" in ASCII. */
+  public static final int MAGIC = 0x54545447;
+
+  /** The current version of the encoding. */
+  public static final byte VERSION = 1;
+
+  private static final byte FLAG_PERSISTENCE_ENABLED = 0x01;
+
+  private static final byte PLAYER_BOT = 0;
+
+  private static final byte PLAYER_HUMAN = 1;
+
+  private static final byte PLAYER_REMOTE = 2;
+
+  private GameCodec() {}
+
+  /**
+   * Encodes the given game.
+   *
+   * @param game the game to encode
+   * @return the encoded game
+   */
+  public static byte[] encode(Game game) {
+    var initial = game.initialState();
+    var moves = game.moves();
+    var playerNodes = game.playerNodes();
+    var markers = playerNodes.playerMarkerList();
+    var out = new ByteArrayOutputStream(64 + moves.length);
+    writeInt(out, MAGIC);
+    out.write(VERSION);
+    out.write(game.persistenceEnabled() ? FLAG_PERSISTENCE_ENABLED : 0);
+    writeLong(out, game.id().getMostSignificantBits());
+    writeLong(out, game.id().getLeastSignificantBits());
+    writeVarint(out, initial.board().dimension());
+    writeVarint(out, initial.currentPlayerIndex());
+    writeVarint(out, markers.size());
+    for (int i = 0; i < markers.size(); i++) {
+      out.write(playerKind(playerNodes.byIndex(i)));
+      var marker = markers.get(i).getBytes(StandardCharsets.UTF_8);
+      writeVarint(out, marker.length);
+      out.writeBytes(marker);
+    }
+    writeVarint(out, moves.length);
+    for (int move : moves) {
+      writeVarint(out, move);
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Encodes the given game to the given stream.
+   *
+   * @param game the game to encode
+   * @param out the stream to write the encoded game to
+   * @throws IOException if an I/O error occurs while writing
+   */
+  public static void write(Game game, OutputStream out) throws IOException {
+    out.write(encode(game));
+  }
+
+  /**
+   * Decodes a game from the given buffer, starting at its position. On return the buffer is
+   * positioned after the encoded game, so buffers holding several consecutive games can be decoded
+   * in turn.
+   *
+   * @param buffer the buffer holding the encoded game
+   * @return the decoded game
+   * @throws IOException if the buffer does not hold a valid encoded game
+   */
+  public static Game decode(ByteBuffer buffer) throws IOException {
+    try {
+      if (buffer.getInt() != MAGIC) {
+        throw new IOException("Not an encoded game");
+      }
+      byte version = buffer.get();
+      if (version != VERSION) {
+        throw new IOException("Unsupported game encoding version: " + version);
+      }
+      boolean persistenceEnabled = (buffer.get() & FLAG_PERSISTENCE_ENABLED) != 0;
+      var gameId = new UUID(buffer.getLong(), buffer.getLong());
+      int dimension = readVarint(buffer);
+      int firstPlayerIndex = readVarint(buffer);
+      int playerCount = readVarint(buffer);
+      var players = new PlayerNode[playerCount];
+      var markers = new ArrayList<String>(playerCount);
+      for (int i = 0; i < playerCount; i++) {
+        byte kind = buffer.get();
+        var marker = new byte[readVarint(buffer)];
+        buffer.get(marker);
+        markers.add(new String(marker, StandardCharsets.UTF_8));
+        players[i] = playerNode(kind, markers.get(i));
+      }
+      int moveCount = readVarint(buffer);
+      var history = new ArrayDeque<GameState>(moveCount + 1);
+      var state = new GameState(GameBoard.withDimension(dimension), markers, firstPlayerIndex);
+      history.add(state);
+      for (int i = 0; i < moveCount; i++) {
+        state = state.afterPlayerMoves(readVarint(buffer));
+        history.add(state);
+      }
+      return new Game(gameId, PlayerNodes.of(players), persistenceEnabled, history);
+    } catch (BufferUnderflowException e) {
+      throw new IOException("Truncated encoded game", e);
+    } catch (InvalidMoveException e) {
+      throw new IOException("Corrupt encoded game: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Decodes a game from the given bytes.
+   *
+   * @param bytes the encoded game
+   * @return the decoded game
+   * @throws IOException if the bytes do not hold a valid encoded game
+   */
+  public static Game decode(byte[] bytes) throws IOException {
+    return decode(ByteBuffer.wrap(bytes));
+  }
+
+  /**
+   * Decodes a game from the remaining contents of the given stream.
+   *
+   * @param in the stream to read the encoded game from
+   * @return the decoded game
+   * @throws IOException if an I/O error occurs or the stream does not hold a valid encoded game
+   */
+  public static Game read(InputStream in) throws IOException {
+    return decode(in.readAllBytes());
+  }
+
+  private static byte playerKind(PlayerNode player) {
+    return switch (player) {
+      case PlayerNode.Local<?> local when local.player() instanceof HumanPlayer -> PLAYER_HUMAN;
+      case PlayerNode.Local<?> local -> PLAYER_BOT;
+      case PlayerNode.Remote remote -> PLAYER_REMOTE;
+    };
+  }
+
+  private static PlayerNode playerNode(byte kind, String marker) throws IOException {
+    return switch (kind) {
+      case PLAYER_HUMAN -> new PlayerNode.Local<>(marker, new HumanPlayer());
+      case PLAYER_BOT, PLAYER_REMOTE -> new PlayerNode.Local<>(marker, new BotPlayer());
+      default -> throw new IOException("Unknown player kind: " + kind);
+    };
+  }
+
+  private static void writeInt(ByteArrayOutputStream out, int value) {
+    out.write(value >>> 24);
+    out.write(value >>> 16);
+    out.write(value >>> 8);
+    out.write(value);
+  }
+
+  private static void writeLong(ByteArrayOutputStream out, long value) {
+    writeInt(out, (int) (value >>> 32));
+    writeInt(out, (int) value);
+  }
+
+  private static void writeVarint(ByteArrayOutputStream out, int value) {
+    while ((value & ~0x7F) != 0) {
+      out.write((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.write(value);
+  }
+
+  private static int readVarint(ByteBuffer buffer) throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+      byte b = buffer.get();
+      value |= (b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed varint");
+  }
+}
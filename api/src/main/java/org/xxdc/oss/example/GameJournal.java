@@ -0,0 +1,276 @@
+package org.xxdc.oss.example;
+
+import java.io.IOException;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.zip.CRC32C;
+
+/**
+ * An append-only journal of the moves of a single game. The journal starts with a header holding
+ * the {@link GameCodec} encoding of the game when it was opened, followed by one fixed-size,
+ * checksummed record per move, so each move costs a constant 12 bytes of I/O rather than a rewrite
+ * of the whole game.
+ *
+ * <p>Layout, integers big-endian, checksums CRC-32C:
+ *
+ * <pre>
+ * header  magic int 'T' 'T' 'T' 'J' | version byte | length int | encoded game | checksum int
+ * record  move number int | board location int | checksum int
+ * </pre>
+ *
+ * <p>How often appended records are forced to storage is set by the {@link FlushPolicy}. After a
+ * crash, {@link #recover(Path)} restores the game up to the last complete record and truncates any
+ * torn record left at the end of the journal; {@link #read(Path)} restores the game the same way
+ * without changing the journal.
+ */
+public final class GameJournal implements AutoCloseable {
+
+  private static final Logger log = System.getLogger(GameJournal.class.getName());
+
+  /** The magic number identifying a game journal, "TTTJ" in ASCII. */
+  public static final int MAGIC = 0x5454544A;
+
+  /** The current version of the journal layout. */
+  public static final byte VERSION = 1;
+
+  /** The default number of records forced to storage together under group commit. */
+  public static final int DEFAULT_GROUP_COMMIT_SIZE = 8;
+
+  private static final int HEADER_PREFIX_LENGTH = Integer.BYTES + 1 + Integer.BYTES;
+
+  private static final int RECORD_LENGTH = 3 * Integer.BYTES;
+
+  /** When appended records are forced to storage. */
+  public enum FlushPolicy {
+    /** Every record is forced to storage before {@link #append} returns. */
+    PER_MOVE,
+    /** Records are forced to storage together once a group of them has been appended. */
+    GROUP_COMMIT,
+    /** Records are left to the operating system to write back; forced only on close. */
+    ASYNC
+  }
+
+  private final FileChannel channel;
+
+  private final FlushPolicy flushPolicy;
+
+  private final int groupCommitSize;
+
+  private final ByteBuffer record = ByteBuffer.allocate(RECORD_LENGTH);
+
+  private final CRC32C checksum = new CRC32C();
+
+  private int unflushedRecords;
+
+  private GameJournal(FileChannel channel, FlushPolicy flushPolicy, int groupCommitSize) {
+    this.channel = channel;
+    this.flushPolicy = flushPolicy;
+    this.groupCommitSize = groupCommitSize;
+  }
+
+  /**
+   * Creates a new journal for the given game, replacing any existing file, and writes its header.
+   *
+   * @param journalFile the journal file to create
+   * @param game the game to journal, as of its current move
+   * @param flushPolicy when appended records are forced to storage
+   * @return the open journal
+   * @throws IOException if an I/O error occurs while creating the journal
+   */
+  public static GameJournal create(Path journalFile, Game game, FlushPolicy flushPolicy)
+      throws IOException {
+    return create(journalFile, game, flushPolicy, DEFAULT_GROUP_COMMIT_SIZE);
+  }
+
+  /**
+   * Creates a new journal for the given game, replacing any existing file, and writes its header.
+   *
+   * @param journalFile the journal file to create
+   * @param game the game to journal, as of its current move
+   * @param flushPolicy when appended records are forced to storage
+   * @param groupCommitSize the number of records forced together under {@link
+   *     FlushPolicy#GROUP_COMMIT}
+   * @return the open journal
+   * @throws IOException if an I/O error occurs while creating the journal
+   * @throws IllegalArgumentException if the group commit size is not positive
+   */
+  public static GameJournal create(
+      Path journalFile, Game game, FlushPolicy flushPolicy, int groupCommitSize)
+      throws IOException {
+    if (groupCommitSize <= 0) {
+      throw new IllegalArgumentException("Group commit size must be positive");
+    }
+    var encoded = GameCodec.encode(game);
+    var header = ByteBuffer.allocate(HEADER_PREFIX_LENGTH + encoded.length + Integer.BYTES);
+    header.putInt(MAGIC).put(VERSION).putInt(encoded.length).put(encoded);
+    header.putInt(checksumOf(header.array(), 0, header.position()));
+    header.flip();
+    var channel =
+        FileChannel.open(
+            journalFile,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE);
+    try {
+      while (header.hasRemaining()) {
+        channel.write(header);
+      }
+      channel.force(true);
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+    log.log(Level.DEBUG, "Created game journal {0} with {1} policy.", journalFile, flushPolicy);
+    return new GameJournal(channel, flushPolicy, groupCommitSize);
+  }
+
+  /**
+   * Appends a move to the journal, forcing it to storage as required by the flush policy.
+   *
+   * @param moveNumber the number of the move, starting at 1
+   * @param location the board location the move was made at
+   * @throws IOException if an I/O error occurs while appending
+   */
+  public void append(int moveNumber, int location) throws IOException {
+    record.clear();
+    record.putInt(moveNumber).putInt(location);
+    checksum.reset();
+    checksum.update(record.array(), 0, 2 * Integer.BYTES);
+    record.putInt((int) checksum.getValue());
+    record.flip();
+    while (record.hasRemaining()) {
+      channel.write(record);
+    }
+    unflushedRecords++;
+    switch (flushPolicy) {
+      case PER_MOVE -> flush();
+      case GROUP_COMMIT -> {
+        if (unflushedRecords >= groupCommitSize) {
+          flush();
+        }
+      }
+      case ASYNC -> {}
+    }
+  }
+
+  /**
+   * Forces all appended records to storage.
+   *
+   * @throws IOException if an I/O error occurs while forcing
+   */
+  public void flush() throws IOException {
+    if (unflushedRecords > 0) {
+      channel.force(false);
+      unflushedRecords = 0;
+    }
+  }
+
+  /** Forces any remaining records to storage and closes the journal. */
+  @Override
+  public void close() throws IOException {
+    try (channel) {
+      flush();
+    }
+  }
+
+  /**
+   * Reads a game from its journal, replaying every complete, intact move record, without changing
+   * the journal. A torn or corrupt record, as left by a crash mid-append, ends the replay.
+   *
+   * @param journalFile the journal file to read
+   * @return the game as of its last complete move record
+   * @throws IOException if an I/O error occurs, or the journal header is missing or corrupt
+   */
+  public static Game read(Path journalFile) throws IOException {
+    var bytes = Files.readAllBytes(journalFile);
+    var replay = replay(journalFile, bytes);
+    if (replay.length() < bytes.length) {
+      log.log(
+          Level.DEBUG,
+          "Ignoring {0} bytes of incomplete records in game journal {1}.",
+          bytes.length - replay.length(),
+          journalFile);
+    }
+    return replay.game();
+  }
+
+  /**
+   * Recovers a game from its journal, replaying every complete, intact move record. A torn or
+   * corrupt record, as left by a crash mid-append, ends recovery and is truncated from the journal
+   * so that it can be appended to again.
+   *
+   * @param journalFile the journal file to recover
+   * @return the game as of its last complete move record
+   * @throws IOException if an I/O error occurs, or the journal header is missing or corrupt
+   */
+  public static Game recover(Path journalFile) throws IOException {
+    var bytes = Files.readAllBytes(journalFile);
+    var replay = replay(journalFile, bytes);
+    if (replay.length() < bytes.length) {
+      log.log(
+          Level.WARNING,
+          "Truncating {0} bytes of incomplete records from game journal {1}.",
+          bytes.length - replay.length(),
+          journalFile);
+      try (var channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+        channel.truncate(replay.length());
+        channel.force(true);
+      }
+    }
+    return replay.game();
+  }
+
+  /** A game replayed from a journal, and the length of the journal's intact records. */
+  private record Replay(Game game, int length) {}
+
+  private static Replay replay(Path journalFile, byte[] bytes) throws IOException {
+    var buffer = ByteBuffer.wrap(bytes);
+    if (bytes.length < HEADER_PREFIX_LENGTH || buffer.getInt() != MAGIC) {
+      throw new IOException("Not a game journal: " + journalFile);
+    }
+    byte version = buffer.get();
+    if (version != VERSION) {
+      throw new IOException("Unsupported game journal version: " + version);
+    }
+    int encodedLength = buffer.getInt();
+    // Bounded before being added to, so that a corrupt length cannot overflow
+    if (encodedLength < 0 || encodedLength > bytes.length - HEADER_PREFIX_LENGTH - Integer.BYTES) {
+      throw new IOException("Corrupt game journal header: " + journalFile);
+    }
+    int headerLength = HEADER_PREFIX_LENGTH + encodedLength + Integer.BYTES;
+    if (checksumOf(bytes, 0, headerLength - Integer.BYTES)
+        != buffer.getInt(headerLength - Integer.BYTES)) {
+      throw new IOException("Corrupt game journal header: " + journalFile);
+    }
+    var game = GameCodec.decode(buffer.slice(HEADER_PREFIX_LENGTH, encodedLength));
+    var history = new ArrayDeque<>(game.history());
+    var state = history.getLast();
+    int offset = headerLength;
+    while (offset + RECORD_LENGTH <= bytes.length) {
+      int moveNumber = buffer.getInt(offset);
+      int location = buffer.getInt(offset + Integer.BYTES);
+      if (checksumOf(bytes, offset, 2 * Integer.BYTES) != buffer.getInt(offset + 2 * Integer.BYTES)
+          || moveNumber != history.size()
+          || !state.board().isValidMove(location)) {
+        break;
+      }
+      state = state.afterPlayerMoves(location);
+      history.add(state);
+      offset += RECORD_LENGTH;
+    }
+    return new Replay(
+        new Game(game.id(), game.playerNodes(), game.persistenceEnabled(), history), offset);
+  }
+
+  private static int checksumOf(byte[] bytes, int offset, int length) {
+    var crc = new CRC32C();
+    crc.update(bytes, offset, length);
+    return (int) crc.getValue();
+  }
+}
@@ -1,24 +1,28 @@
 package org.xxdc.oss.example;
 
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInputFilter;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.io.ObjectStreamConstants;
 import java.lang.System.Logger;
 import java.lang.System.Logger.Level;
+import java.nio.ByteBuffer;
 
 /**
  * Provides methods for saving and loading a {@link Game} object to/from a file.
  *
  * <p>The {@link #saveTo(File, Game)} method writes the provided {@link Game} object to the
- * specified file. The {@link #loadFrom(File)} method reads a {@link Game} object from the specified
- * file and returns it.
+ * specified file using the compact binary {@link GameCodec}. The {@link #loadFrom(File)} method
+ * reads a {@link Game} object from the specified file and returns it, accepting both the binary
+ * encoding and games saved by earlier versions with Java object serialization.
  *
  * <p>The {@link GamePersistenceFilter} class is used to filter the objects that can be loaded from
- * the file, rejecting any loaded classes with more than 1000 object references to prevent
+ * legacy files, rejecting any loaded classes with more than 1000 object references to prevent
  * deserialization attacks.
  */
 public class GamePersistence {
@@ -33,15 +37,17 @@ public class GamePersistence {
    * @throws IOException if an I/O error occurs while writing the game state to the file
    */
   public void saveTo(File gameFile, Game game) throws IOException {
-    try (FileOutputStream os = new FileOutputStream(gameFile);
-        ObjectOutputStream o = new ObjectOutputStream(os)) {
-      o.writeObject(game);
+    try (FileOutputStream os = new FileOutputStream(gameFile)) {
+      GameCodec.write(game, os);
     }
     log.log(Level.DEBUG, "Saved to game state to: {0}", gameFile);
   }
 
   /**
-   * Reads a {@link Game} object from the specified file and returns it.
+   * Reads a {@link Game} object from the specified file and returns it. Files written by {@link
+   * #saveTo(File, Game)} are decoded with the {@link GameCodec}; move journals are read with
+   * {@link GameJournal#read}, leaving any torn record for {@link GameJournal#recover} to truncate;
+   * files written with Java object serialization are read with the legacy reader.
    *
    * @param gameFile the file to load the game state from
    * @return the {@link Game} object read from the file
@@ -49,8 +55,31 @@ public class GamePersistence {
    * @throws ClassNotFoundException if the {@link Game} class cannot be found
    */
   public Game loadFrom(File gameFile) throws IOException, ClassNotFoundException {
-    try (FileInputStream is = new FileInputStream(gameFile);
-        ObjectInputStream o = new ObjectInputStream(is)) {
+    try (InputStream is = new BufferedInputStream(new FileInputStream(gameFile))) {
+      is.mark(Integer.BYTES);
+      var header = is.readNBytes(Integer.BYTES);
+      is.reset();
+      if (header.length == Integer.BYTES && ByteBuffer.wrap(header).getInt() == GameCodec.MAGIC) {
+        return GameCodec.read(is);
+      }
+      if (header.length == Integer.BYTES && ByteBuffer.wrap(header).getInt() == GameJournal.MAGIC) {
+        is.close();
+        return GameJournal.read(gameFile.toPath());
+      }
+      if (header.length >= Short.BYTES
+          && ByteBuffer.wrap(header).getShort() == ObjectStreamConstants.STREAM_MAGIC) {
+        return loadLegacyFrom(is);
+      }
+      throw new IOException("Unrecognized game file format: " + gameFile);
+    }
+  }
+
+  /**
+   * Reads a {@link Game} object written with Java object serialization, the format used before
+   * {@link GameCodec}.
+   */
+  private Game loadLegacyFrom(InputStream is) throws IOException, ClassNotFoundException {
+    try (ObjectInputStream o = new ObjectInputStream(is)) {
       o.setObjectInputFilter(new GamePersistenceFilter());
       return Game.class.cast(o.readObject());
     }
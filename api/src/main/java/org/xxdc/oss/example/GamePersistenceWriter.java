@@ -0,0 +1,255 @@
+package org.xxdc.oss.example;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Saves games asynchronously, off the threads playing them. Saves from many concurrent games are
+ * queued and written by a single writer thread in batches, each file forced to storage once per
+ * batch, so slow storage delays only when a save becomes durable rather than the next move.
+ *
+ * <p>Each file holds at most one queue slot: a save submitted while an earlier save to the same
+ * file is still queued supersedes it, and both callers are completed when the newer snapshot is
+ * durable. Saves to different files, such as the per-move files of a game, are each written. Only
+ * when saves to more files than the queue capacity are waiting does {@link #submit(File, Game)}
+ * block, applying back-pressure.
+ *
+ * <p>Games are {@link GameCodec encoded} on the submitting thread, so a game may keep changing once
+ * its save has been submitted.
+ */
+public final class GamePersistenceWriter implements AutoCloseable {
+
+  private static final Logger log = System.getLogger(GamePersistenceWriter.class.getName());
+
+  /** The default maximum number of files with a save waiting to be written. */
+  public static final int DEFAULT_CAPACITY = 1024;
+
+  /** The default maximum number of saves written and forced to storage together. */
+  public static final int DEFAULT_MAX_BATCH_SIZE = 64;
+
+  private final int capacity;
+
+  private final int maxBatchSize;
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private final Condition notEmpty = lock.newCondition();
+
+  private final Condition notFull = lock.newCondition();
+
+  private final Map<File, PendingSave> pending = new LinkedHashMap<>();
+
+  private final Thread writer;
+
+  private final LongAdder saves = new LongAdder();
+
+  private final LongAdder superseded = new LongAdder();
+
+  private final LongAdder batches = new LongAdder();
+
+  private boolean closed;
+
+  private record PendingSave(File gameFile, byte[] encoded, CompletableFuture<Void> durable) {}
+
+  /**
+   * Constructs a new {@link GamePersistenceWriter} with the default capacity and batch size, and
+   * starts its writer thread.
+   */
+  public GamePersistenceWriter() {
+    this(DEFAULT_CAPACITY, DEFAULT_MAX_BATCH_SIZE);
+  }
+
+  /**
+   * Constructs a new {@link GamePersistenceWriter} and starts its writer thread.
+   *
+   * @param capacity the maximum number of files with a save waiting to be written
+   * @param maxBatchSize the maximum number of saves written and forced to storage together
+   * @throws IllegalArgumentException if the capacity or batch size is not positive
+   */
+  public GamePersistenceWriter(int capacity, int maxBatchSize) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive");
+    }
+    if (maxBatchSize <= 0) {
+      throw new IllegalArgumentException("Max batch size must be positive");
+    }
+    this.capacity = capacity;
+    this.maxBatchSize = maxBatchSize;
+    this.writer =
+        Thread.ofPlatform().name("ttt-persistence-writer").daemon().start(this::writeBatches);
+  }
+
+  /**
+   * Submits a save of the game to the given file.
+   *
+   * @param gameFile the file to save the game to
+   * @param game the game to save, as of its current move
+   * @return a future completed once the save, or a later save to the same file superseding it, has
+   *     been forced to storage, or completed exceptionally if the save failed
+   * @throws InterruptedException if interrupted while waiting for queue capacity
+   * @throws IllegalStateException if the writer has been closed
+   */
+  public CompletableFuture<Void> submit(File gameFile, Game game) throws InterruptedException {
+    var encoded = GameCodec.encode(game);
+    lock.lockInterruptibly();
+    try {
+      var previous = pending.get(gameFile);
+      while (previous == null && pending.size() >= capacity && !closed) {
+        notFull.await();
+        previous = pending.get(gameFile);
+      }
+      if (closed) {
+        throw new IllegalStateException("Persistence writer is closed");
+      }
+      var durable = previous == null ? new CompletableFuture<Void>() : previous.durable();
+      if (previous != null) {
+        superseded.increment();
+      }
+      pending.put(gameFile, new PendingSave(gameFile, encoded, durable));
+      notEmpty.signal();
+      return durable;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of saves written to storage.
+   *
+   * @return the number of written saves
+   */
+  public long saves() {
+    return saves.sum();
+  }
+
+  /**
+   * Returns the number of saves superseded by a later save to the same file before being written.
+   *
+   * @return the number of superseded saves
+   */
+  public long superseded() {
+    return superseded.sum();
+  }
+
+  /**
+   * Returns the number of batches written.
+   *
+   * @return the number of batches
+   */
+  public long batches() {
+    return batches.sum();
+  }
+
+  /**
+   * Stops accepting saves, waits for every queued save to be written, and stops the writer thread.
+   *
+   * @throws InterruptedException if interrupted while waiting for the writer thread
+   */
+  @Override
+  public void close() throws InterruptedException {
+    lock.lock();
+    try {
+      closed = true;
+      notEmpty.signalAll();
+      notFull.signalAll();
+    } finally {
+      lock.unlock();
+    }
+    writer.join();
+  }
+
+  private void writeBatches() {
+    var batch = new ArrayList<PendingSave>(maxBatchSize);
+    while (takeBatch(batch)) {
+      writeBatch(batch);
+      batch.clear();
+    }
+    log.log(
+        Level.DEBUG,
+        "Persistence writer stopped after {0} saves in {1} batches, {2} superseded.",
+        saves(),
+        batches(),
+        superseded());
+  }
+
+  /** Waits for and removes the next batch of saves, returning false once closed and drained. */
+  private boolean takeBatch(List<PendingSave> batch) {
+    lock.lock();
+    try {
+      while (pending.isEmpty()) {
+        if (closed) {
+          return false;
+        }
+        notEmpty.awaitUninterruptibly();
+      }
+      Iterator<PendingSave> queued = pending.values().iterator();
+      while (queued.hasNext() && batch.size() < maxBatchSize) {
+        batch.add(queued.next());
+        queued.remove();
+      }
+      notFull.signalAll();
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void writeBatch(List<PendingSave> batch) {
+    var channels = new FileChannel[batch.size()];
+    var failures = new IOException[batch.size()];
+    for (int i = 0; i < batch.size(); i++) {
+      var save = batch.get(i);
+      try {
+        channels[i] =
+            FileChannel.open(
+                save.gameFile().toPath(),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        var buffer = ByteBuffer.wrap(save.encoded());
+        while (buffer.hasRemaining()) {
+          channels[i].write(buffer);
+        }
+      } catch (IOException e) {
+        failures[i] = e;
+      }
+    }
+    for (int i = 0; i < batch.size(); i++) {
+      if (channels[i] == null) {
+        continue;
+      }
+      try (var channel = channels[i]) {
+        if (failures[i] == null) {
+          channel.force(false);
+        }
+      } catch (IOException e) {
+        failures[i] = e;
+      }
+    }
+    for (int i = 0; i < batch.size(); i++) {
+      var save = batch.get(i);
+      if (failures[i] == null) {
+        saves.increment();
+        save.durable().complete(null);
+      } else {
+        log.log(Level.WARNING, "Failed to save game to {0}: {1}", save.gameFile(), failures[i]);
+        save.durable().completeExceptionally(failures[i]);
+      }
+    }
+    batches.increment();
+  }
+}
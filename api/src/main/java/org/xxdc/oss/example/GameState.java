@@ -134,6 +134,23 @@ public record GameState(
     return new GameState(newBoard, playerMarkers, newCurrentPlayerIndex, move);
   }
 
+  /**
+   * Returns this state as of now, for a search that may outlive the move it was started for. The
+   * states handed to players by the {@link Game#withLowAllocation() low-allocation} game loop share
+   * a board changed in place, so are copied; every other state is returned as is.
+   *
+   * @return a state whose board does not change
+   */
+  public GameState snapshot() {
+    return board instanceof GameBoardMutableImpl
+        ? new GameState(
+            new GameBoardLocalImpl(board.dimension(), board.content()),
+            playerMarkers,
+            currentPlayerIndex,
+            lastMove)
+        : this;
+  }
+
   /**
    * Checks if the last player to move has a chain on the game board.
    *
@@ -79,6 +79,9 @@ public class PlayerNodes implements Serializable {
    * information about the players in the PlayerNodes instance.
    */
   public void render() {
+    if (!log.isLoggable(Level.INFO)) {
+      return;
+    }
     PlayerPrinter printer = new PlayerPrinter();
     log.log(Level.INFO, "Players: {0} ({1})", playerMarkers(), players.values());
     for (PlayerNode player : players.values()) {
@@ -124,7 +127,12 @@ public class PlayerNodes implements Serializable {
         .values()
         .forEach(
             (p) -> {
-              if (p instanceof AutoCloseable c) {
+              // Bots may hold resources in their strategies, such as pondering threads
+              var closeable =
+                  p instanceof PlayerNode.Local<?> local && local.player() instanceof BotPlayer bot
+                      ? bot.strategyFunction()
+                      : p;
+              if (closeable instanceof AutoCloseable c) {
                 try {
                   c.close();
                 } catch (Exception e) {
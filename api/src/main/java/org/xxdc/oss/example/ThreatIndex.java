@@ -0,0 +1,431 @@
+package org.xxdc.oss.example;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A line occupancy index for a {@link GameBoard}: for each of the {@code 2d + 2} rows, columns and
+ * diagonals of a board of dimension {@code d}, the number of each player's marks and of empty
+ * locations. The index is updated incrementally as moves are {@link #mark made} and {@link #unmark
+ * undone}, touching only the at most four lines through the move, so a search can keep one index in
+ * step with its recursion.
+ *
+ * <p>A line is open for a player when it holds only that player's marks and empty locations, and a
+ * threat when it is open with {@code d - 1} of the player's marks: the player wins by completing
+ * it. The index answers immediate win and block queries from these counts, orders moves for search,
+ * and provides a heuristic evaluation of positions.
+ *
+ * <p>Instances are mutable and not thread-safe.
+ */
+public final class ThreatIndex {
+
+  private static final int EMPTY = -1;
+
+  private static final long WIN_PRIORITY = 1L << 40;
+
+  private static final long BLOCK_PRIORITY = 1L << 34;
+
+  private static final int LOCATION_BITS = 20;
+
+  private final int dimension;
+
+  private final int players;
+
+  private final int[] occupant;
+
+  private final int[] lineMarks;
+
+  private final int[] lineEmpties;
+
+  private final int[] threats;
+
+  private final int[] completedLines;
+
+  private final int[] touchedLines = new int[4];
+
+  private int emptyLocations;
+
+  private ThreatIndex(int dimension, int players) {
+    this.dimension = dimension;
+    this.players = players;
+    this.occupant = new int[dimension * dimension];
+    this.lineMarks = new int[(2 * dimension + 2) * players];
+    this.lineEmpties = new int[2 * dimension + 2];
+    this.threats = new int[players];
+    this.completedLines = new int[players];
+    this.emptyLocations = occupant.length;
+    Arrays.fill(occupant, EMPTY);
+    Arrays.fill(lineEmpties, dimension);
+  }
+
+  /**
+   * Builds the index of the given state's board.
+   *
+   * @param state the game state
+   * @return the index
+   */
+  public static ThreatIndex of(GameState state) {
+    return of(state.board(), state.playerMarkers());
+  }
+
+  /**
+   * Builds the index of the given board.
+   *
+   * @param board the game board
+   * @param playerMarkers the markers of the players, in player order
+   * @return the index
+   * @throws IllegalArgumentException if the board holds a marker of an unknown player
+   */
+  public static ThreatIndex of(GameBoard board, List<String> playerMarkers) {
+    var index = new ThreatIndex(board.dimension(), playerMarkers.size());
+    var content = board.content();
+    for (int location = 0; location < content.length; location++) {
+      if (content[location] != null) {
+        int player = playerMarkers.indexOf(content[location]);
+        if (player < 0) {
+          throw new IllegalArgumentException("Unknown player marker: " + content[location]);
+        }
+        index.mark(location, player);
+      }
+    }
+    return index;
+  }
+
+  /**
+   * Returns whether the given player's mark at the location would complete a line on the board,
+   * examining only the lines through the location, without building an index or a new board.
+   *
+   * @param board the game board
+   * @param playerMarker the player's marker
+   * @param location the empty location the player would mark
+   * @return true if the mark would complete a row, column or diagonal
+   */
+  public static boolean wouldCompleteLine(GameBoard board, String playerMarker, int location) {
+    int d = board.dimension();
+    int row = location / d;
+    int column = location % d;
+    return completesLine(board, playerMarker, location, row * d, 1)
+        || completesLine(board, playerMarker, location, column, d)
+        || (row == column && completesLine(board, playerMarker, location, 0, d + 1))
+        || (row + column == d - 1 && completesLine(board, playerMarker, location, d - 1, d - 1));
+  }
+
+  private static boolean completesLine(
+      GameBoard board, String playerMarker, int location, int start, int step) {
+    int d = board.dimension();
+    for (int i = 0, cell = start; i < d; i++, cell += step) {
+      if (cell != location && !board.hasPlayer(playerMarker, cell)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Marks the location for the given player.
+   *
+   * @param location the empty location
+   * @param player the index of the player
+   * @return true if the mark completes a line for the player
+   * @throws IllegalArgumentException if the location is not empty
+   */
+  public boolean mark(int location, int player) {
+    if (occupant[location] != EMPTY) {
+      throw new IllegalArgumentException("Location is not empty: " + location);
+    }
+    occupant[location] = player;
+    emptyLocations--;
+    boolean completes = false;
+    int lines = linesThrough(location);
+    for (int i = 0; i < lines; i++) {
+      int line = touchedLines[i];
+      int base = line * players;
+      // Threats on the line before the mark end, the mover's may begin or complete
+      for (int p = 0; p < players; p++) {
+        if (isThreat(line, p)) {
+          threats[p]--;
+        }
+      }
+      lineEmpties[line]--;
+      lineMarks[base + player]++;
+      if (isThreat(line, player)) {
+        threats[player]++;
+      }
+      if (lineMarks[base + player] == dimension) {
+        completedLines[player]++;
+        completes = true;
+      }
+    }
+    return completes;
+  }
+
+  /**
+   * Undoes the mark at the location.
+   *
+   * @param location the marked location
+   * @throws IllegalArgumentException if the location is empty
+   */
+  public void unmark(int location) {
+    int player = occupant[location];
+    if (player == EMPTY) {
+      throw new IllegalArgumentException("Location is empty: " + location);
+    }
+    occupant[location] = EMPTY;
+    emptyLocations++;
+    int lines = linesThrough(location);
+    for (int i = 0; i < lines; i++) {
+      int line = touchedLines[i];
+      int base = line * players;
+      if (lineMarks[base + player] == dimension) {
+        completedLines[player]--;
+      }
+      if (isThreat(line, player)) {
+        threats[player]--;
+      }
+      lineMarks[base + player]--;
+      lineEmpties[line]++;
+      for (int p = 0; p < players; p++) {
+        if (isThreat(line, p)) {
+          threats[p]++;
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns whether the given player has completed a line.
+   *
+   * @param player the index of the player
+   * @return true if the player has a chain
+   */
+  public boolean hasChain(int player) {
+    return completedLines[player] > 0;
+  }
+
+  /**
+   * Returns whether the location is empty.
+   *
+   * @param location the location
+   * @return true if no player has marked the location
+   */
+  public boolean isEmpty(int location) {
+    return occupant[location] == EMPTY;
+  }
+
+  /**
+   * Returns whether any location is empty.
+   *
+   * @return true if a move is available
+   */
+  public boolean hasMovesAvailable() {
+    return emptyLocations > 0;
+  }
+
+  /**
+   * Returns the number of open threat lines of the given player.
+   *
+   * @param player the index of the player
+   * @return the number of lines the player wins by completing
+   */
+  public int threatCount(int player) {
+    return threats[player];
+  }
+
+  /**
+   * Returns whether the given player marking the empty location would complete a line.
+   *
+   * @param location the empty location
+   * @param player the index of the player
+   * @return true if the mark would win
+   */
+  public boolean completesLine(int location, int player) {
+    int lines = linesThrough(location);
+    for (int i = 0; i < lines; i++) {
+      if (isThreat(touchedLines[i], player)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns a location where the given player wins immediately.
+   *
+   * @param player the index of the player
+   * @return the winning location, or -1 if the player has no threat
+   */
+  public int winningMove(int player) {
+    if (threats[player] == 0) {
+      return -1;
+    }
+    for (int line = 0; line < lineEmpties.length; line++) {
+      if (isThreat(line, player)) {
+        int start = lineStart(line);
+        int step = lineStep(line);
+        for (int i = 0, cell = start; i < dimension; i++, cell += step) {
+          if (occupant[cell] == EMPTY) {
+            return cell;
+          }
+        }
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns a location where the given player blocks an opponent's immediate win.
+   *
+   * @param player the index of the player
+   * @return the blocking location, or -1 if no opponent has a threat
+   */
+  public int blockingMove(int player) {
+    for (int p = 0; p < players; p++) {
+      if (p != player) {
+        int move = winningMove(p);
+        if (move >= 0) {
+          return move;
+        }
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns a heuristic evaluation of the position for the given player: the sum, over every line
+   * still open for the player, of a weight growing fourfold with each of the player's marks on it,
+   * less the same sum over the lines open for each opponent.
+   *
+   * @param player the index of the player
+   * @return the evaluation; positive values favour the player
+   */
+  public int evaluate(int player) {
+    int score = 0;
+    for (int line = 0; line < lineEmpties.length; line++) {
+      int base = line * players;
+      for (int p = 0; p < players; p++) {
+        int marks = lineMarks[base + p];
+        if (marks > 0 && marks + lineEmpties[line] == dimension) {
+          score += p == player ? weight(marks) : -weight(marks);
+        }
+      }
+    }
+    return score;
+  }
+
+  /**
+   * Returns the empty locations in the order a search should try them for the given player:
+   * immediate wins, then blocks of an opponent's immediate win, then by how much the location
+   * extends the player's open lines and disrupts the opponents'. Ties keep location order.
+   *
+   * @param player the index of the player to move
+   * @return the empty locations, best first
+   */
+  public int[] orderedMoves(int player) {
+    return orderedMoves(player, null);
+  }
+
+  /**
+   * Returns the empty locations in the order a search should try them for the given player, as
+   * {@link #orderedMoves(int)}, with ties broken by the given per-location scores, highest first,
+   * then by location. Search heuristics learned while searching, such as killer moves or history
+   * scores, refine the order this way without overriding the index's immediate wins and blocks.
+   *
+   * @param player the index of the player to move
+   * @param tieBreaks the score of each location, or null to keep location order
+   * @return the empty locations, best first
+   */
+  public int[] orderedMoves(int player, long[] tieBreaks) {
+    var keys = new long[emptyLocations];
+    int n = 0;
+    for (int location = 0; location < occupant.length; location++) {
+      if (occupant[location] == EMPTY) {
+        keys[n++] = (-movePriority(location, player) << LOCATION_BITS) | location;
+      }
+    }
+    Arrays.sort(keys);
+    var moves = new int[n];
+    for (int i = 0; i < n; i++) {
+      moves[i] = (int) (keys[i] & ((1 << LOCATION_BITS) - 1));
+    }
+    if (tieBreaks != null) {
+      // Insertion sort each run of equal priority, which is stable and runs are short
+      for (int i = 1; i < n; i++) {
+        int move = moves[i];
+        long priority = keys[i] >> LOCATION_BITS;
+        int j = i - 1;
+        while (j >= 0
+            && keys[j] >> LOCATION_BITS == priority
+            && tieBreaks[moves[j]] < tieBreaks[move]) {
+          moves[j + 1] = moves[j];
+          keys[j + 1] = keys[j];
+          j--;
+        }
+        moves[j + 1] = move;
+        keys[j + 1] = (priority << LOCATION_BITS) | move;
+      }
+    }
+    return moves;
+  }
+
+  private long movePriority(int location, int player) {
+    long priority = 0;
+    int lines = linesThrough(location);
+    for (int i = 0; i < lines; i++) {
+      int line = touchedLines[i];
+      int base = line * players;
+      for (int p = 0; p < players; p++) {
+        int marks = lineMarks[base + p];
+        if (marks + lineEmpties[line] != dimension) {
+          continue;
+        }
+        if (marks == dimension - 1) {
+          priority += p == player ? WIN_PRIORITY : BLOCK_PRIORITY;
+        }
+        priority += p == player ? weight(marks + 1) : weight(marks);
+      }
+    }
+    return priority;
+  }
+
+  private boolean isThreat(int line, int player) {
+    return lineEmpties[line] == 1 && lineMarks[line * players + player] == dimension - 1;
+  }
+
+  private static int weight(int marks) {
+    return 1 << (2 * Math.min(marks, 10));
+  }
+
+  /** Collects the lines through the location into {@link #touchedLines}, returning their count. */
+  private int linesThrough(int location) {
+    int row = location / dimension;
+    int column = location % dimension;
+    int lines = 0;
+    touchedLines[lines++] = row;
+    touchedLines[lines++] = dimension + column;
+    if (row == column) {
+      touchedLines[lines++] = 2 * dimension;
+    }
+    if (row + column == dimension - 1) {
+      touchedLines[lines++] = 2 * dimension + 1;
+    }
+    return lines;
+  }
+
+  private int lineStart(int line) {
+    if (line < dimension) {
+      return line * dimension;
+    } else if (line < 2 * dimension) {
+      return line - dimension;
+    }
+    return line == 2 * dimension ? 0 : dimension - 1;
+  }
+
+  private int lineStep(int line) {
+    if (line < dimension) {
+      return 1;
+    } else if (line < 2 * dimension) {
+      return dimension;
+    }
+    return line == 2 * dimension ? dimension + 1 : dimension - 1;
+  }
+}
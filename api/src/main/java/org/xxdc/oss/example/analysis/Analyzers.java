@@ -16,10 +16,7 @@ public class Analyzers {
     public boolean add(GameState gameState) {
       if (prevGameState == null) {
         prevGameState = gameState;
-        currMoveNumber =
-            gameState.board().dimension() * gameState.board().dimension()
-                - gameState.availableMoves().size()
-                + 1;
+        currMoveNumber = TurningPointAnalysis.movesPlayed(gameState.board()) + 1;
         return true;
       } else {
         prevGameState = gameState;
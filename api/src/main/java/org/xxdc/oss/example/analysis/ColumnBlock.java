@@ -0,0 +1,266 @@
+package org.xxdc.oss.example.analysis;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A block of up to {@link #MAX_ROWS} game results stored column by column in primitive arrays. The
+ * per-player strategies and per-move locations are variable length, so they are stored flattened,
+ * with an offsets column giving each row's start.
+ *
+ * <p>On disk, a block is its row count and the lengths of its flattened columns, followed by every
+ * column deflated together.
+ */
+final class ColumnBlock {
+
+  /** The maximum number of rows in a block. */
+  static final int MAX_ROWS = 1 << 16;
+
+  final int rows;
+
+  final long[] idMostSignificantBits;
+
+  final long[] idLeastSignificantBits;
+
+  /** The index of the winning player, or -1 for a tie. */
+  final byte[] winner;
+
+  final short[] moveCount;
+
+  final byte[] boardSize;
+
+  /** The start of each row's strategies; row {@code i} ends where row {@code i + 1} starts. */
+  final int[] playerOffsets;
+
+  /** The strategy dictionary IDs of each row's players, in player order. */
+  final short[] strategies;
+
+  /** The start of each row's moves; row {@code i} ends where row {@code i + 1} starts. */
+  final int[] moveOffsets;
+
+  /** The board locations of each row's moves, in move order. */
+  final short[] moves;
+
+  private ColumnBlock(
+      int rows,
+      long[] idMostSignificantBits,
+      long[] idLeastSignificantBits,
+      byte[] winner,
+      short[] moveCount,
+      byte[] boardSize,
+      int[] playerOffsets,
+      short[] strategies,
+      int[] moveOffsets,
+      short[] moves) {
+    this.rows = rows;
+    this.idMostSignificantBits = idMostSignificantBits;
+    this.idLeastSignificantBits = idLeastSignificantBits;
+    this.winner = winner;
+    this.moveCount = moveCount;
+    this.boardSize = boardSize;
+    this.playerOffsets = playerOffsets;
+    this.strategies = strategies;
+    this.moveOffsets = moveOffsets;
+    this.moves = moves;
+  }
+
+  void writeTo(DataOutputStream out) throws IOException {
+    int players = playerOffsets[rows];
+    int moveTotal = moveOffsets[rows];
+    var raw = ByteBuffer.allocate(rawLength(rows, players, moveTotal));
+    raw.asLongBuffer().put(idMostSignificantBits, 0, rows);
+    raw.position(raw.position() + rows * Long.BYTES);
+    raw.asLongBuffer().put(idLeastSignificantBits, 0, rows);
+    raw.position(raw.position() + rows * Long.BYTES);
+    raw.put(winner, 0, rows);
+    raw.asShortBuffer().put(moveCount, 0, rows);
+    raw.position(raw.position() + rows * Short.BYTES);
+    raw.put(boardSize, 0, rows);
+    raw.asIntBuffer().put(playerOffsets, 0, rows + 1);
+    raw.position(raw.position() + (rows + 1) * Integer.BYTES);
+    raw.asShortBuffer().put(strategies, 0, players);
+    raw.position(raw.position() + players * Short.BYTES);
+    raw.asIntBuffer().put(moveOffsets, 0, rows + 1);
+    raw.position(raw.position() + (rows + 1) * Integer.BYTES);
+    raw.asShortBuffer().put(moves, 0, moveTotal);
+
+    var deflater = new Deflater(Deflater.BEST_SPEED);
+    deflater.setInput(raw.array());
+    deflater.finish();
+    var compressed = new byte[raw.capacity() + 64];
+    int length = 0;
+    while (!deflater.finished()) {
+      if (length == compressed.length) {
+        compressed = Arrays.copyOf(compressed, compressed.length * 2);
+      }
+      length += deflater.deflate(compressed, length, compressed.length - length);
+    }
+    deflater.end();
+
+    out.writeInt(rows);
+    out.writeInt(players);
+    out.writeInt(moveTotal);
+    out.writeInt(length);
+    out.write(compressed, 0, length);
+  }
+
+  static ColumnBlock readFrom(DataInputStream in) throws IOException {
+    int rows = in.readInt();
+    int players = in.readInt();
+    int moveTotal = in.readInt();
+    int length = in.readInt();
+    if (rows < 0 || rows > MAX_ROWS || players < 0 || moveTotal < 0 || length < 0) {
+      throw new IOException("Corrupt game results block");
+    }
+    var compressed = in.readNBytes(length);
+    var raw = ByteBuffer.allocate(rawLength(rows, players, moveTotal));
+    var inflater = new Inflater();
+    try {
+      inflater.setInput(compressed);
+      while (raw.hasRemaining() && !inflater.finished()) {
+        if (inflater.inflate(raw) == 0 && inflater.needsInput()) {
+          throw new IOException("Truncated game results block");
+        }
+      }
+    } catch (DataFormatException e) {
+      throw new IOException("Corrupt game results block", e);
+    } finally {
+      inflater.end();
+    }
+    if (raw.hasRemaining()) {
+      throw new IOException("Truncated game results block");
+    }
+    raw.flip();
+
+    var idMostSignificantBits = new long[rows];
+    var idLeastSignificantBits = new long[rows];
+    var winner = new byte[rows];
+    var moveCount = new short[rows];
+    var boardSize = new byte[rows];
+    var playerOffsets = new int[rows + 1];
+    var strategies = new short[players];
+    var moveOffsets = new int[rows + 1];
+    var moves = new short[moveTotal];
+    raw.asLongBuffer().get(idMostSignificantBits);
+    raw.position(raw.position() + rows * Long.BYTES);
+    raw.asLongBuffer().get(idLeastSignificantBits);
+    raw.position(raw.position() + rows * Long.BYTES);
+    raw.get(winner);
+    raw.asShortBuffer().get(moveCount);
+    raw.position(raw.position() + rows * Short.BYTES);
+    raw.get(boardSize);
+    raw.asIntBuffer().get(playerOffsets);
+    raw.position(raw.position() + (rows + 1) * Integer.BYTES);
+    raw.asShortBuffer().get(strategies);
+    raw.position(raw.position() + players * Short.BYTES);
+    raw.asIntBuffer().get(moveOffsets);
+    raw.position(raw.position() + (rows + 1) * Integer.BYTES);
+    raw.asShortBuffer().get(moves);
+    return new ColumnBlock(
+        rows,
+        idMostSignificantBits,
+        idLeastSignificantBits,
+        winner,
+        moveCount,
+        boardSize,
+        playerOffsets,
+        strategies,
+        moveOffsets,
+        moves);
+  }
+
+  private static int rawLength(int rows, int players, int moveTotal) {
+    return rows * (2 * Long.BYTES + 1 + Short.BYTES + 1)
+        + 2 * (rows + 1) * Integer.BYTES
+        + (players + moveTotal) * Short.BYTES;
+  }
+
+  /** Accumulates rows for a block. */
+  static final class Builder {
+
+    private int rows;
+
+    private final long[] idMostSignificantBits = new long[MAX_ROWS];
+
+    private final long[] idLeastSignificantBits = new long[MAX_ROWS];
+
+    private final byte[] winner = new byte[MAX_ROWS];
+
+    private final short[] moveCount = new short[MAX_ROWS];
+
+    private final byte[] boardSize = new byte[MAX_ROWS];
+
+    private final int[] playerOffsets = new int[MAX_ROWS + 1];
+
+    private short[] strategies = new short[2 * MAX_ROWS];
+
+    private final int[] moveOffsets = new int[MAX_ROWS + 1];
+
+    private short[] moves = new short[9 * MAX_ROWS];
+
+    int rows() {
+      return rows;
+    }
+
+    boolean isFull() {
+      return rows == MAX_ROWS;
+    }
+
+    void addRow(
+        long idMost,
+        long idLeast,
+        int winnerIndex,
+        int dimension,
+        short[] rowStrategies,
+        int[] rowMoves) {
+      idMostSignificantBits[rows] = idMost;
+      idLeastSignificantBits[rows] = idLeast;
+      winner[rows] = (byte) winnerIndex;
+      moveCount[rows] = (short) rowMoves.length;
+      boardSize[rows] = (byte) dimension;
+
+      int playerStart = playerOffsets[rows];
+      if (playerStart + rowStrategies.length > strategies.length) {
+        strategies =
+            Arrays.copyOf(
+                strategies, Math.max(2 * strategies.length, playerStart + rowStrategies.length));
+      }
+      System.arraycopy(rowStrategies, 0, strategies, playerStart, rowStrategies.length);
+      playerOffsets[rows + 1] = playerStart + rowStrategies.length;
+
+      int moveStart = moveOffsets[rows];
+      if (moveStart + rowMoves.length > moves.length) {
+        moves = Arrays.copyOf(moves, Math.max(2 * moves.length, moveStart + rowMoves.length));
+      }
+      for (int i = 0; i < rowMoves.length; i++) {
+        moves[moveStart + i] = (short) rowMoves[i];
+      }
+      moveOffsets[rows + 1] = moveStart + rowMoves.length;
+      rows++;
+    }
+
+    /** Returns a block holding a copy of the accumulated rows, and clears the builder. */
+    ColumnBlock build() {
+      var block =
+          new ColumnBlock(
+              rows,
+              Arrays.copyOf(idMostSignificantBits, rows),
+              Arrays.copyOf(idLeastSignificantBits, rows),
+              Arrays.copyOf(winner, rows),
+              Arrays.copyOf(moveCount, rows),
+              Arrays.copyOf(boardSize, rows),
+              Arrays.copyOf(playerOffsets, rows + 1),
+              Arrays.copyOf(strategies, playerOffsets[rows]),
+              Arrays.copyOf(moveOffsets, rows + 1),
+              Arrays.copyOf(moves, moveOffsets[rows]));
+      rows = 0;
+      return block;
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package org.xxdc.oss.example.analysis;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Game results read from a file written by {@link GameResultsWriter}, held in memory column by
+ * column for fast aggregate {@link #query() queries}.
+ */
+public final class GameResults {
+
+  private final List<ColumnBlock> blocks;
+
+  private final List<String> strategies;
+
+  private final long size;
+
+  private GameResults(List<ColumnBlock> blocks, List<String> strategies) {
+    this.blocks = blocks;
+    this.strategies = strategies;
+    this.size = blocks.stream().mapToLong(block -> block.rows).sum();
+  }
+
+  /**
+   * Reads the game results from the given file.
+   *
+   * @param resultsFile the file written by a {@link GameResultsWriter}
+   * @return the game results
+   * @throws IOException if an I/O error occurs, or the file does not hold valid game results
+   */
+  public static GameResults read(Path resultsFile) throws IOException {
+    try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(resultsFile)))) {
+      if (in.readInt() != GameResultsWriter.MAGIC) {
+        throw new IOException("Not a game results file: " + resultsFile);
+      }
+      byte version = in.readByte();
+      if (version != GameResultsWriter.VERSION) {
+        throw new IOException("Unsupported game results version: " + version);
+      }
+      var blocks = new ArrayList<ColumnBlock>();
+      while (in.readByte() != 0) {
+        blocks.add(ColumnBlock.readFrom(in));
+      }
+      int strategyCount = in.readInt();
+      var strategies = new ArrayList<String>(strategyCount);
+      for (int i = 0; i < strategyCount; i++) {
+        strategies.add(in.readUTF());
+      }
+      return new GameResults(List.copyOf(blocks), List.copyOf(strategies));
+    }
+  }
+
+  /**
+   * Returns the number of game results.
+   *
+   * @return the number of games
+   */
+  public long size() {
+    return size;
+  }
+
+  /**
+   * Returns the names of the strategies recorded, in the order they were first seen.
+   *
+   * @return the recorded strategies
+   */
+  public List<String> strategies() {
+    return strategies;
+  }
+
+  /**
+   * Returns a new query over every game result.
+   *
+   * @return a query over the results
+   */
+  public GameResultsQuery query() {
+    return new GameResultsQuery(blocks, strategies);
+  }
+}
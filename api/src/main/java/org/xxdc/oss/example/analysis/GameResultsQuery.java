@@ -0,0 +1,209 @@
+package org.xxdc.oss.example.analysis;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An aggregate query over {@link GameResults}. Filters narrow the games aggregated, and each
+ * aggregation is a single scan over the columns it needs. The scans are plain counted loops over
+ * primitive arrays, with filters applied as 0/1 masks rather than branches, so the JIT can
+ * vectorize them.
+ *
+ * <p>Queries are immutable; each filter returns a new query.
+ */
+public final class GameResultsQuery {
+
+  private static final int ANY = -1;
+
+  private static final int NONE = -2;
+
+  private final List<ColumnBlock> blocks;
+
+  private final List<String> strategies;
+
+  private final int boardSize;
+
+  private final int strategyId;
+
+  GameResultsQuery(List<ColumnBlock> blocks, List<String> strategies) {
+    this(blocks, strategies, ANY, ANY);
+  }
+
+  private GameResultsQuery(
+      List<ColumnBlock> blocks, List<String> strategies, int boardSize, int strategyId) {
+    this.blocks = blocks;
+    this.strategies = strategies;
+    this.boardSize = boardSize;
+    this.strategyId = strategyId;
+  }
+
+  /**
+   * Returns a query over the games played on a board of the given dimension.
+   *
+   * @param dimension the board dimension
+   * @return the narrowed query
+   */
+  public GameResultsQuery boardSize(int dimension) {
+    return new GameResultsQuery(blocks, strategies, dimension, strategyId);
+  }
+
+  /**
+   * Returns a query over the games in which at least one player used the given strategy.
+   *
+   * @param strategy the name of the strategy
+   * @return the narrowed query
+   */
+  public GameResultsQuery playedBy(String strategy) {
+    int id = strategies.indexOf(strategy);
+    return new GameResultsQuery(blocks, strategies, boardSize, id < 0 ? NONE : id);
+  }
+
+  /**
+   * Returns the number of matching games.
+   *
+   * @return the number of games
+   */
+  public long count() {
+    long count = 0;
+    for (var block : blocks) {
+      var mask = mask(block);
+      for (int i = 0; i < block.rows; i++) {
+        count += mask[i];
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns the number of matching games that ended in a tie.
+   *
+   * @return the number of ties
+   */
+  public long ties() {
+    long ties = 0;
+    for (var block : blocks) {
+      var mask = mask(block);
+      var winner = block.winner;
+      for (int i = 0; i < block.rows; i++) {
+        ties += mask[i] & (winner[i] >>> 31);
+      }
+    }
+    return ties;
+  }
+
+  /**
+   * Returns the average number of moves played in the matching games.
+   *
+   * @return the average game length, or NaN if no games match
+   */
+  public double averageMoveCount() {
+    long games = 0;
+    long moves = 0;
+    for (var block : blocks) {
+      var mask = mask(block);
+      var moveCount = block.moveCount;
+      for (int i = 0; i < block.rows; i++) {
+        games += mask[i];
+        moves += mask[i] * moveCount[i];
+      }
+    }
+    return games == 0 ? Double.NaN : (double) moves / games;
+  }
+
+  /**
+   * Returns, for each strategy, the fraction of the matching games its players took part in that
+   * one of its players won. A game between two players of the same strategy counts once for each.
+   *
+   * @return the win rate of each strategy that took part in a matching game
+   */
+  public Map<String, Double> winRateByStrategy() {
+    var played = new long[strategies.size()];
+    var won = new long[strategies.size()];
+    for (var block : blocks) {
+      var mask = mask(block);
+      var winner = block.winner;
+      var playerOffsets = block.playerOffsets;
+      var rowStrategies = block.strategies;
+      for (int i = 0; i < block.rows; i++) {
+        if (mask[i] == 0) {
+          continue;
+        }
+        for (int p = playerOffsets[i]; p < playerOffsets[i + 1]; p++) {
+          played[rowStrategies[p]]++;
+        }
+        if (winner[i] >= 0) {
+          won[rowStrategies[playerOffsets[i] + winner[i]]]++;
+        }
+      }
+    }
+    var winRates = new LinkedHashMap<String, Double>();
+    for (int s = 0; s < played.length; s++) {
+      if (played[s] > 0) {
+        winRates.put(strategies.get(s), (double) won[s] / played[s]);
+      }
+    }
+    return winRates;
+  }
+
+  /**
+   * Returns how often each board location was played as the opening move of the matching games.
+   *
+   * @return the number of matching games opened at each location, ordered by location
+   */
+  public Map<Integer, Long> openingFrequencies() {
+    var counts = new long[0];
+    for (var block : blocks) {
+      var mask = mask(block);
+      var moveOffsets = block.moveOffsets;
+      var moves = block.moves;
+      for (int i = 0; i < block.rows; i++) {
+        if (mask[i] == 0 || moveOffsets[i] == moveOffsets[i + 1]) {
+          continue;
+        }
+        int opening = moves[moveOffsets[i]];
+        if (opening >= counts.length) {
+          counts = Arrays.copyOf(counts, opening + 1);
+        }
+        counts[opening]++;
+      }
+    }
+    var frequencies = new TreeMap<Integer, Long>();
+    for (int location = 0; location < counts.length; location++) {
+      if (counts[location] > 0) {
+        frequencies.put(location, counts[location]);
+      }
+    }
+    return frequencies;
+  }
+
+  /** Returns 1 for each row of the block matching the filters, and 0 otherwise. */
+  private byte[] mask(ColumnBlock block) {
+    var mask = new byte[block.rows];
+    if (strategyId == NONE) {
+      return mask;
+    }
+    var sizes = block.boardSize;
+    if (boardSize == ANY) {
+      Arrays.fill(mask, (byte) 1);
+    } else {
+      for (int i = 0; i < block.rows; i++) {
+        mask[i] = (byte) (sizes[i] == boardSize ? 1 : 0);
+      }
+    }
+    if (strategyId != ANY) {
+      var playerOffsets = block.playerOffsets;
+      var rowStrategies = block.strategies;
+      for (int i = 0; i < block.rows; i++) {
+        int usedBy = 0;
+        for (int p = playerOffsets[i]; p < playerOffsets[i + 1]; p++) {
+          usedBy |= rowStrategies[p] == strategyId ? 1 : 0;
+        }
+        mask[i] &= (byte) usedBy;
+      }
+    }
+    return mask;
+  }
+}
@@ -0,0 +1,159 @@
+package org.xxdc.oss.example.analysis;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.xxdc.oss.example.Game;
+
+/**
+ * Writes the results of finished games to a columnar file for {@link GameResults aggregate
+ * analytics}. Each game becomes one row of fixed-width primitive columns: game ID, winner index,
+ * move count, board size, the strategy of each player and the location of each move. Rows are
+ * grouped into compressed blocks of up to 65,536 games; strategy names are dictionary encoded.
+ *
+ * <p>Layout, integers big-endian:
+ *
+ * <pre>
+ * header      magic int 'T' 'T' 'T' 'R' | version byte
+ * block       1 byte | rows int | players int | moves int | length int | deflated columns
+ * trailer     0 byte | strategies int | per strategy: modified UTF-8 name
+ * </pre>
+ */
+public final class GameResultsWriter implements AutoCloseable {
+
+  /** The magic number identifying a game results file, "TTTR" in ASCII. */
+  public static final int MAGIC = 0x54545452;
+
+  /** The current version of the game results layout. */
+  public static final byte VERSION = 1;
+
+  /** The strategy recorded for players when none is given. */
+  public static final String UNKNOWN_STRATEGY = "unknown";
+
+  private static final int MAX_STRATEGIES = Short.MAX_VALUE + 1;
+
+  private final DataOutputStream out;
+
+  private final ColumnBlock.Builder block = new ColumnBlock.Builder();
+
+  private final Map<String, Short> strategyIds = new HashMap<>();
+
+  private final List<String> strategies = new ArrayList<>();
+
+  private long rows;
+
+  /**
+   * Creates a game results file, replacing any existing file.
+   *
+   * @param resultsFile the file to write the results to
+   * @throws IOException if an I/O error occurs while creating the file
+   */
+  public GameResultsWriter(Path resultsFile) throws IOException {
+    this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(resultsFile)));
+    out.writeInt(MAGIC);
+    out.writeByte(VERSION);
+  }
+
+  /**
+   * Appends the result of a finished game, recording every player's strategy as {@link
+   * #UNKNOWN_STRATEGY unknown}.
+   *
+   * @param game the finished game
+   * @throws IOException if an I/O error occurs while writing
+   */
+  public void append(Game game) throws IOException {
+    append(game, Collections.nCopies(game.numberOfPlayers(), UNKNOWN_STRATEGY));
+  }
+
+  /**
+   * Appends the result of a finished game.
+   *
+   * @param game the finished game
+   * @param playerStrategies the name of the strategy each player used, in player order
+   * @throws IOException if an I/O error occurs while writing
+   * @throws IllegalArgumentException if the number of strategies does not match the number of
+   *     players
+   */
+  public void append(Game game, List<String> playerStrategies) throws IOException {
+    var history = game.history();
+    var last = history.getLast();
+    if (playerStrategies.size() != last.playerMarkers().size()) {
+      throw new IllegalArgumentException(
+          "Expected a strategy for each of the " + last.playerMarkers().size() + " players");
+    }
+    var rowStrategies = new short[playerStrategies.size()];
+    for (int i = 0; i < rowStrategies.length; i++) {
+      rowStrategies[i] = strategyId(playerStrategies.get(i));
+    }
+    var rowMoves = new int[history.size() - 1];
+    var states = history.iterator();
+    states.next();
+    for (int i = 0; states.hasNext(); i++) {
+      rowMoves[i] = states.next().lastMove();
+    }
+    block.addRow(
+        game.id().getMostSignificantBits(),
+        game.id().getLeastSignificantBits(),
+        last.lastMove() > -1 && last.lastPlayerHasChain() ? last.lastPlayerIndex() : -1,
+        last.board().dimension(),
+        rowStrategies,
+        rowMoves);
+    rows++;
+    if (block.isFull()) {
+      writeBlock();
+    }
+  }
+
+  /**
+   * Returns the number of results appended.
+   *
+   * @return the number of rows
+   */
+  public long rows() {
+    return rows;
+  }
+
+  /**
+   * Writes any buffered results and the strategy dictionary, and closes the file.
+   *
+   * @throws IOException if an I/O error occurs while writing
+   */
+  @Override
+  public void close() throws IOException {
+    try (out) {
+      if (block.rows() > 0) {
+        writeBlock();
+      }
+      out.writeByte(0);
+      out.writeInt(strategies.size());
+      for (var strategy : strategies) {
+        out.writeUTF(strategy);
+      }
+    }
+  }
+
+  private void writeBlock() throws IOException {
+    out.writeByte(1);
+    block.build().writeTo(out);
+  }
+
+  private short strategyId(String strategy) {
+    var id = strategyIds.get(strategy);
+    if (id == null) {
+      if (strategies.size() == MAX_STRATEGIES) {
+        throw new IllegalArgumentException("Too many distinct strategies");
+      }
+      id = (short) strategies.size();
+      strategyIds.put(strategy, id);
+      strategies.add(strategy);
+    }
+    return id;
+  }
+}
@@ -0,0 +1,87 @@
+package org.xxdc.oss.example.analysis;
+
+import java.util.List;
+import java.util.Optional;
+import org.xxdc.oss.example.GameState;
+import org.xxdc.oss.example.ThreatIndex;
+
+/// A stateful strategic turning point analyzer for a live game, fed one [GameState] per move.
+///
+/// Rather than re-examining boards, the analyzer keeps a [ThreatIndex] of the game's lines in step
+/// with the moves. A move touches at most four lines, so updating the index, the open threat lines
+/// (lines held by one player with `d - 1` marks) and detecting a turning point is O(1) per move,
+/// and never allocates a board.
+///
+/// The turning points found are the same as [Analyzers#strategicTurningPoints()] over the same
+/// states.
+public final class IncrementalTurningPointAnalyzer {
+
+  private final List<String> playerMarkers;
+
+  private final int centerLocation;
+
+  private final int locations;
+
+  private final ThreatIndex threatIndex;
+
+  private int emptyLocations;
+
+  private int moveNumber;
+
+  /// Creates an analyzer starting from the given state, usually the initial state of a game.
+  /// @param initialState the state before the first move to be analyzed
+  /// @throws IllegalArgumentException if the board holds a marker of an unknown player
+  public IncrementalTurningPointAnalyzer(GameState initialState) {
+    int dimension = initialState.board().dimension();
+    this.playerMarkers = initialState.playerMarkers();
+    this.centerLocation = dimension % 2 == 0 ? -1 : dimension * (dimension / 2) + dimension / 2;
+    this.locations = dimension * dimension;
+    this.threatIndex = ThreatIndex.of(initialState);
+    this.emptyLocations = TurningPointAnalysis.locationsEmpty(initialState.board());
+    this.moveNumber = locations - emptyLocations + 1;
+  }
+
+  /// Analyzes the next move of the game.
+  /// @param gameState the state after the next move
+  /// @return the strategic turning point made by the move, if any
+  /// @throws IllegalArgumentException if the state does not follow a move to an empty location
+  public Optional<StrategicTurningPoint> accept(GameState gameState) {
+    int location = gameState.lastMove();
+    if (location < 0 || location >= locations) {
+      throw new IllegalArgumentException("Game state does not follow a move: " + location);
+    }
+    int player = gameState.lastPlayerIndex();
+    boolean preventsLoss = false;
+    for (int opponent = 0; opponent < playerMarkers.size(); opponent++) {
+      preventsLoss |= opponent != player && threatIndex.completesLine(location, opponent);
+    }
+    boolean won = threatIndex.mark(location, player);
+    emptyLocations--;
+    int currentMoveNumber = moveNumber++;
+    var playerMarker = playerMarkers.get(player);
+    if (won) {
+      return Optional.of(
+          new StrategicTurningPoint.GameWon(playerMarker, gameState, currentMoveNumber));
+    }
+    if (location == centerLocation) {
+      return Optional.of(
+          new StrategicTurningPoint.CenterSquareControl(
+              playerMarker, gameState, currentMoveNumber));
+    }
+    if (preventsLoss && emptyLocations > 0) {
+      return Optional.of(
+          new StrategicTurningPoint.ImmediateLossPrevention(
+              playerMarker, gameState, currentMoveNumber));
+    }
+    return Optional.empty();
+  }
+
+  /// Returns the number of open threat lines of the given player: lines holding `d - 1` of the
+  /// player's marks and an empty location, which the player wins by completing.
+  /// @param playerMarker the player's marker
+  /// @return the number of open threat lines
+  public int threatCount(String playerMarker) {
+    int player = playerMarkers.indexOf(playerMarker);
+    return player < 0 ? 0 : threatIndex.threatCount(player);
+  }
+}
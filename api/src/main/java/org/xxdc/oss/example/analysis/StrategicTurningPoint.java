@@ -2,6 +2,7 @@ package org.xxdc.oss.example.analysis;
 
 import java.util.Optional;
 import org.xxdc.oss.example.GameState;
+import org.xxdc.oss.example.ThreatIndex;
 
 /// A strategic turning point in a game of Tic-Tac-Toe.
 public sealed interface StrategicTurningPoint {
@@ -83,13 +84,13 @@ public sealed interface StrategicTurningPoint {
   static boolean movePreventedImmediateLoss(GameState prevGameState, GameState gameState) {
     var lastPlayer = gameState.lastPlayer();
     int lastMove = gameState.lastMove();
-    if (gameState.availableMoves().isEmpty()) { // Game is over
+    if (!gameState.hasMovesAvailable()) { // Game is over
       return false;
     }
     return prevGameState.playerMarkers().stream()
         .filter(player -> !player.equals(lastPlayer))
         .anyMatch(
-            opponent -> prevGameState.board().withMove(opponent, lastMove).hasChain(opponent));
+            opponent -> ThreatIndex.wouldCompleteLine(prevGameState.board(), opponent, lastMove));
     // TODO: this is not quite right if there were not enough moves
     // left until the opponent player's turn
   }
@@ -0,0 +1,90 @@
+package org.xxdc.oss.example.analysis;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.SequencedCollection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collector;
+import org.xxdc.oss.example.GameBoard;
+import org.xxdc.oss.example.GameState;
+
+/// Strategic turning point analysis over many games at once. Detecting turning points within a
+/// game is inherently sequential, as each move is compared with the state before it, so the
+/// analysis fans out per game: each game's history is analyzed independently and the results are
+/// merged with [#summarizing()], whose combiner makes it safe under parallel streams.
+///
+/// For a single, live game, the [Analyzers#strategicTurningPoints()] gatherer remains the simplest
+/// choice.
+public final class TurningPointAnalysis {
+
+  private TurningPointAnalysis() {}
+
+  /// Finds the strategic turning points in a game's history, in move order.
+  /// @param history the game states of the game, in move order
+  /// @return the strategic turning points
+  public static List<StrategicTurningPoint> turningPoints(SequencedCollection<GameState> history) {
+    var turningPoints = new ArrayList<StrategicTurningPoint>();
+    GameState prevGameState = null;
+    int moveNumber = 0;
+    for (var gameState : history) {
+      if (prevGameState == null) {
+        moveNumber = movesPlayed(gameState.board()) + 1;
+      } else {
+        StrategicTurningPoint.from(prevGameState, gameState, moveNumber++)
+            .ifPresent(turningPoints::add);
+      }
+      prevGameState = gameState;
+    }
+    return turningPoints;
+  }
+
+  /// A collector summarizing strategic turning points. Partial summaries are combined, so the
+  /// collector may be used with parallel streams.
+  /// @return the summarizing collector
+  public static Collector<StrategicTurningPoint, ?, TurningPointSummary> summarizing() {
+    return Collector.of(
+        TurningPointSummary::new,
+        TurningPointSummary::add,
+        TurningPointSummary::combine,
+        Collector.Characteristics.UNORDERED);
+  }
+
+  /// Summarizes the strategic turning points of the given games, analyzing the games in parallel
+  /// on the common fork-join pool.
+  /// @param histories the game histories to analyze
+  /// @return the summary of their turning points
+  public static TurningPointSummary summarize(
+      Collection<? extends SequencedCollection<GameState>> histories) {
+    return histories.parallelStream()
+        .flatMap(history -> turningPoints(history).stream())
+        .collect(summarizing());
+  }
+
+  /// Summarizes the strategic turning points of the given games, analyzing the games in parallel
+  /// on the given fork-join pool, e.g. to bound the cores used by a nightly batch job.
+  /// @param histories the game histories to analyze
+  /// @param pool the pool to analyze the games on
+  /// @return the summary of their turning points
+  public static TurningPointSummary summarize(
+      Collection<? extends SequencedCollection<GameState>> histories, ForkJoinPool pool) {
+    return pool.submit(() -> summarize(histories)).join();
+  }
+
+  /// Counts the occupied board locations without materializing the available moves.
+  static int movesPlayed(GameBoard board) {
+    return board.dimension() * board.dimension() - locationsEmpty(board);
+  }
+
+  /// Counts the empty board locations without materializing the available moves.
+  static int locationsEmpty(GameBoard board) {
+    int locations = board.dimension() * board.dimension();
+    int empty = 0;
+    for (int location = 0; location < locations; location++) {
+      if (board.isValidMove(location)) {
+        empty++;
+      }
+    }
+    return empty;
+  }
+}
@@ -0,0 +1,70 @@
+package org.xxdc.oss.example.analysis;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import org.xxdc.oss.example.analysis.StrategicTurningPoint.PriorityLevel;
+
+/// Aggregated statistics over strategic turning points: how many there were per player, per move
+/// number and per priority level. Summaries are built by
+/// [TurningPointAnalysis#summarizing()], whose partial summaries combine associatively, so they
+/// can be accumulated in parallel.
+public final class TurningPointSummary {
+
+  private long total;
+
+  private final Map<String, Long> byPlayer = new HashMap<>();
+
+  private final Map<Integer, Long> byMoveNumber = new TreeMap<>();
+
+  private final Map<PriorityLevel, Long> byPriority = new EnumMap<>(PriorityLevel.class);
+
+  TurningPointSummary() {}
+
+  void add(StrategicTurningPoint turningPoint) {
+    total++;
+    byPlayer.merge(turningPoint.playerMarker(), 1L, Long::sum);
+    byMoveNumber.merge(turningPoint.moveNumber(), 1L, Long::sum);
+    byPriority.merge(turningPoint.priorityLevel(), 1L, Long::sum);
+  }
+
+  TurningPointSummary combine(TurningPointSummary other) {
+    total += other.total;
+    other.byPlayer.forEach((player, count) -> byPlayer.merge(player, count, Long::sum));
+    other.byMoveNumber.forEach((move, count) -> byMoveNumber.merge(move, count, Long::sum));
+    other.byPriority.forEach((priority, count) -> byPriority.merge(priority, count, Long::sum));
+    return this;
+  }
+
+  /// The total number of turning points.
+  /// @return the number of turning points
+  public long total() {
+    return total;
+  }
+
+  /// The number of turning points made by each player.
+  /// @return the turning point counts keyed by player marker
+  public Map<String, Long> byPlayer() {
+    return Collections.unmodifiableMap(byPlayer);
+  }
+
+  /// The number of turning points at each move number.
+  /// @return the turning point counts keyed by move number, in move order
+  public Map<Integer, Long> byMoveNumber() {
+    return Collections.unmodifiableMap(byMoveNumber);
+  }
+
+  /// The number of turning points of each priority level.
+  /// @return the turning point counts keyed by priority level
+  public Map<PriorityLevel, Long> byPriority() {
+    return Collections.unmodifiableMap(byPriority);
+  }
+
+  @Override
+  public String toString() {
+    return "TurningPointSummary[total=%d, byPlayer=%s, byMoveNumber=%s, byPriority=%s]"
+        .formatted(total, byPlayer, byMoveNumber, byPriority);
+  }
+}
@@ -0,0 +1,370 @@
+package org.xxdc.oss.example.archive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.xxdc.oss.example.Game;
+import org.xxdc.oss.example.GameCodec;
+
+/**
+ * An append-only archive of finished games. Games are stored {@link GameCodec encoded}, back to
+ * back, in segment files of a bounded size, and located by a {@code UUID} to offset index, so a
+ * single game can be loaded by ID without searching for its file or deserializing an object graph.
+ *
+ * <p>Segments are read through memory mappings created with {@link FileChannel#map}, and games are
+ * decoded directly from the mapped pages without copying them to the heap. The archive directory
+ * holds:
+ *
+ * <pre>
+ * segment-NNNNNN.dat  encoded games, back to back
+ * games.idx           one 36-byte entry per game: id most, least significant bits long,long |
+ *                     segment int | offset long | length int | reserved int
+ * </pre>
+ *
+ * <p>A game's index entry is appended after its encoding, so a crash leaves at most an unindexed
+ * game in a segment; index entries that are incomplete or point past the end of their segment are
+ * truncated when the archive is opened. If a game is appended more than once, lookups by ID return
+ * the latest copy, while scans return every copy.
+ *
+ * <p>The archive is thread-safe. Appends are serialized, while games found or scanned by other
+ * threads are decoded concurrently.
+ */
+public final class GameArchive implements AutoCloseable {
+
+  private static final Logger log = System.getLogger(GameArchive.class.getName());
+
+  /** The default maximum size of a segment file, 64 MiB. */
+  public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+
+  private static final String INDEX_FILE_NAME = "games.idx";
+
+  private static final int INDEX_ENTRY_LENGTH =
+      2 * Long.BYTES + Integer.BYTES + Long.BYTES + 2 * Integer.BYTES;
+
+  private final Path directory;
+
+  private final int segmentSize;
+
+  private final FileChannel indexChannel;
+
+  private final List<FileChannel> segmentChannels = new ArrayList<>();
+
+  private final List<MappedByteBuffer> segmentMappings = new ArrayList<>();
+
+  private final Map<UUID, Entry> entriesById = new HashMap<>();
+
+  private final List<Entry> entries = new ArrayList<>();
+
+  private final ByteBuffer indexEntry = ByteBuffer.allocate(INDEX_ENTRY_LENGTH);
+
+  private long segmentPosition;
+
+  private int firstUnflushedSegment;
+
+  /** The location of an encoded game within the archive. */
+  private record Entry(int segment, long offset, int length) {}
+
+  private GameArchive(Path directory, int segmentSize, FileChannel indexChannel) {
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+    this.indexChannel = indexChannel;
+  }
+
+  /**
+   * Opens the archive in the given directory, creating it if it does not exist, with the {@link
+   * #DEFAULT_SEGMENT_SIZE default segment size}.
+   *
+   * @param directory the archive directory
+   * @return the open archive
+   * @throws IOException if an I/O error occurs while opening the archive
+   */
+  public static GameArchive open(Path directory) throws IOException {
+    return open(directory, DEFAULT_SEGMENT_SIZE);
+  }
+
+  /**
+   * Opens the archive in the given directory, creating it if it does not exist.
+   *
+   * @param directory the archive directory
+   * @param segmentSize the size at which appends roll over to a new segment file; a game larger
+   *     than this is stored in a segment of its own
+   * @return the open archive
+   * @throws IOException if an I/O error occurs while opening the archive
+   * @throws IllegalArgumentException if the segment size is not positive
+   */
+  public static GameArchive open(Path directory, int segmentSize) throws IOException {
+    if (segmentSize <= 0) {
+      throw new IllegalArgumentException("Segment size must be positive");
+    }
+    Files.createDirectories(directory);
+    var indexChannel =
+        FileChannel.open(
+            directory.resolve(INDEX_FILE_NAME),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+    var archive = new GameArchive(directory, segmentSize, indexChannel);
+    try {
+      archive.loadIndex();
+    } catch (IOException e) {
+      archive.close();
+      throw e;
+    }
+    return archive;
+  }
+
+  /**
+   * Appends the given game to the archive.
+   *
+   * @param game the game to append
+   * @throws IOException if an I/O error occurs while appending
+   */
+  public synchronized void append(Game game) throws IOException {
+    var encoded = GameCodec.encode(game);
+    if (segmentChannels.isEmpty()
+        || (segmentPosition > 0 && segmentPosition + encoded.length > segmentSize)) {
+      openSegment(segmentChannels.size());
+    }
+    int segment = segmentChannels.size() - 1;
+    var channel = segmentChannels.get(segment);
+    var entry = new Entry(segment, segmentPosition, encoded.length);
+    writeFully(channel, ByteBuffer.wrap(encoded), entry.offset());
+    segmentPosition += encoded.length;
+
+    indexEntry.clear();
+    indexEntry
+        .putLong(game.id().getMostSignificantBits())
+        .putLong(game.id().getLeastSignificantBits())
+        .putInt(entry.segment())
+        .putLong(entry.offset())
+        .putInt(entry.length())
+        .putInt(0);
+    indexEntry.flip();
+    writeFully(indexChannel, indexEntry, (long) entries.size() * INDEX_ENTRY_LENGTH);
+    entries.add(entry);
+    entriesById.put(game.id(), entry);
+  }
+
+  /**
+   * Forces all appended games and their index entries to storage.
+   *
+   * @throws IOException if an I/O error occurs while forcing
+   */
+  public synchronized void flush() throws IOException {
+    for (int segment = firstUnflushedSegment; segment < segmentChannels.size(); segment++) {
+      segmentChannels.get(segment).force(false);
+    }
+    firstUnflushedSegment = Math.max(0, segmentChannels.size() - 1);
+    indexChannel.force(false);
+  }
+
+  /**
+   * Loads the game with the given ID.
+   *
+   * @param gameId the ID of the game
+   * @return the game, or empty if the archive holds no game with the ID
+   * @throws IOException if an I/O error occurs, or the archived game cannot be decoded
+   */
+  public Optional<Game> find(UUID gameId) throws IOException {
+    Entry entry;
+    synchronized (this) {
+      entry = entriesById.get(gameId);
+    }
+    return entry == null ? Optional.empty() : Optional.of(GameCodec.decode(slice(entry)));
+  }
+
+  /**
+   * Returns whether the archive holds a game with the given ID.
+   *
+   * @param gameId the ID of the game
+   * @return true if the archive holds the game
+   */
+  public synchronized boolean contains(UUID gameId) {
+    return entriesById.containsKey(gameId);
+  }
+
+  /**
+   * Returns the number of games appended to the archive, counting repeated appends of a game.
+   *
+   * @return the number of archived games
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Returns an iterator over the games in the archive, in the order they were appended. The
+   * iterator reads each segment sequentially and covers the games appended before it was created.
+   *
+   * @return an iterator over the archived games; decoding failures are thrown as {@link
+   *     UncheckedIOException}
+   */
+  public Iterator<Game> scan() {
+    List<Entry> snapshot;
+    synchronized (this) {
+      snapshot = List.copyOf(entries);
+    }
+    return new Iterator<>() {
+      private int next;
+
+      @Override
+      public boolean hasNext() {
+        return next < snapshot.size();
+      }
+
+      @Override
+      public Game next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        try {
+          return GameCodec.decode(slice(snapshot.get(next++)));
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+    };
+  }
+
+  /**
+   * Returns a sequential stream of the games in the archive, in the order they were appended.
+   *
+   * @return a stream of the archived games
+   * @see #scan()
+   */
+  public Stream<Game> games() {
+    return StreamSupport.stream(
+        Spliterators.spliterator(
+            scan(), size(), Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE),
+        false);
+  }
+
+  /**
+   * Closes the archive's files. Mapped segments are released once no longer reachable.
+   *
+   * @throws IOException if an I/O error occurs while closing
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    try (indexChannel) {
+      for (var channel : segmentChannels) {
+        channel.close();
+      }
+    }
+  }
+
+  private void loadIndex() throws IOException {
+    long indexLength = indexChannel.size();
+    long validLength = 0;
+    var buffer = ByteBuffer.allocate(INDEX_ENTRY_LENGTH);
+    while (validLength + INDEX_ENTRY_LENGTH <= indexLength) {
+      buffer.clear();
+      readFully(indexChannel, buffer, validLength);
+      buffer.flip();
+      var gameId = new UUID(buffer.getLong(), buffer.getLong());
+      var entry = new Entry(buffer.getInt(), buffer.getLong(), buffer.getInt());
+      while (entry.segment() >= segmentChannels.size() && segmentExists(segmentChannels.size())) {
+        openSegment(segmentChannels.size());
+      }
+      if (entry.segment() >= segmentChannels.size()
+          || entry.offset() < 0
+          || entry.length() <= 0
+          || entry.offset() + entry.length() > segmentChannels.get(entry.segment()).size()) {
+        break;
+      }
+      entries.add(entry);
+      entriesById.put(gameId, entry);
+      validLength += INDEX_ENTRY_LENGTH;
+    }
+    if (validLength < indexLength) {
+      log.log(
+          Level.WARNING,
+          "Truncating {0} bytes of incomplete entries from game archive index {1}.",
+          indexLength - validLength,
+          directory);
+      indexChannel.truncate(validLength);
+    }
+    while (segmentExists(segmentChannels.size())) {
+      openSegment(segmentChannels.size());
+    }
+    if (!segmentChannels.isEmpty()) {
+      segmentPosition = entries.isEmpty() ? 0 : endOfLastEntryIn(segmentChannels.size() - 1);
+    }
+    log.log(Level.DEBUG, "Opened game archive {0} with {1} games.", directory, entries.size());
+  }
+
+  private long endOfLastEntryIn(int segment) {
+    var last = entries.getLast();
+    return last.segment() == segment ? last.offset() + last.length() : 0;
+  }
+
+  private boolean segmentExists(int segment) {
+    return Files.exists(segmentFile(segment));
+  }
+
+  private Path segmentFile(int segment) {
+    return directory.resolve("segment-%06d.dat".formatted(segment));
+  }
+
+  private void openSegment(int segment) throws IOException {
+    segmentChannels.add(
+        FileChannel.open(
+            segmentFile(segment),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE));
+    segmentMappings.add(null);
+    segmentPosition = 0;
+  }
+
+  /**
+   * Returns a read-only view of the encoded game, mapping or re-mapping its segment if the mapping
+   * does not yet cover it.
+   */
+  private synchronized ByteBuffer slice(Entry entry) throws IOException {
+    var mapping = segmentMappings.get(entry.segment());
+    if (mapping == null || mapping.capacity() < entry.offset() + entry.length()) {
+      var channel = segmentChannels.get(entry.segment());
+      mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      segmentMappings.set(entry.segment(), mapping);
+    }
+    return mapping.slice((int) entry.offset(), entry.length());
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      position += channel.write(buffer, position);
+    }
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, position);
+      if (read < 0) {
+        throw new IOException("Unexpected end of game archive index");
+      }
+      position += read;
+    }
+  }
+}
@@ -2,7 +2,9 @@ package org.xxdc.oss.example.bot;
 
 import java.lang.System.Logger;
 import java.lang.System.Logger.Level;
+import java.util.Arrays;
 import org.xxdc.oss.example.GameState;
+import org.xxdc.oss.example.ThreatIndex;
 
 /**
  * Implements the Alpha-Beta pruning algorithm for a two-player game. The algorithm evaluates game
@@ -10,19 +12,63 @@ import org.xxdc.oss.example.GameState;
  * explore the game tree, and prunes branches that are guaranteed to be inferior. The algorithm aims
  * to maximize the score for the current player (the "maximizer") and minimize the score for the
  * opponent.
+ *
+ * <p>When the configuration sets a maximum time, the search deepens iteratively: each iteration
+ * searches one ply deeper than the last, trying the previous iteration's best move first, and
+ * positions at the depth horizon are scored by the {@link ThreatIndex#evaluate heuristic
+ * evaluation}. An iteration still running when the time expires is abandoned, and the best move of
+ * the deepest completed iteration is returned.
+ *
+ * <p>The search enhancements enabled in the configuration refine it further: principal variation
+ * search proves later moves no better than the first with null-window searches, while killer moves
+ * and the history heuristic break ties in the threat index's move order with moves that recently
+ * caused cut-offs.
+ *
+ * <p>Run as a {@link MoveSearch}, the search is abandoned as if out of time once cancelled, and
+ * offers each root move that becomes its best as the move to fall back to.
  */
 public final class AlphaBeta implements BotStrategy {
 
   private static final Logger log = System.getLogger(AlphaBeta.class.getName());
 
-  private static final int MIN_SCORE = -100;
-  private static final int MAX_SCORE = 100;
+  private static final int MIN_SCORE = -(1 << 30);
+  private static final int MAX_SCORE = 1 << 30;
   private static final int DRAW_SCORE = 0;
 
+  /** Bounds heuristic scores well inside the win and loss scores, whatever the search depth. */
+  private static final int HEURISTIC_LIMIT = 1 << 29;
+
+  /** The number of nodes searched between checks of the clock and for cancellation. */
+  private static final int NODES_PER_CLOCK_CHECK = 1024;
+
+  /** The number of killer moves kept for each ply. */
+  private static final int KILLER_SLOTS = 2;
+
+  /** The tie-break score of a killer move, above any history score. */
+  private static final long KILLER_SCORE = Long.MAX_VALUE;
+
   private final String maximizer;
+  private final int maximizerIndex;
+  private final int opponentIndex;
   private final GameState initialState;
   private final BotStrategyConfig config;
 
+  /** The two most recent moves causing a cut-off at each ply, or -1. */
+  private final int[][] killers;
+
+  /** For each player and location, the cut-offs the move has caused, weighted by their depth. */
+  private final long[][] history;
+
+  /** The move ordering tie-break scores of each ply, reused between the nodes of the ply. */
+  private final long[][] tieBreakBuffers;
+
+  private MoveSearch search;
+  private long startTime;
+  private long nodes;
+  private boolean timedOut;
+  private int completedDepth;
+  private int rootScore;
+
   /**
    * Constructs an instance of the AlphaBeta bot strategy with the given initial game state and
    * default configuration.
@@ -47,74 +93,221 @@ public final class AlphaBeta implements BotStrategy {
     if (initialState.playerMarkers().size() != 2) {
       throw new IllegalArgumentException("Minimax AlphaBeta requires exactly two players");
     }
+    this.maximizerIndex = initialState.currentPlayerIndex();
+    this.opponentIndex = 1 - maximizerIndex;
     this.config = config;
+    int locations = initialState.board().dimension() * initialState.board().dimension();
+    this.killers = new int[locations][KILLER_SLOTS];
+    this.history = new long[2][locations];
+    this.tieBreakBuffers = new long[locations][locations];
   }
 
   @Override
   public int bestMove() {
-    int bestMove = -1;
+    return PositionCache.bestMove(
+        initialState, AlphaBeta.class, config, this::solve, () -> rootScore);
+  }
+
+  private int solve() {
+    search = MoveSearch.current();
+    startTime = System.currentTimeMillis();
+    nodes = 0;
+    timedOut = false;
+    completedDepth = 0;
+    for (int[] slots : killers) {
+      Arrays.fill(slots, -1);
+    }
+    for (long[] scores : history) {
+      Arrays.fill(scores, 0);
+    }
+    var index = ThreatIndex.of(initialState);
+    if (!index.hasMovesAvailable()) {
+      return -1;
+    } else if (!config.hasMaxTimeMillis()) {
+      int[] rootMoves = initialState.availableMoves().stream().mapToInt(i -> i).toArray();
+      int horizon = config.hasMaxDepth() ? config.getMaxDepth() : Integer.MAX_VALUE;
+      int bestMove = rootMoves[searchRoot(index, rootMoves, horizon)];
+      completedDepth = Math.min(horizon, rootMoves.length - 1);
+      return bestMove;
+    }
+    return iterativeDeepening(index);
+  }
+
+  /**
+   * Returns the depth of the deepest search completed by the last call to {@link #bestMove()}: the
+   * number of plies searched below the root moves.
+   *
+   * @return the completed search depth
+   */
+  public int completedDepth() {
+    return completedDepth;
+  }
+
+  /**
+   * Returns the number of positions searched by the last call to {@link #bestMove()}.
+   *
+   * @return the number of nodes searched
+   */
+  public long nodesSearched() {
+    return nodes;
+  }
+
+  /**
+   * Deepens the search one ply at a time until the time expires, the maximum depth is reached, the
+   * search reaches the end of the game or a forced result is found.
+   */
+  private int iterativeDeepening(ThreatIndex index) {
+    int[] rootMoves = index.orderedMoves(maximizerIndex);
+    int bestMove = rootMoves[0];
+    int exhaustiveDepth = rootMoves.length - 1;
+    int maxDepth = config.hasMaxDepth() ? config.getMaxDepth() : exhaustiveDepth;
+    for (int horizon = 1; horizon <= Math.min(maxDepth, exhaustiveDepth); horizon++) {
+      int best = searchRoot(index, rootMoves, horizon);
+      if (timedOut) {
+        break;
+      }
+      bestMove = rootMoves[best];
+      completedDepth = horizon;
+      // The previous iteration's best move is tried first in the next
+      System.arraycopy(rootMoves, 0, rootMoves, 1, best);
+      rootMoves[0] = bestMove;
+      log.log(Level.DEBUG, "{0}: Depth: {1} Best: {2}", maximizer, horizon, bestMove);
+      if (Math.abs(rootScore) >= MAX_SCORE - exhaustiveDepth) {
+        break;
+      }
+    }
+    return bestMove;
+  }
+
+  /** Searches each root move to the horizon, returning the position of the best in the array. */
+  private int searchRoot(ThreatIndex index, int[] rootMoves, int horizon) {
+    int best = 0;
     int maxScore = -Integer.MAX_VALUE;
-    for (int move : initialState.availableMoves()) {
-      var newState = initialState.afterPlayerMoves(move);
-      int score = alphabeta(newState, false, 0);
+    for (int i = 0; i < rootMoves.length; i++) {
+      int move = rootMoves[i];
+      index.mark(move, maximizerIndex);
+      // Moves that cannot beat the best so far need only be proven no better
+      int score;
+      if (i == 0 || !config.isPrincipalVariationSearchEnabled()) {
+        score = -negamax(index, opponentIndex, -Integer.MAX_VALUE, -maxScore, 0, horizon);
+      } else {
+        score = -negamax(index, opponentIndex, -maxScore - 1, -maxScore, 0, horizon);
+        if (score > maxScore) {
+          score = -negamax(index, opponentIndex, -Integer.MAX_VALUE, -score, 0, horizon);
+        }
+      }
+      index.unmark(move);
+      if (timedOut) {
+        break;
+      }
       log(move, score, 0);
       if (score > maxScore) {
         maxScore = score;
-        bestMove = move;
+        best = i;
+        search.offer(move);
       }
     }
-    return bestMove;
+    rootScore = maxScore;
+    return best;
   }
 
-  private int alphabeta(GameState state, boolean isMaximizing, int depth) {
-    return alphabeta(state, isMaximizing, -Integer.MAX_VALUE, Integer.MAX_VALUE, depth);
-  }
-
-  private int alphabeta(GameState state, boolean isMaximizing, int alpha, int beta, int depth) {
-    if (state.hasChain(maximizer)) {
+  /**
+   * Searches the position held by the threat index, which is marked and unmarked in step with the
+   * recursion, scoring it for the player to move (negamax). Moves are tried in the order of {@link
+   * #orderedMoves}, so that cut-offs come early. Positions at the horizon are scored by the
+   * heuristic evaluation. Once the time expires, or the search is cancelled, the search unwinds
+   * without a meaningful score, so callers check {@link #timedOut} before using it.
+   */
+  private int negamax(ThreatIndex index, int player, int alpha, int beta, int depth, int horizon) {
+    nodes++;
+    int opponent = 1 - player;
+    if (index.hasChain(player)) {
       return MAX_SCORE - depth;
-    } else if (state.hasChain(opponent(maximizer))) {
+    } else if (index.hasChain(opponent)) {
       return MIN_SCORE + depth;
-    } else if (!state.hasMovesAvailable() || config.exceedsMaxDepth(depth)) {
+    } else if (!index.hasMovesAvailable()) {
+      return DRAW_SCORE;
+    } else if (depth >= horizon) {
+      return Math.clamp(index.evaluate(player), -HEURISTIC_LIMIT, HEURISTIC_LIMIT);
+    } else if (isOutOfTime()) {
       return DRAW_SCORE;
     }
 
-    if (isMaximizing) {
-      int value = -Integer.MAX_VALUE;
-      for (int move : state.availableMoves()) {
-        var newState = state.afterPlayerMoves(move);
-        int score = alphabeta(newState, false, alpha, beta, depth + 1);
-        value = Math.max(value, score);
-        if (value > beta) {
-          break;
+    int[] moves = orderedMoves(index, player, depth);
+    int value = -Integer.MAX_VALUE;
+    for (int i = 0; i < moves.length; i++) {
+      int move = moves[i];
+      index.mark(move, player);
+      int score;
+      if (i == 0 || !config.isPrincipalVariationSearchEnabled()) {
+        score = -negamax(index, opponent, -beta, -alpha, depth + 1, horizon);
+      } else {
+        // Prove the move no better than the first with a null window; re-search if it may be
+        score = -negamax(index, opponent, -alpha - 1, -alpha, depth + 1, horizon);
+        if (score > alpha && score < beta) {
+          score = -negamax(index, opponent, -beta, -score, depth + 1, horizon);
         }
-        alpha = Math.max(alpha, value);
       }
-      return value;
+      index.unmark(move);
+      if (timedOut) {
+        break;
+      }
+      value = Math.max(value, score);
+      alpha = Math.max(alpha, value);
+      if (alpha >= beta) {
+        recordCutoff(player, move, depth, Math.min(horizon - depth, moves.length));
+        break;
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Orders the moves of the player in the threat index order, with ties between moves of equal
+   * priority broken by the killer moves of the ply, then by history score.
+   */
+  private int[] orderedMoves(ThreatIndex index, int player, int depth) {
+    if (!config.isKillerMovesEnabled() && !config.isHistoryHeuristicEnabled()) {
+      return index.orderedMoves(player);
+    }
+    long[] tieBreaks = tieBreakBuffers[depth];
+    if (config.isHistoryHeuristicEnabled()) {
+      System.arraycopy(history[player], 0, tieBreaks, 0, tieBreaks.length);
     } else {
-      int value = Integer.MAX_VALUE;
-      for (int move : state.availableMoves()) {
-        var newState = state.afterPlayerMoves(move);
-        int score = alphabeta(newState, true, alpha, beta, depth + 1);
-        value = Math.min(value, score);
-        if (value < alpha) {
-          break;
+      Arrays.fill(tieBreaks, 0);
+    }
+    if (config.isKillerMovesEnabled()) {
+      for (int slot = 0; slot < KILLER_SLOTS; slot++) {
+        if (killers[depth][slot] >= 0) {
+          tieBreaks[killers[depth][slot]] = KILLER_SCORE - slot;
         }
-        beta = Math.min(beta, value);
       }
-      return value;
     }
+    return index.orderedMoves(player, tieBreaks);
+  }
+
+  private void recordCutoff(int player, int move, int depth, int pliesRemaining) {
+    if (config.isKillerMovesEnabled() && killers[depth][0] != move) {
+      killers[depth][1] = killers[depth][0];
+      killers[depth][0] = move;
+    }
+    if (config.isHistoryHeuristicEnabled()) {
+      history[player][move] += (long) pliesRemaining * pliesRemaining;
+    }
+  }
+
+  private boolean isOutOfTime() {
+    if (!timedOut
+        && nodes % NODES_PER_CLOCK_CHECK == 0
+        && (config.exceedsMaxTimeMillis(System.currentTimeMillis() - startTime)
+            || search.isCancelled())) {
+      timedOut = true;
+    }
+    return timedOut;
   }
 
   private void log(int location, int score, int depth) {
     String indent = "-".repeat(depth);
     log.log(Level.DEBUG, "{0}{1}: Location: {2} Score: {3}", indent, maximizer, location, score);
   }
-
-  private String opponent(String playerMarker) {
-    return initialState.playerMarkers().stream()
-        .dropWhile(playerMarker::equals)
-        .findFirst()
-        .orElseThrow();
-  }
 }
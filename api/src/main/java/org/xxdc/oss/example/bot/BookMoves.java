@@ -0,0 +1,37 @@
+package org.xxdc.oss.example.bot;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToIntFunction;
+import org.xxdc.oss.example.GameState;
+import org.xxdc.oss.example.bot.tablebase.OpeningBook;
+
+/**
+ * Implements a bot strategy that plays from an {@link OpeningBook} while the game is in the book: a
+ * book move, chosen in proportion to its weight, is looked up in microseconds rather than searched
+ * for. Once the game leaves the book, moves are delegated to another strategy.
+ */
+public final class BookMoves implements BotStrategy {
+
+  private final GameState initialState;
+  private final OpeningBook book;
+  private final ToIntFunction<GameState> delegate;
+
+  /**
+   * Constructs a new BookMoves bot strategy for the given game state.
+   *
+   * @param initialState the game state for the bot to move in
+   * @param book the opening book to look moves up in
+   * @param delegate the strategy for positions not in the opening book
+   */
+  public BookMoves(GameState initialState, OpeningBook book, ToIntFunction<GameState> delegate) {
+    this.initialState = initialState;
+    this.book = book;
+    this.delegate = delegate;
+  }
+
+  @Override
+  public int bestMove() {
+    var bookMove = book.move(initialState, ThreadLocalRandom.current());
+    return bookMove.isPresent() ? bookMove.getAsInt() : delegate.applyAsInt(initialState);
+  }
+}
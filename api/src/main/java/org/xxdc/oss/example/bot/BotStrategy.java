@@ -3,12 +3,23 @@ package org.xxdc.oss.example.bot;
 import java.util.concurrent.TimeUnit;
 import java.util.function.ToIntFunction;
 import org.xxdc.oss.example.GameState;
+import org.xxdc.oss.example.bot.tablebase.OpeningBook;
+import org.xxdc.oss.example.bot.tablebase.Tablebase;
 
 /**
  * An interface representing a bot strategy for a game returning a move for the current game state.
  */
 public sealed interface BotStrategy
-    permits AlphaBeta, Minimax, MaxN, Random, Paranoid, MonteCarloTreeSearch, Custom {
+    permits AlphaBeta,
+        Minimax,
+        MaxN,
+        Random,
+        Paranoid,
+        ParanoidAlphaBeta,
+        MonteCarloTreeSearch,
+        PerfectPlay,
+        BookMoves,
+        Custom {
 
   /**
    * Returns the best move for the current game state.
@@ -46,6 +57,13 @@ public sealed interface BotStrategy
    */
   public static final ToIntFunction<GameState> PARANOID = paranoid(BotStrategyConfig.empty());
 
+  /**
+   * Returns a function that returns the best move for the current game state using a Paranoid w.
+   * Alpha-Beta Pruning strategy.
+   */
+  public static final ToIntFunction<GameState> PARANOID_ALPHABETA =
+      paranoidAlphaBeta(BotStrategyConfig.empty());
+
   /**
    * Returns a function that returns the best move for the current game state using a Monte Carlo
    * Search Tree strategy.
@@ -132,6 +150,21 @@ public sealed interface BotStrategy
     };
   }
 
+  /**
+   * Returns a function that returns the best move for the current game state using a Paranoid w.
+   * Alpha-Beta Pruning strategy.
+   *
+   * @param config the configuration for the bot strategy
+   * @return a function that returns the best move for the current game state using a Paranoid w.
+   *     Alpha-Beta Pruning strategy
+   */
+  public static ToIntFunction<GameState> paranoidAlphaBeta(BotStrategyConfig config) {
+    return (state) -> {
+      var paranoid = new ParanoidAlphaBeta(state, config);
+      return paranoid.bestMove();
+    };
+  }
+
   /**
    * Returns a function that returns the best move for the current game state using a Monte Carlo
    * Tree Search strategy.
@@ -146,4 +179,55 @@ public sealed interface BotStrategy
       return montecarlo.bestMove();
     };
   }
+
+  /**
+   * Returns a function that returns the best move for the current game state from a perfect-play
+   * tablebase, using the fallback strategy for positions not in the tablebase.
+   *
+   * @param tablebase the tablebase to look best moves up in
+   * @param fallback the strategy for positions not in the tablebase
+   * @return a function that returns the best move for the current game state from the tablebase
+   */
+  public static ToIntFunction<GameState> perfectPlay(
+      Tablebase tablebase, ToIntFunction<GameState> fallback) {
+    return (state) -> {
+      var perfectPlay = new PerfectPlay(state, tablebase, fallback);
+      return perfectPlay.bestMove();
+    };
+  }
+
+  /**
+   * Returns a function that returns a move for the current game state from an opening book while
+   * the game is in the book, using the delegate strategy once it leaves the book.
+   *
+   * @param book the opening book to look moves up in
+   * @param delegate the strategy for positions not in the opening book
+   * @return a function that returns a move for the current game state from the opening book
+   */
+  public static ToIntFunction<GameState> openingBook(
+      OpeningBook book, ToIntFunction<GameState> delegate) {
+    return (state) -> {
+      var bookMoves = new BookMoves(state, book, delegate);
+      return bookMoves.bestMove();
+    };
+  }
+
+  /**
+   * Returns a function that returns the move of the strategy for the current game state within the
+   * given think-time. The strategy searches on a virtual thread; once the think-time elapses the
+   * search is cancelled and the best move found so far returned, without waiting for the search to
+   * unwind.
+   *
+   * @param strategy the strategy to bound
+   * @param thinkTime the time allowed for each move
+   * @param unit the unit of the think-time
+   * @return a function that returns the strategy's move, or its best so far, within the think-time
+   */
+  public static ToIntFunction<GameState> withThinkTime(
+      ToIntFunction<GameState> strategy, long thinkTime, TimeUnit unit) {
+    return (state) -> {
+      var search = MoveSearch.start(strategy, state, Thread::startVirtualThread);
+      return search.cancelAfter(thinkTime, unit).move().join();
+    };
+  }
 }
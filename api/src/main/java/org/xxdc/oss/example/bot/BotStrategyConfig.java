@@ -1,5 +1,6 @@
 package org.xxdc.oss.example.bot;
 
+import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -11,13 +12,25 @@ public class BotStrategyConfig {
   private Integer maxIterations;
   private Integer maxDepth;
   private Long maxTimeMillis;
+  private boolean principalVariationSearch;
+  private boolean killerMoves;
+  private boolean historyHeuristic;
+  private boolean shallowPruning;
+  private boolean speculativePruning;
+  private PositionCache positionCache;
 
-  private static final BotStrategyConfig EMPTY = new BotStrategyConfig(null, null, null);
+  private static final BotStrategyConfig EMPTY = new BotStrategyConfig(new Builder());
 
-  private BotStrategyConfig(Integer maxIterations, Integer maxDepth, Long maxTimeMillis) {
-    this.maxIterations = maxIterations;
-    this.maxDepth = maxDepth;
-    this.maxTimeMillis = maxTimeMillis;
+  private BotStrategyConfig(Builder builder) {
+    this.maxIterations = builder.maxIterations;
+    this.maxDepth = builder.maxDepth;
+    this.maxTimeMillis = builder.maxTimeMillis;
+    this.principalVariationSearch = builder.principalVariationSearch;
+    this.killerMoves = builder.killerMoves;
+    this.historyHeuristic = builder.historyHeuristic;
+    this.shallowPruning = builder.shallowPruning;
+    this.speculativePruning = builder.speculativePruning;
+    this.positionCache = builder.positionCache;
   }
 
   /**
@@ -47,6 +60,76 @@ public class BotStrategyConfig {
     return maxTimeMillis;
   }
 
+  /**
+   * Returns whether tree searches use principal variation search: after the first move, each move
+   * is searched with a null window, and only re-searched with the full window if it may be better.
+   *
+   * @return true if principal variation search is enabled (the default), false otherwise.
+   */
+  public boolean isPrincipalVariationSearchEnabled() {
+    return principalVariationSearch;
+  }
+
+  /**
+   * Returns whether tree searches try the killer moves of each ply, moves that recently caused a
+   * cut-off at the same depth, before other quiet moves.
+   *
+   * @return true if killer moves are enabled (the default), false otherwise.
+   */
+  public boolean isKillerMovesEnabled() {
+    return killerMoves;
+  }
+
+  /**
+   * Returns whether tree searches order quiet moves by the history heuristic, favouring the moves
+   * that caused the most cut-offs so far in the search.
+   *
+   * @return true if the history heuristic is enabled (the default), false otherwise.
+   */
+  public boolean isHistoryHeuristicEnabled() {
+    return historyHeuristic;
+  }
+
+  /**
+   * Returns whether multi-player searches use shallow pruning, stopping once the player to move
+   * leaves the previous player no more than its best score so far.
+   *
+   * @return true if shallow pruning is enabled (the default), false otherwise.
+   */
+  public boolean isShallowPruningEnabled() {
+    return shallowPruning;
+  }
+
+  /**
+   * Returns whether multi-player searches use speculative pruning, stopping once the scores of the
+   * player to move and the previous two players leave no better choice for all of them, and
+   * searching again when the speculation may have changed a choice.
+   *
+   * @return true if speculative pruning is enabled, false otherwise (the default).
+   */
+  public boolean isSpeculativePruningEnabled() {
+    return speculativePruning;
+  }
+
+  /**
+   * Returns the position cache that tree searches look the positions they search from up in, and
+   * cache their solutions in.
+   *
+   * @return the position cache, or null if not set.
+   */
+  public PositionCache getPositionCache() {
+    return positionCache;
+  }
+
+  /**
+   * Returns whether a position cache has been set for the bot strategy.
+   *
+   * @return true if a position cache has been set, false otherwise.
+   */
+  public boolean hasPositionCache() {
+    return positionCache != null;
+  }
+
   /**
    * Returns whether the maximum number of iterations has been set for the bot strategy.
    *
@@ -105,16 +188,36 @@ public class BotStrategyConfig {
     return hasMaxTimeMillis() && timeMillis >= maxTimeMillis;
   }
 
+  /** Returns a hash of the settings that change the moves searches choose, for cache keys. */
+  int fingerprint() {
+    return Objects.hash(
+        maxIterations,
+        maxDepth,
+        maxTimeMillis,
+        principalVariationSearch,
+        killerMoves,
+        historyHeuristic,
+        shallowPruning,
+        speculativePruning);
+  }
+
   /**
    * A builder for constructing a {@link BotStrategyConfig} instance.
    *
    * <p>This builder allows setting the maximum number of iterations, maximum depth, and maximum
-   * execution time in milliseconds for a bot strategy configuration.
+   * execution time in milliseconds for a bot strategy configuration, and toggling the search
+   * enhancements of tree searching strategies.
    */
   public static class Builder {
     private Integer maxIterations;
     private Integer maxDepth;
     private Long maxTimeMillis;
+    private boolean principalVariationSearch = true;
+    private boolean killerMoves = true;
+    private boolean historyHeuristic = true;
+    private boolean shallowPruning = true;
+    private boolean speculativePruning = false;
+    private PositionCache positionCache;
 
     /**
      * Sets the maximum number of iterations for the bot strategy.
@@ -161,13 +264,80 @@ public class BotStrategyConfig {
       return this;
     }
 
+    /**
+     * Sets whether tree searches use principal variation search.
+     *
+     * @param enabled whether principal variation search is enabled
+     * @return this builder instance
+     */
+    public Builder principalVariationSearch(boolean enabled) {
+      this.principalVariationSearch = enabled;
+      return this;
+    }
+
+    /**
+     * Sets whether tree searches try killer moves first.
+     *
+     * @param enabled whether killer moves are enabled
+     * @return this builder instance
+     */
+    public Builder killerMoves(boolean enabled) {
+      this.killerMoves = enabled;
+      return this;
+    }
+
+    /**
+     * Sets whether tree searches order moves by the history heuristic.
+     *
+     * @param enabled whether the history heuristic is enabled
+     * @return this builder instance
+     */
+    public Builder historyHeuristic(boolean enabled) {
+      this.historyHeuristic = enabled;
+      return this;
+    }
+
+    /**
+     * Sets whether multi-player searches use shallow pruning.
+     *
+     * @param enabled whether shallow pruning is enabled
+     * @return this builder instance
+     */
+    public Builder shallowPruning(boolean enabled) {
+      this.shallowPruning = enabled;
+      return this;
+    }
+
+    /**
+     * Sets whether multi-player searches use speculative pruning.
+     *
+     * @param enabled whether speculative pruning is enabled
+     * @return this builder instance
+     */
+    public Builder speculativePruning(boolean enabled) {
+      this.speculativePruning = enabled;
+      return this;
+    }
+
+    /**
+     * Sets the position cache for tree searches to share their solutions through, such as the
+     * {@link PositionCache#shared() process-wide cache}.
+     *
+     * @param positionCache the position cache, or null for none
+     * @return this builder instance
+     */
+    public Builder positionCache(PositionCache positionCache) {
+      this.positionCache = positionCache;
+      return this;
+    }
+
     /**
      * Builds a {@link BotStrategyConfig} instance with the configured settings.
      *
      * @return the constructed {@link BotStrategyConfig} instance
      */
     public BotStrategyConfig build() {
-      return new BotStrategyConfig(maxIterations, maxDepth, maxTimeMillis);
+      return new BotStrategyConfig(this);
     }
   }
 
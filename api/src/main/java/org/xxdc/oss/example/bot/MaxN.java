@@ -4,21 +4,59 @@ import java.lang.System.Logger;
 import java.lang.System.Logger.Level;
 import java.util.Arrays;
 import org.xxdc.oss.example.GameState;
+import org.xxdc.oss.example.ThreatIndex;
 
 /**
  * Implements the MaxN bot strategy for a game. The MaxN strategy tries to maximize the score for
  * the current player, while considering the scores of all other players. It uses a recursive
  * algorithm to explore the game tree and find the best move.
+ *
+ * <p>Scores are constant-sum: a win, a loss and a draw each award the same total across the
+ * players, with wins preferred sooner and losses later. This bounds the score any player can take
+ * from the others, which lets the search prune without changing the move it chooses:
+ *
+ * <ul>
+ *   <li>Shallow pruning stops searching a position once the player to move has found a score
+ *       leaving the previous player no more than that player's best so far.
+ *   <li>Speculative pruning, which is optional, also stops once the scores of the player to move
+ *       and the previous two players' best so far reach the total. The previous player may still
+ *       choose such a position, so if one is chosen and could matter further up, its position is
+ *       searched again without speculation.
+ * </ul>
+ *
+ * <p>The search keeps a {@link ThreatIndex} in step with its recursion and writes scores into
+ * buffers reused for each depth, so leaf positions allocate nothing.
+ *
+ * <p>Run as a {@link MoveSearch}, the search unwinds once cancelled, having offered each move that
+ * became its best as the move to fall back to.
  */
 public final class MaxN implements BotStrategy {
 
   private static final Logger log = System.getLogger(MaxN.class.getName());
 
-  private static final int MAX_SCORE = 100;
-  private static final int MIN_SCORE = -100;
+  /** The number of nodes searched between checks for cancellation. */
+  private static final int NODES_PER_CANCEL_CHECK = 1024;
 
   private final GameState initialState;
   private final BotStrategyConfig config;
+  private final int players;
+  private final int locations;
+
+  /** The total score of every outcome: a draw awards each player {@link #drawScore}. */
+  private final int totalScore;
+
+  private final int drawScore;
+
+  /** The scores of the position being searched at each depth, reused between positions. */
+  private final int[][] scores;
+
+  /** Whether the search below each depth was cut short by speculative pruning. */
+  private final boolean[] speculated;
+
+  private MoveSearch search;
+  private int rootScore;
+  private boolean cancelled;
+  private long nodes;
 
   /**
    * Constructs a new MaxN bot strategy with the given initial game state and default configuration.
@@ -38,58 +76,144 @@ public final class MaxN implements BotStrategy {
   public MaxN(GameState initialState, BotStrategyConfig config) {
     this.initialState = initialState;
     this.config = config;
+    this.players = initialState.playerMarkers().size();
+    this.locations = initialState.board().dimension() * initialState.board().dimension();
+    // Losses score the depth, below a draw, and wins take the rest, above it
+    this.drawScore = locations + 1;
+    this.totalScore = players * drawScore;
+    this.scores = new int[locations + 1][players];
+    this.speculated = new boolean[locations + 1];
   }
 
   @Override
   public int bestMove() {
+    return PositionCache.bestMove(initialState, MaxN.class, config, this::solve, () -> rootScore);
+  }
+
+  private int solve() {
+    search = MoveSearch.current();
+    cancelled = false;
+    nodes = 0;
     int bestMove = -1;
-    int[] maxScores = new int[numberOfPlayers()];
+    int player = initialState.currentPlayerIndex();
+    int[] maxScores = new int[players];
     Arrays.fill(maxScores, Integer.MIN_VALUE);
+    var index = ThreatIndex.of(initialState);
 
     for (int move : initialState.availableMoves()) {
-      var newState = initialState.afterPlayerMoves(move);
-      int[] scores = maxn(newState, 0);
-      log(move, scores, 0);
+      index.mark(move, player);
+      maxn(index, next(player), 0, bound(maxScores[player]), -totalScore, true);
+      index.unmark(move);
+      if (cancelled) {
+        break;
+      }
+      log(move, scores[0], 0);
 
-      if (scores[newState.lastPlayerIndex()] > maxScores[newState.lastPlayerIndex()]) {
-        maxScores = scores;
+      if (scores[0][player] > maxScores[player]) {
+        System.arraycopy(scores[0], 0, maxScores, 0, players);
         bestMove = move;
+        search.offer(move);
       }
     }
+    rootScore = maxScores[player];
     return bestMove;
   }
 
-  private int[] maxn(GameState state, int depth) {
-    if (state.lastPlayerHasChain()) {
-      int[] scores = new int[numberOfPlayers()];
-      Arrays.fill(scores, MIN_SCORE + depth);
-      scores[state.lastPlayerIndex()] = MAX_SCORE - depth;
-      return scores;
-    } else if (!state.hasMovesAvailable() || config.exceedsMaxDepth(depth)) {
-      return new int[numberOfPlayers()]; // Draw, all scores 0
-    }
-
-    int[] bestScores = new int[numberOfPlayers()];
-    Arrays.fill(bestScores, Integer.MIN_VALUE);
+  /**
+   * Returns the number of positions searched by the last call to {@link #bestMove()}.
+   *
+   * @return the number of nodes searched
+   */
+  public long nodesSearched() {
+    return nodes;
+  }
 
-    for (int move : state.availableMoves()) {
-      var newState = state.afterPlayerMoves(move);
-      int[] scores = maxn(newState, depth + 1);
+  /**
+   * Searches the position held by the threat index, with the given player to move, writing its
+   * scores into {@code scores[depth]}.
+   *
+   * @param previousBest the previous player's best score so far in the parent position
+   * @param earlierBest the best score so far of the player before, in the grandparent position
+   */
+  private void maxn(
+      ThreatIndex index,
+      int player,
+      int depth,
+      int previousBest,
+      int earlierBest,
+      boolean speculate) {
+    nodes++;
+    int[] result = scores[depth];
+    int lastPlayer = previous(player);
+    speculated[depth] = false;
+    if (index.hasChain(lastPlayer)) {
+      Arrays.fill(result, depth);
+      result[lastPlayer] = totalScore - (players - 1) * depth;
+      return;
+    } else if (!index.hasMovesAvailable() || config.exceedsMaxDepth(depth) || isCancelled()) {
+      Arrays.fill(result, drawScore);
+      return;
+    }
 
-      if (scores[state.currentPlayerIndex()] > bestScores[state.currentPlayerIndex()]) {
-        bestScores = scores;
+    Arrays.fill(result, -1);
+    int[] childScores = scores[depth + 1];
+    boolean anySpeculated = false;
+    boolean chosenSpeculated = false;
+    for (int move = 0; move < locations; move++) {
+      if (!index.isEmpty(move)) {
+        continue;
+      }
+      index.mark(move, player);
+      maxn(index, next(player), depth + 1, bound(result[player]), previousBest, speculate);
+      index.unmark(move);
+
+      anySpeculated |= speculated[depth + 1];
+      if (childScores[player] > result[player]) {
+        System.arraycopy(childScores, 0, result, 0, players);
+        chosenSpeculated = speculated[depth + 1];
+      }
+      if (config.isShallowPruningEnabled() && result[player] >= totalScore - previousBest) {
+        // The previous player cannot score more than its best so far here
+        break;
       }
+      if (speculate
+          && config.isSpeculativePruningEnabled()
+          && players > 2
+          && result[player] + previousBest + earlierBest >= totalScore) {
+        speculated[depth] = true;
+        break;
+      }
+    }
+    if (anySpeculated && (chosenSpeculated || result[lastPlayer] > previousBest)) {
+      // A speculatively pruned move may have changed the choice here, and so the previous
+      // player's: only a choice of unpruned scores the previous player rejects is certain
+      maxn(index, player, depth, previousBest, earlierBest, false);
+    }
+  }
+
+  /** Checks for cancellation every few nodes, unwinding the search once cancelled. */
+  private boolean isCancelled() {
+    if (!cancelled && nodes % NODES_PER_CANCEL_CHECK == 0 && search.isCancelled()) {
+      cancelled = true;
     }
+    return cancelled;
+  }
 
-    return bestScores;
+  /** Returns the best score so far as a bound, or a bound that never prunes if there is none. */
+  private int bound(int bestScore) {
+    return bestScore < 0 ? -totalScore : bestScore;
   }
 
-  private String currentPlayer() {
-    return initialState.currentPlayer();
+  private int next(int player) {
+    return (player + 1) % players;
   }
 
-  private int numberOfPlayers() {
-    return initialState.playerMarkers().size();
+  private int previous(int player) {
+    return (player + players - 1) % players;
+  }
+
+  private String currentPlayer() {
+    return initialState.currentPlayer();
   }
 
   private void log(int location, int[] scores, int depth) {
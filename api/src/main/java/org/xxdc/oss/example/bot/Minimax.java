@@ -9,11 +9,17 @@ import org.xxdc.oss.example.GameState;
  * decision-making algorithm used in game theory and artificial intelligence to find the optimal
  * move for a player, assuming the opponent plays optimally. This implementation of the Minimax
  * algorithm is used to determine the best move for the current player in the game.
+ *
+ * <p>Run as a {@link MoveSearch}, the search unwinds once cancelled, having offered each move that
+ * became its best as the move to fall back to.
  */
 public final class Minimax implements BotStrategy {
 
   private static final Logger log = System.getLogger(Minimax.class.getName());
 
+  /** The number of nodes searched between checks for cancellation. */
+  private static final int NODES_PER_CANCEL_CHECK = 1024;
+
   private static final int MIN_SCORE = -100;
   private static final int MAX_SCORE = 100;
   private static final int DRAW_SCORE = 0;
@@ -21,6 +27,10 @@ public final class Minimax implements BotStrategy {
   private final String maximizer;
   private final BotStrategyConfig config;
   private final GameState initialState;
+  private MoveSearch search;
+  private int rootScore;
+  private boolean cancelled;
+  private long nodes;
 
   /**
    * Constructs a new Minimax instance with the given initial game state and default bot strategy
@@ -51,27 +61,43 @@ public final class Minimax implements BotStrategy {
 
   @Override
   public int bestMove() {
+    return PositionCache.bestMove(
+        initialState, Minimax.class, config, this::solve, () -> rootScore);
+  }
+
+  private int solve() {
+    search = MoveSearch.current();
+    cancelled = false;
+    nodes = 0;
     int bestMove = -1;
     int maxScore = -Integer.MAX_VALUE;
     for (int move : initialState.availableMoves()) {
       var newState = initialState.afterPlayerMoves(move);
       int score = minimax(newState, false, 0);
+      if (cancelled) {
+        break;
+      }
       log(move, score, 0);
       if (score > maxScore) {
         maxScore = score;
         bestMove = move;
+        search.offer(move);
       }
     }
+    rootScore = maxScore;
     return bestMove;
   }
 
   private int minimax(GameState state, boolean isMaximizing, int depth) {
+    nodes++;
     if (state.hasChain(maximizer)) {
       return MAX_SCORE - depth;
     } else if (state.hasChain(opponent(maximizer))) {
       return MIN_SCORE + depth;
     } else if (!state.hasMovesAvailable() || config.exceedsMaxDepth(depth)) {
       return DRAW_SCORE;
+    } else if (isCancelled()) {
+      return DRAW_SCORE;
     }
 
     if (isMaximizing) {
@@ -93,6 +119,14 @@ public final class Minimax implements BotStrategy {
     }
   }
 
+  /** Checks for cancellation every few nodes, unwinding the search once cancelled. */
+  private boolean isCancelled() {
+    if (!cancelled && nodes % NODES_PER_CANCEL_CHECK == 0 && search.isCancelled()) {
+      cancelled = true;
+    }
+    return cancelled;
+  }
+
   private void log(int location, int score, int depth) {
     String indent = "-".repeat(depth);
     log.log(Level.DEBUG, "{0}{1}: Location: {2} Score: {3}", indent, maximizer, location, score);
@@ -15,6 +15,9 @@ import org.xxdc.oss.example.GameState;
  * algorithm is used to select the best move for the current game state by simulating random game
  * play and backpropagating the results to update the search tree. The algorithm can be configured
  * with a maximum time limit and maximum number of iterations.
+ *
+ * <p>Run as a {@link MoveSearch}, the search stops once cancelled, having periodically offered its
+ * most visited move as the move to fall back to.
  */
 public final class MonteCarloTreeSearch implements BotStrategy {
 
@@ -27,6 +30,9 @@ public final class MonteCarloTreeSearch implements BotStrategy {
   private static final double MAX_SCORE = 1.0;
   private static final double DRAW_SCORE = 0.0;
 
+  /** The number of iterations between offers of the most visited move as the best so far. */
+  private static final int ITERATIONS_PER_OFFER = 256;
+
   /**
    * Constructs a new instance of the {@link MonteCarloTreeSearch} class with the given initial game
    * state and a default configuration (max time limit of 1 second).
@@ -56,14 +62,19 @@ public final class MonteCarloTreeSearch implements BotStrategy {
 
   private int monteCarloTreeSearch(GameState state) {
     MCTSNode root = new MCTSNode(state);
+    var search = MoveSearch.current();
     var startTime = System.currentTimeMillis();
 
     int iterations = 0;
     while (!config.exceedsMaxTimeMillis(System.currentTimeMillis() - startTime)
-        && !config.exceedsMaxIterations(iterations++)) {
+        && !config.exceedsMaxIterations(iterations++)
+        && !search.isCancelled()) {
       MCTSNode node = treePolicy(root);
       double[] reward = defaultPolicy(node.state);
       backpropagate(node, reward);
+      if (iterations % ITERATIONS_PER_OFFER == 0) {
+        search.offer(bestChild(root).state.lastMove());
+      }
     }
 
     if (log.isLoggable(Level.DEBUG)) {
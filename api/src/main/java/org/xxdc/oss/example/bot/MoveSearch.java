@@ -0,0 +1,190 @@
+package org.xxdc.oss.example.bot;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.util.OptionalInt;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+import org.xxdc.oss.example.GameState;
+
+/**
+ * A cancellable, asynchronous computation of a bot's move, so that a game loop need not block on a
+ * long search and a server can bound its bots' think-time without killing threads.
+ *
+ * <p>{@link #start} runs the strategy on an executor, completing {@link #move()} with the move it
+ * returns. Alternatively, a search is a {@link Callable} to fork as a subtask of a structured task
+ * scope, which cancels it by interrupting its thread.
+ *
+ * <p>Cancellation is cooperative. The searching strategies of this package check {@link
+ * #isCancelled()} as they search and unwind promptly once it is set, and offer each root move that
+ * becomes their best so far. {@link #cancel()} completes the move at once with the best move so far
+ * or, if none has been offered yet, the first available move, so the caller never waits on a
+ * strategy that does not check, whose result is then discarded.
+ *
+ * <p>The search is bound to the strategy's thread as a {@link ScopedValue} while the strategy runs,
+ * where the strategies look it up with {@link #current()}; strategies run outside a search see one
+ * that is never cancelled.
+ */
+public final class MoveSearch implements Callable<Integer> {
+
+  private static final Logger log = System.getLogger(MoveSearch.class.getName());
+
+  private static final ScopedValue<MoveSearch> CURRENT = ScopedValue.newInstance();
+
+  /** The search of strategies run synchronously, outside a search, never cancelled. */
+  private static final MoveSearch NONE = new MoveSearch(state -> -1, null);
+
+  private final ToIntFunction<GameState> strategy;
+  private final GameState state;
+  private final CompletableFuture<Integer> move = new CompletableFuture<>();
+
+  private volatile boolean cancelled;
+  private volatile int bestSoFar = -1;
+
+  private MoveSearch(ToIntFunction<GameState> strategy, GameState state) {
+    this.strategy = strategy;
+    this.state = state;
+  }
+
+  /**
+   * Creates a search of the strategy for a move in the given state, without starting it.
+   *
+   * @param strategy the strategy to search with
+   * @param state the game state to search for a move in
+   * @return the search, to start or to call
+   */
+  public static MoveSearch of(ToIntFunction<GameState> strategy, GameState state) {
+    return new MoveSearch(strategy, state);
+  }
+
+  /**
+   * Starts a search of the strategy for a move in the given state on the executor. The search is of
+   * a {@link GameState#snapshot() snapshot} of the state, as a cancelled search may run on after
+   * the caller's move has been made.
+   *
+   * @param strategy the strategy to search with
+   * @param state the game state to search for a move in
+   * @param executor the executor to search on
+   * @return the started search
+   */
+  public static MoveSearch start(
+      ToIntFunction<GameState> strategy, GameState state, Executor executor) {
+    var search = of(strategy, state.snapshot());
+    executor.execute(search::search);
+    return search;
+  }
+
+  /**
+   * Searches for the move on the calling thread, returning the strategy's move or, if cancelled or
+   * interrupted, the best move so far.
+   *
+   * @return the move
+   * @throws Exception if the strategy fails
+   */
+  @Override
+  public Integer call() throws Exception {
+    search();
+    try {
+      return move.join();
+    } catch (Exception e) {
+      throw e.getCause() instanceof Exception cause ? cause : e;
+    }
+  }
+
+  private void search() {
+    ScopedValue.where(CURRENT, this)
+        .run(
+            () -> {
+              try {
+                int chosen = strategy.applyAsInt(state);
+                if (isCancelled()) {
+                  cancel();
+                } else {
+                  move.complete(chosen);
+                }
+              } catch (RuntimeException e) {
+                if (isCancelled()) {
+                  // The strategy may fail unwinding, for want of a move searched
+                  cancel();
+                } else {
+                  move.completeExceptionally(e);
+                }
+              }
+            });
+  }
+
+  /**
+   * Returns the move, completed when the strategy returns or the search is cancelled.
+   *
+   * @return the future move
+   */
+  public CompletableFuture<Integer> move() {
+    return move;
+  }
+
+  /**
+   * Cancels the search, completing the move with the best move so far. Does nothing if the move is
+   * already complete.
+   */
+  public void cancel() {
+    cancelled = true;
+    if (!move.isDone()) {
+      int fallback = bestSoFar;
+      if (fallback < 0) {
+        var moves = state.availableMoves();
+        fallback = moves.isEmpty() ? -1 : moves.getFirst();
+      }
+      if (move.complete(fallback)) {
+        log.log(Level.DEBUG, "Search cancelled, falling back to move {0}", fallback);
+      }
+    }
+  }
+
+  /**
+   * Cancels the search once the timeout elapses, bounding the time taken to choose the move.
+   *
+   * @param timeout the time to allow the search
+   * @param unit the unit of the timeout
+   * @return this search
+   */
+  public MoveSearch cancelAfter(long timeout, TimeUnit unit) {
+    if (!move.isDone()) {
+      CompletableFuture.delayedExecutor(timeout, unit).execute(this::cancel);
+    }
+    return this;
+  }
+
+  /**
+   * Returns whether the search has been cancelled, or the thread searching it interrupted.
+   *
+   * @return true if the search should stop
+   */
+  public boolean isCancelled() {
+    return cancelled || (this != NONE && Thread.currentThread().isInterrupted());
+  }
+
+  /**
+   * Returns the best move offered by the strategy so far.
+   *
+   * @return the best move so far, or empty if none has been offered
+   */
+  public OptionalInt bestSoFar() {
+    int best = bestSoFar;
+    return best < 0 ? OptionalInt.empty() : OptionalInt.of(best);
+  }
+
+  /** Offers the strategy's best move so far, the move to fall back to if cancelled. */
+  void offer(int move) {
+    if (this != NONE) {
+      bestSoFar = move;
+    }
+  }
+
+  /** Returns the search bound to the current thread, or one never cancelled if there is none. */
+  static MoveSearch current() {
+    return CURRENT.isBound() ? CURRENT.get() : NONE;
+  }
+}
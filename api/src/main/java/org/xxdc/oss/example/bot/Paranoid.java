@@ -10,16 +10,26 @@ import org.xxdc.oss.example.GameState;
  * best move for the current game state. The bot will choose the move that results in the highest
  * score for itself, assuming the opponent will make the move that results in the lowest score for
  * the bot.
+ *
+ * <p>Run as a {@link MoveSearch}, the search unwinds once cancelled, having offered each move that
+ * became its best as the move to fall back to.
  */
 public final class Paranoid implements BotStrategy {
 
   private static final Logger log = System.getLogger(Paranoid.class.getName());
 
+  /** The number of nodes searched between checks for cancellation. */
+  private static final int NODES_PER_CANCEL_CHECK = 1024;
+
   private static final int MAX_SCORE = 100;
   private static final int MIN_SCORE = -100;
 
   private final GameState initialState;
   private final BotStrategyConfig config;
+  private MoveSearch search;
+  private int rootScore;
+  private boolean cancelled;
+  private long nodes;
 
   /**
    * Constructs a new Paranoid bot strategy with the given initial game state.
@@ -44,24 +54,36 @@ public final class Paranoid implements BotStrategy {
 
   @Override
   public int bestMove() {
+    return PositionCache.bestMove(
+        initialState, Paranoid.class, config, this::solve, () -> rootScore);
+  }
+
+  private int solve() {
+    search = MoveSearch.current();
+    cancelled = false;
+    nodes = 0;
     int bestMove = -1;
     int maxScore = Integer.MIN_VALUE;
 
     for (int move : initialState.board().availableMoves()) {
       GameState newState = initialState.afterPlayerMoves(move);
       int score = paranoid(newState, 0);
+      if (cancelled) {
+        break;
+      }
       log(move, score, 0);
-
-      System.out.println("Paranoid: " + score);
       if (score > maxScore) {
         maxScore = score;
         bestMove = move;
+        search.offer(move);
       }
     }
+    rootScore = maxScore;
     return bestMove;
   }
 
   private int paranoid(GameState state, int depth) {
+    nodes++;
     // Terminal state checks
     if (state.hasChain(maximizer())) {
       return MAX_SCORE - depth;
@@ -69,6 +91,8 @@ public final class Paranoid implements BotStrategy {
       return MIN_SCORE + depth;
     } else if (!state.hasMovesAvailable() || config.exceedsMaxDepth(depth)) {
       return MIN_SCORE + depth;
+    } else if (isCancelled()) {
+      return MIN_SCORE + depth;
     }
 
     if (maximizerIndex() == state.currentPlayerIndex()) {
@@ -100,6 +124,14 @@ public final class Paranoid implements BotStrategy {
     return initialState.currentPlayerIndex();
   }
 
+  /** Checks for cancellation every few nodes, unwinding the search once cancelled. */
+  private boolean isCancelled() {
+    if (!cancelled && nodes % NODES_PER_CANCEL_CHECK == 0 && search.isCancelled()) {
+      cancelled = true;
+    }
+    return cancelled;
+  }
+
   private void log(int location, int score, int depth) {
     String indent = "-".repeat(depth);
     log.log(Level.DEBUG, "{0}{1}: Location: {2} Score: {3}", indent, maximizer(), location, score);
@@ -0,0 +1,257 @@
+package org.xxdc.oss.example.bot;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import org.xxdc.oss.example.GameState;
+import org.xxdc.oss.example.ThreatIndex;
+
+/**
+ * Implements the "paranoid" bot strategy of {@link Paranoid} with alpha-beta pruning. The paranoid
+ * reduction assumes every opponent plays against the bot, which turns a multi-player game into a
+ * two-sided one: the bot maximizes its score, and the opponents, as one coalition, minimize it. So
+ * branches that cannot affect the result can be pruned as in {@link AlphaBeta}.
+ *
+ * <p>The search keeps a {@link ThreatIndex} in step with its recursion and tries moves in the
+ * index's order, immediate wins and blocks first. Positions reached by different move orders are
+ * searched once: a transposition table keyed by a Zobrist hash of the board stores the score bound
+ * and the best move found for each position, the latter being tried first when the position is seen
+ * again.
+ *
+ * <p>Searched to the end of the game, the strategy chooses the same moves as {@link Paranoid}. When
+ * the configuration sets a maximum depth, positions at the horizon are scored by the {@link
+ * ThreatIndex#evaluate heuristic evaluation} rather than as losses.
+ *
+ * <p>Run as a {@link MoveSearch}, the search unwinds once cancelled, having offered each move that
+ * became its best as the move to fall back to.
+ */
+public final class ParanoidAlphaBeta implements BotStrategy {
+
+  private static final Logger log = System.getLogger(ParanoidAlphaBeta.class.getName());
+
+  private static final int MAX_SCORE = 1 << 30;
+  private static final int MIN_SCORE = -(1 << 30);
+
+  /** Bounds heuristic scores well inside the win and loss scores, whatever the search depth. */
+  private static final int HEURISTIC_LIMIT = 1 << 29;
+
+  private static final int TABLE_BITS = 16;
+
+  private static final byte EXACT = 1;
+  private static final byte LOWER_BOUND = 2;
+  private static final byte UPPER_BOUND = 3;
+
+  /** The number of nodes searched between checks for cancellation. */
+  private static final int NODES_PER_CANCEL_CHECK = 1024;
+
+  private final GameState initialState;
+  private final BotStrategyConfig config;
+  private final int maximizerIndex;
+  private final int players;
+
+  /** The random key of each player's mark at each location, combined into position hashes. */
+  private final long[][] zobristKeys;
+
+  private final long[] tableHashes = new long[1 << TABLE_BITS];
+  private final int[] tableScores = new int[1 << TABLE_BITS];
+  private final byte[] tableBounds = new byte[1 << TABLE_BITS];
+  private final int[] tableMoves = new int[1 << TABLE_BITS];
+
+  private MoveSearch search;
+  private int rootScore;
+  private boolean cancelled;
+  private long hash;
+  private long nodes;
+
+  /**
+   * Constructs a new ParanoidAlphaBeta bot strategy with the given initial game state.
+   *
+   * @param initialState the initial game state for the bot to analyze
+   */
+  public ParanoidAlphaBeta(GameState initialState) {
+    this(initialState, BotStrategyConfig.empty());
+  }
+
+  /**
+   * Constructs a new ParanoidAlphaBeta bot strategy with the given initial game state and
+   * configuration.
+   *
+   * @param initialState the initial game state for the bot to analyze
+   * @param config the configuration settings for the bot strategy
+   */
+  public ParanoidAlphaBeta(GameState initialState, BotStrategyConfig config) {
+    this.initialState = initialState;
+    this.config = config;
+    this.maximizerIndex = initialState.currentPlayerIndex();
+    this.players = initialState.playerMarkers().size();
+    int locations = initialState.board().dimension() * initialState.board().dimension();
+    var random = new SplittableRandom(locations * 31L + players);
+    this.zobristKeys = new long[players][locations];
+    for (long[] keys : zobristKeys) {
+      for (int location = 0; location < locations; location++) {
+        keys[location] = random.nextLong();
+      }
+    }
+  }
+
+  @Override
+  public int bestMove() {
+    return PositionCache.bestMove(
+        initialState, ParanoidAlphaBeta.class, config, this::solve, () -> rootScore);
+  }
+
+  private int solve() {
+    search = MoveSearch.current();
+    cancelled = false;
+    nodes = 0;
+    Arrays.fill(tableBounds, (byte) 0);
+    var index = ThreatIndex.of(initialState);
+    hash = 0;
+    var content = initialState.board().content();
+    for (int location = 0; location < content.length; location++) {
+      if (content[location] != null) {
+        hash ^= zobristKeys[initialState.playerMarkers().indexOf(content[location])][location];
+      }
+    }
+
+    int bestMove = -1;
+    int maxScore = -Integer.MAX_VALUE;
+    for (int move : initialState.availableMoves()) {
+      mark(index, move, maximizerIndex);
+      // Moves that cannot beat the best so far need only be proven no better
+      int score = paranoid(index, nextPlayer(maximizerIndex), maxScore, Integer.MAX_VALUE, 0);
+      unmark(index, move, maximizerIndex);
+      if (cancelled) {
+        break;
+      }
+      log(move, score);
+      if (score > maxScore) {
+        maxScore = score;
+        bestMove = move;
+        search.offer(move);
+      }
+    }
+    rootScore = maxScore;
+    return bestMove;
+  }
+
+  /**
+   * Returns the number of positions searched by the last call to {@link #bestMove()}.
+   *
+   * @return the number of nodes searched
+   */
+  public long nodesSearched() {
+    return nodes;
+  }
+
+  private int paranoid(ThreatIndex index, int player, int alpha, int beta, int depth) {
+    nodes++;
+    int lastPlayer = previousPlayer(player);
+    // Terminal state checks, scored as by Paranoid
+    if (index.hasChain(maximizerIndex)) {
+      return MAX_SCORE - depth;
+    } else if (lastPlayer != maximizerIndex && index.hasChain(lastPlayer)) {
+      return MIN_SCORE + depth;
+    } else if (!index.hasMovesAvailable()) {
+      return MIN_SCORE + depth;
+    } else if (config.exceedsMaxDepth(depth)) {
+      return Math.clamp(index.evaluate(maximizerIndex), -HEURISTIC_LIMIT, HEURISTIC_LIMIT);
+    } else if (isCancelled()) {
+      return MIN_SCORE + depth;
+    }
+
+    int originalAlpha = alpha;
+    int originalBeta = beta;
+    int slot = (int) (hash ^ (hash >>> 32)) & ((1 << TABLE_BITS) - 1);
+    int hashMove = -1;
+    if (tableBounds[slot] != 0 && tableHashes[slot] == hash) {
+      int score = tableScores[slot];
+      switch (tableBounds[slot]) {
+        case EXACT -> {
+          return score;
+        }
+        case LOWER_BOUND -> alpha = Math.max(alpha, score);
+        default -> beta = Math.min(beta, score);
+      }
+      if (alpha >= beta) {
+        return score;
+      }
+      hashMove = tableMoves[slot];
+    }
+
+    boolean isMaximizing = player == maximizerIndex;
+    int value = isMaximizing ? -Integer.MAX_VALUE : Integer.MAX_VALUE;
+    int bestMove = -1;
+    int[] moves = index.orderedMoves(player);
+    for (int i = -1; i < moves.length; i++) {
+      // The table's best move for the position is tried first, then the index's order
+      int move = i < 0 ? hashMove : moves[i];
+      if (move < 0 || (i >= 0 && move == hashMove)) {
+        continue;
+      }
+      mark(index, move, player);
+      int score = paranoid(index, nextPlayer(player), alpha, beta, depth + 1);
+      unmark(index, move, player);
+      if (isMaximizing ? score > value : score < value) {
+        value = score;
+        bestMove = move;
+      }
+      if (isMaximizing) {
+        alpha = Math.max(alpha, value);
+      } else {
+        beta = Math.min(beta, value);
+      }
+      if (alpha >= beta) {
+        break;
+      }
+    }
+
+    tableHashes[slot] = hash;
+    tableScores[slot] = value;
+    tableMoves[slot] = bestMove;
+    if (value <= originalAlpha) {
+      tableBounds[slot] = UPPER_BOUND;
+    } else if (value >= originalBeta) {
+      tableBounds[slot] = LOWER_BOUND;
+    } else {
+      tableBounds[slot] = EXACT;
+    }
+    return value;
+  }
+
+  /** Checks for cancellation every few nodes, unwinding the search once cancelled. */
+  private boolean isCancelled() {
+    if (!cancelled && nodes % NODES_PER_CANCEL_CHECK == 0 && search.isCancelled()) {
+      cancelled = true;
+    }
+    return cancelled;
+  }
+
+  private void mark(ThreatIndex index, int location, int player) {
+    index.mark(location, player);
+    hash ^= zobristKeys[player][location];
+  }
+
+  private void unmark(ThreatIndex index, int location, int player) {
+    index.unmark(location);
+    hash ^= zobristKeys[player][location];
+  }
+
+  private int nextPlayer(int player) {
+    return (player + 1) % players;
+  }
+
+  private int previousPlayer(int player) {
+    return (player + players - 1) % players;
+  }
+
+  private void log(int location, int score) {
+    log.log(
+        Level.DEBUG,
+        "{0}: Location: {1} Score: {2}",
+        initialState.currentPlayer(),
+        location,
+        score);
+  }
+}
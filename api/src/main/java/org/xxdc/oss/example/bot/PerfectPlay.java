@@ -0,0 +1,38 @@
+package org.xxdc.oss.example.bot;
+
+import java.util.function.ToIntFunction;
+import org.xxdc.oss.example.GameState;
+import org.xxdc.oss.example.bot.tablebase.Tablebase;
+
+/**
+ * Implements a perfect-play bot strategy from a precomputed {@link Tablebase}: the best move of a
+ * position the tablebase holds is looked up in constant time, rather than searched for. Positions
+ * it does not hold, such as those of larger boards or of games with more than two players, are
+ * delegated to a fallback strategy.
+ */
+public final class PerfectPlay implements BotStrategy {
+
+  private final GameState initialState;
+  private final Tablebase tablebase;
+  private final ToIntFunction<GameState> fallback;
+
+  /**
+   * Constructs a new PerfectPlay bot strategy for the given game state.
+   *
+   * @param initialState the game state for the bot to move in
+   * @param tablebase the tablebase to look the best move up in
+   * @param fallback the strategy for positions not in the tablebase
+   */
+  public PerfectPlay(
+      GameState initialState, Tablebase tablebase, ToIntFunction<GameState> fallback) {
+    this.initialState = initialState;
+    this.tablebase = tablebase;
+    this.fallback = fallback;
+  }
+
+  @Override
+  public int bestMove() {
+    var bestMove = tablebase.bestMove(initialState);
+    return bestMove.isPresent() ? bestMove.getAsInt() : fallback.applyAsInt(initialState);
+  }
+}
@@ -0,0 +1,227 @@
+package org.xxdc.oss.example.bot;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+import org.xxdc.oss.example.GameState;
+import org.xxdc.oss.example.ThreatIndex;
+
+/**
+ * Wraps a bot strategy to ponder: to search on the opponents' time. Once the bot has moved, the
+ * positions the opponents' predicted replies lead to are searched in the background, on a virtual
+ * thread, while the opponents think, and the searches kept by position. When the bot is next to
+ * move, a search of the actual position is reused, its move returned at once if complete or awaited
+ * if still running, and the other searches are cancelled; a position not predicted is searched as
+ * usual.
+ *
+ * <p>Replies are predicted in the {@link ThreatIndex#orderedMoves threat index's order}, wins and
+ * blocks first, and up to the configured number of positions pondered: on small boards, every
+ * reply.
+ *
+ * <p>A pondering strategy keeps the state of one bot's game, so each bot player needs its own, to
+ * be closed when its game is over.
+ */
+public final class Pondering implements ToIntFunction<GameState>, AutoCloseable {
+
+  private static final Logger log = System.getLogger(Pondering.class.getName());
+
+  /** The default number of positions pondered: every reply on 3x3 and 4x4 boards. */
+  public static final int DEFAULT_MAX_POSITIONS = 16;
+
+  private final ToIntFunction<GameState> strategy;
+
+  private final int maxPositions;
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  private Ponder ponder;
+
+  /**
+   * Constructs a new Pondering strategy, pondering the default number of positions.
+   *
+   * @param strategy the strategy to move and ponder with
+   */
+  public Pondering(ToIntFunction<GameState> strategy) {
+    this(strategy, DEFAULT_MAX_POSITIONS);
+  }
+
+  /**
+   * Constructs a new Pondering strategy.
+   *
+   * @param strategy the strategy to move and ponder with
+   * @param maxPositions the maximum number of predicted positions to ponder after each move
+   * @throws IllegalArgumentException if the maximum number of positions is not positive
+   */
+  public Pondering(ToIntFunction<GameState> strategy, int maxPositions) {
+    if (maxPositions < 1) {
+      throw new IllegalArgumentException("Pondering needs at least one position to ponder");
+    }
+    this.strategy = strategy;
+    this.maxPositions = maxPositions;
+  }
+
+  @Override
+  public synchronized int applyAsInt(GameState state) {
+    var ponderedMove = ponder == null ? null : ponderedMove(ponder.stop(state));
+    int move;
+    if (ponderedMove != null) {
+      hits.increment();
+      move = ponderedMove;
+    } else {
+      misses.increment();
+      move = strategy.applyAsInt(state);
+    }
+    var next = state.afterPlayerMoves(move);
+    if (next.isTerminal()) {
+      ponder = null;
+    } else {
+      ponder = new Ponder(next);
+      Thread.ofVirtual().name("ponder").start(ponder);
+    }
+    return move;
+  }
+
+  /**
+   * Returns the move of the pondered search, or null if the position was not pondered or its search
+   * failed, to be searched again as if it had not been pondered.
+   */
+  private static Integer ponderedMove(MoveSearch pondered) {
+    if (pondered == null) {
+      return null;
+    }
+    try {
+      return pondered.move().join();
+    } catch (CompletionException e) {
+      log.log(Level.DEBUG, "Pondered search failed: {0}", e.getMessage(), e);
+      return null;
+    }
+  }
+
+  /**
+   * Returns the number of moves found among the positions pondered.
+   *
+   * @return the number of pondering hits
+   */
+  public long hits() {
+    return hits.sum();
+  }
+
+  /**
+   * Returns the number of moves searched for because their position was not pondered.
+   *
+   * @return the number of pondering misses
+   */
+  public long misses() {
+    return misses.sum();
+  }
+
+  /** Stops pondering, cancelling the searches still running. */
+  @Override
+  public synchronized void close() {
+    if (ponder != null) {
+      ponder.stop(null);
+      ponder = null;
+    }
+  }
+
+  /** A position to search, as seen by its player to move. */
+  private record Position(List<String> content, int currentPlayerIndex) {
+
+    static Position of(GameState state) {
+      return new Position(Arrays.asList(state.board().content()), state.currentPlayerIndex());
+    }
+  }
+
+  /** The pondering of the positions predicted to follow one of the bot's moves. */
+  private final class Ponder implements Runnable {
+
+    private final GameState afterMove;
+
+    private final Map<Position, MoveSearch> searches = new HashMap<>();
+
+    private boolean stopped;
+
+    Ponder(GameState afterMove) {
+      this.afterMove = afterMove;
+    }
+
+    @Override
+    public void run() {
+      for (var position : predictedPositions()) {
+        MoveSearch search;
+        synchronized (this) {
+          if (stopped) {
+            return;
+          }
+          search = MoveSearch.of(strategy, position);
+          searches.put(Position.of(position), search);
+        }
+        try {
+          search.call();
+        } catch (Exception e) {
+          log.log(Level.DEBUG, "Unable to ponder position: {0}", e.getMessage(), e);
+        }
+      }
+    }
+
+    /**
+     * Stops pondering on the opponents' replies, returning the search of the actual position, if
+     * pondered, and cancelling the others.
+     */
+    synchronized MoveSearch stop(GameState actual) {
+      stopped = true;
+      var pondered = actual == null ? null : searches.get(Position.of(actual));
+      for (var search : searches.values()) {
+        if (search != pondered) {
+          search.cancel();
+        }
+      }
+      return pondered;
+    }
+
+    /**
+     * Returns the positions the bot may next move in, following the opponents' most likely replies
+     * first. Each ply of replies is cut off at the number of positions to ponder, so that games of
+     * more players do not multiply out.
+     */
+    private List<GameState> predictedPositions() {
+      var positions = new ArrayList<GameState>();
+      positions.add(afterMove);
+      // Expands the opponents' replies, one ply at a time, until it is the bot's move again
+      for (int ply = 1; ply < afterMove.playerMarkers().size(); ply++) {
+        var replies = new ArrayList<GameState>();
+        for (var position : positions) {
+          if (position.isTerminal()) {
+            continue;
+          }
+          var index = ThreatIndex.of(position);
+          for (int move : index.orderedMoves(position.currentPlayerIndex())) {
+            if (replies.size() == maxPositions) {
+              break;
+            }
+            replies.add(position.afterPlayerMoves(move));
+          }
+        }
+        positions = replies;
+      }
+      var predicted = new ArrayList<GameState>(maxPositions);
+      for (var position : positions) {
+        if (predicted.size() == maxPositions) {
+          break;
+        } else if (!position.isTerminal()) {
+          predicted.add(position);
+        }
+      }
+      return predicted;
+    }
+  }
+}
@@ -0,0 +1,258 @@
+package org.xxdc.oss.example.bot;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import org.xxdc.oss.example.GameState;
+
+/**
+ * A bounded, concurrent cache of solved positions, shared by the bots of every game in a process so
+ * that a position common to many games is solved once rather than once per game. Strategies opt
+ * into a cache through {@link BotStrategyConfig.Builder#positionCache}, caching the best move and
+ * score of each position they search from, keyed by the position and by the strategy and
+ * configuration that solved it.
+ *
+ * <p>The cache is lock-free. Entries are held in sets of {@link #WAYS}, each entry as two longs:
+ * its data, and its key exclusive-or'd with its data, so that a read racing a write to the same
+ * entry sees a mismatched pair and misses rather than returning another position's move. When a set
+ * is full, the CLOCK algorithm chooses the entry to evict: a hand sweeps the set, sparing, and
+ * clearing, the entries referenced since it last passed, approximating least recently used eviction
+ * without ordering the entries on every read.
+ *
+ * <p>Caches count their hits, misses and evictions.
+ */
+public final class PositionCache {
+
+  /** The number of entries in each set. */
+  static final int WAYS = 4;
+
+  /** The default capacity of the process-wide cache, about 4MB of entries. */
+  public static final int DEFAULT_CAPACITY = 1 << 18;
+
+  private static final class Shared {
+    static final PositionCache INSTANCE = new PositionCache(DEFAULT_CAPACITY);
+  }
+
+  /** The key exclusive-or'd with the data, then the data, of each entry. */
+  private final AtomicLongArray entries;
+
+  /** Whether each entry has been referenced since the clock hand last passed it. */
+  private final byte[] referenced;
+
+  /** The clock hand of each set. */
+  private final byte[] hands;
+
+  private final int setMask;
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * A cached position: its best move and score for the player to move, as solved by a strategy.
+   *
+   * @param move the best move
+   * @param score the score of the best move, on the strategy's scale
+   */
+  public record Entry(int move, int score) {}
+
+  /**
+   * Constructs a new position cache holding up to the given number of entries, rounded up to a
+   * power of two.
+   *
+   * @param capacity the maximum number of entries
+   * @throws IllegalArgumentException if the capacity is less than {@link #WAYS} or more than 2^28
+   */
+  public PositionCache(int capacity) {
+    if (capacity < WAYS || capacity > 1 << 28) {
+      throw new IllegalArgumentException("Position caches hold from 4 to 2^28 entries");
+    }
+    int entries = Integer.highestOneBit(capacity - 1) << 1;
+    this.entries = new AtomicLongArray(entries * 2);
+    this.referenced = new byte[entries];
+    this.hands = new byte[entries / WAYS];
+    this.setMask = entries / WAYS - 1;
+  }
+
+  /**
+   * Returns the process-wide position cache, of the {@link #DEFAULT_CAPACITY default capacity}.
+   *
+   * @return the shared position cache
+   */
+  public static PositionCache shared() {
+    return Shared.INSTANCE;
+  }
+
+  /**
+   * Returns the cached entry for the key.
+   *
+   * @param key the key of the position
+   * @return the entry, or empty if the position is not cached
+   */
+  public Optional<Entry> get(long key) {
+    key = nonZero(key);
+    int base = setOf(key) * WAYS;
+    for (int entry = base; entry < base + WAYS; entry++) {
+      long data = entries.get(entry * 2 + 1);
+      if ((entries.get(entry * 2) ^ data) == key) {
+        referenced[entry] = 1;
+        hits.increment();
+        return Optional.of(new Entry((int) data, (int) (data >> 32)));
+      }
+    }
+    misses.increment();
+    return Optional.empty();
+  }
+
+  /**
+   * Caches the entry for the key, evicting another from its set if full.
+   *
+   * @param key the key of the position
+   * @param move the best move
+   * @param score the score of the best move
+   */
+  public void put(long key, int move, int score) {
+    key = nonZero(key);
+    long data = ((long) score << 32) | (move & 0xFFFFFFFFL);
+    int set = setOf(key);
+    int base = set * WAYS;
+    int victim = -1;
+    for (int entry = base; entry < base + WAYS; entry++) {
+      long stored = entries.get(entry * 2) ^ entries.get(entry * 2 + 1);
+      if (stored == key) {
+        victim = entry;
+        break;
+      } else if (stored == 0 && victim < 0) {
+        victim = entry;
+      }
+    }
+    if (victim < 0) {
+      victim = sweep(set);
+      evictions.increment();
+    }
+    // A racing reader sees a mismatched pair between the writes, and misses
+    entries.set(victim * 2 + 1, data);
+    entries.set(victim * 2, key ^ data);
+    referenced[victim] = 1;
+  }
+
+  /** Sweeps the clock hand round the set to the first entry not referenced since it last passed. */
+  private int sweep(int set) {
+    int hand = hands[set];
+    int base = set * WAYS;
+    while (referenced[base + hand] != 0) {
+      referenced[base + hand] = 0;
+      hand = (hand + 1) % WAYS;
+    }
+    hands[set] = (byte) ((hand + 1) % WAYS);
+    return base + hand;
+  }
+
+  /**
+   * Returns the maximum number of entries of the cache.
+   *
+   * @return the capacity
+   */
+  public int capacity() {
+    return referenced.length;
+  }
+
+  /**
+   * Returns the number of lookups that found their position.
+   *
+   * @return the number of hits
+   */
+  public long hits() {
+    return hits.sum();
+  }
+
+  /**
+   * Returns the number of lookups that did not find their position.
+   *
+   * @return the number of misses
+   */
+  public long misses() {
+    return misses.sum();
+  }
+
+  /**
+   * Returns the number of entries evicted to make room for others.
+   *
+   * @return the number of evictions
+   */
+  public long evictions() {
+    return evictions.sum();
+  }
+
+  /**
+   * Returns the key of the state's position, as solved by the given strategy and configuration.
+   *
+   * @param state the game state
+   * @param strategy the class of the strategy solving the position
+   * @param config the configuration of the strategy
+   * @return the key of the position
+   */
+  public static long key(GameState state, Class<?> strategy, BotStrategyConfig config) {
+    var markers = state.playerMarkers();
+    var content = state.board().content();
+    long key =
+        mix((strategy.getName().hashCode() & 0xFFFFFFFFL) | ((long) config.fingerprint() << 32));
+    key ^=
+        mix(
+            ((long) content.length << 16)
+                | ((long) markers.size() << 8)
+                | state.currentPlayerIndex());
+    for (int location = 0; location < content.length; location++) {
+      if (content[location] != null) {
+        key ^= mix(((long) (location + 1) << 40) | markers.indexOf(content[location]));
+      }
+    }
+    return key;
+  }
+
+  /**
+   * Returns the best move of the search, from the configured position cache if it holds the state's
+   * position, otherwise searching and caching the move and score. Moves of cancelled searches are
+   * not cached.
+   */
+  static int bestMove(
+      GameState state,
+      Class<? extends BotStrategy> strategy,
+      BotStrategyConfig config,
+      IntSupplier search,
+      IntSupplier score) {
+    var cache = config.getPositionCache();
+    if (cache == null) {
+      return search.getAsInt();
+    }
+    long key = key(state, strategy, config);
+    var cached = cache.get(key);
+    if (cached.isPresent()) {
+      return cached.get().move();
+    }
+    int move = search.getAsInt();
+    if (move >= 0 && !MoveSearch.current().isCancelled()) {
+      cache.put(key, move, score.getAsInt());
+    }
+    return move;
+  }
+
+  private int setOf(long key) {
+    return (int) (key >>> 32) & setMask;
+  }
+
+  private static long nonZero(long key) {
+    return key == 0 ? 1 : key;
+  }
+
+  /** The SplitMix64 finalizer. */
+  private static long mix(long value) {
+    long z = value * 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -0,0 +1,204 @@
+package org.xxdc.oss.example.bot.tablebase;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.OptionalInt;
+import java.util.random.RandomGenerator;
+import org.xxdc.oss.example.GameState;
+
+/**
+ * An opening book: the weighted moves played in the opening positions of games on boards of one
+ * dimension and between one number of players, generated offline from self-play by {@link
+ * OpeningBookGenerator} and read through a memory mapping of its file.
+ *
+ * <p>Positions are held by the hash of their canonical form (see {@link Positions}), in an
+ * open-addressing hash table laid out in the file, so a lookup hashes the position under each of
+ * the board's eight symmetries and probes the table: microseconds, rather than the seconds a search
+ * of an opening position of a larger board takes. The file holds:
+ *
+ * <pre>
+ * header  magic int | version short | dimension short | players short | moves short
+ *         | positions int | capacity int
+ * slots   capacity slots of hash long (0 if empty) | moves (move short | weight short)
+ * </pre>
+ *
+ * <p>Each position holds up to {@link #MOVES_PER_POSITION} moves, heaviest first, weighted by how
+ * often self-play chose them; unused moves have weight 0.
+ *
+ * <p>Opening books are immutable and thread-safe.
+ */
+public final class OpeningBook {
+
+  /** The magic number starting an opening book file, "TTOB". */
+  static final int MAGIC = 0x54544F42;
+
+  static final short VERSION = 1;
+
+  /** The number of moves held for each position. */
+  public static final int MOVES_PER_POSITION = 4;
+
+  static final int HEADER_LENGTH = 20;
+
+  static final int SLOT_LENGTH = 8 + MOVES_PER_POSITION * 4;
+
+  private final ByteBuffer slots;
+
+  private final int dimension;
+
+  private final int players;
+
+  private final int positions;
+
+  private final int capacity;
+
+  private final int[][] symmetries;
+
+  private OpeningBook(ByteBuffer slots, int dimension, int players, int positions, int capacity) {
+    this.slots = slots;
+    this.dimension = dimension;
+    this.players = players;
+    this.positions = positions;
+    this.capacity = capacity;
+    this.symmetries = Positions.symmetries(dimension);
+  }
+
+  /**
+   * Opens the opening book file at the given path, mapping it into memory.
+   *
+   * @param path the path of the opening book file
+   * @return the opening book
+   * @throws IOException if the file cannot be read or is not an opening book
+   */
+  public static OpeningBook open(Path path) throws IOException {
+    try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      var mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (mapping.capacity() < HEADER_LENGTH || mapping.getInt(0) != MAGIC) {
+        throw new IOException("Not an opening book file: " + path);
+      }
+      if (mapping.getShort(4) != VERSION || mapping.getShort(10) != MOVES_PER_POSITION) {
+        throw new IOException("Unsupported opening book version: " + mapping.getShort(4));
+      }
+      int dimension = mapping.getShort(6);
+      int players = mapping.getShort(8);
+      int positions = mapping.getInt(12);
+      int capacity = mapping.getInt(16);
+      if (Integer.bitCount(capacity) != 1
+          || mapping.capacity() != HEADER_LENGTH + (long) capacity * SLOT_LENGTH) {
+        throw new IOException("Truncated or corrupt opening book file: " + path);
+      }
+      return new OpeningBook(
+          mapping.slice(HEADER_LENGTH, capacity * SLOT_LENGTH),
+          dimension,
+          players,
+          positions,
+          capacity);
+    }
+  }
+
+  /**
+   * Returns the dimension of the boards of the opening book.
+   *
+   * @return the board dimension
+   */
+  public int dimension() {
+    return dimension;
+  }
+
+  /**
+   * Returns the number of players of the games of the opening book.
+   *
+   * @return the number of players
+   */
+  public int players() {
+    return players;
+  }
+
+  /**
+   * Returns the number of canonical positions in the opening book.
+   *
+   * @return the number of positions
+   */
+  public int size() {
+    return positions;
+  }
+
+  /**
+   * Returns whether the opening book holds positions of the state's game: games between its number
+   * of players on boards of its dimension.
+   *
+   * @param state the game state
+   * @return true if the opening book covers the state's game
+   */
+  public boolean covers(GameState state) {
+    return state.playerMarkers().size() == players && state.board().dimension() == dimension;
+  }
+
+  /**
+   * Returns the heaviest book move for the player to move in the given state.
+   *
+   * @param state the game state
+   * @return the heaviest book move, or empty if the position is not in the opening book
+   */
+  public OptionalInt bestMove(GameState state) {
+    return move(state, null);
+  }
+
+  /**
+   * Returns a book move for the player to move in the given state, chosen at random in proportion
+   * to the weights of the position's moves.
+   *
+   * @param state the game state
+   * @param random the random number generator to choose with
+   * @return a book move, or empty if the position is not in the opening book
+   */
+  public OptionalInt move(GameState state, RandomGenerator random) {
+    if (!covers(state)) {
+      return OptionalInt.empty();
+    }
+    var cells = Positions.relativeCells(state);
+    int symmetry = Positions.canonicalSymmetry(cells, symmetries, Positions::hash);
+    int slot = find(Positions.hash(cells, symmetries[symmetry]));
+    if (slot < 0) {
+      return OptionalInt.empty();
+    }
+    int offset = slot * SLOT_LENGTH + 8;
+    int chosen = 0;
+    if (random != null) {
+      int totalWeight = 0;
+      for (int i = 0; i < MOVES_PER_POSITION; i++) {
+        totalWeight += weight(offset, i);
+      }
+      int pick = random.nextInt(totalWeight);
+      while (pick >= weight(offset, chosen)) {
+        pick -= weight(offset, chosen++);
+      }
+    }
+    int move = symmetries[symmetry][slots.getShort(offset + chosen * 4)];
+    // A hash collision could name a move of another position
+    return cells[move] == Positions.EMPTY ? OptionalInt.of(move) : OptionalInt.empty();
+  }
+
+  private int weight(int offset, int move) {
+    return slots.getShort(offset + move * 4 + 2) & 0xFFFF;
+  }
+
+  /** Probes the table for the canonical hash, returning its slot or -1 if absent. */
+  private int find(long hash) {
+    int mask = capacity - 1;
+    for (int slot = slotOf(hash, mask); ; slot = (slot + 1) & mask) {
+      long stored = slots.getLong(slot * SLOT_LENGTH);
+      if (stored == hash) {
+        return slot;
+      } else if (stored == 0) {
+        return -1;
+      }
+    }
+  }
+
+  static int slotOf(long hash, int mask) {
+    return (int) (hash >>> 32) & mask;
+  }
+}
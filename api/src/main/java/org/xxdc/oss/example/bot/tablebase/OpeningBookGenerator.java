@@ -0,0 +1,206 @@
+package org.xxdc.oss.example.bot.tablebase;
+
+import java.io.IOException;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+import org.xxdc.oss.example.GameBoard;
+import org.xxdc.oss.example.GameState;
+import org.xxdc.oss.example.bot.BotStrategy;
+import org.xxdc.oss.example.bot.BotStrategyConfig;
+
+/**
+ * Generates an {@link OpeningBook} from self-play: a strategy plays games against itself and the
+ * moves it chooses in the first plies of each game are counted, by canonical position, as the
+ * weights of the book's moves.
+ *
+ * <p>Generating is an offline job, as slow as the strategy is deep, run by the {@code
+ * generateOpeningBook} Gradle task:
+ *
+ * <pre>
+ * ./gradlew :api:generateOpeningBook --args="4 2 4 50 2000 mcts build/book/opening-book-4x4.tob"
+ * </pre>
+ *
+ * <p>Randomized strategies, such as Monte Carlo Tree Search, vary from game to game and so give
+ * positions alternative moves, weighted by how often they were chosen. Deterministic ones, such as
+ * Alpha-Beta, give a single line of play: the line they would have searched for anyway.
+ */
+public final class OpeningBookGenerator {
+
+  private static final Logger log = System.getLogger(OpeningBookGenerator.class.getName());
+
+  private final int dimension;
+
+  private final int players;
+
+  private final int[][] symmetries;
+
+  /** The number of times each canonical move was chosen in each canonical position. */
+  private final Map<Long, int[]> counts = new HashMap<>();
+
+  private OpeningBookGenerator(int dimension, int players) {
+    this.dimension = dimension;
+    this.players = players;
+    this.symmetries = Positions.symmetries(dimension);
+  }
+
+  /**
+   * Plays games of the strategy against itself from the given state and writes the moves chosen in
+   * their first plies to an opening book file.
+   *
+   * @param initialState the state to start each game from
+   * @param plies the number of moves of each game to record
+   * @param games the number of games to play
+   * @param strategy the strategy to play
+   * @param path the path of the opening book file to write
+   * @return the number of positions written
+   * @throws IOException if the file cannot be written
+   * @throws IllegalArgumentException if the plies or games are not positive
+   */
+  public static int generate(
+      GameState initialState, int plies, int games, ToIntFunction<GameState> strategy, Path path)
+      throws IOException {
+    if (plies < 1 || games < 1) {
+      throw new IllegalArgumentException("Opening books need at least one ply of one game");
+    }
+    var generator =
+        new OpeningBookGenerator(
+            initialState.board().dimension(), initialState.playerMarkers().size());
+    for (int game = 0; game < games; game++) {
+      var state = initialState;
+      for (int ply = 0; ply < plies && !state.isTerminal(); ply++) {
+        int move = strategy.applyAsInt(state);
+        generator.record(state, move);
+        state = state.afterPlayerMoves(move);
+      }
+      log.log(Level.DEBUG, "Played opening {0} of {1}", game + 1, games);
+    }
+    generator.write(path);
+    return generator.counts.size();
+  }
+
+  /**
+   * Generates an opening book file.
+   *
+   * @param args the board dimension (default 4), number of players (default 2), plies (default 4),
+   *     games (default 50), milliseconds to search each move for (default 2000), strategy, {@code
+   *     mcts} (default) or {@code alphabeta}, and the path of the file to write (default {@code
+   *     opening-book-4x4.tob})
+   * @throws IOException if the file cannot be written
+   */
+  public static void main(String[] args) throws IOException {
+    int dimension = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+    int players = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+    int plies = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+    int games = args.length > 3 ? Integer.parseInt(args[3]) : 50;
+    long millis = args.length > 4 ? Long.parseLong(args[4]) : 2000;
+    var config =
+        BotStrategyConfig.newBuilder().maxTimeMillis(TimeUnit.MILLISECONDS, millis).build();
+    var strategy =
+        switch (args.length > 5 ? args[5] : "mcts") {
+          case "mcts" -> BotStrategy.mcts(config);
+          case "alphabeta" -> BotStrategy.alphabeta(config);
+          default -> throw new IllegalArgumentException("Unknown strategy: " + args[5]);
+        };
+    var path =
+        Path.of(
+            args.length > 6 ? args[6] : "opening-book-%dx%d.tob".formatted(dimension, dimension));
+    var markers = IntStream.range(0, players).mapToObj(player -> "P" + player).toList();
+    long start = System.currentTimeMillis();
+    int positions =
+        generate(
+            new GameState(GameBoard.withDimension(dimension), markers, 0),
+            plies,
+            games,
+            strategy,
+            path);
+    log.log(
+        Level.INFO,
+        "Recorded {0} positions of {1}x{1} boards in {2}ms, written to {3}",
+        positions,
+        dimension,
+        System.currentTimeMillis() - start,
+        path);
+  }
+
+  private void record(GameState state, int move) {
+    var cells = Positions.relativeCells(state);
+    int symmetry = Positions.canonicalSymmetry(cells, symmetries, Positions::hash);
+    long hash = Positions.hash(cells, symmetries[symmetry]);
+    int canonicalMove = Positions.canonicalLocation(symmetries[symmetry], move);
+    counts.computeIfAbsent(hash, key -> new int[dimension * dimension])[canonicalMove]++;
+  }
+
+  private void write(Path path) throws IOException {
+    int capacity = Integer.highestOneBit(Math.max(1, counts.size()) * 2 - 1) << 1;
+    int mask = capacity - 1;
+    var buffer =
+        ByteBuffer.allocate(OpeningBook.HEADER_LENGTH + capacity * OpeningBook.SLOT_LENGTH);
+    buffer
+        .putInt(OpeningBook.MAGIC)
+        .putShort(OpeningBook.VERSION)
+        .putShort((short) dimension)
+        .putShort((short) players)
+        .putShort((short) OpeningBook.MOVES_PER_POSITION)
+        .putInt(counts.size())
+        .putInt(capacity);
+    for (var position : counts.entrySet()) {
+      long hash = position.getKey();
+      int slot = OpeningBook.slotOf(hash, mask);
+      while (buffer.getLong(slotOffset(slot)) != 0) {
+        slot = (slot + 1) & mask;
+      }
+      int offset = slotOffset(slot);
+      buffer.putLong(offset, hash);
+      var moves = heaviest(position.getValue());
+      for (int i = 0; i < moves.size(); i++) {
+        int move = moves.get(i);
+        buffer
+            .putShort(offset + 8 + i * 4, (short) move)
+            .putShort(offset + 10 + i * 4, (short) Math.min(position.getValue()[move], 0xFFFF));
+      }
+    }
+    if (path.getParent() != null) {
+      Files.createDirectories(path.getParent());
+    }
+    try (var channel =
+        FileChannel.open(
+            path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      buffer.rewind();
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+  }
+
+  /** Returns the chosen moves, heaviest first, up to the number held for each position. */
+  private static List<Integer> heaviest(int[] counts) {
+    var moves = new ArrayList<Integer>();
+    for (int move = 0; move < counts.length; move++) {
+      if (counts[move] > 0) {
+        moves.add(move);
+      }
+    }
+    moves.sort(Comparator.comparingInt((Integer move) -> counts[move]).reversed());
+    return moves.subList(0, Math.min(moves.size(), OpeningBook.MOVES_PER_POSITION));
+  }
+
+  private static int slotOffset(int slot) {
+    return OpeningBook.HEADER_LENGTH + slot * OpeningBook.SLOT_LENGTH;
+  }
+}
@@ -0,0 +1,149 @@
+package org.xxdc.oss.example.bot.tablebase;
+
+import java.util.function.ToLongBiFunction;
+import org.xxdc.oss.example.GameState;
+
+/**
+ * Encodes positions for the tablebase and opening book. A position is encoded relative to the
+ * player to move: each location is 0 if empty, 1 if marked by the player to move, 2 if marked by
+ * the next player and so on, so a position has the same encoding whatever the players' markers and
+ * whichever player moved first.
+ *
+ * <p>Two-player positions of the tablebase's small boards are coded exactly, each location being a
+ * base-3 digit. Positions of the opening book's larger boards, and of more players, are hashed to
+ * 64 bits instead.
+ *
+ * <p>The eight rotations and reflections of a board are equivalent, and only their canonical form
+ * is held: the one with the least code, or hash.
+ */
+final class Positions {
+
+  static final int EMPTY = 0;
+  static final int OWN = 1;
+  static final int OPPONENT = 2;
+
+  /** The number of rotations and reflections of a square board. */
+  static final int SYMMETRIES = 8;
+
+  /** The hash of the empty board, so that no position hashes to 0. */
+  private static final long HASH_SEED = 0x6A09E667F3BCC908L;
+
+  private Positions() {}
+
+  /**
+   * Returns the symmetries of a board of the given dimension: {@code symmetries[t][i]} is the
+   * location that location {@code i} of the canonical board of symmetry {@code t} is taken from.
+   */
+  static int[][] symmetries(int dimension) {
+    var symmetries = new int[SYMMETRIES][dimension * dimension];
+    for (int t = 0; t < SYMMETRIES; t++) {
+      for (int row = 0; row < dimension; row++) {
+        for (int column = 0; column < dimension; column++) {
+          int r = row;
+          int c = column;
+          for (int rotation = 0; rotation < t % 4; rotation++) {
+            int rotated = c;
+            c = dimension - 1 - r;
+            r = rotated;
+          }
+          if (t >= 4) {
+            c = dimension - 1 - c;
+          }
+          symmetries[t][row * dimension + column] = r * dimension + c;
+        }
+      }
+    }
+    return symmetries;
+  }
+
+  /**
+   * Returns the cells of the state's board relative to the player to move.
+   *
+   * @throws IllegalArgumentException if the state is not of a two-player game
+   */
+  static byte[] cells(GameState state) {
+    if (state.playerMarkers().size() != 2) {
+      throw new IllegalArgumentException("Tablebases are of two-player games");
+    }
+    return relativeCells(state);
+  }
+
+  /** Returns the cells of the state's board relative to the player to move, for any players. */
+  static byte[] relativeCells(GameState state) {
+    var markers = state.playerMarkers();
+    int players = markers.size();
+    int current = state.currentPlayerIndex();
+    var content = state.board().content();
+    var cells = new byte[content.length];
+    for (int location = 0; location < content.length; location++) {
+      if (content[location] != null) {
+        cells[location] =
+            (byte) ((markers.indexOf(content[location]) - current + players) % players + 1);
+      }
+    }
+    return cells;
+  }
+
+  /** Returns the code of the cells as seen through the given symmetry. */
+  static long code(byte[] cells, int[] symmetry) {
+    long code = 0;
+    for (int location = symmetry.length - 1; location >= 0; location--) {
+      code = code * 3 + cells[symmetry[location]];
+    }
+    return code;
+  }
+
+  /**
+   * Returns the hash of the cells as seen through the given symmetry: the seed mixed with a
+   * pseudo-random key for each marked location and its mark. The keys are a fixed function of both,
+   * so hashes are the same from run to run and can be written to files.
+   */
+  static long hash(byte[] cells, int[] symmetry) {
+    long hash = HASH_SEED;
+    for (int location = 0; location < symmetry.length; location++) {
+      int cell = cells[symmetry[location]];
+      if (cell != EMPTY) {
+        hash ^= mix(((long) location << 8) | cell);
+      }
+    }
+    return hash;
+  }
+
+  /** The SplitMix64 finalizer. */
+  private static long mix(long value) {
+    long z = value * 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /** Returns the index of the symmetry giving the cells their least, canonical, code. */
+  static int canonicalSymmetry(byte[] cells, int[][] symmetries) {
+    return canonicalSymmetry(cells, symmetries, Positions::code);
+  }
+
+  /** Returns the index of the symmetry giving the cells their least, canonical, encoding. */
+  static int canonicalSymmetry(
+      byte[] cells, int[][] symmetries, ToLongBiFunction<byte[], int[]> encoding) {
+    int canonical = 0;
+    long least = Long.MAX_VALUE;
+    for (int t = 0; t < symmetries.length; t++) {
+      long code = encoding.applyAsLong(cells, symmetries[t]);
+      if (code < least) {
+        least = code;
+        canonical = t;
+      }
+    }
+    return canonical;
+  }
+
+  /** Returns the canonical location that the symmetry takes the given location to. */
+  static int canonicalLocation(int[] symmetry, int location) {
+    for (int canonical = 0; canonical < symmetry.length; canonical++) {
+      if (symmetry[canonical] == location) {
+        return canonical;
+      }
+    }
+    throw new IllegalStateException("Location outside the board: " + location);
+  }
+}
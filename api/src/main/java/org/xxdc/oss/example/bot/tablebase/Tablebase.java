@@ -0,0 +1,170 @@
+package org.xxdc.oss.example.bot.tablebase;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.OptionalInt;
+import org.xxdc.oss.example.GameState;
+
+/**
+ * A perfect-play tablebase: the solved value and best move of every position of two-player games on
+ * boards of one dimension, generated offline by {@link TablebaseGenerator} and read through a
+ * memory mapping of its file.
+ *
+ * <p>Positions are held in their canonical form (see {@link Positions}), in an open-addressing hash
+ * table laid out in the file, so a lookup encodes the position under each of the board's eight
+ * symmetries and probes the table: constant time whatever the size of the tablebase. The file
+ * holds:
+ *
+ * <pre>
+ * header  magic int | version short | dimension short | positions int | capacity int
+ * slots   capacity slots of code + 1 long (0 if empty) | value short | best move short
+ * </pre>
+ *
+ * <p>A position's value is from the point of view of the player to move: {@code 100 - n} for a win
+ * in {@code n} moves, {@code -(100 - n)} for a loss after {@code n} moves and 0 for a draw. Best
+ * moves win soonest, or lose latest.
+ *
+ * <p>Tablebases are immutable and thread-safe.
+ */
+public final class Tablebase {
+
+  /** The magic number starting a tablebase file, "TTTB". */
+  static final int MAGIC = 0x54545442;
+
+  static final short VERSION = 1;
+
+  static final int HEADER_LENGTH = 16;
+
+  static final int SLOT_LENGTH = 12;
+
+  private final ByteBuffer slots;
+
+  private final int dimension;
+
+  private final int positions;
+
+  private final int capacity;
+
+  private final int[][] symmetries;
+
+  private Tablebase(ByteBuffer slots, int dimension, int positions, int capacity) {
+    this.slots = slots;
+    this.dimension = dimension;
+    this.positions = positions;
+    this.capacity = capacity;
+    this.symmetries = Positions.symmetries(dimension);
+  }
+
+  /**
+   * Opens the tablebase file at the given path, mapping it into memory.
+   *
+   * @param path the path of the tablebase file
+   * @return the tablebase
+   * @throws IOException if the file cannot be read or is not a tablebase
+   */
+  public static Tablebase open(Path path) throws IOException {
+    try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      var mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (mapping.capacity() < HEADER_LENGTH || mapping.getInt(0) != MAGIC) {
+        throw new IOException("Not a tablebase file: " + path);
+      }
+      if (mapping.getShort(4) != VERSION) {
+        throw new IOException("Unsupported tablebase version: " + mapping.getShort(4));
+      }
+      int dimension = mapping.getShort(6);
+      int positions = mapping.getInt(8);
+      int capacity = mapping.getInt(12);
+      if (Integer.bitCount(capacity) != 1
+          || mapping.capacity() != HEADER_LENGTH + (long) capacity * SLOT_LENGTH) {
+        throw new IOException("Truncated or corrupt tablebase file: " + path);
+      }
+      return new Tablebase(
+          mapping.slice(HEADER_LENGTH, capacity * SLOT_LENGTH), dimension, positions, capacity);
+    }
+  }
+
+  /**
+   * Returns the dimension of the boards of the tablebase.
+   *
+   * @return the board dimension
+   */
+  public int dimension() {
+    return dimension;
+  }
+
+  /**
+   * Returns the number of canonical positions in the tablebase.
+   *
+   * @return the number of positions
+   */
+  public int size() {
+    return positions;
+  }
+
+  /**
+   * Returns whether the tablebase holds positions of the state's game: two-player games on boards
+   * of the tablebase's dimension.
+   *
+   * @param state the game state
+   * @return true if the tablebase covers the state's game
+   */
+  public boolean covers(GameState state) {
+    return state.playerMarkers().size() == 2 && state.board().dimension() == dimension;
+  }
+
+  /**
+   * Returns the best move for the player to move in the given state.
+   *
+   * @param state the game state
+   * @return the best move, or empty if the position is not in the tablebase
+   */
+  public OptionalInt bestMove(GameState state) {
+    if (!covers(state)) {
+      return OptionalInt.empty();
+    }
+    var cells = Positions.cells(state);
+    int symmetry = Positions.canonicalSymmetry(cells, symmetries);
+    int slot = find(Positions.code(cells, symmetries[symmetry]));
+    if (slot < 0) {
+      return OptionalInt.empty();
+    }
+    int canonicalMove = slots.getShort(slot * SLOT_LENGTH + 10);
+    return OptionalInt.of(symmetries[symmetry][canonicalMove]);
+  }
+
+  /**
+   * Returns the value of the given state for the player to move.
+   *
+   * @param state the game state
+   * @return the value, or empty if the position is not in the tablebase
+   */
+  public OptionalInt value(GameState state) {
+    if (!covers(state)) {
+      return OptionalInt.empty();
+    }
+    var cells = Positions.cells(state);
+    int slot =
+        find(Positions.code(cells, symmetries[Positions.canonicalSymmetry(cells, symmetries)]));
+    return slot < 0 ? OptionalInt.empty() : OptionalInt.of(slots.getShort(slot * SLOT_LENGTH + 8));
+  }
+
+  /** Probes the table for the canonical code, returning its slot or -1 if absent. */
+  private int find(long code) {
+    int mask = capacity - 1;
+    for (int slot = slotOf(code, mask); ; slot = (slot + 1) & mask) {
+      long stored = slots.getLong(slot * SLOT_LENGTH);
+      if (stored == code + 1) {
+        return slot;
+      } else if (stored == 0) {
+        return -1;
+      }
+    }
+  }
+
+  static int slotOf(long code, int mask) {
+    return (int) ((code * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+  }
+}
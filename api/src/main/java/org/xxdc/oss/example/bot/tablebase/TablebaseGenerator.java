@@ -0,0 +1,206 @@
+package org.xxdc.oss.example.bot.tablebase;
+
+import java.io.IOException;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Generates a {@link Tablebase} by solving every position of two-player games on boards of one
+ * dimension, from the empty board, with a memoized negamax search over canonical positions.
+ *
+ * <p>Solving is an offline job, run by the {@code generateTablebase} Gradle task:
+ *
+ * <pre>
+ * ./gradlew :api:generateTablebase --args="3 build/tablebase/tablebase-3x3.ttb"
+ * </pre>
+ *
+ * <p>3x3 boards solve in well under a second, to 627 positions. 4x4 boards are feasible thanks to
+ * the symmetry reduction, solving in seconds to about 1.1 million positions and a 50MB file, but
+ * need a few gigabytes of heap; larger boards are not.
+ */
+public final class TablebaseGenerator {
+
+  private static final Logger log = System.getLogger(TablebaseGenerator.class.getName());
+
+  private static final int WIN_VALUE = 100;
+
+  private final int dimension;
+
+  private final int locations;
+
+  private final int[][] symmetries;
+
+  /** The solved canonical positions: value in the high, canonical best move in the low 16 bits. */
+  private final Map<Long, Integer> solved = new HashMap<>();
+
+  private TablebaseGenerator(int dimension) {
+    this.dimension = dimension;
+    this.locations = dimension * dimension;
+    this.symmetries = Positions.symmetries(dimension);
+  }
+
+  /**
+   * Solves every position of two-player games on boards of the given dimension and writes the
+   * tablebase file.
+   *
+   * @param dimension the board dimension
+   * @param path the path of the tablebase file to write
+   * @return the number of positions written
+   * @throws IOException if the file cannot be written
+   * @throws IllegalArgumentException if the dimension is not between 2 and 4
+   */
+  public static int generate(int dimension, Path path) throws IOException {
+    if (dimension < 2 || dimension > 4) {
+      throw new IllegalArgumentException("Tablebases can be generated for 2x2 to 4x4 boards");
+    }
+    var generator = new TablebaseGenerator(dimension);
+    generator.solve(new byte[generator.locations]);
+    generator.write(path);
+    return generator.solved.size();
+  }
+
+  /**
+   * Generates a tablebase file.
+   *
+   * @param args the board dimension (default 3) and the path of the file to write (default {@code
+   *     tablebase-3x3.ttb})
+   * @throws IOException if the file cannot be written
+   */
+  public static void main(String[] args) throws IOException {
+    int dimension = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+    var path =
+        Path.of(args.length > 1 ? args[1] : "tablebase-%dx%d.ttb".formatted(dimension, dimension));
+    long start = System.currentTimeMillis();
+    int positions = generate(dimension, path);
+    log.log(
+        Level.INFO,
+        "Solved {0} positions of {1}x{1} boards in {2}ms, written to {3}",
+        positions,
+        dimension,
+        System.currentTimeMillis() - start,
+        path);
+  }
+
+  /**
+   * Solves the position with the player to move marked {@link Positions#OWN}, returning its value.
+   */
+  private int solve(byte[] cells) {
+    int symmetry = Positions.canonicalSymmetry(cells, symmetries);
+    long code = Positions.code(cells, symmetries[symmetry]);
+    var known = solved.get(code);
+    if (known != null) {
+      return known >> 16;
+    }
+    int bestValue = -Integer.MAX_VALUE;
+    int bestMove = -1;
+    for (int location = 0; location < locations; location++) {
+      if (cells[location] != Positions.EMPTY) {
+        continue;
+      }
+      cells[location] = Positions.OWN;
+      int value;
+      if (completesLine(cells, location)) {
+        value = WIN_VALUE - 1;
+      } else if (isFull(cells)) {
+        value = 0;
+      } else {
+        int opponentValue = solve(opponentView(cells));
+        // One move later for the opponent is one move sooner, or later, for the player
+        value =
+            opponentValue > 0 ? -(opponentValue - 1) : opponentValue < 0 ? -opponentValue - 1 : 0;
+      }
+      cells[location] = Positions.EMPTY;
+      if (value > bestValue) {
+        bestValue = value;
+        bestMove = location;
+      }
+    }
+    solved.put(
+        code, (bestValue << 16) | Positions.canonicalLocation(symmetries[symmetry], bestMove));
+    return bestValue;
+  }
+
+  private boolean completesLine(byte[] cells, int location) {
+    int row = location / dimension;
+    int column = location % dimension;
+    return isLine(cells, row * dimension, 1)
+        || isLine(cells, column, dimension)
+        || (row == column && isLine(cells, 0, dimension + 1))
+        || (row + column == dimension - 1 && isLine(cells, dimension - 1, dimension - 1));
+  }
+
+  private boolean isLine(byte[] cells, int start, int step) {
+    for (int i = 0, cell = start; i < dimension; i++, cell += step) {
+      if (cells[cell] != Positions.OWN) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isFull(byte[] cells) {
+    for (byte cell : cells) {
+      if (cell == Positions.EMPTY) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static byte[] opponentView(byte[] cells) {
+    var view = new byte[cells.length];
+    for (int location = 0; location < cells.length; location++) {
+      view[location] = (byte) (cells[location] == Positions.EMPTY ? 0 : 3 - cells[location]);
+    }
+    return view;
+  }
+
+  private void write(Path path) throws IOException {
+    int capacity = Integer.highestOneBit(Math.max(1, solved.size()) * 2 - 1) << 1;
+    int mask = capacity - 1;
+    var buffer = ByteBuffer.allocate(Tablebase.HEADER_LENGTH + capacity * Tablebase.SLOT_LENGTH);
+    buffer
+        .putInt(Tablebase.MAGIC)
+        .putShort(Tablebase.VERSION)
+        .putShort((short) dimension)
+        .putInt(solved.size())
+        .putInt(capacity);
+    for (var position : solved.entrySet()) {
+      long code = position.getKey();
+      int slot = Tablebase.slotOf(code, mask);
+      while (buffer.getLong(slotOffset(slot)) != 0) {
+        slot = (slot + 1) & mask;
+      }
+      int offset = slotOffset(slot);
+      buffer
+          .putLong(offset, code + 1)
+          .putShort(offset + 8, (short) (position.getValue() >> 16))
+          .putShort(offset + 10, (short) (position.getValue() & 0xFFFF));
+    }
+    if (path.getParent() != null) {
+      Files.createDirectories(path.getParent());
+    }
+    try (var channel =
+        FileChannel.open(
+            path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      buffer.rewind();
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+  }
+
+  private static int slotOffset(int slot) {
+    return Tablebase.HEADER_LENGTH + slot * Tablebase.SLOT_LENGTH;
+  }
+}
@@ -0,0 +1,73 @@
+package org.xxdc.oss.example.simulation;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The Elo and Glicko ratings of a tournament's entrants, updated as each round is played.
+ *
+ * <p>Elo ratings are updated after each game, in the order the games were scheduled. Glicko ratings
+ * treat each round as a rating period, rating every game of the round against the opponents'
+ * ratings before it, and narrowing each entrant's rating deviation as its games are played. As a
+ * bot's strength does not drift between rounds, deviations are not widened between periods.
+ */
+final class Ratings {
+
+  /** The rating of an entrant yet to play. */
+  static final double INITIAL_RATING = 1500;
+
+  /** The rating deviation of an entrant yet to play. */
+  static final double INITIAL_DEVIATION = 350;
+
+  /** The most an Elo rating moves after a single game. */
+  static final double ELO_K = 16;
+
+  private static final double Q = Math.log(10) / 400;
+
+  final double[] elo;
+  final double[] rating;
+  final double[] deviation;
+
+  Ratings(int entrants) {
+    this.elo = new double[entrants];
+    this.rating = new double[entrants];
+    this.deviation = new double[entrants];
+    Arrays.fill(elo, INITIAL_RATING);
+    Arrays.fill(rating, INITIAL_RATING);
+    Arrays.fill(deviation, INITIAL_DEVIATION);
+  }
+
+  /** Updates the ratings with the games of a round. */
+  void rate(List<Tournament.GameResult> round) {
+    for (var game : round) {
+      double expected = 1 / (1 + Math.pow(10, (elo[game.second()] - elo[game.first()]) / 400));
+      double change = ELO_K * (game.firstScore() - expected);
+      elo[game.first()] += change;
+      elo[game.second()] -= change;
+    }
+
+    // Sums, for each entrant, g(RD) * (score - E) and the inverse of d^2 over its games
+    double[] improvement = new double[rating.length];
+    double[] information = new double[rating.length];
+    for (var game : round) {
+      accumulate(game.first(), game.second(), game.firstScore(), improvement, information);
+      accumulate(game.second(), game.first(), 1 - game.firstScore(), improvement, information);
+    }
+    for (int entrant = 0; entrant < rating.length; entrant++) {
+      if (information[entrant] > 0) {
+        double precision = 1 / (deviation[entrant] * deviation[entrant]) + information[entrant];
+        rating[entrant] += Q / precision * improvement[entrant];
+        deviation[entrant] = Math.sqrt(1 / precision);
+      }
+    }
+  }
+
+  private void accumulate(
+      int entrant, int opponent, double score, double[] improvement, double[] information) {
+    double variance = deviation[opponent] * deviation[opponent];
+    double g = 1 / Math.sqrt(1 + 3 * Q * Q * variance / (Math.PI * Math.PI));
+    double expected = 1 / (1 + Math.pow(10, -g * (rating[entrant] - rating[opponent]) / 400));
+    improvement[entrant] += g * (score - expected);
+    information[entrant] += Q * Q * g * g * expected * (1 - expected);
+  }
+}
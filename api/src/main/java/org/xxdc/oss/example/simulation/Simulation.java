@@ -0,0 +1,251 @@
+package org.xxdc.oss.example.simulation;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+import org.xxdc.oss.example.GameBoard;
+import org.xxdc.oss.example.GameServiceException;
+import org.xxdc.oss.example.GameState;
+
+/**
+ * A headless runner of bot-versus-bot games, for evaluating strategies over many games. Each pair
+ * of strategies of the matrix plays the configured number of games, each strategy playing first in
+ * its own pairings, and the games are tallied into {@link SimulationResults}.
+ *
+ * <p>Unlike {@link org.xxdc.oss.example.Game}, simulated games only apply the strategies' moves to
+ * their {@link GameState}: there is no game context, rendering, logging, journal, persistence or
+ * temporary directory per game, and no history kept. Games are played in batches of {@link
+ * #GAMES_PER_TASK} on a work-stealing pool, by default, or the configured executor.
+ *
+ * <p>Strategies are called from many games at once, so must be safe to call concurrently, as the
+ * {@link org.xxdc.oss.example.bot.BotStrategy} strategies are.
+ */
+public final class Simulation {
+
+  private static final Logger log = System.getLogger(Simulation.class.getName());
+
+  /** The number of games each task plays, amortizing its scheduling over many short games. */
+  static final int GAMES_PER_TASK = 64;
+
+  private static final List<String> PLAYER_MARKERS = List.of("X", "O");
+
+  private final List<String> names;
+  private final List<ToIntFunction<GameState>> strategies;
+  private final int boardSize;
+  private final int games;
+  private final boolean selfPlay;
+  private final Executor executor;
+
+  private Simulation(Builder builder) {
+    this.names = List.copyOf(builder.strategies.keySet());
+    this.strategies = List.copyOf(builder.strategies.values());
+    this.boardSize = builder.boardSize;
+    this.games = builder.games;
+    this.selfPlay = builder.selfPlay;
+    this.executor = builder.executor;
+  }
+
+  /**
+   * Returns a new builder for configuring a simulation.
+   *
+   * @return a new builder
+   */
+  public static Builder newBuilder() {
+    return new Builder();
+  }
+
+  /**
+   * Plays every game of the simulation, waiting for them to finish.
+   *
+   * @return the results of the games
+   * @throws GameServiceException if a strategy fails or makes an invalid move
+   */
+  public SimulationResults run() {
+    long start = System.nanoTime();
+    int count = strategies.size();
+    var tallies = new Tally[count][count];
+    var tasks = new ArrayList<CompletableFuture<Void>>();
+    ExecutorService pool = executor == null ? Executors.newWorkStealingPool() : null;
+    try {
+      for (int first = 0; first < count; first++) {
+        for (int second = 0; second < count; second++) {
+          if (first == second && !selfPlay) {
+            continue;
+          }
+          var tally = tallies[first][second] = new Tally();
+          var players = List.of(strategies.get(first), strategies.get(second));
+          for (int played = 0; played < games; played += GAMES_PER_TASK) {
+            int batch = Math.min(GAMES_PER_TASK, games - played);
+            tasks.add(
+                CompletableFuture.runAsync(
+                    () -> playBatch(players, batch, tally), pool != null ? pool : executor));
+          }
+        }
+      }
+      CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+    } catch (CompletionException e) {
+      tasks.forEach(task -> task.cancel(false));
+      throw new GameServiceException("Failure whilst simulating games: " + e.getMessage(), e);
+    } finally {
+      if (pool != null) {
+        pool.shutdownNow();
+      }
+    }
+
+    var matchups = new ArrayList<SimulationResults.Matchup>();
+    for (int first = 0; first < count; first++) {
+      for (int second = 0; second < count; second++) {
+        var tally = tallies[first][second];
+        if (tally != null) {
+          matchups.add(
+              new SimulationResults.Matchup(
+                  names.get(first),
+                  names.get(second),
+                  tally.firstWins.sum(),
+                  tally.secondWins.sum(),
+                  tally.draws.sum(),
+                  tally.moves.sum()));
+        }
+      }
+    }
+    var results = new SimulationResults(names, matchups, System.nanoTime() - start);
+    log.log(
+        Level.DEBUG,
+        "Simulated {0} games in {1}ms",
+        results.games(),
+        results.elapsedNanos() / 1_000_000);
+    return results;
+  }
+
+  /** Plays a batch of games, counting locally and adding the counts to the tally once. */
+  private void playBatch(List<ToIntFunction<GameState>> players, int batch, Tally tally) {
+    var initial = new GameState(GameBoard.withDimension(boardSize), PLAYER_MARKERS, 0);
+    int firstWins = 0;
+    int secondWins = 0;
+    long moves = 0;
+    for (int game = 0; game < batch; game++) {
+      var state = initial;
+      boolean won = false;
+      while (!won && state.hasMovesAvailable()) {
+        int move = players.get(state.currentPlayerIndex()).applyAsInt(state);
+        state = state.afterPlayerMoves(move);
+        won = state.lastPlayerHasChain();
+        moves++;
+      }
+      if (won) {
+        if (state.lastPlayerIndex() == 0) {
+          firstWins++;
+        } else {
+          secondWins++;
+        }
+      }
+    }
+    tally.firstWins.add(firstWins);
+    tally.secondWins.add(secondWins);
+    tally.draws.add(batch - firstWins - secondWins);
+    tally.moves.add(moves);
+  }
+
+  /** The running counts of the games of a pairing, added to by each batch as it finishes. */
+  private static final class Tally {
+    final LongAdder firstWins = new LongAdder();
+    final LongAdder secondWins = new LongAdder();
+    final LongAdder draws = new LongAdder();
+    final LongAdder moves = new LongAdder();
+  }
+
+  /** A builder for constructing a {@link Simulation}. */
+  public static class Builder {
+    private final Map<String, ToIntFunction<GameState>> strategies = new LinkedHashMap<>();
+    private int boardSize = 3;
+    private int games = 1;
+    private boolean selfPlay = true;
+    private Executor executor;
+
+    /**
+     * Adds a strategy to the matrix, to play every other strategy added.
+     *
+     * @param name the name of the strategy in the results
+     * @param strategy the strategy, safe to call concurrently
+     * @return this builder instance
+     * @throws IllegalArgumentException if a strategy of the same name has been added
+     */
+    public Builder strategy(String name, ToIntFunction<GameState> strategy) {
+      if (strategies.putIfAbsent(name, strategy) != null) {
+        throw new IllegalArgumentException("Duplicate strategy: " + name);
+      }
+      return this;
+    }
+
+    /**
+     * Sets the dimension of the board games are played on, 3 by default.
+     *
+     * @param boardSize the board dimension, e.g. 3 for a 3x3 board
+     * @return this builder instance
+     */
+    public Builder boardSize(int boardSize) {
+      this.boardSize = boardSize;
+      return this;
+    }
+
+    /**
+     * Sets the number of games each ordered pair of strategies plays, 1 by default.
+     *
+     * @param games the number of games per pairing
+     * @return this builder instance
+     */
+    public Builder games(int games) {
+      this.games = games;
+      return this;
+    }
+
+    /**
+     * Sets whether each strategy also plays itself, true by default.
+     *
+     * @param enabled true to play each strategy against itself
+     * @return this builder instance
+     */
+    public Builder selfPlay(boolean enabled) {
+      this.selfPlay = enabled;
+      return this;
+    }
+
+    /**
+     * Sets the executor to play games on, instead of a work-stealing pool created for each run,
+     * such as a virtual thread per task executor for strategies that block.
+     *
+     * @param executor the executor to play games on
+     * @return this builder instance
+     */
+    public Builder executor(Executor executor) {
+      this.executor = executor;
+      return this;
+    }
+
+    /**
+     * Builds a {@link Simulation} with the configured settings.
+     *
+     * @return the simulation
+     * @throws IllegalArgumentException if no strategies have been added, or the board size or
+     *     number of games is not positive
+     */
+    public Simulation build() {
+      if (strategies.isEmpty()) {
+        throw new IllegalArgumentException("A simulation needs at least one strategy");
+      } else if (boardSize < 1 || games < 1) {
+        throw new IllegalArgumentException("Board size and games must be positive");
+      }
+      return new Simulation(this);
+    }
+  }
+}
@@ -0,0 +1,146 @@
+package org.xxdc.oss.example.simulation;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The aggregated results of a {@link Simulation}: the wins, losses and draws of each pairing of
+ * strategies, and the throughput of the games.
+ */
+public final class SimulationResults {
+
+  private final List<String> strategies;
+
+  private final List<Matchup> matchups;
+
+  private final long elapsedNanos;
+
+  /**
+   * The results of the games of one ordered pair of strategies.
+   *
+   * @param first the name of the strategy that moved first
+   * @param second the name of the strategy that moved second
+   * @param firstWins the number of games the first strategy won
+   * @param secondWins the number of games the second strategy won
+   * @param draws the number of games drawn
+   * @param moves the number of moves played over every game
+   */
+  public record Matchup(
+      String first, String second, long firstWins, long secondWins, long draws, long moves) {
+
+    /**
+     * Returns the number of games played.
+     *
+     * @return the number of games
+     */
+    public long games() {
+      return firstWins + secondWins + draws;
+    }
+
+    /**
+     * Returns the first strategy's score, counting a win as 1 and a draw as 1/2, over the games.
+     *
+     * @return the first strategy's score, from 0 to 1
+     */
+    public double firstScore() {
+      return (firstWins + draws / 2.0) / games();
+    }
+
+    /**
+     * Returns the average number of moves of the games.
+     *
+     * @return the average game length
+     */
+    public double averageMoves() {
+      return (double) moves / games();
+    }
+  }
+
+  SimulationResults(List<String> strategies, List<Matchup> matchups, long elapsedNanos) {
+    this.strategies = strategies;
+    this.matchups = List.copyOf(matchups);
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * Returns the names of the strategies simulated, in the order they were added.
+   *
+   * @return the strategies
+   */
+  public List<String> strategies() {
+    return strategies;
+  }
+
+  /**
+   * Returns the results of every pairing, ordered by the first strategy then the second.
+   *
+   * @return the matchups
+   */
+  public List<Matchup> matchups() {
+    return matchups;
+  }
+
+  /**
+   * Returns the results of the games the first strategy played first against the second.
+   *
+   * @param first the name of the strategy that moved first
+   * @param second the name of the strategy that moved second
+   * @return the matchup, or empty if the strategies did not play in that order
+   */
+  public Optional<Matchup> matchup(String first, String second) {
+    return matchups.stream()
+        .filter(matchup -> matchup.first().equals(first) && matchup.second().equals(second))
+        .findFirst();
+  }
+
+  /**
+   * Returns the strategy's score over every game it played against other strategies, moving first
+   * or second, counting a win as 1 and a draw as 1/2.
+   *
+   * @param strategy the name of the strategy
+   * @return the strategy's score, from 0 to 1, or NaN if it played no other strategy
+   */
+  public double score(String strategy) {
+    double points = 0;
+    long games = 0;
+    for (var matchup : matchups) {
+      if (matchup.first().equals(matchup.second())) {
+        continue;
+      } else if (matchup.first().equals(strategy)) {
+        points += matchup.firstWins() + matchup.draws() / 2.0;
+        games += matchup.games();
+      } else if (matchup.second().equals(strategy)) {
+        points += matchup.secondWins() + matchup.draws() / 2.0;
+        games += matchup.games();
+      }
+    }
+    return points / games;
+  }
+
+  /**
+   * Returns the number of games played.
+   *
+   * @return the number of games
+   */
+  public long games() {
+    return matchups.stream().mapToLong(Matchup::games).sum();
+  }
+
+  /**
+   * Returns the wall-clock time taken to play every game, in nanoseconds.
+   *
+   * @return the elapsed time
+   */
+  public long elapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /**
+   * Returns the number of games played per second of wall-clock time.
+   *
+   * @return the throughput
+   */
+  public double gamesPerSecond() {
+    return games() * 1e9 / Math.max(1, elapsedNanos);
+  }
+}
@@ -0,0 +1,391 @@
+package org.xxdc.oss.example.simulation;
+
+import java.io.IOException;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+import org.xxdc.oss.example.GameBoard;
+import org.xxdc.oss.example.GameServiceException;
+import org.xxdc.oss.example.GameState;
+
+/**
+ * A tournament between bot strategies, or configurations of one, to decide which plays best. The
+ * entrants are paired {@link Pairing#ROUND_ROBIN round robin} or by {@link Pairing#SWISS Swiss}
+ * rounds on each of the configured board sizes, each pairing playing a number of headless games,
+ * alternating which entrant moves first. The games of a round are played in parallel, on a pool of
+ * the configured concurrency.
+ *
+ * <p>The results rank the entrants by their Glicko rating, with a 95% confidence interval, and also
+ * give their Elo ratings, points and the think-time of their moves.
+ *
+ * <p>Given a checkpoint file, progress is saved to it after each round, and a tournament run with a
+ * checkpoint of the same tournament resumes after its last completed round.
+ */
+public final class Tournament {
+
+  private static final Logger log = System.getLogger(Tournament.class.getName());
+
+  private static final List<String> PLAYER_MARKERS = List.of("X", "O");
+
+  /** How the entrants are paired in each round. */
+  public enum Pairing {
+    /**
+     * Every entrant plays every other on each board size, in the rounds of the circle method, one
+     * fewer than the number of entrants, or as many if odd, with a bye each round.
+     */
+    ROUND_ROBIN,
+    /**
+     * Entrants play others of similar points each round, on each board size, avoiding rematches
+     * where possible. With an odd number of entrants, the lowest ranked sits out each round with a
+     * bye, playing no games and scoring no points.
+     */
+    SWISS
+  }
+
+  /** The result of a tournament game, the winner being 0 or 1 by order of moving, or -1. */
+  record GameResult(int round, int boardSize, int first, int second, int winner) {
+
+    double firstScore() {
+      return winner == 0 ? 1 : winner == 1 ? 0 : 0.5;
+    }
+  }
+
+  private final List<String> names;
+  private final List<ToIntFunction<GameState>> strategies;
+  private final List<Integer> boardSizes;
+  private final Pairing pairing;
+  private final int swissRounds;
+  private final int gamesPerPairing;
+  private final int concurrency;
+  private final Path checkpoint;
+
+  private Tournament(Builder builder) {
+    this.names = List.copyOf(builder.strategies.keySet());
+    this.strategies = List.copyOf(builder.strategies.values());
+    this.boardSizes = List.copyOf(builder.boardSizes);
+    this.pairing = builder.pairing;
+    this.swissRounds = builder.swissRounds;
+    this.gamesPerPairing = builder.gamesPerPairing;
+    this.concurrency = builder.concurrency;
+    this.checkpoint = builder.checkpoint;
+  }
+
+  /**
+   * Returns a new builder for configuring a tournament.
+   *
+   * @return a new builder
+   */
+  public static Builder newBuilder() {
+    return new Builder();
+  }
+
+  /**
+   * Plays the rounds of the tournament not yet completed, checkpointing after each.
+   *
+   * @return the results of the tournament
+   * @throws IOException if the checkpoint cannot be read or written, or is of another tournament
+   * @throws GameServiceException if a strategy fails or makes an invalid move
+   */
+  public TournamentResults run() throws IOException {
+    var progress =
+        checkpoint != null && Files.exists(checkpoint)
+            ? TournamentProgress.readFrom(checkpoint, this)
+            : new TournamentProgress(this);
+    if (progress.completedRounds > 0) {
+      log.log(Level.INFO, "Resuming tournament after round {0}", progress.completedRounds);
+    }
+    int totalRounds = totalRounds();
+    ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+    try {
+      while (progress.completedRounds < totalRounds) {
+        int round = progress.completedRounds;
+        int boardSize = boardSizes.get(round / rounds());
+        var pairings =
+            pairing == Pairing.ROUND_ROBIN
+                ? roundRobinPairings(round % rounds())
+                : swissPairings(progress, boardSize);
+        progress.record(playRound(round, boardSize, pairings, progress, pool));
+        if (checkpoint != null) {
+          progress.writeTo(checkpoint);
+        }
+        log.log(Level.INFO, "Round {0} of {1} complete", round + 1, totalRounds);
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+    return results(progress);
+  }
+
+  private List<GameResult> playRound(
+      int round,
+      int boardSize,
+      List<int[]> pairings,
+      TournamentProgress progress,
+      ExecutorService pool) {
+    var initial = new GameState(GameBoard.withDimension(boardSize), PLAYER_MARKERS, 0);
+    var scheduled = new ArrayList<int[]>();
+    for (int[] pair : pairings) {
+      for (int game = 0; game < gamesPerPairing; game++) {
+        scheduled.add(game % 2 == 0 ? pair : new int[] {pair[1], pair[0]});
+      }
+    }
+    var games =
+        scheduled.stream()
+            .map(pair -> CompletableFuture.supplyAsync(() -> play(initial, pair, progress), pool))
+            .toList();
+    try {
+      CompletableFuture.allOf(games.toArray(CompletableFuture[]::new)).join();
+    } catch (CompletionException e) {
+      games.forEach(game -> game.cancel(false));
+      throw new GameServiceException(
+          "Failure whilst playing tournament round " + (round + 1) + ": " + e.getMessage(), e);
+    }
+    // Recorded in the order scheduled, so that replaying a checkpoint rates them alike
+    var results = new ArrayList<GameResult>(scheduled.size());
+    for (int game = 0; game < scheduled.size(); game++) {
+      int[] pair = scheduled.get(game);
+      results.add(new GameResult(round, boardSize, pair[0], pair[1], games.get(game).join()));
+    }
+    return results;
+  }
+
+  /** Plays a game, timing each move, returning the winner's order of moving or -1 for a draw. */
+  private int play(GameState initial, int[] pair, TournamentProgress progress) {
+    var state = initial;
+    boolean won = false;
+    while (!won && state.hasMovesAvailable()) {
+      int entrant = pair[state.currentPlayerIndex()];
+      long start = System.nanoTime();
+      int move = strategies.get(entrant).applyAsInt(state);
+      progress.thinkTimes[entrant].record(System.nanoTime() - start);
+      state = state.afterPlayerMoves(move);
+      won = state.lastPlayerHasChain();
+    }
+    return won ? state.lastPlayerIndex() : -1;
+  }
+
+  /** Returns the pairings of a round of the circle method, alternating who is listed first. */
+  private List<int[]> roundRobinPairings(int round) {
+    // Fixes the first entrant and rotates the others, with a bye, -1, to make the number even
+    int slots = names.size() + names.size() % 2;
+    int[] circle = new int[slots];
+    circle[0] = 0;
+    for (int slot = 1; slot < slots; slot++) {
+      int entrant = (slot - 1 + round) % (slots - 1) + 1;
+      circle[slot] = entrant < names.size() ? entrant : -1;
+    }
+    var pairings = new ArrayList<int[]>();
+    for (int slot = 0; slot < slots / 2; slot++) {
+      int first = circle[slot];
+      int second = circle[slots - 1 - slot];
+      if (first >= 0 && second >= 0) {
+        pairings.add(round % 2 == 0 ? new int[] {first, second} : new int[] {second, first});
+      }
+    }
+    return pairings;
+  }
+
+  /** Returns the pairings of a Swiss round, pairing down the standings. */
+  private List<int[]> swissPairings(TournamentProgress progress, int boardSize) {
+    var ranked =
+        new ArrayList<>(
+            IntStream.range(0, names.size())
+                .boxed()
+                .sorted(
+                    Comparator.<Integer>comparingDouble(progress::points)
+                        .thenComparingDouble(entrant -> progress.ratings.rating[entrant])
+                        .reversed()
+                        .thenComparingInt(entrant -> entrant))
+                .toList());
+    if (ranked.size() % 2 == 1) {
+      ranked.removeLast();
+    }
+    var pairings = new ArrayList<int[]>();
+    while (!ranked.isEmpty()) {
+      int first = ranked.removeFirst();
+      int opponent = 0;
+      while (opponent < ranked.size() - 1
+          && progress.havePlayed(boardSize, first, ranked.get(opponent))) {
+        opponent++;
+      }
+      pairings.add(new int[] {first, ranked.remove(opponent)});
+    }
+    return pairings;
+  }
+
+  private TournamentResults results(TournamentProgress progress) {
+    var standings = new ArrayList<TournamentResults.Standing>();
+    for (int entrant = 0; entrant < names.size(); entrant++) {
+      var thinkTime = progress.thinkTimes[entrant];
+      long moves = thinkTime.moves.sum();
+      double mean = moves == 0 ? 0 : (double) thinkTime.totalNanos.sum() / moves;
+      double variance = moves == 0 ? 0 : thinkTime.sumOfSquares.sum() / moves - mean * mean;
+      standings.add(
+          new TournamentResults.Standing(
+              names.get(entrant),
+              progress.wins[entrant],
+              progress.draws[entrant],
+              progress.losses[entrant],
+              progress.ratings.rating[entrant],
+              progress.ratings.deviation[entrant],
+              progress.ratings.elo[entrant],
+              new TournamentResults.ThinkTime(
+                  moves,
+                  mean / 1e6,
+                  Math.sqrt(Math.max(0, variance)) / 1e6,
+                  thinkTime.maxNanos.get() / 1e6)));
+    }
+    standings.sort(Comparator.comparingDouble(TournamentResults.Standing::rating).reversed());
+    return new TournamentResults(standings, progress.completedRounds, progress.games.size());
+  }
+
+  /** Returns the number of rounds played on each board size. */
+  int rounds() {
+    return pairing == Pairing.SWISS ? swissRounds : names.size() - 1 + names.size() % 2;
+  }
+
+  private int totalRounds() {
+    return rounds() * boardSizes.size();
+  }
+
+  List<String> names() {
+    return names;
+  }
+
+  List<Integer> boardSizes() {
+    return boardSizes;
+  }
+
+  Pairing pairing() {
+    return pairing;
+  }
+
+  int gamesPerPairing() {
+    return gamesPerPairing;
+  }
+
+  /** A builder for constructing a {@link Tournament}. */
+  public static class Builder {
+    private final Map<String, ToIntFunction<GameState>> strategies = new LinkedHashMap<>();
+    private List<Integer> boardSizes = List.of(3);
+    private Pairing pairing = Pairing.ROUND_ROBIN;
+    private int swissRounds;
+    private int gamesPerPairing = 2;
+    private int concurrency = Runtime.getRuntime().availableProcessors();
+    private Path checkpoint;
+
+    /**
+     * Enters a strategy into the tournament.
+     *
+     * @param name the name of the entrant in the results
+     * @param strategy the strategy, safe to call concurrently
+     * @return this builder instance
+     * @throws IllegalArgumentException if an entrant of the same name has been entered
+     */
+    public Builder strategy(String name, ToIntFunction<GameState> strategy) {
+      if (strategies.putIfAbsent(name, strategy) != null) {
+        throw new IllegalArgumentException("Duplicate strategy: " + name);
+      }
+      return this;
+    }
+
+    /**
+     * Sets the dimensions of the boards the rounds are played on, in order, 3 by default.
+     *
+     * @param boardSizes the board dimensions, e.g. 3 for a 3x3 board
+     * @return this builder instance
+     */
+    public Builder boardSizes(Integer... boardSizes) {
+      this.boardSizes = List.of(boardSizes);
+      return this;
+    }
+
+    /**
+     * Pairs every entrant with every other on each board size, the default.
+     *
+     * @return this builder instance
+     */
+    public Builder roundRobin() {
+      this.pairing = Pairing.ROUND_ROBIN;
+      return this;
+    }
+
+    /**
+     * Pairs entrants of similar points for the given number of rounds on each board size.
+     *
+     * @param rounds the number of rounds per board size
+     * @return this builder instance
+     */
+    public Builder swiss(int rounds) {
+      this.pairing = Pairing.SWISS;
+      this.swissRounds = rounds;
+      return this;
+    }
+
+    /**
+     * Sets the number of games each pairing plays, alternating which entrant moves first, 2 by
+     * default.
+     *
+     * @param games the number of games per pairing
+     * @return this builder instance
+     */
+    public Builder gamesPerPairing(int games) {
+      this.gamesPerPairing = games;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of games played at once, the number of processors by default.
+     *
+     * @param concurrency the maximum number of concurrent games
+     * @return this builder instance
+     */
+    public Builder concurrency(int concurrency) {
+      this.concurrency = concurrency;
+      return this;
+    }
+
+    /**
+     * Sets the file to checkpoint progress to after each round, and to resume from if it exists.
+     *
+     * @param checkpoint the checkpoint file
+     * @return this builder instance
+     */
+    public Builder checkpoint(Path checkpoint) {
+      this.checkpoint = checkpoint;
+      return this;
+    }
+
+    /**
+     * Builds a {@link Tournament} with the configured settings.
+     *
+     * @return the tournament
+     * @throws IllegalArgumentException if fewer than two strategies have been entered, or the board
+     *     sizes, rounds, games or concurrency are not positive
+     */
+    public Tournament build() {
+      if (strategies.size() < 2) {
+        throw new IllegalArgumentException("A tournament needs at least two strategies");
+      } else if (boardSizes.isEmpty() || boardSizes.stream().anyMatch(size -> size < 1)) {
+        throw new IllegalArgumentException("Board sizes must be positive");
+      } else if (pairing == Pairing.SWISS && swissRounds < 1) {
+        throw new IllegalArgumentException("Swiss tournaments need at least one round");
+      } else if (gamesPerPairing < 1 || concurrency < 1) {
+        throw new IllegalArgumentException("Games per pairing and concurrency must be positive");
+      }
+      return new Tournament(this);
+    }
+  }
+}
@@ -0,0 +1,223 @@
+package org.xxdc.oss.example.simulation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The progress of a tournament: the games of the rounds completed, the standings and ratings they
+ * lead to, and the think-time of each entrant's moves. Progress is checkpointed to a file after
+ * each round, from which the tournament resumes by replaying the games recorded.
+ *
+ * <p>Layout, integers big-endian:
+ *
+ * <pre>
+ * header      magic int 'T' 'T' 'T' 'K' | version byte
+ * tournament  pairing byte | rounds int | games per pairing int | sizes int | per size: int
+ *             | entrants int | per entrant: modified UTF-8 name
+ * progress    completed rounds int | games int
+ *             | per game: round int | size int | first int | second int | winner byte
+ *             | per entrant: moves long | total nanos long | max nanos long | sum of squares double
+ * </pre>
+ */
+final class TournamentProgress {
+
+  /** The magic number identifying a tournament checkpoint, "TTTK" in ASCII. */
+  static final int MAGIC = 0x5454544B;
+
+  /** The current version of the checkpoint layout. */
+  static final byte VERSION = 1;
+
+  private final Tournament tournament;
+
+  final List<Tournament.GameResult> games = new ArrayList<>();
+  final Ratings ratings;
+  final long[] wins;
+  final long[] draws;
+  final long[] losses;
+  final ThinkTime[] thinkTimes;
+
+  /** The pairings played, at each board size, to avoid Swiss rematches. */
+  private final Set<List<Integer>> played = new HashSet<>();
+
+  int completedRounds;
+
+  TournamentProgress(Tournament tournament) {
+    this.tournament = tournament;
+    int entrants = tournament.names().size();
+    this.ratings = new Ratings(entrants);
+    this.wins = new long[entrants];
+    this.draws = new long[entrants];
+    this.losses = new long[entrants];
+    this.thinkTimes = new ThinkTime[entrants];
+    for (int entrant = 0; entrant < entrants; entrant++) {
+      thinkTimes[entrant] = new ThinkTime();
+    }
+  }
+
+  /** Records the games of the next round, updating the standings and ratings. */
+  void record(List<Tournament.GameResult> round) {
+    for (var game : round) {
+      games.add(game);
+      played.add(List.of(game.boardSize(), game.first(), game.second()));
+      played.add(List.of(game.boardSize(), game.second(), game.first()));
+      switch (game.winner()) {
+        case 0 -> {
+          wins[game.first()]++;
+          losses[game.second()]++;
+        }
+        case 1 -> {
+          wins[game.second()]++;
+          losses[game.first()]++;
+        }
+        default -> {
+          draws[game.first()]++;
+          draws[game.second()]++;
+        }
+      }
+    }
+    ratings.rate(round);
+    completedRounds++;
+  }
+
+  /** Returns the entrant's points: a win scoring 1 and a draw 1/2. */
+  double points(int entrant) {
+    return wins[entrant] + draws[entrant] / 2.0;
+  }
+
+  /** Returns whether the entrants have played each other on the board size. */
+  boolean havePlayed(int boardSize, int entrant, int opponent) {
+    return played.contains(List.of(boardSize, entrant, opponent));
+  }
+
+  /**
+   * Writes the progress to the checkpoint file, replacing it atomically where the file system
+   * supports it, so that a run interrupted mid-write resumes from the previous checkpoint.
+   */
+  void writeTo(Path checkpoint) throws IOException {
+    var temporary = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+    try (var out =
+        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+      out.writeInt(MAGIC);
+      out.writeByte(VERSION);
+      writeTournament(out, tournament);
+      out.writeInt(completedRounds);
+      out.writeInt(games.size());
+      for (var game : games) {
+        out.writeInt(game.round());
+        out.writeInt(game.boardSize());
+        out.writeInt(game.first());
+        out.writeInt(game.second());
+        out.writeByte(game.winner());
+      }
+      for (var thinkTime : thinkTimes) {
+        out.writeLong(thinkTime.moves.sum());
+        out.writeLong(thinkTime.totalNanos.sum());
+        out.writeLong(thinkTime.maxNanos.get());
+        out.writeDouble(thinkTime.sumOfSquares.sum());
+      }
+    }
+    try {
+      Files.move(
+          temporary,
+          checkpoint,
+          StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(temporary, checkpoint, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  /**
+   * Reads the progress of the tournament from its checkpoint file, replaying the games recorded.
+   *
+   * @throws IOException if an I/O error occurs, or the file is not a checkpoint of the tournament
+   */
+  static TournamentProgress readFrom(Path checkpoint, Tournament tournament) throws IOException {
+    try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(checkpoint)))) {
+      if (in.readInt() != MAGIC) {
+        throw new IOException("Not a tournament checkpoint: " + checkpoint);
+      }
+      byte version = in.readByte();
+      if (version != VERSION) {
+        throw new IOException("Unsupported tournament checkpoint version: " + version);
+      }
+      var bytes = new ByteArrayOutputStream();
+      writeTournament(new DataOutputStream(bytes), tournament);
+      if (!Arrays.equals(in.readNBytes(bytes.size()), bytes.toByteArray())) {
+        throw new IOException("Checkpoint is of another tournament: " + checkpoint);
+      }
+      var progress = new TournamentProgress(tournament);
+      int completedRounds = in.readInt();
+      int count = in.readInt();
+      var round = new ArrayList<Tournament.GameResult>();
+      for (int i = 0; i < count; i++) {
+        var game =
+            new Tournament.GameResult(
+                in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readByte());
+        if (!round.isEmpty() && round.getFirst().round() != game.round()) {
+          progress.record(round);
+          round = new ArrayList<>();
+        }
+        round.add(game);
+      }
+      if (!round.isEmpty()) {
+        progress.record(round);
+      }
+      // Rounds of byes alone record no games
+      progress.completedRounds = completedRounds;
+      for (var thinkTime : progress.thinkTimes) {
+        thinkTime.moves.add(in.readLong());
+        thinkTime.totalNanos.add(in.readLong());
+        thinkTime.maxNanos.accumulate(in.readLong());
+        thinkTime.sumOfSquares.add(in.readDouble());
+      }
+      return progress;
+    }
+  }
+
+  private static void writeTournament(DataOutputStream out, Tournament tournament)
+      throws IOException {
+    out.writeByte(tournament.pairing().ordinal());
+    out.writeInt(tournament.rounds());
+    out.writeInt(tournament.gamesPerPairing());
+    out.writeInt(tournament.boardSizes().size());
+    for (int boardSize : tournament.boardSizes()) {
+      out.writeInt(boardSize);
+    }
+    out.writeInt(tournament.names().size());
+    for (var name : tournament.names()) {
+      out.writeUTF(name);
+    }
+  }
+
+  /** The think-time of an entrant's moves, recorded concurrently by the games it plays. */
+  static final class ThinkTime {
+    final LongAdder moves = new LongAdder();
+    final LongAdder totalNanos = new LongAdder();
+    final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    final DoubleAdder sumOfSquares = new DoubleAdder();
+
+    void record(long nanos) {
+      moves.increment();
+      totalNanos.add(nanos);
+      maxNanos.accumulate(nanos);
+      sumOfSquares.add((double) nanos * nanos);
+    }
+  }
+}
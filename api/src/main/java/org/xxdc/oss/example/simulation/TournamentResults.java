@@ -0,0 +1,132 @@
+package org.xxdc.oss.example.simulation;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The results of a {@link Tournament}: the standings of its entrants, ranked by their Glicko
+ * ratings.
+ */
+public final class TournamentResults {
+
+  /** The number of deviations either side of a rating its 95% confidence interval spans. */
+  private static final double Z_95 = 1.96;
+
+  private final List<Standing> standings;
+
+  private final int rounds;
+
+  private final int games;
+
+  /**
+   * The standing of an entrant.
+   *
+   * @param name the name of the entrant
+   * @param wins the number of games won
+   * @param draws the number of games drawn
+   * @param losses the number of games lost
+   * @param rating the Glicko rating
+   * @param deviation the Glicko rating deviation
+   * @param elo the Elo rating
+   * @param thinkTime the think-time of the entrant's moves
+   */
+  public record Standing(
+      String name,
+      long wins,
+      long draws,
+      long losses,
+      double rating,
+      double deviation,
+      double elo,
+      ThinkTime thinkTime) {
+
+    /**
+     * Returns the number of games played.
+     *
+     * @return the number of games
+     */
+    public long games() {
+      return wins + draws + losses;
+    }
+
+    /**
+     * Returns the points scored, a win scoring 1 and a draw 1/2.
+     *
+     * @return the points
+     */
+    public double points() {
+      return wins + draws / 2.0;
+    }
+
+    /**
+     * Returns the lower bound of the 95% confidence interval of the Glicko rating.
+     *
+     * @return the lower bound of the rating
+     */
+    public double lowerBound() {
+      return rating - Z_95 * deviation;
+    }
+
+    /**
+     * Returns the upper bound of the 95% confidence interval of the Glicko rating.
+     *
+     * @return the upper bound of the rating
+     */
+    public double upperBound() {
+      return rating + Z_95 * deviation;
+    }
+  }
+
+  /**
+   * The time an entrant took to choose its moves.
+   *
+   * @param moves the number of moves
+   * @param meanMillis the mean time per move, in milliseconds
+   * @param stdDevMillis the standard deviation of the time per move, in milliseconds
+   * @param maxMillis the longest time taken for a move, in milliseconds
+   */
+  public record ThinkTime(long moves, double meanMillis, double stdDevMillis, double maxMillis) {}
+
+  TournamentResults(List<Standing> standings, int rounds, int games) {
+    this.standings = List.copyOf(standings);
+    this.rounds = rounds;
+    this.games = games;
+  }
+
+  /**
+   * Returns the standings of the entrants, highest rated first.
+   *
+   * @return the standings
+   */
+  public List<Standing> standings() {
+    return standings;
+  }
+
+  /**
+   * Returns the standing of the named entrant.
+   *
+   * @param name the name of the entrant
+   * @return the standing, or empty if there is no such entrant
+   */
+  public Optional<Standing> standing(String name) {
+    return standings.stream().filter(standing -> standing.name().equals(name)).findFirst();
+  }
+
+  /**
+   * Returns the number of rounds played, including those of runs resumed from.
+   *
+   * @return the number of rounds
+   */
+  public int rounds() {
+    return rounds;
+  }
+
+  /**
+   * Returns the number of games played, including those of runs resumed from.
+   *
+   * @return the number of games
+   */
+  public int games() {
+    return games;
+  }
+}
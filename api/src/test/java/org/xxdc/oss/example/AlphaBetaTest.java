@@ -179,4 +179,70 @@ public class AlphaBetaTest {
             });
     assertEquals(new AlphaBeta(new GameState(board, List.of("O", "X"), 0)).bestMove(), 2);
   }
+
+  @Test
+  public void testAlphaBetaReturnsWithinTimeBudgetOnLargeBoards() {
+    var state = new GameState(GameBoard.withDimension(5), List.of("X", "O"), 0);
+    var config = BotStrategyConfig.newBuilder().maxTimeMillis(200L).build();
+    var alphaBeta = new AlphaBeta(state, config);
+
+    long start = System.currentTimeMillis();
+    int move = alphaBeta.bestMove();
+    long elapsed = System.currentTimeMillis() - start;
+
+    assertTrue(state.board().isValidMove(move));
+    assertTrue(alphaBeta.completedDepth() >= 1);
+    assertTrue(elapsed < 1_000, "Search took " + elapsed + "ms");
+  }
+
+  @Test
+  public void testAlphaBetaIterativeDeepeningFindsForcedMoves() {
+    var board =
+        createBoardWith(
+            new String[][] {
+              {"O", "O", "_", "_"},
+              {"X", "X", "X", "_"},
+              {"O", "_", "_", "_"},
+              {"_", "_", "_", "_"}
+            });
+    var config = BotStrategyConfig.newBuilder().maxTimeMillis(500L).build();
+    assertEquals(new AlphaBeta(new GameState(board, List.of("X", "O"), 0), config).bestMove(), 7);
+    assertEquals(new AlphaBeta(new GameState(board, List.of("X", "O"), 1), config).bestMove(), 7);
+  }
+
+  @Test
+  public void testAlphaBetaIterativeDeepeningAgreesWithFullSearch() {
+    var board =
+        createBoardWith(
+            new String[][] {
+              {"X", "_", "O"},
+              {"O", "_", "_"},
+              {"O", "X", "X"}
+            });
+    var state = new GameState(board, List.of("O", "X"), 0);
+    var alphaBeta =
+        new AlphaBeta(state, BotStrategyConfig.newBuilder().maxTimeMillis(5_000L).build());
+    assertEquals(alphaBeta.bestMove(), 4);
+    assertEquals(alphaBeta.completedDepth(), 1); // The win is found at the first depth
+  }
+
+  @Test
+  public void testAlphaBetaSearchEnhancementsAgreeOnBestMove() {
+    var board = GameBoard.withDimension(5).withMove("X", 0).withMove("O", 6);
+    var state = new GameState(board, List.of("X", "O"), 0);
+    var plain =
+        new AlphaBeta(
+            state,
+            BotStrategyConfig.newBuilder()
+                .maxDepth(4)
+                .principalVariationSearch(false)
+                .killerMoves(false)
+                .historyHeuristic(false)
+                .build());
+    var enhanced = new AlphaBeta(state, BotStrategyConfig.newBuilder().maxDepth(4).build());
+
+    assertEquals(enhanced.bestMove(), plain.bestMove());
+    assertTrue(enhanced.nodesSearched() > 0);
+    assertTrue(enhanced.nodesSearched() <= plain.nodesSearched());
+  }
 }
@@ -104,4 +104,40 @@ public class GameBoardTest {
     assertFalse(gameBoard.withMove("X", 0).hasMovesAvailable());
     assertFalse(gameBoard.withMove("O", 0).hasMovesAvailable());
   }
+
+  @Test
+  public void testMutableGameBoardPlacesAndUndoesMovesInPlace() {
+    var board = new GameBoardMutableImpl(GameBoard.withDimension(3));
+    assertTrue(board.isEmpty());
+    assertFalse(board.place("X", 0));
+    assertFalse(board.place("X", 4));
+    assertFalse(board.hasChain("X"));
+    var copy = board.withMove("O", 8);
+    assertTrue(board.isValidMove(8));
+    assertEquals(copy.availableMoves().size(), 6);
+    assertTrue(board.place("X", 8));
+    assertTrue(board.hasChain("X"));
+    board.undo(8);
+    assertFalse(board.hasChain("X"));
+    assertTrue(board.isValidMove(8));
+    assertEquals(board.availableMoves().size(), 7);
+    assertEquals(board.toString(), "X__\n_X_\n___\n");
+  }
+
+  @Test
+  public void testMutableGameBoardFindsEveryChain() {
+    var board =
+        new GameBoardMutableImpl(
+            createBoardWith(
+                new String[][] {
+                  {"O", "X", "O"},
+                  {"_", "X", "O"},
+                  {"X", "X", "_"}
+                }));
+    assertTrue(board.hasChain("X"));
+    assertFalse(board.hasChain("O"));
+    assertTrue(board.place("O", 8));
+    assertTrue(board.hasChain("O"));
+    assertEquals(board.availableMoves().size(), 1);
+  }
 }
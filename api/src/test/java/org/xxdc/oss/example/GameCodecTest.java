@@ -0,0 +1,96 @@
+package org.xxdc.oss.example;
+
+import static org.testng.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.ToIntFunction;
+import org.testng.annotations.Test;
+
+public class GameCodecTest {
+
+  @Test
+  public void test_encoded_game_decodes_to_same_history() throws Exception {
+    var game = playedGame();
+    var decoded = GameCodec.decode(GameCodec.encode(game));
+    assertEquals(decoded.id(), game.id());
+    assertEquals(decoded.moveNumber(), game.moveNumber());
+    assertEquals(decoded.numberOfPlayers(), 2);
+    assertEquals(asJson(decoded), asJson(game));
+    assertEquals(decoded.history().getLast().lastMove(), game.history().getLast().lastMove());
+  }
+
+  @Test
+  public void test_consecutive_games_decode_from_one_buffer() throws Exception {
+    var first = playedGame();
+    var second = playedGame();
+    var out = new ByteArrayOutputStream();
+    GameCodec.write(first, out);
+    GameCodec.write(second, out);
+    var buffer = ByteBuffer.wrap(out.toByteArray());
+    assertEquals(GameCodec.decode(buffer).id(), first.id());
+    assertEquals(GameCodec.decode(buffer).id(), second.id());
+    assertFalse(buffer.hasRemaining());
+  }
+
+  @Test
+  public void test_encoding_is_smaller_than_object_serialization() throws Exception {
+    var game = playedGame();
+    var serialized = new ByteArrayOutputStream();
+    try (var o = new ObjectOutputStream(serialized)) {
+      o.writeObject(game);
+    }
+    assertTrue(GameCodec.encode(game).length * 10 < serialized.size());
+  }
+
+  @Test
+  public void test_persistence_reads_binary_and_legacy_game_files() throws Exception {
+    var game = playedGame();
+    var persistence = new GamePersistence();
+    var binaryFile = File.createTempFile("codec", ".game");
+    var legacyFile = File.createTempFile("legacy", ".game");
+    binaryFile.deleteOnExit();
+    legacyFile.deleteOnExit();
+    persistence.saveTo(binaryFile, game);
+    try (var o = new ObjectOutputStream(new FileOutputStream(legacyFile))) {
+      o.writeObject(game);
+    }
+    assertEquals(asJson(Game.from(binaryFile)), asJson(game));
+    assertEquals(asJson(Game.from(legacyFile)), asJson(game));
+  }
+
+  @Test
+  public void test_truncated_or_foreign_bytes_are_rejected() {
+    var encoded = GameCodec.encode(playedGame());
+    assertThrows(
+        IOException.class, () -> GameCodec.decode(Arrays.copyOf(encoded, encoded.length - 1)));
+    assertThrows(IOException.class, () -> GameCodec.decode(new byte[] {1, 2, 3, 4, 5}));
+  }
+
+  private static Game playedGame() {
+    var game =
+        new Game(
+            3,
+            false,
+            new PlayerNode.Local<>("X", firstAvailableBot()),
+            new PlayerNode.Local<>("O", firstAvailableBot()));
+    game.play();
+    return game;
+  }
+
+  /** A bot with a serializable strategy, so games can also be written with object serialization. */
+  private static BotPlayer firstAvailableBot() {
+    return new BotPlayer(
+        (ToIntFunction<GameState> & Serializable) state -> state.availableMoves().getFirst());
+  }
+
+  private static String asJson(Game game) {
+    return game.history().stream().map(GameState::asJsonString).toList().toString();
+  }
+}
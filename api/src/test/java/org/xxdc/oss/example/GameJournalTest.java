@@ -0,0 +1,128 @@
+package org.xxdc.oss.example;
+
+import static org.testng.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.testng.annotations.Test;
+
+public class GameJournalTest {
+
+  @Test
+  public void test_journal_recovers_moves_under_every_flush_policy() throws Exception {
+    for (var policy : GameJournal.FlushPolicy.values()) {
+      var game = newGame();
+      var journalFile = tempJournal();
+      try (var journal = GameJournal.create(journalFile, game, policy, 2)) {
+        journal.append(1, 4);
+        journal.append(2, 0);
+        journal.append(3, 8);
+      }
+      var recovered = GameJournal.recover(journalFile);
+      assertEquals(recovered.id(), game.id(), policy.name());
+      assertEquals(recovered.moveNumber(), 3, policy.name());
+      assertEquals(recovered.history().getLast().lastMove(), 8, policy.name());
+    }
+  }
+
+  @Test
+  public void test_torn_record_is_truncated_on_recovery() throws Exception {
+    var journalFile = tempJournal();
+    try (var journal =
+        GameJournal.create(journalFile, newGame(), GameJournal.FlushPolicy.PER_MOVE)) {
+      journal.append(1, 4);
+    }
+    long intactLength = Files.size(journalFile);
+    Files.write(journalFile, new byte[] {0, 0, 0, 2, 0, 0}, StandardOpenOption.APPEND);
+    var recovered = GameJournal.recover(journalFile);
+    assertEquals(recovered.moveNumber(), 1);
+    assertEquals(Files.size(journalFile), intactLength);
+  }
+
+  @Test
+  public void test_loading_a_torn_journal_leaves_it_unchanged() throws Exception {
+    var journalFile = tempJournal();
+    try (var journal =
+        GameJournal.create(journalFile, newGame(), GameJournal.FlushPolicy.PER_MOVE)) {
+      journal.append(1, 4);
+    }
+    Files.write(journalFile, new byte[] {0, 0, 0, 2, 0, 0}, StandardOpenOption.APPEND);
+    var torn = Files.readAllBytes(journalFile);
+    assertEquals(Game.from(journalFile.toFile()).moveNumber(), 1);
+    assertEquals(GameJournal.read(journalFile).moveNumber(), 1);
+    assertEquals(Files.readAllBytes(journalFile), torn);
+  }
+
+  @Test
+  public void test_corrupt_record_ends_recovery() throws Exception {
+    var journalFile = tempJournal();
+    try (var journal = GameJournal.create(journalFile, newGame(), GameJournal.FlushPolicy.ASYNC)) {
+      journal.append(1, 4);
+      journal.append(2, 0);
+    }
+    var bytes = Files.readAllBytes(journalFile);
+    bytes[bytes.length - 5] ^= 0x01;
+    Files.write(journalFile, bytes);
+    assertEquals(GameJournal.recover(journalFile).moveNumber(), 1);
+  }
+
+  @Test
+  public void test_corrupt_header_is_rejected() throws Exception {
+    var journalFile = tempJournal();
+    try (var journal =
+        GameJournal.create(journalFile, newGame(), GameJournal.FlushPolicy.PER_MOVE)) {
+      journal.append(1, 4);
+    }
+    var bytes = Files.readAllBytes(journalFile);
+    bytes[12] ^= 0x01;
+    Files.write(journalFile, bytes);
+    assertThrows(IOException.class, () -> GameJournal.recover(journalFile));
+  }
+
+  @Test
+  public void test_corrupt_header_length_is_rejected() throws Exception {
+    var journalFile = tempJournal();
+    try (var journal =
+        GameJournal.create(journalFile, newGame(), GameJournal.FlushPolicy.PER_MOVE)) {
+      journal.append(1, 4);
+    }
+    var bytes = Files.readAllBytes(journalFile);
+    for (int length : new int[] {Integer.MAX_VALUE, Integer.MAX_VALUE - 8, -1}) {
+      ByteBuffer.wrap(bytes).putInt(Integer.BYTES + 1, length);
+      Files.write(journalFile, bytes);
+      assertThrows(IOException.class, () -> GameJournal.recover(journalFile));
+    }
+  }
+
+  @Test
+  public void test_game_played_with_journal_loads_from_journal_file() throws Exception {
+    var directory = Files.createTempDirectory("journal");
+    var game = newGame().withJournal(directory, GameJournal.FlushPolicy.GROUP_COMMIT);
+    game.play();
+    var journalFile = directory.resolve(game.id() + ".journal");
+    journalFile.toFile().deleteOnExit();
+    var loaded = Game.from(journalFile.toFile());
+    assertEquals(loaded.id(), game.id());
+    assertEquals(loaded.moveNumber(), game.moveNumber());
+    assertEquals(
+        loaded.history().stream().map(GameState::asJsonString).toList(),
+        game.history().stream().map(GameState::asJsonString).toList());
+  }
+
+  private static Game newGame() {
+    return new Game(
+        3,
+        false,
+        new PlayerNode.Local<>("X", new BotPlayer()),
+        new PlayerNode.Local<>("O", new BotPlayer()));
+  }
+
+  private static Path tempJournal() throws IOException {
+    var journalFile = Files.createTempFile("game", ".journal");
+    journalFile.toFile().deleteOnExit();
+    return journalFile;
+  }
+}
@@ -5,6 +5,8 @@ import java.util.concurrent.Executors;
 import java.util.stream.IntStream;
 import org.testng.annotations.Ignore;
 import org.testng.annotations.Test;
+import org.xxdc.oss.example.bot.BotStrategy;
+import org.xxdc.oss.example.simulation.Simulation;
 
 @Ignore
 public class GamePerformanceTest {
@@ -59,6 +61,11 @@ public class GamePerformanceTest {
     executor.awaitTermination(10, java.util.concurrent.TimeUnit.MINUTES);
   }
 
+  @Test
+  public void testGameBotPerformanceInSimulation() {
+    Simulation.newBuilder().strategy("random", BotStrategy.DEFAULT).games(1000).build().run();
+  }
+
   private PlayerNode newBotPlayer(String playerMarker) {
     return new PlayerNode.Local<>(playerMarker, new BotPlayer());
   }
@@ -0,0 +1,115 @@
+package org.xxdc.oss.example;
+
+import static org.testng.Assert.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.CompletableFuture;
+import org.testng.annotations.Test;
+
+public class GamePersistenceWriterTest {
+
+  @Test
+  public void test_submitted_saves_are_durable_and_loadable() throws Exception {
+    var directory = Files.createTempDirectory("writer").toFile();
+    var games = new ArrayList<Game>();
+    var saves = new ArrayList<CompletableFuture<Void>>();
+    try (var writer = new GamePersistenceWriter(4, 2)) {
+      for (int i = 0; i < 10; i++) {
+        var game = Game.ofBots();
+        game.play();
+        games.add(game);
+        saves.add(writer.submit(new File(directory, game.id() + ".game"), game));
+      }
+      CompletableFuture.allOf(saves.toArray(CompletableFuture[]::new)).join();
+      assertEquals(writer.saves() + writer.superseded(), 10);
+      assertTrue(writer.batches() > 0);
+    }
+    for (var game : games) {
+      var loaded = Game.from(new File(directory, game.id() + ".game"));
+      assertEquals(loaded.moveNumber(), game.moveNumber());
+    }
+  }
+
+  @Test
+  public void test_earlier_save_of_game_is_durable_once_later_save_is() throws Exception {
+    var directory = Files.createTempDirectory("writer").toFile();
+    var gameFile = new File(directory, "game.game");
+    var game = Game.ofBots();
+    try (var writer = new GamePersistenceWriter(1, 1)) {
+      var first = writer.submit(gameFile, game);
+      game.play();
+      var second = writer.submit(gameFile, game);
+      second.join();
+      assertTrue(first.isDone());
+      assertEquals(writer.saves() + writer.superseded(), 2);
+    }
+    assertEquals(Game.from(gameFile).moveNumber(), game.moveNumber());
+  }
+
+  @Test
+  public void test_closed_writer_rejects_saves() throws Exception {
+    var writer = new GamePersistenceWriter();
+    writer.close();
+    assertThrows(
+        IllegalStateException.class,
+        () -> writer.submit(File.createTempFile("closed", ".game"), Game.ofBots()));
+  }
+
+  @Test
+  public void test_game_saves_through_writer_when_persistence_enabled() throws Exception {
+    try (var writer = new GamePersistenceWriter()) {
+      var game =
+          new Game(
+                  3,
+                  true,
+                  new PlayerNode.Local<>("X", new BotPlayer()),
+                  new PlayerNode.Local<>("O", new BotPlayer()))
+              .withPersistenceWriter(writer);
+      game.play();
+      game.persisted().join();
+      assertEquals(writer.saves() + writer.superseded(), game.moveNumber());
+    }
+  }
+
+  @Test
+  public void test_slow_writer_writes_every_move_file_of_a_game() throws Exception {
+    var directory = Files.createTempDirectory("writer").toFile();
+    var finished = Game.ofBots();
+    finished.play();
+    try (var writer = new GamePersistenceWriter(1024, 1)) {
+      // Keep the writer busy forcing earlier saves while the game's moves are queued
+      for (int i = 0; i < 200; i++) {
+        writer.submit(new File(directory, "backlog." + i + ".game"), finished);
+      }
+      var game =
+          new Game(
+                  3,
+                  true,
+                  new PlayerNode.Local<>("X", new BotPlayer()),
+                  new PlayerNode.Local<>("O", new BotPlayer()))
+              .withPersistenceWriter(writer);
+      game.play();
+      game.persisted().join();
+
+      var expected = new HashSet<String>();
+      for (int move = 1; move <= game.moveNumber(); move++) {
+        expected.add(game.id() + "." + move + ".game");
+      }
+      var written = new HashSet<String>();
+      var temp = Path.of(System.getProperty("java.io.tmpdir"));
+      try (var gameDirectories = Files.newDirectoryStream(temp, game.id() + "*")) {
+        for (var gameDirectory : gameDirectories) {
+          try (var files = Files.list(gameDirectory)) {
+            files.forEach(file -> written.add(file.getFileName().toString()));
+          }
+        }
+      }
+      assertEquals(written, expected);
+      assertEquals(writer.superseded(), 0);
+    }
+  }
+}
@@ -4,7 +4,17 @@ import static org.testng.Assert.assertFalse;
 import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertTrue;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
 import org.testng.annotations.Test;
+import org.xxdc.oss.example.bot.BotStrategy;
 
 public class GameTest {
 
@@ -45,6 +55,130 @@ public class GameTest {
     }
   }
 
+  @Test
+  public void test_low_allocation_game_builds_the_same_history_on_demand() throws Exception {
+    var played = new ArrayList<List<GameState>>();
+    for (boolean lowAllocation : List.of(false, true)) {
+      var game =
+          new Game(
+              4,
+              false,
+              new PlayerNode.Local<>("X", new BotPlayer(s -> s.availableMoves().getFirst())),
+              new PlayerNode.Local<>("O", new BotPlayer(s -> s.availableMoves().getLast())),
+              new PlayerNode.Local<>(
+                  "/", new BotPlayer(s -> s.availableMoves().get(s.availableMoves().size() / 2))));
+      var lastMoves = new ArrayList<Integer>();
+      if (lowAllocation) {
+        game.withLowAllocation();
+      }
+      game.playWithAction(g -> lastMoves.add(g.history().getLast().lastMove()));
+      var history = List.copyOf(game.history());
+      assertEquals(history.size(), game.moveNumber() + 1);
+      assertEquals(lastMoves.size(), game.moveNumber());
+      assertEquals(lastMoves.getLast().intValue(), history.getLast().lastMove());
+      assertEquals(List.copyOf(game.history()), history);
+      played.add(history);
+    }
+    var expected = played.getFirst();
+    var actual = played.getLast();
+    assertEquals(actual.size(), expected.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(actual.get(i).lastMove(), expected.get(i).lastMove());
+      assertEquals(actual.get(i).currentPlayerIndex(), expected.get(i).currentPlayerIndex());
+      assertEquals(
+          Arrays.asList(actual.get(i).board().content()),
+          Arrays.asList(expected.get(i).board().content()));
+    }
+  }
+
+  @Test
+  public void test_low_allocation_game_journal_recovers_the_game() throws Exception {
+    var directory = Files.createTempDirectory("journal");
+    var game =
+        new Game(3, false, newBotPlayer("X"), newBotPlayer("O"))
+            .withJournal(directory, GameJournal.FlushPolicy.ASYNC)
+            .withLowAllocation();
+    game.play();
+    var recovered = Game.from(directory.resolve(game.id() + ".journal").toFile());
+    assertEquals(recovered.moveNumber(), game.moveNumber());
+    assertEquals(
+        Arrays.asList(recovered.history().getLast().board().content()),
+        Arrays.asList(game.history().getLast().board().content()));
+  }
+
+  @Test
+  public void test_low_allocation_game_saves_its_logged_moves_each_move() throws Exception {
+    var game = new Game(3, true, newBotPlayer("X"), newBotPlayer("O")).withLowAllocation();
+    game.play();
+    var encoded = GameCodec.encode(game);
+    var history = List.copyOf(game.history());
+    assertTrue(Arrays.equals(encoded, GameCodec.encode(game)));
+
+    var saved = new ArrayList<Path>();
+    var temp = Path.of(System.getProperty("java.io.tmpdir"));
+    try (var gameDirectories = Files.newDirectoryStream(temp, game.id() + "*")) {
+      for (var gameDirectory : gameDirectories) {
+        try (var files = Files.list(gameDirectory)) {
+          files.forEach(saved::add);
+        }
+      }
+    }
+    assertEquals(game.moveNumber(), saved.size());
+    for (var file : saved) {
+      var name = file.getFileName().toString();
+      int move = Integer.parseInt(name.substring(name.indexOf('.') + 1, name.lastIndexOf('.')));
+      var loaded = List.copyOf(Game.from(file.toFile()).history());
+      assertEquals(move + 1, loaded.size());
+      for (int i = 0; i <= move; i++) {
+        assertEquals(history.get(i).lastMove(), loaded.get(i).lastMove());
+      }
+    }
+  }
+
+  @Test
+  public void test_low_allocation_game_searches_outliving_their_move_see_a_fixed_board()
+      throws Exception {
+    var searches = new AtomicInteger();
+    var changedBoards = new AtomicInteger();
+    var finished = new Semaphore(0);
+    ToIntFunction<GameState> ignoresCancellation =
+        state -> {
+          searches.incrementAndGet();
+          try {
+            var before = Arrays.asList(state.board().content());
+            Thread.sleep(20);
+            if (!before.equals(Arrays.asList(state.board().content()))) {
+              changedBoards.incrementAndGet();
+            }
+            return state.availableMoves().getFirst();
+          } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+          } finally {
+            finished.release();
+          }
+        };
+    var game =
+        new Game(
+                3,
+                false,
+                new PlayerNode.Local<>(
+                    "X",
+                    new BotPlayer(
+                        BotStrategy.withThinkTime(ignoresCancellation, 1, TimeUnit.MILLISECONDS))),
+                new PlayerNode.Local<>("O", new BotPlayer(s -> s.availableMoves().getLast())))
+            .withLowAllocation();
+    game.play();
+    assertTrue(finished.tryAcquire(searches.get(), 10, TimeUnit.SECONDS));
+    assertEquals(0, changedBoards.get());
+
+    var state =
+        new GameState(new GameBoardMutableImpl(GameBoard.withDimension(3)), List.of("X", "O"), 0);
+    var snapshot = state.snapshot();
+    ((GameBoardMutableImpl) state.board()).place("X", 4);
+    assertTrue(snapshot.board().isEmpty());
+    assertTrue(snapshot.snapshot() == snapshot);
+  }
+
   private PlayerNode newBotPlayer(String playerMarker) {
     return new PlayerNode.Local<>(playerMarker, new BotPlayer());
   }
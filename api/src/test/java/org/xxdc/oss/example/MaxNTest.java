@@ -1,11 +1,14 @@
 package org.xxdc.oss.example;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 import static org.xxdc.oss.example.TestData.*;
 
 import java.util.List;
+import java.util.Random;
 import org.testng.Assert;
 import org.testng.annotations.Test;
+import org.xxdc.oss.example.bot.BotStrategyConfig;
 import org.xxdc.oss.example.bot.MaxN;
 
 public class MaxNTest {
@@ -137,4 +140,44 @@ public class MaxNTest {
             });
     assertEquals(new MaxN(new GameState(board, List.of("O", "X", "/"), 0)).bestMove(), 5);
   }
+
+  @Test
+  public void testMaxNPruningChoosesTheSameMoves() {
+    var exhaustive = BotStrategyConfig.newBuilder().shallowPruning(false).build();
+    var shallow = BotStrategyConfig.newBuilder().build();
+    var speculative = BotStrategyConfig.newBuilder().speculativePruning(true).build();
+    var random = new Random(17);
+    for (int game = 0; game < 30; game++) {
+      var markers = List.of("X", "O", "/", "+").subList(0, 2 + game % 3);
+      var state = new GameState(GameBoard.withDimension(3), markers, 0);
+      state = state.afterPlayerMoves(random.nextInt(9));
+      while (state.hasMovesAvailable() && !state.lastPlayerHasChain()) {
+        int expected = new MaxN(state, exhaustive).bestMove();
+        assertEquals(new MaxN(state, shallow).bestMove(), expected);
+        assertEquals(new MaxN(state, speculative).bestMove(), expected);
+        state = state.afterPlayerMoves(expected);
+      }
+    }
+  }
+
+  @Test
+  public void testMaxNPruningSearchesFewerNodes() {
+    var board =
+        createBoardWith(
+            new String[][] {
+              {"X", "_", "_", "X"},
+              {"_", "O", "_", "_"},
+              {"_", "_", "/", "_"},
+              {"_", "_", "_", "_"}
+            });
+    var state = new GameState(board, List.of("X", "O", "/"), 1);
+    var exhaustive =
+        new MaxN(state, BotStrategyConfig.newBuilder().maxDepth(4).shallowPruning(false).build());
+    var speculative =
+        new MaxN(
+            state, BotStrategyConfig.newBuilder().maxDepth(4).speculativePruning(true).build());
+
+    assertEquals(speculative.bestMove(), exhaustive.bestMove());
+    assertTrue(speculative.nodesSearched() < exhaustive.nodesSearched());
+  }
 }
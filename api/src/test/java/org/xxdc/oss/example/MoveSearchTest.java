@@ -0,0 +1,151 @@
+package org.xxdc.oss.example;
+
+import static org.testng.Assert.*;
+import static org.xxdc.oss.example.TestData.createBoardWith;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToIntFunction;
+import org.testng.annotations.Test;
+import org.xxdc.oss.example.bot.AlphaBeta;
+import org.xxdc.oss.example.bot.BotStrategy;
+import org.xxdc.oss.example.bot.BotStrategyConfig;
+import org.xxdc.oss.example.bot.MoveSearch;
+
+public class MoveSearchTest {
+
+  @Test
+  public void testMoveSearchCompletesWithTheStrategysMove() throws Exception {
+    var state =
+        new GameState(
+            createBoardWith(
+                new String[][] {
+                  {"X", "X", "_"},
+                  {"O", "_", "_"},
+                  {"O", "_", "_"}
+                }),
+            List.of("X", "O"),
+            1);
+    var player = new BotPlayer(BotStrategy.MINIMAX);
+    var search = player.nextMoveAsync(state, Thread::startVirtualThread);
+    assertEquals(search.move().get(5, TimeUnit.SECONDS).intValue(), 2);
+    assertEquals(MoveSearch.of(BotStrategy.ALPHABETA, state).call().intValue(), 2);
+  }
+
+  @Test
+  public void testCancelledSearchUnwindsWithTheBestMoveSoFar() throws Exception {
+    // Deepens iteratively for far longer than allowed, offering each iteration's best move
+    var state = new GameState(GameBoard.withDimension(5), List.of("X", "O"), 0);
+    var config = BotStrategyConfig.newBuilder().maxTimeMillis(TimeUnit.MINUTES, 10).build();
+    var searching = new AtomicReference<Thread>();
+    Executor executor = task -> searching.set(Thread.ofPlatform().start(task));
+
+    var search = MoveSearch.start(BotStrategy.alphabeta(config), state, executor);
+    Thread.sleep(300);
+    search.cancel();
+    assertTrue(search.move().isDone());
+    assertTrue(search.bestSoFar().isPresent());
+    assertEquals(search.move().join().intValue(), search.bestSoFar().getAsInt());
+    searching.get().join(5000);
+    assertFalse(searching.get().isAlive(), "the search should unwind once cancelled");
+  }
+
+  @Test
+  public void testCancelledSearchesOfEveryStrategyUnwind() throws Exception {
+    var twoPlayers = new GameState(GameBoard.withDimension(4), List.of("X", "O"), 0);
+    var threePlayers = new GameState(GameBoard.withDimension(4), List.of("X", "O", "/"), 0);
+    var strategies =
+        List.<ToIntFunction<GameState>>of(
+            BotStrategy.MINIMAX, BotStrategy.ALPHABETA, BotStrategy.MCTS);
+    var multiPlayerStrategies =
+        List.<ToIntFunction<GameState>>of(
+            BotStrategy.MAXN, BotStrategy.PARANOID, BotStrategy.PARANOID_ALPHABETA);
+    for (var strategy : strategies) {
+      assertUnwinds(strategy, twoPlayers);
+    }
+    for (var strategy : multiPlayerStrategies) {
+      assertUnwinds(strategy, threePlayers);
+    }
+  }
+
+  @Test
+  public void testInterruptedSearchReturnsTheBestMoveSoFar() throws Exception {
+    // As a subtask of a structured task scope is cancelled, by interrupting its thread
+    var state = new GameState(GameBoard.withDimension(4), List.of("X", "O"), 0);
+    var search = MoveSearch.of(BotStrategy.MINIMAX, state);
+    var move = new CompletableFuture<Integer>();
+    var thread =
+        Thread.startVirtualThread(
+            () -> {
+              try {
+                move.complete(search.call());
+              } catch (Exception e) {
+                move.completeExceptionally(e);
+              }
+            });
+    Thread.sleep(100);
+    thread.interrupt();
+    assertTrue(state.board().isValidMove(move.get(5, TimeUnit.SECONDS)));
+  }
+
+  @Test
+  public void testCancelledSearchFallsBackWithoutWaitingForStrategiesThatDoNotCheck() {
+    var state = new GameState(GameBoard.withDimension(3), List.of("X", "O"), 0);
+    ToIntFunction<GameState> slow =
+        s -> {
+          long deadline = System.currentTimeMillis() + 1000;
+          while (System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+          }
+          return 4;
+        };
+    var search = MoveSearch.start(slow, state, task -> Thread.ofPlatform().start(task));
+    search.cancel();
+    assertEquals(search.move().join().intValue(), 0);
+    assertTrue(search.bestSoFar().isEmpty());
+  }
+
+  @Test
+  public void testThinkTimeBoundsTheTimeTakenToMove() {
+    var state = new GameState(GameBoard.withDimension(4), List.of("X", "O", "/"), 0);
+    var bounded = BotStrategy.withThinkTime(BotStrategy.MAXN, 200, TimeUnit.MILLISECONDS);
+    long start = System.currentTimeMillis();
+    int move = bounded.applyAsInt(state);
+    assertTrue(System.currentTimeMillis() - start < 2000);
+    assertTrue(state.board().isValidMove(move));
+  }
+
+  @Test
+  public void testStrategiesRunOutsideASearchAreNeverCancelled() {
+    Thread.currentThread().interrupt();
+    try {
+      var state =
+          new GameState(
+              createBoardWith(
+                  new String[][] {
+                    {"X", "X", "_"},
+                    {"O", "_", "_"},
+                    {"O", "_", "_"}
+                  }),
+              List.of("X", "O"),
+              0);
+      assertEquals(new AlphaBeta(state).bestMove(), 2);
+    } finally {
+      Thread.interrupted();
+    }
+  }
+
+  private static void assertUnwinds(ToIntFunction<GameState> strategy, GameState state)
+      throws Exception {
+    var searching = new AtomicReference<Thread>();
+    Executor executor = task -> searching.set(Thread.ofPlatform().start(task));
+    var search =
+        MoveSearch.start(strategy, state, executor).cancelAfter(100, TimeUnit.MILLISECONDS);
+    assertTrue(state.board().isValidMove(search.move().get(5, TimeUnit.SECONDS)));
+    searching.get().join(5000);
+    assertFalse(searching.get().isAlive(), "the search should unwind once cancelled");
+  }
+}
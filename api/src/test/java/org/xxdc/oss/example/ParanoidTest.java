@@ -1,12 +1,16 @@
 package org.xxdc.oss.example;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 import static org.xxdc.oss.example.TestData.*;
 
 import java.util.List;
+import java.util.Random;
 import org.testng.Assert;
 import org.testng.annotations.Test;
+import org.xxdc.oss.example.bot.BotStrategyConfig;
 import org.xxdc.oss.example.bot.Paranoid;
+import org.xxdc.oss.example.bot.ParanoidAlphaBeta;
 
 public class ParanoidTest {
 
@@ -124,4 +128,39 @@ public class ParanoidTest {
             });
     assertEquals(new Paranoid(new GameState(board, List.of("O", "X", "/"), 0)).bestMove(), 4);
   }
+
+  @Test
+  public void testParanoidAlphaBetaAgreesWithParanoid() {
+    var random = new Random(41);
+    for (int game = 0; game < 40; game++) {
+      var markers = game % 2 == 0 ? List.of("X", "O") : List.of("X", "O", "/");
+      var state = new GameState(GameBoard.withDimension(3), markers, 0);
+      // Play a few random opening moves, then compare from every later position
+      for (int opening = 0; opening < 2 + game % 3; opening++) {
+        var moves = state.availableMoves();
+        state = state.afterPlayerMoves(moves.get(random.nextInt(moves.size())));
+      }
+      while (state.hasMovesAvailable() && !state.lastPlayerHasChain()) {
+        int expected = new Paranoid(state).bestMove();
+        assertEquals(new ParanoidAlphaBeta(state).bestMove(), expected, state.board().toString());
+        state = state.afterPlayerMoves(expected);
+      }
+    }
+  }
+
+  @Test
+  public void testParanoidAlphaBetaPlaysLargerBoardsWhenDepthLimited() {
+    var board =
+        createBoardWith(
+            new String[][] {
+              {"X", "_", "_", "_"},
+              {"_", "O", "_", "_"},
+              {"_", "_", "/", "_"},
+              {"_", "_", "_", "_"}
+            });
+    var state = new GameState(board, List.of("X", "O", "/"), 0);
+    var paranoid = new ParanoidAlphaBeta(state, BotStrategyConfig.newBuilder().maxDepth(5).build());
+    assertTrue(state.board().isValidMove(paranoid.bestMove()));
+    assertTrue(paranoid.nodesSearched() > 0);
+  }
 }
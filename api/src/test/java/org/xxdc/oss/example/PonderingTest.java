@@ -0,0 +1,133 @@
+package org.xxdc.oss.example;
+
+import static org.testng.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+import org.testng.annotations.Test;
+import org.xxdc.oss.example.bot.AlphaBeta;
+import org.xxdc.oss.example.bot.BotStrategy;
+import org.xxdc.oss.example.bot.Pondering;
+
+public class PonderingTest {
+
+  @Test
+  public void testPonderedMovesAreReusedWhenTheOpponentReplies() throws Exception {
+    var searched = new ConcurrentLinkedQueue<List<String>>();
+    ToIntFunction<GameState> recorded =
+        state -> {
+          searched.add(Arrays.asList(state.board().content()));
+          return BotStrategy.ALPHABETA.applyAsInt(state);
+        };
+    try (var pondering = new Pondering(recorded)) {
+      var state = new GameState(GameBoard.withDimension(3), List.of("X", "O"), 0);
+      state = state.afterPlayerMoves(pondering.applyAsInt(state));
+      // Every reply on a 3x3 board is pondered while the opponent thinks
+      int expected = 1 + state.availableMoves().size();
+      long deadline = System.currentTimeMillis() + 10_000;
+      while (searched.size() < expected && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      assertEquals(searched.size(), expected);
+      state = state.afterPlayerMoves(state.availableMoves().getLast());
+
+      int move = pondering.applyAsInt(state);
+      assertEquals(move, new AlphaBeta(state).bestMove());
+      assertEquals(pondering.hits(), 1);
+      assertEquals(pondering.misses(), 1);
+      var position = Arrays.asList(state.board().content());
+      assertEquals(
+          searched.stream().filter(position::equals).count(),
+          1,
+          "the pondered search should be reused");
+    }
+  }
+
+  @Test
+  public void testUnpredictedPositionsAreSearchedAsUsual() {
+    try (var pondering = new Pondering(BotStrategy.ALPHABETA, 1)) {
+      var state = new GameState(GameBoard.withDimension(3), List.of("X", "O"), 0);
+      state = state.afterPlayerMoves(pondering.applyAsInt(state));
+      // Reply with the least likely move, which is not pondered
+      var replies = ThreatIndex.of(state).orderedMoves(state.currentPlayerIndex());
+      state = state.afterPlayerMoves(replies[replies.length - 1]);
+      assertTrue(state.board().isValidMove(pondering.applyAsInt(state)));
+      assertEquals(pondering.hits(), 0);
+      assertEquals(pondering.misses(), 2);
+    }
+  }
+
+  @Test
+  public void testFailedPonderedSearchesAreSearchedAgain() throws Exception {
+    var pondered = new AtomicInteger();
+    ToIntFunction<GameState> failsPondering =
+        state -> {
+          if (Thread.currentThread().getName().equals("ponder")) {
+            pondered.incrementAndGet();
+            throw new IllegalStateException("Out of memory while pondering");
+          }
+          return state.availableMoves().getFirst();
+        };
+    try (var pondering = new Pondering(failsPondering)) {
+      var state = new GameState(GameBoard.withDimension(3), List.of("X", "O"), 0);
+      state = state.afterPlayerMoves(pondering.applyAsInt(state));
+      int expected = state.availableMoves().size();
+      long deadline = System.currentTimeMillis() + 10_000;
+      while (pondered.get() < expected && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      assertEquals(pondered.get(), expected);
+      state = state.afterPlayerMoves(state.availableMoves().getLast());
+
+      assertEquals(pondering.applyAsInt(state), state.availableMoves().getFirst().intValue());
+      assertEquals(pondering.hits(), 0);
+      assertEquals(pondering.misses(), 2);
+    }
+  }
+
+  @Test
+  public void testPonderingBotsPlayWholeGames() {
+    for (var markers : List.of(List.of("X", "O"), List.of("X", "O", "/"))) {
+      try (var first = new Pondering(BotStrategy.MAXN);
+          var second = new Pondering(BotStrategy.RANDOM);
+          var third = new Pondering(BotStrategy.RANDOM)) {
+        var bots = List.of(first, second, third);
+        var state = new GameState(GameBoard.withDimension(3), markers, 0);
+        while (!state.isTerminal()) {
+          state = state.afterPlayerMoves(bots.get(state.currentPlayerIndex()).applyAsInt(state));
+        }
+        assertTrue(first.hits() + first.misses() > 0);
+      }
+    }
+  }
+
+  @Test
+  public void testClosingGamesStopsTheirBotsPondering() throws Exception {
+    var searches = new AtomicInteger();
+    ToIntFunction<GameState> slow =
+        state -> {
+          searches.incrementAndGet();
+          try {
+            Thread.sleep(200);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return state.availableMoves().getFirst();
+        };
+    var game =
+        new Game(
+            4,
+            false,
+            new PlayerNode.Local<>("X", new BotPlayer(new Pondering(slow))),
+            new PlayerNode.Local<>("O", new BotPlayer(BotStrategy.RANDOM)));
+    var state = new GameState(GameBoard.withDimension(4), List.of("X", "O"), 0);
+    game.playerNodes().byIndex(0).applyAsInt(state);
+    game.close();
+    Thread.sleep(500);
+    // The first move, then at most the pondered search cancelled by closing
+    assertTrue(searches.get() <= 2, "searches: " + searches.get());
+  }
+}
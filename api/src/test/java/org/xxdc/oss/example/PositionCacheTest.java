@@ -0,0 +1,142 @@
+package org.xxdc.oss.example;
+
+import static org.testng.Assert.*;
+import static org.xxdc.oss.example.TestData.createBoardWith;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.testng.annotations.Test;
+import org.xxdc.oss.example.bot.BotStrategy;
+import org.xxdc.oss.example.bot.BotStrategyConfig;
+import org.xxdc.oss.example.bot.Minimax;
+import org.xxdc.oss.example.bot.Paranoid;
+import org.xxdc.oss.example.bot.PositionCache;
+
+public class PositionCacheTest {
+
+  @Test
+  public void testCachedEntriesAreFoundByTheirKey() {
+    var cache = new PositionCache(64);
+    assertEquals(cache.capacity(), 64);
+    cache.put(42, 7, -1000);
+    cache.put(-42, 3, Integer.MAX_VALUE);
+    assertEquals(cache.get(42).orElseThrow(), new PositionCache.Entry(7, -1000));
+    assertEquals(cache.get(-42).orElseThrow(), new PositionCache.Entry(3, Integer.MAX_VALUE));
+    assertTrue(cache.get(43).isEmpty());
+    cache.put(42, 8, 5);
+    assertEquals(cache.get(42).orElseThrow(), new PositionCache.Entry(8, 5));
+    assertEquals(cache.hits(), 3);
+    assertEquals(cache.misses(), 1);
+    assertEquals(cache.evictions(), 0);
+    assertThrows(IllegalArgumentException.class, () -> new PositionCache(2));
+  }
+
+  @Test
+  public void testFullCacheEvictsTheEntriesNotReferencedSinceTheClockHandPassed() {
+    // A single set, so every key competes for the same entries
+    var cache = new PositionCache(4);
+    for (long key = 1; key <= 4; key++) {
+      cache.put(key, (int) key, 0);
+    }
+    assertEquals(cache.evictions(), 0);
+    // The hand passes every entry, clearing their references, and evicts the first
+    cache.put(5, 5, 0);
+    assertEquals(cache.evictions(), 1);
+    assertTrue(cache.get(1).isEmpty());
+    // The second entry, referenced again, is spared in favour of the third
+    assertTrue(cache.get(2).isPresent());
+    cache.put(6, 6, 0);
+    assertTrue(cache.get(2).isPresent());
+    assertTrue(cache.get(3).isEmpty());
+    assertTrue(cache.get(4).isPresent());
+    assertEquals(cache.evictions(), 2);
+  }
+
+  @Test
+  public void testConcurrentReadersNeverSeeAnotherPositionsEntry() throws Exception {
+    var cache = new PositionCache(8);
+    var done = new AtomicBoolean();
+    var errors = new ConcurrentLinkedQueue<String>();
+    Runnable writer =
+        () -> {
+          for (int i = 0; !done.get(); i++) {
+            long key = i % 64 + 1;
+            cache.put(key, (int) key, (int) -key);
+          }
+        };
+    Runnable reader =
+        () -> {
+          for (int i = 0; !done.get(); i++) {
+            long key = i % 64 + 1;
+            cache
+                .get(key)
+                .filter(entry -> entry.move() != key || entry.score() != -key)
+                .ifPresent(entry -> errors.add(key + ": " + entry));
+          }
+        };
+    var threads =
+        List.of(
+            Thread.ofPlatform().start(writer),
+            Thread.ofPlatform().start(writer),
+            Thread.ofPlatform().start(reader));
+    Thread.sleep(300);
+    done.set(true);
+    for (var thread : threads) {
+      thread.join();
+    }
+    assertTrue(errors.isEmpty(), errors.toString());
+    assertTrue(cache.hits() > 0);
+    assertTrue(cache.evictions() > 0);
+  }
+
+  @Test
+  public void testStrategiesOptedInSolveEachPositionOnce() {
+    var cache = new PositionCache(1024);
+    var config = BotStrategyConfig.newBuilder().positionCache(cache).build();
+    var state =
+        new GameState(
+            createBoardWith(
+                new String[][] {
+                  {"X", "_", "_"},
+                  {"_", "O", "_"},
+                  {"_", "_", "_"}
+                }),
+            List.of("X", "O"),
+            0);
+    var strategy = BotStrategy.minimax(config);
+    int move = strategy.applyAsInt(state);
+    assertEquals(cache.misses(), 1);
+    assertEquals(BotStrategy.MINIMAX.applyAsInt(state), move);
+
+    // Another game, with other markers, reaching the same position
+    var other =
+        new GameState(
+            createBoardWith(
+                new String[][] {
+                  {"♠", "_", "_"},
+                  {"_", "♣", "_"},
+                  {"_", "_", "_"}
+                }),
+            List.of("♠", "♣"),
+            0);
+    assertEquals(strategy.applyAsInt(other), move);
+    assertEquals(cache.hits(), 1);
+    assertEquals(cache.misses(), 1);
+  }
+
+  @Test
+  public void testPositionsAreCachedPerStrategyAndConfiguration() {
+    var state = new GameState(GameBoard.withDimension(3), List.of("X", "O"), 0);
+    var config = BotStrategyConfig.newBuilder().positionCache(new PositionCache(64)).build();
+    var shallower =
+        BotStrategyConfig.newBuilder().maxDepth(1).positionCache(config.getPositionCache()).build();
+    long key = PositionCache.key(state, Minimax.class, config);
+    assertEquals(PositionCache.key(state, Minimax.class, config), key);
+    assertNotEquals(PositionCache.key(state, Paranoid.class, config), key);
+    assertNotEquals(PositionCache.key(state, Minimax.class, shallower), key);
+    assertNotEquals(PositionCache.key(state.afterPlayerMoves(4), Minimax.class, config), key);
+    var otherPlayer = new GameState(GameBoard.withDimension(3), List.of("X", "O"), 1);
+    assertNotEquals(PositionCache.key(otherPlayer, Minimax.class, config), key);
+  }
+}
@@ -0,0 +1,117 @@
+package org.xxdc.oss.example;
+
+import static org.testng.Assert.*;
+import static org.xxdc.oss.example.TestData.createBoardWith;
+
+import java.util.List;
+import java.util.Random;
+import org.testng.annotations.Test;
+
+public class ThreatIndexTest {
+
+  @Test
+  public void testIndexAgreesWithBoardAsMovesAreMadeAndUndone() {
+    var random = new Random(7);
+    for (int game = 0; game < 200; game++) {
+      int dimension = 3 + game % 3;
+      var markers = game % 2 == 0 ? List.of("X", "O") : List.of("X", "O", "Y");
+      var state = new GameState(GameBoard.withDimension(dimension), markers, 0);
+      var index = ThreatIndex.of(state);
+      while (state.hasMovesAvailable()) {
+        var moves = state.availableMoves();
+        int move = moves.get(random.nextInt(moves.size()));
+        int player = state.currentPlayerIndex();
+        int evaluationBefore = index.evaluate(player);
+
+        assertEquals(
+            index.completesLine(move, player),
+            ThreatIndex.wouldCompleteLine(state.board(), state.currentPlayer(), move));
+        boolean completes = index.mark(move, player);
+        index.unmark(move);
+        assertEquals(index.evaluate(player), evaluationBefore);
+        index.mark(move, player);
+        state = state.afterPlayerMoves(move);
+
+        assertEquals(completes, state.board().hasChain(state.lastPlayer()));
+        if (completes) {
+          assertTrue(index.hasChain(player));
+          break;
+        }
+        for (int p = 0; p < markers.size(); p++) {
+          assertEquals(index.hasChain(p), state.board().hasChain(markers.get(p)));
+          assertEquals(index.threatCount(p) > 0, bruteForceWinningMoves(state, markers.get(p)) > 0);
+          int winningMove = index.winningMove(p);
+          if (winningMove >= 0) {
+            assertTrue(
+                state.board().withMove(markers.get(p), winningMove).hasChain(markers.get(p)));
+          } else {
+            assertEquals(bruteForceWinningMoves(state, markers.get(p)), 0);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testWinningAndBlockingMoves() {
+    var board =
+        createBoardWith(
+            new String[][] {
+              {"X", "X", "_"},
+              {"O", "_", "_"},
+              {"O", "_", "_"}
+            });
+    var index = ThreatIndex.of(board, List.of("X", "O"));
+
+    assertEquals(index.winningMove(0), 2);
+    assertEquals(index.winningMove(1), -1); // X holds the top of O's column
+    assertEquals(index.blockingMove(1), 2);
+    assertEquals(index.threatCount(0), 1);
+  }
+
+  @Test
+  public void testOrderedMovesPutWinsThenBlocksFirst() {
+    var board =
+        createBoardWith(
+            new String[][] {
+              {"X", "X", "_"},
+              {"O", "O", "_"},
+              {"_", "_", "_"}
+            });
+    var index = ThreatIndex.of(board, List.of("X", "O"));
+
+    var xMoves = index.orderedMoves(0);
+    var oMoves = index.orderedMoves(1);
+
+    assertEquals(xMoves[0], 2);
+    assertEquals(xMoves[1], 5);
+    assertEquals(oMoves[0], 5);
+    assertEquals(oMoves[1], 2);
+    assertEquals(xMoves.length, 5);
+  }
+
+  @Test
+  public void testEvaluationFavoursPlayerWithMoreOpenLines() {
+    var board =
+        createBoardWith(
+            new String[][] {
+              {"_", "_", "_"},
+              {"_", "X", "_"},
+              {"_", "_", "O"}
+            });
+    var index = ThreatIndex.of(board, List.of("X", "O"));
+
+    assertTrue(index.evaluate(0) > 0);
+    assertEquals(index.evaluate(1), -index.evaluate(0));
+  }
+
+  private static int bruteForceWinningMoves(GameState state, String marker) {
+    int count = 0;
+    for (int move : state.availableMoves()) {
+      if (state.board().withMove(marker, move).hasChain(marker)) {
+        count++;
+      }
+    }
+    return count;
+  }
+}
@@ -0,0 +1,105 @@
+package org.xxdc.oss.example.analysis;
+
+import static org.testng.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.testng.annotations.Test;
+import org.xxdc.oss.example.BotPlayer;
+import org.xxdc.oss.example.Game;
+import org.xxdc.oss.example.PlayerNode;
+import org.xxdc.oss.example.bot.BotStrategy;
+
+public class GameResultsTest {
+
+  @Test
+  public void test_aggregates_match_games_written() throws Exception {
+    var file = Files.createTempFile("results", ".ttr");
+    file.toFile().deleteOnExit();
+    var games = new ArrayList<Game>();
+    try (var writer = new GameResultsWriter(file)) {
+      for (int i = 0; i < 40; i++) {
+        var game = newGame(i % 2 == 0 ? 3 : 4);
+        game.play();
+        games.add(game);
+        writer.append(game, List.of("random", i % 2 == 0 ? "alphabeta" : "random"));
+      }
+      assertEquals(writer.rows(), 40);
+    }
+    var results = GameResults.read(file);
+    assertEquals(results.size(), 40);
+    assertEquals(results.strategies(), List.of("random", "alphabeta"));
+
+    var query = results.query();
+    assertEquals(query.count(), 40);
+    assertEquals(query.boardSize(3).count(), 20);
+    assertEquals(query.playedBy("alphabeta").count(), 20);
+    assertEquals(query.boardSize(4).playedBy("alphabeta").count(), 0);
+    assertEquals(query.playedBy("minimax").count(), 0);
+
+    double expectedLength =
+        games.stream()
+            .filter(g -> dimension(g) == 4)
+            .mapToInt(Game::moveNumber)
+            .average()
+            .orElse(0);
+    assertEquals(query.boardSize(4).averageMoveCount(), expectedLength, 1e-9);
+
+    long expectedTies =
+        games.stream().filter(g -> !g.history().getLast().lastPlayerHasChain()).count();
+    assertEquals(query.ties(), expectedTies);
+
+    var openings = query.openingFrequencies();
+    assertEquals(openings.values().stream().mapToLong(Long::longValue).sum(), 40);
+    for (var game : games) {
+      assertTrue(
+          openings.containsKey(
+              game.history().stream().skip(1).findFirst().orElseThrow().lastMove()));
+    }
+
+    var winRates = query.winRateByStrategy();
+    assertEquals(winRates.keySet(), Set.of("random", "alphabeta"));
+    winRates.values().forEach(rate -> assertTrue(rate >= 0 && rate <= 1));
+  }
+
+  @Test
+  public void test_results_span_multiple_blocks() throws Exception {
+    var file = Files.createTempFile("results", ".ttr");
+    file.toFile().deleteOnExit();
+    var game = newGame(3);
+    game.play();
+    int rows = ColumnBlock.MAX_ROWS + 10;
+    try (var writer = new GameResultsWriter(file)) {
+      for (int i = 0; i < rows; i++) {
+        writer.append(game);
+      }
+    }
+    var results = GameResults.read(file);
+    assertEquals(results.query().count(), rows);
+    assertEquals(results.query().averageMoveCount(), game.moveNumber(), 1e-9);
+    assertEquals(results.strategies(), List.of(GameResultsWriter.UNKNOWN_STRATEGY));
+  }
+
+  @Test
+  public void test_foreign_file_is_rejected() throws Exception {
+    var file = Files.createTempFile("results", ".ttr");
+    file.toFile().deleteOnExit();
+    Files.write(file, new byte[] {1, 2, 3, 4, 5});
+    assertThrows(IOException.class, () -> GameResults.read(file));
+  }
+
+  private static Game newGame(int dimension) {
+    return new Game(
+        dimension,
+        false,
+        new PlayerNode.Local<>("X", new BotPlayer(BotStrategy.RANDOM)),
+        new PlayerNode.Local<>("O", new BotPlayer(BotStrategy.RANDOM)));
+  }
+
+  private static int dimension(Game game) {
+    return game.history().getFirst().board().dimension();
+  }
+}
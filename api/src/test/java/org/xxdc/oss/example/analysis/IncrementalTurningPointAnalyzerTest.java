@@ -0,0 +1,76 @@
+package org.xxdc.oss.example.analysis;
+
+import static org.testng.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.testng.annotations.Test;
+import org.xxdc.oss.example.GameBoard;
+import org.xxdc.oss.example.GameState;
+
+public class IncrementalTurningPointAnalyzerTest {
+
+  @Test
+  public void should_find_same_turning_points_as_reanalyzing_history() {
+    var random = new Random(42);
+    for (int game = 0; game < 300; game++) {
+      int dimension = 3 + game % 3;
+      var markers = game % 2 == 0 ? List.of("X", "O") : List.of("X", "O", "Y");
+      var history = randomHistory(dimension, markers, random);
+
+      var analyzer = new IncrementalTurningPointAnalyzer(history.getFirst());
+      var incremental = new ArrayList<StrategicTurningPoint>();
+      history.stream().skip(1).forEach(state -> analyzer.accept(state).ifPresent(incremental::add));
+
+      assertEquals(incremental, TurningPointAnalysis.turningPoints(history));
+    }
+  }
+
+  @Test
+  public void should_track_open_threat_lines() {
+    var state = new GameState(GameBoard.withDimension(3), List.of("X", "O"), 0);
+    var analyzer = new IncrementalTurningPointAnalyzer(state);
+
+    state = state.afterPlayerMoves(0); // X
+    analyzer.accept(state);
+    state = state.afterPlayerMoves(4); // O
+    analyzer.accept(state);
+    state = state.afterPlayerMoves(1); // X threatens the top row
+    analyzer.accept(state);
+    assertEquals(analyzer.threatCount("X"), 1);
+    assertEquals(analyzer.threatCount("O"), 0);
+
+    state = state.afterPlayerMoves(2); // O blocks the top row
+    var turningPoint = analyzer.accept(state);
+    assertTrue(turningPoint.orElseThrow() instanceof StrategicTurningPoint.ImmediateLossPrevention);
+    assertEquals(analyzer.threatCount("X"), 0);
+    assertEquals(analyzer.threatCount("O"), 1); // 2, 4 threatens the anti-diagonal
+  }
+
+  @Test
+  public void should_start_from_a_game_in_progress() {
+    var state =
+        new GameState(GameBoard.withDimension(3), List.of("X", "O"), 0)
+            .afterPlayerMoves(0)
+            .afterPlayerMoves(8);
+    var analyzer = new IncrementalTurningPointAnalyzer(state);
+
+    var turningPoint = analyzer.accept(state.afterPlayerMoves(4));
+
+    assertTrue(turningPoint.orElseThrow() instanceof StrategicTurningPoint.CenterSquareControl);
+    assertEquals(turningPoint.orElseThrow().moveNumber(), 3);
+  }
+
+  private static List<GameState> randomHistory(int dimension, List<String> markers, Random random) {
+    var history = new ArrayList<GameState>();
+    var state = new GameState(GameBoard.withDimension(dimension), markers, 0);
+    history.add(state);
+    while (state.hasMovesAvailable() && (state.lastMove() < 0 || !state.lastPlayerHasChain())) {
+      var moves = state.availableMoves();
+      state = state.afterPlayerMoves(moves.get(random.nextInt(moves.size())));
+      history.add(state);
+    }
+    return history;
+  }
+}
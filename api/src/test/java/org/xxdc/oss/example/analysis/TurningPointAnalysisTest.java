@@ -0,0 +1,90 @@
+package org.xxdc.oss.example.analysis;
+
+import static org.testng.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SequencedCollection;
+import java.util.concurrent.ForkJoinPool;
+import org.testng.annotations.Test;
+import org.xxdc.oss.example.Game;
+import org.xxdc.oss.example.GameBoard;
+import org.xxdc.oss.example.GameState;
+import org.xxdc.oss.example.analysis.StrategicTurningPoint.PriorityLevel;
+
+public class TurningPointAnalysisTest {
+
+  @Test
+  public void should_find_turning_points_in_move_order() {
+    // X center, O corner, X corner, O blocks X's diagonal, X edge, O edge, X wins the column
+    var history = historyOf(4, 0, 2, 6, 3, 5, 1, 8, 7);
+
+    var turningPoints = TurningPointAnalysis.turningPoints(history);
+
+    assertTrue(turningPoints.getFirst() instanceof StrategicTurningPoint.CenterSquareControl);
+    assertEquals(turningPoints.getFirst().moveNumber(), 1);
+    assertTrue(
+        turningPoints.stream()
+            .anyMatch(
+                p ->
+                    p instanceof StrategicTurningPoint.ImmediateLossPrevention
+                        && p.moveNumber() == 4));
+    assertTrue(turningPoints.getLast() instanceof StrategicTurningPoint.GameWon);
+    assertEquals(turningPoints.getLast().playerMarker(), "X");
+  }
+
+  @Test
+  public void should_summarize_turning_points_by_player_move_and_priority() {
+    var history = historyOf(4, 0, 2, 6, 3, 5, 1, 8, 7);
+    var turningPoints = TurningPointAnalysis.turningPoints(history);
+
+    var summary = turningPoints.stream().collect(TurningPointAnalysis.summarizing());
+
+    assertEquals(summary.total(), turningPoints.size());
+    assertEquals(summary.byMoveNumber().get(1), Long.valueOf(1));
+    assertEquals(
+        summary.byPriority().get(PriorityLevel.MEDIUM),
+        Long.valueOf(
+            turningPoints.stream().filter(p -> p.priorityLevel() == PriorityLevel.MEDIUM).count()));
+    assertEquals(
+        summary.byPlayer().values().stream().mapToLong(Long::longValue).sum(), summary.total());
+  }
+
+  @Test
+  public void should_summarize_games_in_parallel_as_sequentially() {
+    var histories = new ArrayList<SequencedCollection<GameState>>();
+    for (int i = 0; i < 200; i++) {
+      var game = Game.ofBots();
+      game.play();
+      histories.add(game.history());
+    }
+
+    var sequential =
+        histories.stream()
+            .flatMap(history -> TurningPointAnalysis.turningPoints(history).stream())
+            .collect(TurningPointAnalysis.summarizing());
+    var parallel = TurningPointAnalysis.summarize(histories);
+    TurningPointSummary pooled;
+    try (var pool = new ForkJoinPool(2)) {
+      pooled = TurningPointAnalysis.summarize(histories, pool);
+    }
+
+    for (var summary : List.of(parallel, pooled)) {
+      assertEquals(summary.total(), sequential.total());
+      assertEquals(summary.byPlayer(), sequential.byPlayer());
+      assertEquals(summary.byMoveNumber(), sequential.byMoveNumber());
+      assertEquals(summary.byPriority(), sequential.byPriority());
+    }
+  }
+
+  private static List<GameState> historyOf(int... moves) {
+    var history = new ArrayList<GameState>();
+    var state = new GameState(GameBoard.withDimension(3), List.of("X", "O"), 0);
+    history.add(state);
+    for (int move : moves) {
+      state = state.afterPlayerMoves(move);
+      history.add(state);
+    }
+    return history;
+  }
+}
@@ -0,0 +1,98 @@
+package org.xxdc.oss.example.archive;
+
+import static org.testng.Assert.*;
+
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.testng.annotations.Test;
+import org.xxdc.oss.example.Game;
+import org.xxdc.oss.example.GameState;
+
+public class GameArchiveTest {
+
+  @Test
+  public void test_games_are_found_by_id() throws Exception {
+    var games = playedGames(5);
+    try (var archive = GameArchive.open(Files.createTempDirectory("archive"))) {
+      for (var game : games) {
+        archive.append(game);
+      }
+      for (var game : games) {
+        assertEquals(asJson(archive.find(game.id()).orElseThrow()), asJson(game));
+      }
+      assertTrue(archive.find(UUID.randomUUID()).isEmpty());
+      assertEquals(archive.size(), 5);
+    }
+  }
+
+  @Test
+  public void test_scan_returns_games_in_append_order_across_segments() throws Exception {
+    var directory = Files.createTempDirectory("archive");
+    var games = playedGames(20);
+    try (var archive = GameArchive.open(directory, 64)) {
+      for (var game : games) {
+        archive.append(game);
+      }
+      assertEquals(archive.games().map(Game::id).toList(), games.stream().map(Game::id).toList());
+    }
+    try (var segments = Files.list(directory)) {
+      assertTrue(segments.filter(path -> path.toString().endsWith(".dat")).count() > 1);
+    }
+  }
+
+  @Test
+  public void test_reopened_archive_keeps_games_and_appends() throws Exception {
+    var directory = Files.createTempDirectory("archive");
+    var games = playedGames(6);
+    try (var archive = GameArchive.open(directory, 128)) {
+      for (var game : games.subList(0, 3)) {
+        archive.append(game);
+      }
+      archive.flush();
+    }
+    try (var archive = GameArchive.open(directory, 128)) {
+      for (var game : games.subList(3, 6)) {
+        archive.append(game);
+      }
+    }
+    try (var archive = GameArchive.open(directory, 128)) {
+      assertEquals(archive.games().map(Game::id).toList(), games.stream().map(Game::id).toList());
+      assertEquals(asJson(archive.find(games.get(2).id()).orElseThrow()), asJson(games.get(2)));
+    }
+  }
+
+  @Test
+  public void test_incomplete_index_entry_is_truncated_on_open() throws Exception {
+    var directory = Files.createTempDirectory("archive");
+    var games = playedGames(2);
+    try (var archive = GameArchive.open(directory)) {
+      archive.append(games.get(0));
+    }
+    var index = directory.resolve("games.idx");
+    long intactLength = Files.size(index);
+    Files.write(index, new byte[] {1, 2, 3, 4, 5}, StandardOpenOption.APPEND);
+    try (var archive = GameArchive.open(directory)) {
+      assertEquals(archive.size(), 1);
+      assertEquals(Files.size(index), intactLength);
+      archive.append(games.get(1));
+      assertTrue(archive.contains(games.get(1).id()));
+    }
+  }
+
+  private static List<Game> playedGames(int count) {
+    var games = new ArrayList<Game>();
+    for (int i = 0; i < count; i++) {
+      var game = Game.ofBots();
+      game.play();
+      games.add(game);
+    }
+    return games;
+  }
+
+  private static String asJson(Game game) {
+    return game.history().stream().map(GameState::asJsonString).toList().toString();
+  }
+}
@@ -0,0 +1,111 @@
+package org.xxdc.oss.example.bot.tablebase;
+
+import static org.testng.Assert.*;
+import static org.xxdc.oss.example.TestData.createBoardWith;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+import org.testng.annotations.Test;
+import org.xxdc.oss.example.GameBoard;
+import org.xxdc.oss.example.GameState;
+import org.xxdc.oss.example.bot.BookMoves;
+import org.xxdc.oss.example.bot.BotStrategy;
+
+public class OpeningBookTest {
+
+  @Test
+  public void test_book_moves_are_the_moves_of_self_play_whatever_the_markers_and_orientation()
+      throws Exception {
+    // Plays the first free location of the last row, then the first free location
+    ToIntFunction<GameState> strategy =
+        state -> {
+          for (int location = 12; location < 16; location++) {
+            if (state.board().isValidMove(location)) {
+              return location;
+            }
+          }
+          return state.availableMoves().getFirst();
+        };
+    var initial = new GameState(GameBoard.withDimension(4), List.of("X", "O"), 0);
+    var book = generate(initial, 3, 1, strategy);
+    assertEquals(book.size(), 3);
+    assertEquals(book.dimension(), 4);
+    assertEquals(book.players(), 2);
+
+    var state = initial;
+    for (int ply = 0; ply < 3; ply++) {
+      int move = strategy.applyAsInt(state);
+      assertEquals(book.bestMove(state).getAsInt(), move);
+      state = state.afterPlayerMoves(move);
+    }
+    assertTrue(book.bestMove(state).isEmpty());
+
+    // The third move, as the other player with other markers, on the board mirrored
+    var mirrored =
+        createBoardWith(
+            new String[][] {
+              {"_", "_", "_", "_"},
+              {"_", "_", "_", "_"},
+              {"_", "_", "_", "_"},
+              {"_", "_", "♠", "♣"}
+            });
+    assertEquals(book.bestMove(new GameState(mirrored, List.of("♠", "♣"), 1)).getAsInt(), 13);
+    // The second move, answering a corner, is either of the corner's neighbours
+    var corner = new GameState(GameBoard.withDimension(4), List.of("♣", "♠"), 1);
+    assertTrue(List.of(1, 4).contains(book.bestMove(corner.afterPlayerMoves(0)).getAsInt()));
+  }
+
+  @Test
+  public void test_book_moves_are_weighted_by_how_often_self_play_chose_them() throws Exception {
+    var random = new Random(44);
+    // Plays a corner three times as often as the centre
+    ToIntFunction<GameState> strategy = state -> random.nextInt(4) == 0 ? 5 : 0;
+    var initial = new GameState(GameBoard.withDimension(4), List.of("X", "O"), 0);
+    var book = generate(initial, 1, 400, strategy);
+    assertEquals(book.size(), 1);
+    assertEquals(book.bestMove(initial).getAsInt(), 0);
+
+    int corners = 0;
+    var choices = new Random(4);
+    for (int i = 0; i < 1000; i++) {
+      int move = book.move(initial, choices).getAsInt();
+      assertTrue(List.of(0, 3, 12, 15, 5, 6, 9, 10).contains(move));
+      corners += List.of(0, 3, 12, 15).contains(move) ? 1 : 0;
+    }
+    assertTrue(corners > 650 && corners < 850, "corners: " + corners);
+  }
+
+  @Test
+  public void test_book_moves_delegate_for_positions_not_in_the_book() throws Exception {
+    var initial = new GameState(GameBoard.withDimension(4), List.of("X", "O", "/"), 0);
+    var book = generate(initial, 2, 1, state -> state.availableMoves().getLast());
+    assertEquals(book.players(), 3);
+
+    var twoPlayers = new GameState(GameBoard.withDimension(4), List.of("X", "O"), 0);
+    var smaller = new GameState(GameBoard.withDimension(3), List.of("X", "O", "/"), 0);
+    assertTrue(book.bestMove(twoPlayers).isEmpty());
+    assertTrue(book.bestMove(smaller).isEmpty());
+    assertEquals(new BookMoves(twoPlayers, book, state -> 7).bestMove(), 7);
+
+    var bookMoves = BotStrategy.openingBook(book, state -> state.availableMoves().getFirst());
+    var state = initial;
+    state = state.afterPlayerMoves(bookMoves.applyAsInt(state));
+    state = state.afterPlayerMoves(bookMoves.applyAsInt(state));
+    assertEquals(state.board().content()[15], "X");
+    // Either of the locations the diagonal through the first move reflects into each other
+    assertTrue("O".equals(state.board().content()[14]) || "O".equals(state.board().content()[11]));
+    assertEquals(bookMoves.applyAsInt(state), 0);
+  }
+
+  private static OpeningBook generate(
+      GameState initial, int plies, int games, ToIntFunction<GameState> strategy) throws Exception {
+    Path path = Files.createTempDirectory("book").resolve("opening-book.tob");
+    int positions = OpeningBookGenerator.generate(initial, plies, games, strategy, path);
+    var book = OpeningBook.open(path);
+    assertEquals(book.size(), positions);
+    return book;
+  }
+}
@@ -0,0 +1,102 @@
+package org.xxdc.oss.example.bot.tablebase;
+
+import static org.testng.Assert.*;
+import static org.xxdc.oss.example.TestData.createBoardWith;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.xxdc.oss.example.GameBoard;
+import org.xxdc.oss.example.GameState;
+import org.xxdc.oss.example.bot.BotStrategy;
+import org.xxdc.oss.example.bot.Minimax;
+import org.xxdc.oss.example.bot.PerfectPlay;
+
+public class TablebaseTest {
+
+  private Tablebase tablebase;
+
+  @BeforeClass
+  public void generate() throws Exception {
+    Path path = Files.createTempDirectory("tablebase").resolve("tablebase-3x3.ttb");
+    int positions = TablebaseGenerator.generate(3, path);
+    tablebase = Tablebase.open(path);
+    assertEquals(tablebase.size(), positions);
+    assertEquals(tablebase.dimension(), 3);
+  }
+
+  @Test
+  public void test_empty_board_is_a_draw() {
+    var state = new GameState(GameBoard.withDimension(3), List.of("X", "O"), 0);
+    assertEquals(tablebase.value(state).getAsInt(), 0);
+  }
+
+  @Test
+  public void test_best_moves_win_then_block_whatever_the_markers_and_orientation() {
+    var board =
+        createBoardWith(
+            new String[][] {
+              {"X", "X", "_"},
+              {"O", "_", "_"},
+              {"O", "_", "_"}
+            });
+    assertEquals(tablebase.bestMove(new GameState(board, List.of("X", "O"), 0)).getAsInt(), 2);
+    assertEquals(tablebase.bestMove(new GameState(board, List.of("X", "O"), 1)).getAsInt(), 2);
+    var mirrored =
+        createBoardWith(
+            new String[][] {
+              {"_", "♠", "♠"},
+              {"_", "_", "♣"},
+              {"_", "_", "♣"}
+            });
+    assertEquals(tablebase.bestMove(new GameState(mirrored, List.of("♣", "♠"), 0)).getAsInt(), 0);
+    assertEquals(tablebase.value(new GameState(mirrored, List.of("♣", "♠"), 1)).getAsInt(), 99);
+  }
+
+  @Test
+  public void test_best_moves_are_as_good_as_minimax() {
+    var random = new Random(3);
+    for (int game = 0; game < 50; game++) {
+      var state = new GameState(GameBoard.withDimension(3), List.of("X", "O"), game % 2);
+      while (!state.isTerminal()) {
+        int move = tablebase.bestMove(state).getAsInt();
+        assertEquals(
+            outcome(state.afterPlayerMoves(move)),
+            outcome(state.afterPlayerMoves(new Minimax(state).bestMove())));
+        var moves = state.availableMoves();
+        state = state.afterPlayerMoves(moves.get(random.nextInt(moves.size())));
+      }
+    }
+  }
+
+  @Test
+  public void test_perfect_play_falls_back_for_positions_not_in_the_tablebase() {
+    var larger = new GameState(GameBoard.withDimension(4), List.of("X", "O"), 0);
+    var threePlayers = new GameState(GameBoard.withDimension(3), List.of("X", "O", "/"), 0);
+    assertTrue(tablebase.bestMove(larger).isEmpty());
+    assertTrue(tablebase.bestMove(threePlayers).isEmpty());
+    assertEquals(new PerfectPlay(larger, tablebase, state -> 7).bestMove(), 7);
+    assertEquals(new PerfectPlay(threePlayers, tablebase, state -> 7).bestMove(), 7);
+
+    var perfectPlay = BotStrategy.perfectPlay(tablebase, BotStrategy.RANDOM);
+    var state = new GameState(GameBoard.withDimension(3), List.of("X", "O"), 0);
+    while (!state.isTerminal()) {
+      state = state.afterPlayerMoves(perfectPlay.applyAsInt(state));
+    }
+    assertFalse(state.board().hasChain("X") || state.board().hasChain("O"));
+  }
+
+  /** The tablebase value of the position for the player who just moved, or its terminal value. */
+  private int outcome(GameState state) {
+    if (state.lastPlayerHasChain()) {
+      return 100;
+    } else if (!state.hasMovesAvailable()) {
+      return 0;
+    }
+    int value = tablebase.value(state).getAsInt();
+    return value > 0 ? -(value - 1) : value < 0 ? -value - 1 : 0;
+  }
+}
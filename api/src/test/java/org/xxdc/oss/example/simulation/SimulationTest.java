@@ -0,0 +1,100 @@
+package org.xxdc.oss.example.simulation;
+
+import static org.testng.Assert.*;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+import org.testng.annotations.Test;
+import org.xxdc.oss.example.GameServiceException;
+import org.xxdc.oss.example.GameState;
+import org.xxdc.oss.example.bot.BotStrategy;
+import org.xxdc.oss.example.bot.BotStrategyConfig;
+import org.xxdc.oss.example.bot.PositionCache;
+
+public class SimulationTest {
+
+  private static final ToIntFunction<GameState> FIRST_FREE =
+      state -> state.availableMoves().getFirst();
+
+  private static final ToIntFunction<GameState> LAST_FREE =
+      state -> state.availableMoves().getLast();
+
+  @Test
+  public void test_every_pairing_plays_the_configured_number_of_games() {
+    var results =
+        Simulation.newBuilder()
+            .strategy("first", FIRST_FREE)
+            .strategy("last", LAST_FREE)
+            .games(100)
+            .build()
+            .run();
+    assertEquals(results.strategies(), List.of("first", "last"));
+    assertEquals(results.matchups().size(), 4);
+    assertEquals(results.games(), 400);
+    assertTrue(results.gamesPerSecond() > 0);
+
+    // Whichever moves first completes the row along its edge before the other can block
+    var firstThenLast = results.matchup("first", "last").orElseThrow();
+    assertEquals(firstThenLast.firstWins(), 100);
+    assertEquals(firstThenLast.averageMoves(), 5.0);
+    var lastThenFirst = results.matchup("last", "first").orElseThrow();
+    assertEquals(lastThenFirst.firstWins(), 100);
+    assertEquals(lastThenFirst.firstScore(), 1.0);
+    assertEquals(results.score("first"), 0.5);
+  }
+
+  @Test
+  public void test_perfect_play_never_loses() {
+    var minimax =
+        BotStrategy.minimax(
+            BotStrategyConfig.newBuilder().positionCache(new PositionCache(4096)).build());
+    var results =
+        Simulation.newBuilder()
+            .strategy("minimax", minimax)
+            .strategy("random", BotStrategy.RANDOM)
+            .games(50)
+            .selfPlay(false)
+            .build()
+            .run();
+    assertEquals(results.matchups().size(), 2);
+    assertEquals(results.matchup("minimax", "random").orElseThrow().secondWins(), 0);
+    assertEquals(results.matchup("random", "minimax").orElseThrow().firstWins(), 0);
+    assertTrue(results.score("minimax") > 0.5);
+    assertTrue(results.matchup("minimax", "minimax").isEmpty());
+  }
+
+  @Test
+  public void test_games_are_played_in_batches_on_the_configured_executor() {
+    var tasks = new AtomicInteger();
+    var results =
+        Simulation.newBuilder()
+            .strategy("first", FIRST_FREE)
+            .boardSize(4)
+            .games(Simulation.GAMES_PER_TASK * 2 + 1)
+            .executor(
+                task -> {
+                  tasks.incrementAndGet();
+                  Thread.startVirtualThread(task);
+                })
+            .build()
+            .run();
+    assertEquals(tasks.get(), 3);
+    assertEquals(results.games(), Simulation.GAMES_PER_TASK * 2 + 1);
+    assertTrue(Double.isNaN(results.score("first")));
+  }
+
+  @Test
+  public void test_failing_strategies_fail_the_simulation() {
+    var simulation =
+        Simulation.newBuilder()
+            .strategy("first", FIRST_FREE)
+            .strategy("occupied", state -> 0)
+            .build();
+    assertThrows(GameServiceException.class, simulation::run);
+    assertThrows(IllegalArgumentException.class, () -> Simulation.newBuilder().build());
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> Simulation.newBuilder().strategy("first", FIRST_FREE).strategy("first", LAST_FREE));
+  }
+}
@@ -0,0 +1,169 @@
+package org.xxdc.oss.example.simulation;
+
+import static org.testng.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+import org.testng.annotations.Test;
+import org.xxdc.oss.example.GameServiceException;
+import org.xxdc.oss.example.GameState;
+import org.xxdc.oss.example.bot.BotStrategy;
+import org.xxdc.oss.example.bot.BotStrategyConfig;
+import org.xxdc.oss.example.bot.PositionCache;
+
+public class TournamentTest {
+
+  private static final ToIntFunction<GameState> FIRST_FREE =
+      state -> state.availableMoves().getFirst();
+
+  private static final ToIntFunction<GameState> LAST_FREE =
+      state -> state.availableMoves().getLast();
+
+  private static final ToIntFunction<GameState> MIDDLE_FREE =
+      state -> state.availableMoves().get(state.availableMoves().size() / 2);
+
+  @Test
+  public void test_round_robin_ranks_perfect_play_first() throws Exception {
+    var minimax =
+        BotStrategy.minimax(
+            BotStrategyConfig.newBuilder().positionCache(new PositionCache(4096)).build());
+    var results =
+        Tournament.newBuilder()
+            .strategy("first", FIRST_FREE)
+            .strategy("last", LAST_FREE)
+            .strategy("minimax", minimax)
+            .build()
+            .run();
+    // Three rounds of one pairing and a bye, two games each
+    assertEquals(results.rounds(), 3);
+    assertEquals(results.games(), 6);
+
+    var best = results.standings().getFirst();
+    assertEquals(best.name(), "minimax");
+    assertEquals(best.losses(), 0);
+    assertEquals(best.games(), 4);
+    assertTrue(best.elo() > Ratings.INITIAL_RATING);
+    assertTrue(best.deviation() < Ratings.INITIAL_DEVIATION);
+    assertTrue(best.lowerBound() < best.rating() && best.rating() < best.upperBound());
+    assertTrue(best.thinkTime().moves() > 0);
+    assertTrue(best.thinkTime().maxMillis() >= best.thinkTime().meanMillis());
+
+    // Each moving first wins, so the two are level
+    var first = results.standing("first").orElseThrow();
+    var last = results.standing("last").orElseThrow();
+    assertEquals(first.points(), last.points());
+    assertTrue(first.upperBound() > best.lowerBound());
+  }
+
+  @Test
+  public void test_swiss_rounds_pair_down_the_standings_avoiding_rematches() throws Exception {
+    var checkpoint = Files.createTempDirectory("tournament").resolve("swiss.ttk");
+    var tournament =
+        Tournament.newBuilder()
+            .strategy("first", FIRST_FREE)
+            .strategy("last", LAST_FREE)
+            .strategy("middle", MIDDLE_FREE)
+            .strategy("random", BotStrategy.RANDOM)
+            .boardSizes(3, 4)
+            .swiss(3)
+            .gamesPerPairing(3)
+            .concurrency(2)
+            .checkpoint(checkpoint)
+            .build();
+    var results = tournament.run();
+    assertEquals(results.rounds(), 6);
+    assertEquals(results.games(), 6 * 2 * 3);
+
+    var progress = TournamentProgress.readFrom(checkpoint, tournament);
+    for (int boardSize : List.of(3, 4)) {
+      // Three rounds of four entrants pair each with every other once
+      var pairings = new HashSet<List<Integer>>();
+      for (var game : progress.games) {
+        if (game.boardSize() == boardSize) {
+          pairings.add(
+              List.of(
+                  Math.min(game.first(), game.second()), Math.max(game.first(), game.second())));
+        }
+      }
+      assertEquals(pairings.size(), 6);
+    }
+  }
+
+  @Test
+  public void test_tournaments_resume_from_their_last_checkpointed_round() throws Exception {
+    var checkpoint = Files.createTempDirectory("tournament").resolve("round-robin.ttk");
+    var failing = new AtomicBoolean(true);
+    var movesOnSmallBoards = new AtomicInteger();
+    ToIntFunction<GameState> fragile =
+        state -> {
+          if (state.board().dimension() == 3) {
+            movesOnSmallBoards.incrementAndGet();
+          } else if (failing.get()) {
+            throw new IllegalStateException("Out of memory on larger boards");
+          }
+          return state.availableMoves().get(1 % state.availableMoves().size());
+        };
+    var tournament = tournament(fragile, checkpoint);
+    assertThrows(GameServiceException.class, tournament::run);
+    assertTrue(movesOnSmallBoards.get() > 0);
+
+    failing.set(false);
+    movesOnSmallBoards.set(0);
+    var resumed = tournament.run();
+    assertEquals(movesOnSmallBoards.get(), 0, "rounds on 3x3 boards should not be replayed");
+    assertEquals(resumed.rounds(), 6);
+    assertEquals(resumed.games(), 6 * 2 * 2);
+    assertTrue(resumed.standing("fragile").orElseThrow().thinkTime().moves() > 0);
+
+    // As if never interrupted
+    var uninterrupted = tournament(fragile, null).run();
+    for (var standing : uninterrupted.standings()) {
+      var other = resumed.standing(standing.name()).orElseThrow();
+      assertEquals(other.wins(), standing.wins());
+      assertEquals(other.draws(), standing.draws());
+      assertEquals(other.rating(), standing.rating(), 1e-9);
+      assertEquals(other.deviation(), standing.deviation(), 1e-9);
+      assertEquals(other.elo(), standing.elo(), 1e-9);
+    }
+
+    var another =
+        Tournament.newBuilder()
+            .strategy("first", FIRST_FREE)
+            .strategy("last", LAST_FREE)
+            .checkpoint(checkpoint)
+            .build();
+    assertThrows(IOException.class, another::run);
+  }
+
+  @Test
+  public void test_tournaments_need_two_entrants() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> Tournament.newBuilder().strategy("first", FIRST_FREE).build());
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            Tournament.newBuilder()
+                .strategy("first", FIRST_FREE)
+                .strategy("last", LAST_FREE)
+                .swiss(0)
+                .build());
+  }
+
+  private static Tournament tournament(ToIntFunction<GameState> fragile, Path checkpoint) {
+    return Tournament.newBuilder()
+        .strategy("first", FIRST_FREE)
+        .strategy("last", LAST_FREE)
+        .strategy("middle", MIDDLE_FREE)
+        .strategy("fragile", fragile)
+        .boardSizes(3, 4)
+        .checkpoint(checkpoint)
+        .build();
+  }
+}
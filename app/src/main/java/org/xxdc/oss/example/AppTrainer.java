@@ -7,7 +7,9 @@ import static org.xxdc.oss.example.analysis.Analyzers.strategicTurningPoints;
 
 import java.lang.System.Logger;
 import java.lang.System.Logger.Level;
+import org.xxdc.oss.example.analysis.IncrementalTurningPointAnalyzer;
 import org.xxdc.oss.example.bot.BotStrategy;
+import org.xxdc.oss.example.commentary.CommentaryPersona;
 import org.xxdc.oss.example.commentary.EsportsLiveCommentaryPersona;
 import org.xxdc.oss.example.commentary.EsportsPostAnalysisCommentaryPersona;
 
@@ -40,18 +42,19 @@ public class AppTrainer {
    */
   public void run() throws Exception {
     try (var game = newStandardGame()) {
-      game.playWithAction(this::logLiveCommentary);
+      var analyzer = new IncrementalTurningPointAnalyzer(game.history().getFirst());
+      var commentary = new EsportsLiveCommentaryPersona();
+      game.playWithAction(g -> logLiveCommentary(g, analyzer, commentary));
       logPostAnalysisCommentary(game);
     }
   }
 
-  private void logLiveCommentary(Game game) {
-    var commentary = new EsportsLiveCommentaryPersona();
-    game.history().stream()
-        .skip(game.moveNumber() - 1) // latest move state changes only
-        .gather(strategicTurningPoints())
+  private void logLiveCommentary(
+      Game game, IncrementalTurningPointAnalyzer analyzer, CommentaryPersona commentary) {
+    analyzer
+        .accept(game.history().getLast()) // latest move state changes only
         .map(commentary::comment)
-        .forEach(l -> log.log(Level.INFO, "\"{0}\"", l));
+        .ifPresent(l -> log.log(Level.INFO, "\"{0}\"", l));
   }
 
   private void logPostAnalysisCommentary(Game game) {
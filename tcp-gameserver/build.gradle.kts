@@ -150,3 +150,12 @@ tasks.register("buildClasspath") {
         println("$jarPath:$runtimeClasspath")
     }
 }
+
+// Open-loop load generator against a running game server
+// e.g. gradle :tcp-gameserver:loadgen --args="localhost 9090 100 60 build/loadgen.json"
+tasks.register<JavaExec>("loadgen") {
+    group = "application"
+    description = "Runs the open-loop load generator against a running game server."
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("org.xxdc.oss.example.loadgen.LoadGenerator")
+}
@@ -5,11 +5,17 @@ import java.lang.System.Logger.Level;
 import java.net.ConnectException;
 import java.net.Socket;
 import java.net.SocketException;
+import java.nio.file.Path;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
 import org.xxdc.oss.example.bot.BotStrategy;
+import org.xxdc.oss.example.bot.BotStrategyConfig;
+import org.xxdc.oss.example.bot.Pondering;
+import org.xxdc.oss.example.bot.PositionCache;
+import org.xxdc.oss.example.bot.tablebase.Tablebase;
 import org.xxdc.oss.example.transport.tcp.TcpTransports;
 
 /**
@@ -26,12 +32,19 @@ public class GameClient {
 
   private static final Logger log = System.getLogger(GameClient.class.getName());
 
+  /** Minimax, solving each position once for every game of the process. */
+  private static final ToIntFunction<GameState> CACHED_MINIMAX =
+      BotStrategy.minimax(
+          BotStrategyConfig.newBuilder().positionCache(PositionCache.shared()).build());
+
   private final int maxGames;
 
   private final String serverHost;
 
   private final int serverSocket;
 
+  private final ToIntFunction<GameState> botStrategy;
+
   private final LongAdder submittedClients = new LongAdder();
 
   private final LongAdder completedClients = new LongAdder();
@@ -49,9 +62,24 @@ public class GameClient {
    * @param serverPort The port number of the game server.
    */
   public GameClient(int maxGames, String serverHost, int serverPort) {
+    this(maxGames, serverHost, serverPort, CACHED_MINIMAX);
+  }
+
+  /**
+   * Constructs a new `GameClient` instance with the specified maximum number of games, server host,
+   * server port and the strategy of its bot players.
+   *
+   * @param maxGames The maximum number of games to be played.
+   * @param serverHost The hostname or IP address of the game server.
+   * @param serverPort The port number of the game server.
+   * @param botStrategy The strategy of the bot players.
+   */
+  public GameClient(
+      int maxGames, String serverHost, int serverPort, ToIntFunction<GameState> botStrategy) {
     this.maxGames = maxGames;
     this.serverHost = serverHost;
     this.serverSocket = serverPort;
+    this.botStrategy = botStrategy;
   }
 
   /**
@@ -63,18 +91,26 @@ public class GameClient {
    * clients.
    *
    * @param args Command-line arguments, where the first argument is the server host (default is
-   *     "localhost") and the second argument is the server port (default is 9090).
+   *     "localhost"), the second argument is the server port (default is 9090) and the optional
+   *     third argument is the path of a tablebase file to look bot moves up in, falling back to
+   *     Minimax for positions it does not hold. Minimax caches the positions it solves, shared by
+   *     every game, and each bot ponders its replies while the server thinks.
    * @throws Exception If any unexpected exceptions occur during the execution of the game clients.
    */
   public static void main(String[] args) throws Exception {
     ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
     log.log(Level.INFO, "Client connecting for Tic-Tac-Toe.");
     long elapsed = System.currentTimeMillis();
+    ToIntFunction<GameState> botStrategy =
+        args.length > 2
+            ? BotStrategy.perfectPlay(Tablebase.open(Path.of(args[2])), CACHED_MINIMAX)
+            : CACHED_MINIMAX;
     GameClient client =
         new GameClient(
             1000,
             args.length > 0 ? args[0] : "localhost",
-            args.length > 1 ? Integer.parseInt(args[1]) : 9090);
+            args.length > 1 ? Integer.parseInt(args[1]) : 9090,
+            botStrategy);
     try {
       client.connectToServer(executor);
       executor.shutdown();
@@ -103,6 +139,13 @@ public class GameClient {
           "Completed {0} clients for {1} games.",
           client.completedClients.sum(),
           client.maxGames);
+      var cache = PositionCache.shared();
+      log.log(
+          Level.INFO,
+          "Position cache: {0} hits, {1} misses, {2} evictions.",
+          cache.hits(),
+          cache.misses(),
+          cache.evictions());
     }
   }
 
@@ -120,9 +163,11 @@ public class GameClient {
             try (
             // Contention will cause SocketException, down Server ConnectException
             var socket = new Socket(serverHost, serverSocket);
+                // The bot searches while the server thinks, stopped with the game
+                var pondering = new Pondering(botStrategy);
                 var client =
                     TcpTransports.newTcpTransportClient(
-                        new BotPlayer(BotStrategy.MINIMAX), socket); ) {
+                        new BotPlayer(pondering), socket); ) {
               startedClients.increment();
               socket.setKeepAlive(true);
               log.log(Level.INFO, "Started {0} clients.", startedClients.sum());
@@ -6,18 +6,24 @@ import java.lang.System.Logger.Level;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
-import java.util.concurrent.CompletableFuture;
+import java.time.Duration;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.LongAccumulator;
 import java.util.concurrent.atomic.LongAdder;
-import java.util.function.Supplier;
+import org.xxdc.oss.example.admission.AdmissionController;
+import org.xxdc.oss.example.bot.BotStrategy;
+import org.xxdc.oss.example.matchmaking.MatchConfiguration;
+import org.xxdc.oss.example.matchmaking.MatchListener;
+import org.xxdc.oss.example.matchmaking.Matchmaker;
+import org.xxdc.oss.example.security.KeyPairPool;
+import org.xxdc.oss.example.transport.SessionTicketIssuer;
 import org.xxdc.oss.example.transport.tcp.TcpTransportServer;
 
 /**
  * The `GameServer` class is responsible for managing the game server that hosts the tic-tac-toe
- * game. It listens for incoming connections, creates game sessions, and tracks various game
- * statistics.
+ * game. It listens for incoming connections, pairs players through a {@link Matchmaker}, creates
+ * game sessions, and tracks various game statistics.
  */
 public class GameServer {
 
@@ -25,35 +31,91 @@ public class GameServer {
 
   private static final int CONNECTION_TIMEOUT = 30000;
 
+  private static final Duration MATCHMAKING_TIMEOUT = Duration.ofSeconds(5);
+
+  private static final MatchConfiguration DEFAULT_MATCH_CONFIGURATION =
+      new MatchConfiguration(3, true);
+
+  private static final int KEY_PAIR_POOL_SIZE = 64;
+
+  private static final int KEY_PAIR_POOL_REFILL_THRESHOLD = 16;
+
+  private static final int DEFAULT_MAX_CONCURRENT_GAMES = 5000;
+
+  private static final int DEFAULT_MAX_PENDING_HANDSHAKES = 1000;
+
+  private static final Duration REJECTED_RETRY_AFTER = Duration.ofSeconds(1);
+
   private final LongAdder concurrentGames = new LongAdder();
 
   private final LongAccumulator maxConcurrentGames = new LongAccumulator(Long::max, 0);
 
   private final LongAccumulator totalGames = new LongAccumulator(Long::sum, 0);
 
+  private final SessionTicketIssuer ticketIssuer = new SessionTicketIssuer();
+
+  private final KeyPairPool keyPairPool =
+      new KeyPairPool("ML-KEM-1024", KEY_PAIR_POOL_SIZE, KEY_PAIR_POOL_REFILL_THRESHOLD);
+
+  private final AdmissionController admission;
+
+  /**
+   * Constructs a new `GameServer` with the default admission limits of 5,000 concurrent games and
+   * 1,000 pending handshakes.
+   */
+  public GameServer() {
+    this(DEFAULT_MAX_CONCURRENT_GAMES, DEFAULT_MAX_PENDING_HANDSHAKES);
+  }
+
+  /**
+   * Constructs a new `GameServer` that admits at most the given number of concurrent games and
+   * connections waiting to play.
+   *
+   * @param maxConcurrentGames the maximum number of games in progress at once
+   * @param maxPendingHandshakes the maximum number of accepted connections not yet playing a game
+   */
+  public GameServer(int maxConcurrentGames, int maxPendingHandshakes) {
+    this.admission =
+        new AdmissionController(maxConcurrentGames, maxPendingHandshakes, REJECTED_RETRY_AFTER);
+  }
+
   /**
    * The `main` method is the entry point for the GameServer application. It creates a new
    * `GameServer` instance, sets up a `ServerSocket` to listen for incoming connections, and starts
    * the `listenForPlayers` method to handle incoming players and start new games.
    *
    * <p>The method first creates a `ServerSocket` on the specified port (or 9090 if no port is
-   * provided) with a backlog of 10,000 connections. It then creates a new `ExecutorService` using
-   * the `newVirtualThreadExecutor` method to handle the asynchronous game sessions.
+   * provided) with a backlog matching the maximum number of pending handshakes, so that overload is
+   * visible to admission control rather than queued in the kernel. It then creates a new
+   * `ExecutorService` using the `newVirtualThreadExecutor` method to handle the asynchronous game
+   * sessions.
    *
    * <p>The `listenForPlayers` method is called to start the server and listen for incoming player
-   * connections. If any exceptions occur during the server's operation, the `handleException`
-   * method is called to log the error.
+   * connections. Accepted players are handed to the matchmaker, which pairs them without blocking
+   * the accept loop and falls back to a bot opponent for players left waiting too long. Admission
+   * control sheds or rejects new arrivals, with a retry-after delay, once the configured maximum
+   * concurrent games (default 5,000) or pending handshakes (default 1,000) is reached. If any
+   * exceptions occur during the server's operation, the `handleException` method is called to log
+   * the error.
    *
    * <p>Finally, the method logs the total number of games played and the maximum number of
-   * concurrent games before the server shuts down.
+   * concurrent games, along with the ML-KEM key pair pool hits and misses, before the server shuts
+   * down.
    *
-   * @param args the command-line arguments passed to the application
+   * @param args the command-line arguments passed to the application: the port, the maximum
+   *     concurrent games and the maximum pending handshakes
    * @throws Exception if there is an error starting the server
    */
   public static void main(String[] args) throws Exception {
-    GameServer server = new GameServer();
+    int maxPendingHandshakes =
+        args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MAX_PENDING_HANDSHAKES;
+    GameServer server =
+        new GameServer(
+            args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MAX_CONCURRENT_GAMES,
+            maxPendingHandshakes);
     try (ServerSocket serverSocket =
-            new ServerSocket(args.length > 0 ? Integer.parseInt(args[0]) : 9090, 10000);
+            new ServerSocket(
+                args.length > 0 ? Integer.parseInt(args[0]) : 9090, maxPendingHandshakes);
         ExecutorService executor = newVirtualThreadExecutor(); ) {
       serverSocket.setSoTimeout(CONNECTION_TIMEOUT);
       log.log(Level.INFO, "Starting tic-tac-toe game server at {0}", serverSocket);
@@ -65,6 +127,17 @@ public class GameServer {
       log.log(Level.INFO, "Total games played: {0}", server.totalGames.get());
       log.log(
           Level.INFO, "Maximum number of concurrent games: {0}", server.maxConcurrentGames.get());
+      log.log(
+          Level.INFO,
+          "Players rejected: {0}, connections shed: {1}",
+          server.admission.rejected(),
+          server.admission.shed());
+      log.log(
+          Level.INFO,
+          "Key pair pool hits: {0}, misses: {1}",
+          server.keyPairPool.hits(),
+          server.keyPairPool.misses());
+      server.keyPairPool.close();
     }
   }
 
@@ -88,44 +161,126 @@ public class GameServer {
 
   private void listenForPlayers(ExecutorService executor, ServerSocket serverSocket)
       throws IOException {
-    while (true) {
-      log.log(Level.INFO, "Waiting for players to connect...");
-      var clientSocket1Future = CompletableFuture.supplyAsync(clientSocket(serverSocket), executor);
-      // block
-      var clientSocket2Future = CompletableFuture.completedFuture(clientSocket(serverSocket).get());
-      // run game asynchronously
-      clientSocket1Future.thenCombineAsync(
-          clientSocket2Future,
-          (clientSocket1, clientSocket2) -> {
-            try {
-              var playerX = new PlayerNode.Remote("X", new TcpTransportServer(clientSocket1));
-              var playerO = new PlayerNode.Remote("O", new TcpTransportServer(clientSocket2));
-              log.log(
-                  Level.INFO,
-                  "{0} concurrent games in progress.",
-                  updateStatsAndGetConcurrentGames());
-              Game game = new Game(3, false, playerX, playerO);
-              game.play();
-              game.close();
-              return game;
-            } catch (Exception e) {
-              throw new RuntimeException(e);
-            } finally {
-              concurrentGames.decrement();
-            }
-          },
-          executor);
+    var matchmaker =
+        new Matchmaker<>(
+            MATCHMAKING_TIMEOUT,
+            executor,
+            new MatchListener<Socket>() {
+              @Override
+              public void matched(
+                  MatchConfiguration configuration, Socket clientSocket1, Socket clientSocket2) {
+                playRemoteGame(configuration, clientSocket1, clientSocket2);
+              }
+
+              @Override
+              public void timedOut(MatchConfiguration configuration, Socket clientSocket) {
+                playBotGame(configuration, clientSocket);
+              }
+            });
+    try {
+      while (true) {
+        log.log(Level.INFO, "Waiting for players to connect...");
+        // accept only; pairing and game creation never block the accept loop
+        var clientSocket = serverSocket.accept();
+        switch (admission.admit()) {
+          case ADMIT -> matchmaker.enqueue(DEFAULT_MATCH_CONFIGURATION, clientSocket);
+          case REJECT -> executor.execute(() -> rejectPlayer(clientSocket));
+          case SHED -> closeQuietly(clientSocket);
+        }
+      }
+    } finally {
+      log.log(
+          Level.INFO,
+          "Matched {0} games, {1} bot fallbacks, pairing latency avg {2}ms max {3}ms.",
+          matchmaker.matches(),
+          matchmaker.botFallbacks(),
+          matchmaker.averageWaitMillis(),
+          matchmaker.maxWaitMillis());
     }
   }
 
-  private Supplier<Socket> clientSocket(ServerSocket serverSocket) {
-    return () -> {
-      try {
-        return serverSocket.accept();
-      } catch (IOException e) {
-        throw new RuntimeException(e);
+  private void playRemoteGame(
+      MatchConfiguration configuration, Socket clientSocket1, Socket clientSocket2) {
+    if (!admission.tryStartGame(2)) {
+      rejectPlayer(clientSocket1);
+      rejectPlayer(clientSocket2);
+      return;
+    }
+    // Each player holds its pending handshake slot until its handshake has completed
+    int pending = 2;
+    try {
+      var playerX = new PlayerNode.Remote("X", newTransportServer(clientSocket1));
+      admission.releasePending();
+      pending--;
+      var playerO = new PlayerNode.Remote("O", newTransportServer(clientSocket2));
+      admission.releasePending();
+      pending--;
+      playGame(configuration, playerX, playerO);
+    } catch (Exception e) {
+      log.log(Level.ERROR, "Unexpected exception: {0}", e.getMessage(), e);
+    } finally {
+      for (; pending > 0; pending--) {
+        admission.releasePending();
       }
-    };
+      admission.endGame();
+    }
+  }
+
+  private void playBotGame(MatchConfiguration configuration, Socket clientSocket) {
+    if (!admission.tryStartGame(1)) {
+      rejectPlayer(clientSocket);
+      return;
+    }
+    boolean pending = true;
+    try {
+      var playerX = new PlayerNode.Remote("X", newTransportServer(clientSocket));
+      admission.releasePending();
+      pending = false;
+      var playerO = new PlayerNode.Local<>("O", new BotPlayer(BotStrategy.DEFAULT));
+      playGame(configuration, playerX, playerO);
+    } catch (Exception e) {
+      log.log(Level.ERROR, "Unexpected exception: {0}", e.getMessage(), e);
+    } finally {
+      if (pending) {
+        admission.releasePending();
+      }
+      admission.endGame();
+    }
+  }
+
+  /** Rejects an admitted player, releasing its pending handshake slot once the reject is sent. */
+  private void rejectPlayer(Socket clientSocket) {
+    try {
+      newTransportServer(clientSocket).reject(admission.retryAfter());
+    } catch (Exception e) {
+      log.log(Level.DEBUG, "Unable to reject player: {0}", e.getMessage());
+      closeQuietly(clientSocket);
+    } finally {
+      admission.releasePending();
+    }
+  }
+
+  private TcpTransportServer newTransportServer(Socket clientSocket) {
+    return new TcpTransportServer(clientSocket, ticketIssuer, keyPairPool, admission::load);
+  }
+
+  private static void closeQuietly(Socket clientSocket) {
+    try {
+      clientSocket.close();
+    } catch (IOException e) {
+      log.log(Level.DEBUG, "Unable to close socket: {0}", e.getMessage());
+    }
+  }
+
+  private void playGame(MatchConfiguration configuration, PlayerNode... players) throws Exception {
+    try {
+      log.log(Level.INFO, "{0} concurrent games in progress.", updateStatsAndGetConcurrentGames());
+      Game game = new Game(configuration.dimension(), false, players);
+      game.play();
+      game.close();
+    } finally {
+      concurrentGames.decrement();
+    }
   }
 
   private long updateStatsAndGetConcurrentGames() {
@@ -0,0 +1,167 @@
+package org.xxdc.oss.example.admission;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.xxdc.oss.example.transport.tcp.ServerLoad;
+
+/**
+ * Bounds the work the game server takes on so that, when overloaded, it sheds new arrivals instead
+ * of slowing down every game in progress. Two limits apply:
+ *
+ * <ul>
+ *   <li>Pending handshakes: connections accepted but not yet playing, i.e. waiting to be matched or
+ *       to complete the secure handshake. Arrivals beyond this limit are {@link Admission#SHED
+ *       shed}: closed immediately, before any handshake work is spent on them.
+ *   <li>Concurrent games: arrivals while every game slot is taken are {@link Admission#REJECT
+ *       rejected} with a retry-after delay. A matched pair that finds no free game slot is rejected
+ *       the same way.
+ * </ul>
+ *
+ * <p>Counters are updated with compare-and-set, so the limits are never exceeded. The controller is
+ * thread-safe.
+ */
+public final class AdmissionController {
+
+  /** The outcome of an admission decision for a newly accepted connection. */
+  public enum Admission {
+    /** The connection may wait to be matched into a game. */
+    ADMIT,
+    /** The server has no free game slot; the client should be told to retry later. */
+    REJECT,
+    /** The server cannot afford even a handshake; the connection should be closed immediately. */
+    SHED
+  }
+
+  private final int maxConcurrentGames;
+
+  private final int maxPendingHandshakes;
+
+  private final Duration retryAfter;
+
+  private final AtomicInteger concurrentGames = new AtomicInteger();
+
+  private final AtomicInteger pendingHandshakes = new AtomicInteger();
+
+  private final LongAdder rejected = new LongAdder();
+
+  private final LongAdder shed = new LongAdder();
+
+  /**
+   * Constructs a new {@link AdmissionController}.
+   *
+   * @param maxConcurrentGames the maximum number of games in progress at once
+   * @param maxPendingHandshakes the maximum number of accepted connections not yet playing a game
+   * @param retryAfter how long rejected clients are asked to wait before reconnecting
+   * @throws IllegalArgumentException if either limit is not positive
+   */
+  public AdmissionController(
+      int maxConcurrentGames, int maxPendingHandshakes, Duration retryAfter) {
+    if (maxConcurrentGames <= 0) {
+      throw new IllegalArgumentException("Max concurrent games must be positive");
+    }
+    if (maxPendingHandshakes <= 0) {
+      throw new IllegalArgumentException("Max pending handshakes must be positive");
+    }
+    this.maxConcurrentGames = maxConcurrentGames;
+    this.maxPendingHandshakes = maxPendingHandshakes;
+    this.retryAfter = retryAfter;
+  }
+
+  /**
+   * Decides whether to admit a newly accepted connection. Unless the connection is shed, it holds a
+   * pending handshake slot until released by {@link #releasePending()}, once its handshake has
+   * completed or it has been rejected.
+   *
+   * @return the admission decision
+   */
+  public Admission admit() {
+    if (!tryIncrement(pendingHandshakes, maxPendingHandshakes)) {
+      shed.increment();
+      return Admission.SHED;
+    }
+    if (concurrentGames.get() >= maxConcurrentGames) {
+      rejected.increment();
+      return Admission.REJECT;
+    }
+    return Admission.ADMIT;
+  }
+
+  /**
+   * Claims a game slot for the given number of admitted players, if one is free. The players keep
+   * their pending handshake slots, to be released by {@link #releasePending()} as each completes
+   * its handshake or is rejected. When it returns true, the caller must call {@link #endGame()}
+   * once the game is over.
+   *
+   * @param players the number of admitted players about to play the game
+   * @return true if a game slot was claimed, false if the players should be rejected
+   */
+  public boolean tryStartGame(int players) {
+    if (tryIncrement(concurrentGames, maxConcurrentGames)) {
+      return true;
+    }
+    rejected.add(players);
+    return false;
+  }
+
+  /** Releases the game slot claimed by a successful {@link #tryStartGame(int)}. */
+  public void endGame() {
+    concurrentGames.decrementAndGet();
+  }
+
+  /**
+   * Releases the pending handshake slot of an admitted connection, once its handshake has completed
+   * or it has been rejected.
+   */
+  public void releasePending() {
+    pendingHandshakes.decrementAndGet();
+  }
+
+  /**
+   * Returns how long rejected clients are asked to wait before reconnecting.
+   *
+   * @return the retry-after delay
+   */
+  public Duration retryAfter() {
+    return retryAfter;
+  }
+
+  /**
+   * Returns a snapshot of the server's current load.
+   *
+   * @return the current load
+   */
+  public ServerLoad load() {
+    return new ServerLoad(
+        concurrentGames.get(), maxConcurrentGames, pendingHandshakes.get(), maxPendingHandshakes);
+  }
+
+  /**
+   * Returns the number of players rejected with a retry-after delay.
+   *
+   * @return the number of rejected players
+   */
+  public long rejected() {
+    return rejected.sum();
+  }
+
+  /**
+   * Returns the number of connections closed without a handshake.
+   *
+   * @return the number of shed connections
+   */
+  public long shed() {
+    return shed.sum();
+  }
+
+  private static boolean tryIncrement(AtomicInteger counter, int limit) {
+    int current;
+    do {
+      current = counter.get();
+      if (current >= limit) {
+        return false;
+      }
+    } while (!counter.compareAndSet(current, current + 1));
+    return true;
+  }
+}
@@ -0,0 +1,141 @@
+package org.xxdc.oss.example.loadgen;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent, fixed-footprint latency histogram with HDR-style log-linear buckets. Values are
+ * grouped into power-of-two magnitudes, each split into 128 linear sub-buckets, so every recorded
+ * value is tracked to within 1% (at worst 1/128, under 0.8%) regardless of its magnitude.
+ *
+ * <p>Values are unit-less; the load generator records microseconds. Values above the highest
+ * trackable value are clamped to it and still counted.
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 8;
+
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+  private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+
+  private final long highestTrackableValue;
+
+  private final AtomicLongArray counts;
+
+  private final LongAdder totalCount = new LongAdder();
+
+  private final LongAdder totalValue = new LongAdder();
+
+  private final LongAccumulator min = new LongAccumulator(Long::min, Long.MAX_VALUE);
+
+  private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+
+  /**
+   * Constructs a new histogram tracking values from 0 to the given highest trackable value.
+   *
+   * @param highestTrackableValue the highest value to track at full precision
+   * @throws IllegalArgumentException if the highest trackable value is not positive
+   */
+  public LatencyHistogram(long highestTrackableValue) {
+    if (highestTrackableValue <= 0) {
+      throw new IllegalArgumentException("Highest trackable value must be positive");
+    }
+    this.highestTrackableValue = highestTrackableValue;
+    this.counts = new AtomicLongArray(indexOf(highestTrackableValue) + 1);
+  }
+
+  /**
+   * Records a single value.
+   *
+   * @param value the value to record
+   * @throws IllegalArgumentException if the value is negative
+   */
+  public void recordValue(long value) {
+    if (value < 0) {
+      throw new IllegalArgumentException("Value must not be negative: " + value);
+    }
+    long clamped = Math.min(value, highestTrackableValue);
+    counts.incrementAndGet(indexOf(clamped));
+    totalCount.increment();
+    totalValue.add(clamped);
+    min.accumulate(clamped);
+    max.accumulate(clamped);
+  }
+
+  /**
+   * Returns the number of recorded values.
+   *
+   * @return the total count
+   */
+  public long count() {
+    return totalCount.sum();
+  }
+
+  /**
+   * Returns the lowest recorded value.
+   *
+   * @return the minimum, or 0 if no values have been recorded
+   */
+  public long min() {
+    return count() == 0 ? 0 : min.get();
+  }
+
+  /**
+   * Returns the highest recorded value.
+   *
+   * @return the maximum, or 0 if no values have been recorded
+   */
+  public long max() {
+    return max.get();
+  }
+
+  /**
+   * Returns the arithmetic mean of the recorded values.
+   *
+   * @return the mean, or 0 if no values have been recorded
+   */
+  public double mean() {
+    long count = count();
+    return count == 0 ? 0 : (double) totalValue.sum() / count;
+  }
+
+  /**
+   * Returns the value at the given percentile, reported as the highest value equivalent to the
+   * bucket the percentile falls into and never above the recorded maximum.
+   *
+   * @param percentile the percentile in the range [0, 100]
+   * @return the value at the percentile, or 0 if no values have been recorded
+   * @throws IllegalArgumentException if the percentile is out of range
+   */
+  public long valueAtPercentile(double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("Percentile must be within [0, 100]: " + percentile);
+    }
+    long count = count();
+    if (count == 0) {
+      return 0;
+    }
+    long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+    long seen = 0;
+    for (int i = 0; i < counts.length(); i++) {
+      seen += counts.get(i);
+      if (seen >= target) {
+        return Math.min(highestEquivalentValue(i), max());
+      }
+    }
+    return max();
+  }
+
+  static int indexOf(long value) {
+    int magnitude = Math.max(0, Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+    return (magnitude * SUB_BUCKET_HALF_COUNT) + (int) (value >>> magnitude);
+  }
+
+  static long highestEquivalentValue(int index) {
+    int magnitude = Math.max(0, index / SUB_BUCKET_HALF_COUNT - 1);
+    long subBucket = index - (long) magnitude * SUB_BUCKET_HALF_COUNT;
+    return ((subBucket + 1) << magnitude) - 1;
+  }
+}
@@ -0,0 +1,155 @@
+package org.xxdc.oss.example.loadgen;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+import org.xxdc.oss.example.BotPlayer;
+import org.xxdc.oss.example.bot.BotStrategy;
+import org.xxdc.oss.example.transport.DuplexMessageHandler;
+import org.xxdc.oss.example.transport.SecureKyberClient;
+import org.xxdc.oss.example.transport.tcp.ServerBusyException;
+import org.xxdc.oss.example.transport.tcp.TcpTransportClient;
+
+/**
+ * An open-loop load generator for the TCP game server. Unlike the closed-loop {@link
+ * org.xxdc.oss.example.GameClient}, clients arrive on a fixed schedule derived from the target
+ * arrival rate, regardless of how quickly the server serves earlier clients. Each client plays a
+ * single game with a random bot on a virtual thread.
+ *
+ * <p>Connect and game total latencies are measured from each client's intended arrival time rather
+ * than from when it actually started, so a stalled server or generator shows up in the percentiles
+ * instead of silently lowering the offered load (coordinated omission).
+ */
+public final class LoadGenerator {
+
+  private static final Logger log = System.getLogger(LoadGenerator.class.getName());
+
+  private final String serverHost;
+
+  private final int serverPort;
+
+  private final double arrivalsPerSecond;
+
+  private final Duration duration;
+
+  /**
+   * Constructs a new {@link LoadGenerator}.
+   *
+   * @param serverHost the hostname or IP address of the game server
+   * @param serverPort the port number of the game server
+   * @param arrivalsPerSecond the target rate at which new clients connect
+   * @param duration how long to keep generating arrivals
+   * @throws IllegalArgumentException if the arrival rate or duration is not positive
+   */
+  public LoadGenerator(
+      String serverHost, int serverPort, double arrivalsPerSecond, Duration duration) {
+    if (!(arrivalsPerSecond > 0)) {
+      throw new IllegalArgumentException("Arrival rate must be positive");
+    }
+    if (duration.isNegative() || duration.isZero()) {
+      throw new IllegalArgumentException("Duration must be positive");
+    }
+    this.serverHost = serverHost;
+    this.serverPort = serverPort;
+    this.arrivalsPerSecond = arrivalsPerSecond;
+    this.duration = duration;
+  }
+
+  /**
+   * Entry point for the load generator. Logs a percentile table and writes the machine-readable
+   * report to the given file, or to standard output if none is given.
+   *
+   * @param args the server host (default "localhost"), server port (default 9090), target arrivals
+   *     per second (default 100), duration in seconds (default 60) and an optional report file
+   * @throws Exception if the run is interrupted or the report cannot be written
+   */
+  public static void main(String[] args) throws Exception {
+    var generator =
+        new LoadGenerator(
+            args.length > 0 ? args[0] : "localhost",
+            args.length > 1 ? Integer.parseInt(args[1]) : 9090,
+            args.length > 2 ? Double.parseDouble(args[2]) : 100,
+            Duration.ofSeconds(args.length > 3 ? Long.parseLong(args[3]) : 60));
+    var report = generator.run();
+    log.log(Level.INFO, "Load generation finished:\n{0}", report.asText());
+    if (args.length > 4) {
+      Files.writeString(Path.of(args[4]), report.asJsonString());
+    } else {
+      System.out.println(report.asJsonString());
+    }
+  }
+
+  /**
+   * Runs the load generator, returning once every started client has finished its game.
+   *
+   * @return the report of the run
+   */
+  public LoadReport run() {
+    var report = new LoadReport(arrivalsPerSecond);
+    long intervalNanos = Math.max(1, (long) (1_000_000_000L / arrivalsPerSecond));
+    long totalArrivals = Math.max(1, (long) (arrivalsPerSecond * duration.toNanos() / 1e9));
+    log.log(
+        Level.INFO,
+        "Generating {0} arrivals at {1}/s against {2}:{3}",
+        totalArrivals,
+        arrivalsPerSecond,
+        serverHost,
+        String.valueOf(serverPort));
+    var threadFactory = Thread.ofVirtual().name("ttt-loadgen-", 1).factory();
+    long start = System.nanoTime();
+    try (var executor = Executors.newThreadPerTaskExecutor(threadFactory)) {
+      for (long n = 0; n < totalArrivals; n++) {
+        long intendedStart = start + n * intervalNanos;
+        awaitArrival(intendedStart);
+        report.recordArrival();
+        executor.execute(() -> playGame(intendedStart, report));
+      }
+      report.recordElapsed(Duration.ofNanos(System.nanoTime() - start));
+    }
+    return report;
+  }
+
+  private void playGame(long intendedStart, LoadReport report) {
+    try (var socket = new Socket(serverHost, serverPort)) {
+      report.record(LoadPhase.CONNECT, System.nanoTime() - intendedStart);
+      try (var client = newTimedClient(socket, report)) {
+        client.run();
+      }
+      report.record(LoadPhase.GAME_TOTAL, System.nanoTime() - intendedStart);
+      report.recordCompletion();
+    } catch (ServerBusyException e) {
+      report.recordRejection();
+      log.log(Level.DEBUG, "Load generated client rejected: {0}", e.getMessage());
+    } catch (Exception e) {
+      report.recordFailure();
+      log.log(Level.DEBUG, "Load generated client failed: {0}", e.getMessage());
+    }
+  }
+
+  private static TcpTransportClient<BotPlayer> newTimedClient(Socket socket, LoadReport report)
+      throws IOException {
+    return new TcpTransportClient<>(
+        new TimedMessageHandler(
+            new SecureKyberClient(
+                new DuplexMessageHandler(
+                    new ObjectOutputStream(socket.getOutputStream()),
+                    new ObjectInputStream(socket.getInputStream()))),
+            report),
+        new BotPlayer(BotStrategy.RANDOM));
+  }
+
+  private static void awaitArrival(long intendedStart) {
+    long remaining;
+    while ((remaining = intendedStart - System.nanoTime()) > 0) {
+      LockSupport.parkNanos(remaining);
+    }
+  }
+}
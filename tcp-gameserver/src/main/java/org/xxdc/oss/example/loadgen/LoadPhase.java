@@ -0,0 +1,28 @@
+package org.xxdc.oss.example.loadgen;
+
+/** The phases of a load-generated game client that are timed separately. */
+public enum LoadPhase {
+  /** From the intended arrival time until the socket is connected. */
+  CONNECT("connect"),
+  /** The secure handshake, including any time spent waiting to be matched with an opponent. */
+  HANDSHAKE("handshake"),
+  /** From sending a move until the server's next message is received. */
+  MOVE_ROUND_TRIP("moveRoundTrip"),
+  /** From the intended arrival time until the game has ended. */
+  GAME_TOTAL("gameTotal");
+
+  private final String jsonName;
+
+  LoadPhase(String jsonName) {
+    this.jsonName = jsonName;
+  }
+
+  /**
+   * Returns the name of this phase in the machine-readable report.
+   *
+   * @return the JSON field name
+   */
+  public String jsonName() {
+    return jsonName;
+  }
+}
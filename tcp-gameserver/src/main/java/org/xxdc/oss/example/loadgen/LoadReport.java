@@ -0,0 +1,220 @@
+package org.xxdc.oss.example.loadgen;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The results of a load generation run: arrival, completion and failure counts along with a latency
+ * histogram, in microseconds, for each {@link LoadPhase}. Recording is thread-safe.
+ */
+public final class LoadReport {
+
+  private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+
+  private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+  private final double targetArrivalsPerSecond;
+
+  private final Map<LoadPhase, LatencyHistogram> histograms = new EnumMap<>(LoadPhase.class);
+
+  private final LongAdder arrivals = new LongAdder();
+
+  private final LongAdder completed = new LongAdder();
+
+  private final LongAdder failed = new LongAdder();
+
+  private final LongAdder rejected = new LongAdder();
+
+  private volatile Duration elapsed = Duration.ZERO;
+
+  /**
+   * Constructs a new, empty report for a run at the given target arrival rate.
+   *
+   * @param targetArrivalsPerSecond the target arrival rate of the run
+   */
+  public LoadReport(double targetArrivalsPerSecond) {
+    this.targetArrivalsPerSecond = targetArrivalsPerSecond;
+    for (var phase : LoadPhase.values()) {
+      histograms.put(phase, new LatencyHistogram(HIGHEST_TRACKABLE_MICROS));
+    }
+  }
+
+  /**
+   * Records the duration of a phase.
+   *
+   * @param phase the phase
+   * @param nanos the duration of the phase in nanoseconds
+   */
+  public void record(LoadPhase phase, long nanos) {
+    histograms.get(phase).recordValue(TimeUnit.NANOSECONDS.toMicros(Math.max(0, nanos)));
+  }
+
+  /**
+   * Returns the latency histogram, in microseconds, of the given phase.
+   *
+   * @param phase the phase
+   * @return the histogram for the phase
+   */
+  public LatencyHistogram histogram(LoadPhase phase) {
+    return histograms.get(phase);
+  }
+
+  void recordArrival() {
+    arrivals.increment();
+  }
+
+  void recordCompletion() {
+    completed.increment();
+  }
+
+  void recordFailure() {
+    failed.increment();
+  }
+
+  void recordRejection() {
+    rejected.increment();
+  }
+
+  void recordElapsed(Duration elapsed) {
+    this.elapsed = elapsed;
+  }
+
+  /**
+   * Returns the number of clients started.
+   *
+   * @return the number of arrivals
+   */
+  public long arrivals() {
+    return arrivals.sum();
+  }
+
+  /**
+   * Returns the number of clients that played their game to the end.
+   *
+   * @return the number of completed clients
+   */
+  public long completed() {
+    return completed.sum();
+  }
+
+  /**
+   * Returns the number of clients that failed to connect or play their game.
+   *
+   * @return the number of failed clients
+   */
+  public long failed() {
+    return failed.sum();
+  }
+
+  /**
+   * Returns the number of clients the server rejected with a retry-after because it was at
+   * capacity.
+   *
+   * @return the number of rejected clients
+   */
+  public long rejected() {
+    return rejected.sum();
+  }
+
+  /**
+   * Returns the arrival rate actually achieved over the arrival window of the run.
+   *
+   * @return the achieved arrivals per second
+   */
+  public double achievedArrivalsPerSecond() {
+    long millis = elapsed.toMillis();
+    return millis == 0 ? 0 : arrivals() * 1000.0 / millis;
+  }
+
+  /**
+   * Formats the report as a single-line JSON document for use by tooling and regression gates.
+   *
+   * @return the machine-readable report
+   */
+  public String asJsonString() {
+    var phases = new StringJoiner(",", "{", "}");
+    for (var phase : LoadPhase.values()) {
+      var histogram = histograms.get(phase);
+      var fields = new StringJoiner(",", "{", "}");
+      fields.add("\"count\":" + histogram.count());
+      fields.add("\"min\":" + histogram.min());
+      fields.add(String.format(Locale.ROOT, "\"mean\":%.1f", histogram.mean()));
+      for (double percentile : PERCENTILES) {
+        fields.add(
+            "\"" + percentileName(percentile) + "\":" + histogram.valueAtPercentile(percentile));
+      }
+      fields.add("\"max\":" + histogram.max());
+      phases.add("\"" + phase.jsonName() + "\":" + fields);
+    }
+    return String.format(
+        Locale.ROOT,
+        "{\"version\":1,\"unit\":\"us\",\"targetRate\":%.2f,\"achievedRate\":%.2f,"
+            + "\"arrivalWindowMillis\":%d,\"arrivals\":%d,\"completed\":%d,\"failed\":%d,"
+            + "\"rejected\":%d,\"phases\":%s}",
+        targetArrivalsPerSecond,
+        achievedArrivalsPerSecond(),
+        elapsed.toMillis(),
+        arrivals(),
+        completed(),
+        failed(),
+        rejected(),
+        phases);
+  }
+
+  /**
+   * Formats the report as a human-readable percentile table, in milliseconds.
+   *
+   * @return the human-readable report
+   */
+  public String asText() {
+    var text = new StringBuilder();
+    text.append(
+        String.format(
+            Locale.ROOT,
+            "target %.2f/s, achieved %.2f/s, arrivals %d, completed %d, failed %d, rejected %d%n",
+            targetArrivalsPerSecond,
+            achievedArrivalsPerSecond(),
+            arrivals(),
+            completed(),
+            failed(),
+            rejected()));
+    text.append(
+        String.format(
+            Locale.ROOT,
+            "%-14s %8s %10s %10s %10s %10s %10s%n",
+            "phase (ms)",
+            "count",
+            "p50",
+            "p90",
+            "p99",
+            "p99.9",
+            "max"));
+    for (var phase : LoadPhase.values()) {
+      var histogram = histograms.get(phase);
+      text.append(
+          String.format(
+              Locale.ROOT,
+              "%-14s %8d %10.3f %10.3f %10.3f %10.3f %10.3f%n",
+              phase.jsonName(),
+              histogram.count(),
+              histogram.valueAtPercentile(50) / 1000.0,
+              histogram.valueAtPercentile(90) / 1000.0,
+              histogram.valueAtPercentile(99) / 1000.0,
+              histogram.valueAtPercentile(99.9) / 1000.0,
+              histogram.max() / 1000.0));
+    }
+    return text.toString();
+  }
+
+  private static String percentileName(double percentile) {
+    return "p"
+        + (percentile == Math.rint(percentile)
+            ? String.valueOf((long) percentile)
+            : String.valueOf(percentile).replace(".", ""));
+  }
+}
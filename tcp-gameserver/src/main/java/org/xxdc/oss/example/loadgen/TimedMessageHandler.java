@@ -0,0 +1,51 @@
+package org.xxdc.oss.example.loadgen;
+
+import java.io.IOException;
+import org.xxdc.oss.example.transport.MessageHandler;
+
+/**
+ * A {@link MessageHandler} decorator that times the handshake and the round trip from each sent
+ * move to the next message received from the server. Not thread-safe; each game client owns its own
+ * instance.
+ */
+final class TimedMessageHandler implements MessageHandler {
+
+  private final MessageHandler delegate;
+
+  private final LoadReport report;
+
+  private long sentAtNanos = -1;
+
+  TimedMessageHandler(MessageHandler delegate, LoadReport report) {
+    this.delegate = delegate;
+    this.report = report;
+  }
+
+  @Override
+  public void init() throws IOException {
+    long start = System.nanoTime();
+    delegate.init();
+    report.record(LoadPhase.HANDSHAKE, System.nanoTime() - start);
+  }
+
+  @Override
+  public void sendMessage(String message) throws IOException {
+    delegate.sendMessage(message);
+    sentAtNanos = System.nanoTime();
+  }
+
+  @Override
+  public String receiveMessage() throws IOException {
+    var message = delegate.receiveMessage();
+    if (sentAtNanos >= 0) {
+      report.record(LoadPhase.MOVE_ROUND_TRIP, System.nanoTime() - sentAtNanos);
+      sentAtNanos = -1;
+    }
+    return message;
+  }
+
+  @Override
+  public void close() throws Exception {
+    delegate.close();
+  }
+}
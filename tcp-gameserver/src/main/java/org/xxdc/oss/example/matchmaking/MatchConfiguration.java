@@ -0,0 +1,18 @@
+package org.xxdc.oss.example.matchmaking;
+
+/**
+ * The game configuration a player waits to be matched on. Players are only ever paired with other
+ * players waiting for an equal configuration.
+ *
+ * @param dimension the dimension of the game board
+ * @param botFallback whether a player left waiting past the matchmaking timeout is matched against
+ *     a bot instead of waiting indefinitely for another player
+ */
+public record MatchConfiguration(int dimension, boolean botFallback) {
+
+  public MatchConfiguration {
+    if (dimension <= 0) {
+      throw new IllegalArgumentException("Board dimension must be positive");
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package org.xxdc.oss.example.matchmaking;
+
+/**
+ * Receives the outcome of matchmaking for waiting players. Callbacks are dispatched onto the
+ * matchmaker's executor, so implementations may block for the duration of the game.
+ *
+ * @param <T> the type of the waiting player, e.g. an accepted client socket
+ */
+public interface MatchListener<T> {
+
+  /**
+   * Called when two players waiting for the same configuration have been paired.
+   *
+   * @param configuration the configuration both players were waiting for
+   * @param first the player that waited longest, to move first
+   * @param second the player whose arrival completed the match
+   */
+  void matched(MatchConfiguration configuration, T first, T second);
+
+  /**
+   * Called when a player has waited past the matchmaking timeout for a configuration that allows
+   * falling back to a bot opponent.
+   *
+   * @param configuration the configuration the player was waiting for
+   * @param waiting the player to be matched against a bot
+   */
+  void timedOut(MatchConfiguration configuration, T waiting);
+}
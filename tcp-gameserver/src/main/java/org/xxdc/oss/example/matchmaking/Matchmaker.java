@@ -0,0 +1,166 @@
+package org.xxdc.oss.example.matchmaking;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pairs waiting players by {@link MatchConfiguration} without blocking the caller. Each
+ * configuration has its own lock-free waiting slot: an arriving player either claims the player
+ * already waiting with a single compare-and-set and the match is dispatched, or takes the empty
+ * slot and waits. With two-player games a waiting queue never holds more than one player, since
+ * every subsequent arrival completes a match immediately.
+ *
+ * <p>For configurations that allow it, a player left waiting past the timeout is removed from its
+ * slot and handed to {@link MatchListener#timedOut} to play against a bot. Timeout and claim race
+ * on the same compare-and-set, so every player is either matched or timed out exactly once.
+ *
+ * <p>All listener callbacks run on the given executor, typically a virtual thread per task.
+ *
+ * @param <T> the type of the waiting player, e.g. an accepted client socket
+ */
+public final class Matchmaker<T> {
+
+  private static final Logger log = System.getLogger(Matchmaker.class.getName());
+
+  private final ConcurrentMap<MatchConfiguration, AtomicReference<Waiting<T>>> waiting =
+      new ConcurrentHashMap<>();
+
+  private final Duration waitTimeout;
+
+  private final Executor executor;
+
+  private final MatchListener<T> listener;
+
+  private final LongAdder matches = new LongAdder();
+
+  private final LongAdder botFallbacks = new LongAdder();
+
+  private final LongAdder totalWaitMillis = new LongAdder();
+
+  private final LongAccumulator maxWaitMillis = new LongAccumulator(Long::max, 0);
+
+  private record Waiting<T>(T player, long enqueuedAtNanos) {}
+
+  /**
+   * Constructs a new {@link Matchmaker}.
+   *
+   * @param waitTimeout how long a player waits for an opponent before falling back to a bot, for
+   *     configurations that allow it
+   * @param executor the executor to dispatch matches and timeouts onto
+   * @param listener the listener to notify of matches and timeouts
+   * @throws IllegalArgumentException if the wait timeout is not positive
+   */
+  public Matchmaker(Duration waitTimeout, Executor executor, MatchListener<T> listener) {
+    if (waitTimeout.isNegative() || waitTimeout.isZero()) {
+      throw new IllegalArgumentException("Wait timeout must be positive");
+    }
+    this.waitTimeout = waitTimeout;
+    this.executor = executor;
+    this.listener = listener;
+  }
+
+  /**
+   * Enqueues a player to be matched with another player waiting for the same configuration. Returns
+   * immediately; the outcome is delivered to the listener on the executor.
+   *
+   * @param configuration the configuration the player wants to play
+   * @param player the player to match
+   */
+  public void enqueue(MatchConfiguration configuration, T player) {
+    var slot = waiting.computeIfAbsent(configuration, c -> new AtomicReference<>());
+    var arrival = new Waiting<>(player, System.nanoTime());
+    while (true) {
+      var current = slot.get();
+      if (current == null) {
+        if (slot.compareAndSet(null, arrival)) {
+          log.log(Level.DEBUG, "Player waiting for a match on {0}.", configuration);
+          scheduleTimeout(configuration, slot, arrival);
+          return;
+        }
+      } else if (slot.compareAndSet(current, null)) {
+        matches.increment();
+        recordWait(current);
+        executor.execute(() -> listener.matched(configuration, current.player(), player));
+        return;
+      }
+    }
+  }
+
+  /**
+   * Returns the number of players currently waiting for a match across all configurations.
+   *
+   * @return the number of waiting players
+   */
+  public int waitingPlayers() {
+    return (int) waiting.values().stream().filter(slot -> slot.get() != null).count();
+  }
+
+  /**
+   * Returns the number of player pairs matched.
+   *
+   * @return the number of matches
+   */
+  public long matches() {
+    return matches.sum();
+  }
+
+  /**
+   * Returns the number of players that timed out waiting and fell back to a bot opponent.
+   *
+   * @return the number of bot fallbacks
+   */
+  public long botFallbacks() {
+    return botFallbacks.sum();
+  }
+
+  /**
+   * Returns the longest time a player waited before being matched or timing out.
+   *
+   * @return the maximum pairing latency in milliseconds
+   */
+  public long maxWaitMillis() {
+    return maxWaitMillis.get();
+  }
+
+  /**
+   * Returns the mean time a player waited before being matched or timing out.
+   *
+   * @return the mean pairing latency in milliseconds, or 0 if no player has waited
+   */
+  public double averageWaitMillis() {
+    long waits = matches.sum() + botFallbacks.sum();
+    return waits == 0 ? 0 : (double) totalWaitMillis.sum() / waits;
+  }
+
+  private void scheduleTimeout(
+      MatchConfiguration configuration, AtomicReference<Waiting<T>> slot, Waiting<T> arrival) {
+    if (!configuration.botFallback()) {
+      return;
+    }
+    CompletableFuture.delayedExecutor(waitTimeout.toMillis(), TimeUnit.MILLISECONDS, executor)
+        .execute(
+            () -> {
+              if (slot.compareAndSet(arrival, null)) {
+                botFallbacks.increment();
+                recordWait(arrival);
+                log.log(Level.DEBUG, "Player timed out waiting for a match on {0}.", configuration);
+                listener.timedOut(configuration, arrival.player());
+              }
+            });
+  }
+
+  private void recordWait(Waiting<T> waited) {
+    long waitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - waited.enqueuedAtNanos());
+    totalWaitMillis.add(waitMillis);
+    maxWaitMillis.accumulate(waitMillis);
+  }
+}
@@ -0,0 +1,154 @@
+package org.xxdc.oss.example.security;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A pool of pre-generated key pairs, kept topped up by a dedicated platform thread so that
+ * expensive key generation (e.g. ML-KEM lattice key generation) happens off the connection path.
+ *
+ * <p>The worker fills the pool to its capacity, then sleeps until the number of available key pairs
+ * drops to the refill threshold. When the pool is empty, {@link #take()} falls back to generating a
+ * key pair inline on the caller's thread and records a miss.
+ *
+ * <p>Each key pair is handed out at most once. The pool is thread-safe.
+ */
+public final class KeyPairPool implements AutoCloseable {
+
+  private static final Logger log = System.getLogger(KeyPairPool.class.getName());
+
+  private final String algorithm;
+
+  private final int refillThreshold;
+
+  private final BlockingQueue<KeyPair> keyPairs;
+
+  private final Thread worker;
+
+  private final Object refillSignal = new Object();
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  private volatile boolean closed = false;
+
+  /**
+   * Constructs a new {@link KeyPairPool} for the given algorithm and starts its refill worker.
+   *
+   * @param algorithm the key pair generator algorithm, e.g. "ML-KEM-1024"
+   * @param capacity the maximum number of pre-generated key pairs to hold
+   * @param refillThreshold the number of available key pairs at or below which the worker refills
+   *     the pool
+   * @throws IllegalArgumentException if the capacity is not positive or the threshold is not within
+   *     [0, capacity)
+   */
+  public KeyPairPool(String algorithm, int capacity, int refillThreshold) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive");
+    }
+    if (refillThreshold < 0 || refillThreshold >= capacity) {
+      throw new IllegalArgumentException("Refill threshold must be within [0, " + capacity + ")");
+    }
+    this.algorithm = algorithm;
+    this.refillThreshold = refillThreshold;
+    this.keyPairs = new ArrayBlockingQueue<>(capacity);
+    this.worker =
+        Thread.ofPlatform()
+            .name("ttt-keypair-pool-" + algorithm)
+            .daemon()
+            .unstarted(this::refillUntilClosed);
+    this.worker.start();
+  }
+
+  /**
+   * Takes a pre-generated key pair from the pool, or generates one inline if the pool is empty.
+   *
+   * @return a key pair that has not been handed out before
+   * @throws NoSuchAlgorithmException if the algorithm is not available
+   */
+  public KeyPair take() throws NoSuchAlgorithmException {
+    var keyPair = keyPairs.poll();
+    if (keyPairs.size() <= refillThreshold) {
+      signalRefill();
+    }
+    if (keyPair != null) {
+      hits.increment();
+      return keyPair;
+    }
+    misses.increment();
+    return KeyPairGenerator.getInstance(algorithm).generateKeyPair();
+  }
+
+  /**
+   * Returns the number of key pairs served from the pool.
+   *
+   * @return the number of pool hits
+   */
+  public long hits() {
+    return hits.sum();
+  }
+
+  /**
+   * Returns the number of key pairs generated inline because the pool was empty.
+   *
+   * @return the number of pool misses
+   */
+  public long misses() {
+    return misses.sum();
+  }
+
+  /**
+   * Returns the number of pre-generated key pairs currently available.
+   *
+   * @return the number of available key pairs
+   */
+  public int available() {
+    return keyPairs.size();
+  }
+
+  /** Stops the refill worker and discards any pre-generated key pairs. */
+  @Override
+  public void close() {
+    closed = true;
+    worker.interrupt();
+    keyPairs.clear();
+  }
+
+  private void refillUntilClosed() {
+    try {
+      var keyPairGen = KeyPairGenerator.getInstance(algorithm);
+      while (!closed) {
+        while (!closed && keyPairs.remainingCapacity() > 0) {
+          keyPairs.offer(keyPairGen.generateKeyPair());
+        }
+        log.log(Level.DEBUG, "Key pair pool for {0} filled to {1}.", algorithm, keyPairs.size());
+        awaitRefillSignal();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (NoSuchAlgorithmException e) {
+      log.log(Level.ERROR, "Unable to pre-generate {0} key pairs: {1}", algorithm, e.getMessage());
+    }
+  }
+
+  private void awaitRefillSignal() throws InterruptedException {
+    synchronized (refillSignal) {
+      while (!closed && keyPairs.size() > refillThreshold) {
+        refillSignal.wait();
+      }
+    }
+  }
+
+  private void signalRefill() {
+    synchronized (refillSignal) {
+      refillSignal.notifyAll();
+    }
+  }
+}
@@ -10,6 +10,7 @@ import javax.crypto.SecretKey;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.bouncycastle.pqc.jcajce.provider.BouncyCastlePQCProvider;
 import org.bouncycastle.pqc.jcajce.spec.KyberParameterSpec;
+import org.xxdc.oss.example.security.KeyPairPool;
 import org.xxdc.oss.example.security.KyberKEMProvider;
 
 /**
@@ -17,12 +18,17 @@ import org.xxdc.oss.example.security.KyberKEMProvider;
  * class extends the `SecureMessageHandler` class and is responsible for initializing the secure
  * channel, exchanging the shared secret key with the client, and providing methods for sending and
  * receiving encrypted messages uses non-JDK Kyber for PQC.
+ *
+ * <p>When constructed with a {@link KeyPairPool}, key pairs are drawn from the pool rather than
+ * generated on the connection's thread.
  */
 public final class SecureBouncyCastleKyberServer extends SecureDuplexMessageHandler {
 
   private static final System.Logger log =
       System.getLogger(MethodHandles.lookup().lookupClass().getName());
 
+  private final KeyPairPool keyPairPool;
+
   private void registerSecurityProviders() {
     Security.addProvider(new BouncyCastleProvider());
     Security.addProvider(new BouncyCastlePQCProvider());
@@ -36,7 +42,22 @@ public final class SecureBouncyCastleKyberServer extends SecureDuplexMessageHand
    *     messages
    */
   public SecureBouncyCastleKyberServer(DuplexMessageHandler remoteMessageHandler) {
+    this(remoteMessageHandler, null);
+  }
+
+  /**
+   * Constructs a new `SecureServerMessageHandler` instance with the given `RemoteMessageHandler`
+   * that draws Kyber key pairs from the given pool.
+   *
+   * @param remoteMessageHandler the `RemoteMessageHandler` to use for sending and receiving
+   *     messages
+   * @param keyPairPool the pool of pre-generated Kyber key pairs, or null to generate key pairs
+   *     inline
+   */
+  public SecureBouncyCastleKyberServer(
+      DuplexMessageHandler remoteMessageHandler, KeyPairPool keyPairPool) {
     super(remoteMessageHandler);
+    this.keyPairPool = keyPairPool;
     registerSecurityProviders();
   }
 
@@ -107,13 +128,17 @@ public final class SecureBouncyCastleKyberServer extends SecureDuplexMessageHand
   }
 
   /**
-   * Generates a new Kyber key pair and publishes the public key to the client.
+   * Generates a new Kyber key pair, or takes a pre-generated one from the key pair pool if
+   * configured.
    *
    * @return the generated key pair
    * @throws NoSuchAlgorithmException if the specified algorithm is not available
    * @throws IOException if there is an error during the key publication process
    */
   private KeyPair generateKeyPair() throws NoSuchAlgorithmException, IOException {
+    if (keyPairPool != null) {
+      return keyPairPool.take();
+    }
     var keyPairGen = KeyPairGenerator.getInstance("Kyber");
     return keyPairGen.generateKeyPair();
   }
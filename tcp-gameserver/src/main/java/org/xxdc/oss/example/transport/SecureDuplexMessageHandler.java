@@ -30,6 +30,18 @@ public abstract class SecureDuplexMessageHandler implements MessageHandler {
 
   protected boolean initialized = false;
 
+  protected boolean resumed = false;
+
+  /** Handshake reply indicating that a full key encapsulation exchange follows. */
+  protected static final byte FULL_HANDSHAKE = 0;
+
+  /** Handshake reply indicating that the session was resumed from a session ticket. */
+  protected static final byte SESSION_RESUMED = 1;
+
+  private static final int RESUMPTION_NONCE_LENGTH = 32;
+
+  private final SecureRandom random = new SecureRandom();
+
   public SecureDuplexMessageHandler(DuplexMessageHandler handler) {
     this.handler = handler;
   }
@@ -151,6 +163,71 @@ public abstract class SecureDuplexMessageHandler implements MessageHandler {
     handler.close();
   }
 
+  /**
+   * Returns whether this session was resumed from a session ticket rather than established through
+   * a full key encapsulation exchange.
+   *
+   * @return true if the session was resumed, false otherwise
+   */
+  public boolean isResumed() {
+    return resumed;
+  }
+
+  /**
+   * Derives the resumption secret for the current session from the shared secret using HKDF. The
+   * resumption secret is sealed into session tickets and never used directly as a traffic key.
+   *
+   * @return the resumption secret
+   * @throws NoSuchAlgorithmException if HKDF-SHA256 is not available
+   * @throws InvalidAlgorithmParameterException if the HKDF parameters are invalid
+   */
+  protected SecretKey deriveResumptionSecret()
+      throws NoSuchAlgorithmException, InvalidAlgorithmParameterException {
+    KDF hkdf = KDF.getInstance("HKDF-SHA256");
+    byte[] info = "oe-ttt:resumption:v1".getBytes();
+    var params = HKDFParameterSpec.ofExtract().addIKM(sharedKey.getEncoded()).thenExpand(info, 32);
+    return hkdf.deriveKey("Generic", params);
+  }
+
+  /**
+   * Derives a fresh shared secret for a resumed session from the resumption secret and the nonces
+   * contributed by both sides, so that no two resumed sessions share traffic keys. The AES key is
+   * then derived from this secret exactly as for a full handshake.
+   *
+   * @param resumptionSecret the resumption secret carried by the session ticket
+   * @param clientNonce the client's nonce
+   * @param serverNonce the server's nonce
+   * @return the shared secret for the resumed session
+   * @throws NoSuchAlgorithmException if HKDF-SHA256 is not available
+   * @throws InvalidAlgorithmParameterException if the HKDF parameters are invalid
+   */
+  protected SecretKey deriveResumedSharedKey(
+      SecretKey resumptionSecret, byte[] clientNonce, byte[] serverNonce)
+      throws NoSuchAlgorithmException, InvalidAlgorithmParameterException {
+    KDF hkdf = KDF.getInstance("HKDF-SHA256");
+    byte[] salt = new byte[clientNonce.length + serverNonce.length];
+    System.arraycopy(clientNonce, 0, salt, 0, clientNonce.length);
+    System.arraycopy(serverNonce, 0, salt, clientNonce.length, serverNonce.length);
+    byte[] info = "oe-ttt:resumed:v1".getBytes();
+    var params =
+        HKDFParameterSpec.ofExtract()
+            .addSalt(salt)
+            .addIKM(resumptionSecret.getEncoded())
+            .thenExpand(info, 32);
+    return hkdf.deriveKey("Generic", params);
+  }
+
+  /**
+   * Returns a new random nonce for contributing to a resumed session's shared secret.
+   *
+   * @return the nonce
+   */
+  protected byte[] newResumptionNonce() {
+    var nonce = new byte[RESUMPTION_NONCE_LENGTH];
+    random.nextBytes(nonce);
+    return nonce;
+  }
+
   private Cipher newCipherInstance()
       throws NoSuchAlgorithmException, NoSuchProviderException, NoSuchPaddingException {
     return Cipher.getInstance("AES/GCM/NoPadding");
@@ -3,6 +3,7 @@ package org.xxdc.oss.example.transport;
 import java.io.IOException;
 import java.lang.invoke.MethodHandles;
 import java.security.*;
+import java.util.Optional;
 import javax.crypto.KEM;
 import javax.crypto.SecretKey;
 
@@ -11,19 +12,37 @@ import javax.crypto.SecretKey;
  * class extends the `SecureMessageHandler` class and is responsible for initializing the secure
  * channel, exchanging the shared secret key with the server, and providing methods for sending and
  * receiving encrypted messages. Uses ML-KEM (Kyber) for PQC.
+ *
+ * <p>When constructed with a {@link SessionTicketStore}, the client presents any held session
+ * ticket to resume the previous session without an ML-KEM encapsulation, and stores the ticket
+ * issued by the server for the next connection.
  */
 public final class SecureKyberClient extends SecureDuplexMessageHandler {
 
   private static final System.Logger log =
       System.getLogger(MethodHandles.lookup().lookupClass().getName());
 
+  private final SessionTicketStore ticketStore;
+
   /**
    * Constructs a new `SecureClientMessageHandler` instance with the given `RemoteMessageHandler`.
    *
    * @param handler the `RemoteMessageHandler` to use for the secure communication channel
    */
   public SecureKyberClient(DuplexMessageHandler handler) {
+    this(handler, null);
+  }
+
+  /**
+   * Constructs a new `SecureClientMessageHandler` instance with the given `RemoteMessageHandler`
+   * that resumes sessions using tickets held in the given store.
+   *
+   * @param handler the `RemoteMessageHandler` to use for the secure communication channel
+   * @param ticketStore the store of session tickets, or null to always perform a full handshake
+   */
+  public SecureKyberClient(DuplexMessageHandler handler, SessionTicketStore ticketStore) {
     super(handler);
+    this.ticketStore = ticketStore;
   }
 
   /**
@@ -41,13 +60,16 @@ public final class SecureKyberClient extends SecureDuplexMessageHandler {
           System.Logger.Level.DEBUG,
           "Initializing secure channel for {0}. Exchanging shared key...",
           getClass().getSimpleName());
-      sharedKey = exchangeSharedKey();
+      var ticket = ticketStore != null ? ticketStore.take() : Optional.<SessionTicket>empty();
+      sharedKey = resumeOrExchangeSharedKey(ticket);
       initialized = true;
+      receiveSessionTicket();
       log.log(
           System.Logger.Level.DEBUG,
-          "Secure connection for {0} established with {1} shared key.",
+          "Secure connection for {0} established with {1} shared key (resumed: {2}).",
           getClass().getSimpleName(),
-          sharedKey.getAlgorithm());
+          sharedKey.getAlgorithm(),
+          resumed);
     } catch (ClassNotFoundException
         | IOException
         | NoSuchAlgorithmException
@@ -59,6 +81,59 @@ public final class SecureKyberClient extends SecureDuplexMessageHandler {
     }
   }
 
+  /**
+   * Sends the client's hello, presenting the given session ticket if any, and resumes the session
+   * if the server accepts it, otherwise falls back to a full ML-KEM key exchange.
+   *
+   * @param ticket the session ticket to present, if any
+   * @return the shared secret key
+   * @throws IOException if there is an error communicating with the server
+   * @throws ClassNotFoundException if the remote public key class cannot be found
+   * @throws NoSuchAlgorithmException if the specified key exchange algorithm is not available
+   * @throws NoSuchProviderException if the specified cryptographic provider is not available
+   * @throws InvalidKeyException if the remote public key is invalid
+   * @throws InvalidAlgorithmParameterException if the key exchange parameters are invalid
+   */
+  private SecretKey resumeOrExchangeSharedKey(Optional<SessionTicket> ticket)
+      throws NoSuchAlgorithmException,
+          NoSuchProviderException,
+          ClassNotFoundException,
+          IOException,
+          InvalidAlgorithmParameterException,
+          InvalidKeyException {
+    byte[] clientNonce = null;
+    if (ticket.isPresent()) {
+      clientNonce = newResumptionNonce();
+      handler.sendBytes(ticket.get().ticket());
+      handler.sendBytes(clientNonce);
+    } else {
+      handler.sendBytes(new byte[0]);
+    }
+    var reply = handler.receiveBytes();
+    if (ticket.isPresent() && reply.length == 1 && reply[0] == SESSION_RESUMED) {
+      var serverNonce = handler.receiveBytes();
+      resumed = true;
+      return deriveResumedSharedKey(ticket.get().resumptionSecret(), clientNonce, serverNonce);
+    }
+    return exchangeSharedKey();
+  }
+
+  /**
+   * Receives the session ticket issued by the server for the established session and holds it for
+   * the next connection. Servers that do not support resumption issue an empty ticket.
+   *
+   * @throws IOException if there is an error receiving the ticket
+   * @throws NoSuchAlgorithmException if HKDF-SHA256 is not available
+   * @throws InvalidAlgorithmParameterException if the HKDF parameters are invalid
+   */
+  private void receiveSessionTicket()
+      throws IOException, NoSuchAlgorithmException, InvalidAlgorithmParameterException {
+    var ticket = handler.receiveBytes();
+    if (ticket.length > 0 && ticketStore != null) {
+      ticketStore.store(new SessionTicket(ticket, deriveResumptionSecret()));
+    }
+  }
+
   /**
    * Initializes the secure message handler by exchanging a shared key with the remote party. This
    * method is called on the sender side to set up the secure communication channel.
@@ -4,21 +4,34 @@ import java.io.IOException;
 import java.lang.invoke.MethodHandles;
 import java.security.*;
 import java.security.spec.InvalidParameterSpecException;
+import java.util.Optional;
 import javax.crypto.DecapsulateException;
 import javax.crypto.KEM;
 import javax.crypto.SecretKey;
+import org.xxdc.oss.example.security.KeyPairPool;
 
 /**
  * Represents a secure message handler for the server side of a secure communication channel. This
  * class extends the `SecureMessageHandler` class and is responsible for initializing the secure
  * channel, exchanging the shared secret key with the client, and providing methods for sending and
  * receiving encrypted messages uses ML-KEM (Kyber) for PQC.
+ *
+ * <p>When constructed with a {@link SessionTicketIssuer}, the server issues a session ticket after
+ * each handshake and accepts tickets presented by reconnecting clients, skipping the ML-KEM key
+ * generation and decapsulation for resumed sessions.
+ *
+ * <p>When constructed with a {@link KeyPairPool}, key pairs for full handshakes are drawn from the
+ * pool rather than generated on the connection's thread.
  */
 public final class SecureKyberServer extends SecureDuplexMessageHandler {
 
   private static final System.Logger log =
       System.getLogger(MethodHandles.lookup().lookupClass().getName());
 
+  private final SessionTicketIssuer ticketIssuer;
+
+  private final KeyPairPool keyPairPool;
+
   /**
    * Constructs a new `SecureServerMessageHandler` instance with the given `RemoteMessageHandler`.
    *
@@ -26,7 +39,40 @@ public final class SecureKyberServer extends SecureDuplexMessageHandler {
    *     messages
    */
   public SecureKyberServer(DuplexMessageHandler remoteMessageHandler) {
+    this(remoteMessageHandler, null);
+  }
+
+  /**
+   * Constructs a new `SecureServerMessageHandler` instance with the given `RemoteMessageHandler`
+   * that issues and redeems session tickets with the given issuer.
+   *
+   * @param remoteMessageHandler the `RemoteMessageHandler` to use for sending and receiving
+   *     messages
+   * @param ticketIssuer the issuer of session tickets, or null to always perform a full handshake
+   */
+  public SecureKyberServer(
+      DuplexMessageHandler remoteMessageHandler, SessionTicketIssuer ticketIssuer) {
+    this(remoteMessageHandler, ticketIssuer, null);
+  }
+
+  /**
+   * Constructs a new `SecureServerMessageHandler` instance with the given `RemoteMessageHandler`
+   * that issues and redeems session tickets with the given issuer and draws ML-KEM key pairs from
+   * the given pool.
+   *
+   * @param remoteMessageHandler the `RemoteMessageHandler` to use for sending and receiving
+   *     messages
+   * @param ticketIssuer the issuer of session tickets, or null to always perform a full handshake
+   * @param keyPairPool the pool of pre-generated ML-KEM-1024 key pairs, or null to generate key
+   *     pairs inline
+   */
+  public SecureKyberServer(
+      DuplexMessageHandler remoteMessageHandler,
+      SessionTicketIssuer ticketIssuer,
+      KeyPairPool keyPairPool) {
     super(remoteMessageHandler);
+    this.ticketIssuer = ticketIssuer;
+    this.keyPairPool = keyPairPool;
   }
 
   /**
@@ -43,13 +89,15 @@ public final class SecureKyberServer extends SecureDuplexMessageHandler {
           System.Logger.Level.DEBUG,
           "Initializing secure channel for {0}. Exchanging shared key...",
           getClass().getSimpleName());
-      sharedKey = exchangeSharedKey();
+      sharedKey = resumeOrExchangeSharedKey();
       initialized = true;
+      issueSessionTicket();
       log.log(
           System.Logger.Level.DEBUG,
-          "Secure connection for {0} established with {1} shared key.",
+          "Secure connection for {0} established with {1} shared key (resumed: {2}).",
           getClass().getSimpleName(),
-          sharedKey.getAlgorithm());
+          sharedKey.getAlgorithm(),
+          resumed);
     } catch (NoSuchAlgorithmException
         | NoSuchProviderException
         | InvalidParameterSpecException
@@ -61,6 +109,58 @@ public final class SecureKyberServer extends SecureDuplexMessageHandler {
     }
   }
 
+  /**
+   * Receives the client's hello and resumes the session from the presented session ticket if it can
+   * be redeemed, otherwise falls back to a full ML-KEM key exchange.
+   *
+   * @return the shared secret key
+   * @throws NoSuchAlgorithmException if the specified algorithm is not available
+   * @throws IOException if there is an error during the key exchange process
+   * @throws NoSuchProviderException if the specified provider is not available
+   * @throws InvalidParameterSpecException if the parameter specification is invalid
+   * @throws InvalidAlgorithmParameterException if the algorithm parameters are invalid
+   * @throws InvalidKeyException if the key is invalid
+   * @throws DecapsulateException if there is an error during the decapsulation process
+   */
+  private SecretKey resumeOrExchangeSharedKey()
+      throws NoSuchAlgorithmException,
+          IOException,
+          NoSuchProviderException,
+          InvalidParameterSpecException,
+          InvalidAlgorithmParameterException,
+          InvalidKeyException,
+          DecapsulateException {
+    var ticket = handler.receiveBytes();
+    if (ticket.length > 0) {
+      var clientNonce = handler.receiveBytes();
+      Optional<SecretKey> resumptionSecret =
+          ticketIssuer != null ? ticketIssuer.redeem(ticket) : Optional.empty();
+      if (resumptionSecret.isPresent()) {
+        var serverNonce = newResumptionNonce();
+        handler.sendBytes(new byte[] {SESSION_RESUMED});
+        handler.sendBytes(serverNonce);
+        resumed = true;
+        return deriveResumedSharedKey(resumptionSecret.get(), clientNonce, serverNonce);
+      }
+    }
+    handler.sendBytes(new byte[] {FULL_HANDSHAKE});
+    return exchangeSharedKey();
+  }
+
+  /**
+   * Issues a session ticket for the established session, or an empty ticket if this server does not
+   * support resumption.
+   *
+   * @throws IOException if there is an error sending the ticket
+   * @throws NoSuchAlgorithmException if HKDF-SHA256 is not available
+   * @throws InvalidAlgorithmParameterException if the HKDF parameters are invalid
+   */
+  private void issueSessionTicket()
+      throws IOException, NoSuchAlgorithmException, InvalidAlgorithmParameterException {
+    handler.sendBytes(
+        ticketIssuer != null ? ticketIssuer.issue(deriveResumptionSecret()) : new byte[0]);
+  }
+
   /**
    * Exchanges the shared secret key with the client using the ML-KEM key encapsulation mechanism
    * (KEM).
@@ -92,13 +192,17 @@ public final class SecureKyberServer extends SecureDuplexMessageHandler {
   }
 
   /**
-   * Generates a new ML-KEM key pair and publishes the public key to the client.
+   * Generates a new ML-KEM key pair, or takes a pre-generated one from the key pair pool if
+   * configured.
    *
    * @return the generated key pair
    * @throws NoSuchAlgorithmException if the specified algorithm is not available
    * @throws IOException if there is an error during the key publication process
    */
   private KeyPair generateKeyPair() throws NoSuchAlgorithmException, IOException {
+    if (keyPairPool != null) {
+      return keyPairPool.take();
+    }
     var keyPairGen = KeyPairGenerator.getInstance("ML-KEM-1024");
     return keyPairGen.generateKeyPair();
   }
@@ -0,0 +1,13 @@
+package org.xxdc.oss.example.transport;
+
+import javax.crypto.SecretKey;
+
+/**
+ * A session ticket held by a client for resuming a secure session without a key encapsulation round
+ * trip. The ticket itself is opaque to the client; the resumption secret is derived locally from
+ * the handshake that produced it.
+ *
+ * @param ticket the opaque, server-sealed ticket to present on reconnect
+ * @param resumptionSecret the resumption secret shared with the server
+ */
+public record SessionTicket(byte[] ticket, SecretKey resumptionSecret) {}
@@ -0,0 +1,202 @@
+package org.xxdc.oss.example.transport;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.InstantSource;
+import java.util.Optional;
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Issues and redeems encrypted session tickets for secure session resumption. A ticket carries the
+ * resumption secret of a completed handshake, sealed with AES-GCM under a server-held ticket key
+ * that rotates on a fixed interval. Tickets sealed under the current or immediately previous key
+ * are accepted until their lifetime expires; anything else falls back to a full handshake.
+ *
+ * <p>Ticket layout: {@code keyId (4) | iv (12) | AES-GCM(issuedAt (8) | resumptionSecret)}, with
+ * the key id bound as additional authenticated data.
+ *
+ * <p>A single instance is intended to be shared by all server connections and is thread-safe.
+ */
+public final class SessionTicketIssuer {
+
+  private static final Logger log = System.getLogger(SessionTicketIssuer.class.getName());
+
+  private static final Duration DEFAULT_ROTATION_INTERVAL = Duration.ofHours(1);
+
+  private static final Duration DEFAULT_TICKET_LIFETIME = Duration.ofHours(1);
+
+  private static final int IV_LENGTH = 12;
+
+  private static final int TAG_LENGTH_BITS = 128;
+
+  private final SecureRandom random = new SecureRandom();
+
+  private final Duration rotationInterval;
+
+  private final Duration ticketLifetime;
+
+  private final InstantSource clock;
+
+  private volatile TicketKey currentKey;
+
+  private volatile TicketKey previousKey;
+
+  private record TicketKey(int id, SecretKey key, long createdAtMillis) {}
+
+  /** Constructs a new issuer with an hourly key rotation and a one hour ticket lifetime. */
+  public SessionTicketIssuer() {
+    this(DEFAULT_ROTATION_INTERVAL, DEFAULT_TICKET_LIFETIME);
+  }
+
+  /**
+   * Constructs a new issuer with the given key rotation interval and ticket lifetime.
+   *
+   * @param rotationInterval how long a ticket key is used to seal new tickets
+   * @param ticketLifetime how long an issued ticket remains redeemable
+   */
+  public SessionTicketIssuer(Duration rotationInterval, Duration ticketLifetime) {
+    this(rotationInterval, ticketLifetime, InstantSource.system());
+  }
+
+  SessionTicketIssuer(Duration rotationInterval, Duration ticketLifetime, InstantSource clock) {
+    if (rotationInterval.isNegative() || rotationInterval.isZero()) {
+      throw new IllegalArgumentException("Rotation interval must be positive");
+    }
+    if (ticketLifetime.isNegative() || ticketLifetime.isZero()) {
+      throw new IllegalArgumentException("Ticket lifetime must be positive");
+    }
+    this.rotationInterval = rotationInterval;
+    this.ticketLifetime = ticketLifetime;
+    this.clock = clock;
+    this.currentKey = newTicketKey(random.nextInt(), clock.millis());
+  }
+
+  /**
+   * Seals the given resumption secret into a new session ticket.
+   *
+   * @param resumptionSecret the resumption secret of the completed handshake
+   * @return the opaque ticket to hand to the client
+   * @throws IllegalArgumentException if the ticket cannot be sealed
+   */
+  public byte[] issue(SecretKey resumptionSecret) {
+    long now = clock.millis();
+    var ticketKey = rotateIfDue(now);
+    try {
+      var secret = resumptionSecret.getEncoded();
+      var plaintext = ByteBuffer.allocate(Long.BYTES + secret.length).putLong(now).put(secret);
+      var iv = new byte[IV_LENGTH];
+      random.nextBytes(iv);
+      var cipher = Cipher.getInstance("AES/GCM/NoPadding");
+      cipher.init(Cipher.ENCRYPT_MODE, ticketKey.key(), new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+      cipher.updateAAD(keyIdBytes(ticketKey.id()));
+      var ciphertext = cipher.doFinal(plaintext.array());
+      return ByteBuffer.allocate(Integer.BYTES + IV_LENGTH + ciphertext.length)
+          .putInt(ticketKey.id())
+          .put(iv)
+          .put(ciphertext)
+          .array();
+    } catch (GeneralSecurityException e) {
+      throw new IllegalArgumentException(
+          "Invalid security configuration whilst issuing session ticket: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Opens the given session ticket, returning its resumption secret if the ticket was sealed by
+   * this issuer under a key that is still held and has not expired.
+   *
+   * @param ticket the opaque ticket presented by the client
+   * @return the resumption secret, or {@link Optional#empty()} if the ticket cannot be redeemed
+   */
+  public Optional<SecretKey> redeem(byte[] ticket) {
+    if (ticket == null || ticket.length <= Integer.BYTES + IV_LENGTH) {
+      return Optional.empty();
+    }
+    long now = clock.millis();
+    rotateIfDue(now);
+    var buffer = ByteBuffer.wrap(ticket);
+    int keyId = buffer.getInt();
+    var ticketKey = ticketKeyFor(keyId);
+    if (ticketKey == null) {
+      log.log(Level.DEBUG, "Session ticket key {0} is no longer held.", keyId);
+      return Optional.empty();
+    }
+    var iv = new byte[IV_LENGTH];
+    buffer.get(iv);
+    var ciphertext = new byte[buffer.remaining()];
+    buffer.get(ciphertext);
+    try {
+      var cipher = Cipher.getInstance("AES/GCM/NoPadding");
+      cipher.init(Cipher.DECRYPT_MODE, ticketKey.key(), new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+      cipher.updateAAD(keyIdBytes(keyId));
+      var plaintext = ByteBuffer.wrap(cipher.doFinal(ciphertext));
+      long issuedAt = plaintext.getLong();
+      if (now - issuedAt >= ticketLifetime.toMillis()) {
+        log.log(Level.DEBUG, "Session ticket issued at {0} has expired.", issuedAt);
+        return Optional.empty();
+      }
+      var secret = new byte[plaintext.remaining()];
+      plaintext.get(secret);
+      return Optional.of(new SecretKeySpec(secret, "Generic"));
+    } catch (AEADBadTagException e) {
+      log.log(Level.DEBUG, "Session ticket failed authentication.");
+      return Optional.empty();
+    } catch (GeneralSecurityException e) {
+      throw new IllegalArgumentException(
+          "Invalid security configuration whilst redeeming session ticket: " + e.getMessage(), e);
+    }
+  }
+
+  private TicketKey ticketKeyFor(int keyId) {
+    var current = currentKey;
+    if (current.id() == keyId) {
+      return current;
+    }
+    var previous = previousKey;
+    if (previous != null && previous.id() == keyId) {
+      return previous;
+    }
+    return null;
+  }
+
+  private TicketKey rotateIfDue(long now) {
+    var current = currentKey;
+    if (now - current.createdAtMillis() < rotationInterval.toMillis()) {
+      return current;
+    }
+    synchronized (this) {
+      current = currentKey;
+      if (now - current.createdAtMillis() >= rotationInterval.toMillis()) {
+        previousKey = current;
+        current = newTicketKey(current.id() + 1, now);
+        currentKey = current;
+        log.log(Level.DEBUG, "Rotated session ticket key to {0}.", current.id());
+      }
+      return current;
+    }
+  }
+
+  private static TicketKey newTicketKey(int id, long createdAtMillis) {
+    try {
+      var keyGenerator = KeyGenerator.getInstance("AES");
+      keyGenerator.init(256);
+      return new TicketKey(id, keyGenerator.generateKey(), createdAtMillis);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalArgumentException(
+          "Invalid security configuration whilst generating ticket key: " + e.getMessage(), e);
+    }
+  }
+
+  private static byte[] keyIdBytes(int keyId) {
+    return ByteBuffer.allocate(Integer.BYTES).putInt(keyId).array();
+  }
+}
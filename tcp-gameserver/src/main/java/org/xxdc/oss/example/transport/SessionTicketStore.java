@@ -0,0 +1,35 @@
+package org.xxdc.oss.example.transport;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the most recent {@link SessionTicket} issued to a client so that a subsequent connection to
+ * the same server can resume the secure session. Tickets are single-use: taking a ticket removes
+ * it, and each resumed session is issued a replacement.
+ */
+public final class SessionTicketStore {
+
+  private final AtomicReference<SessionTicket> ticket = new AtomicReference<>();
+
+  /** Constructs a new, empty {@link SessionTicketStore}. */
+  public SessionTicketStore() {}
+
+  /**
+   * Stores the given ticket, replacing any previously held ticket.
+   *
+   * @param sessionTicket the ticket to store
+   */
+  public void store(SessionTicket sessionTicket) {
+    ticket.set(sessionTicket);
+  }
+
+  /**
+   * Removes and returns the held ticket, if any.
+   *
+   * @return the held ticket, or {@link Optional#empty()} if there is none
+   */
+  public Optional<SessionTicket> take() {
+    return Optional.ofNullable(ticket.getAndSet(null));
+  }
+}
@@ -0,0 +1,34 @@
+package org.xxdc.oss.example.transport.tcp;
+
+import java.time.Duration;
+import org.xxdc.oss.example.transport.TransportException;
+
+/**
+ * Thrown by a client when the server rejects it at the start of a game because it is at capacity.
+ * The client should wait at least {@link #retryAfter()} before reconnecting.
+ */
+public class ServerBusyException extends TransportException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final Duration retryAfter;
+
+  /**
+   * Constructs a new {@link ServerBusyException} with the delay requested by the server.
+   *
+   * @param retryAfter how long the client should wait before reconnecting
+   */
+  public ServerBusyException(Duration retryAfter) {
+    super("Server busy, retry after " + retryAfter.toMillis() + "ms");
+    this.retryAfter = retryAfter;
+  }
+
+  /**
+   * Returns how long the client should wait before reconnecting.
+   *
+   * @return the retry delay requested by the server
+   */
+  public Duration retryAfter() {
+    return retryAfter;
+  }
+}
@@ -0,0 +1,26 @@
+package org.xxdc.oss.example.transport.tcp;
+
+/**
+ * A snapshot of the game server's load, reported to clients in the "start" and "reject" messages so
+ * they can back off or pick another server before the server is saturated.
+ *
+ * @param concurrentGames the number of games in progress
+ * @param maxConcurrentGames the maximum number of games the server admits at once
+ * @param pendingHandshakes the number of admitted connections not yet playing a game
+ * @param maxPendingHandshakes the maximum number of connections the server holds before a game
+ */
+public record ServerLoad(
+    int concurrentGames, int maxConcurrentGames, int pendingHandshakes, int maxPendingHandshakes) {
+
+  /**
+   * Formats this load as a JSON object for inclusion in protocol messages.
+   *
+   * @return the JSON representation of this load
+   */
+  public String asJsonString() {
+    return String.format(
+        "{\"concurrentGames\":%d,\"maxConcurrentGames\":%d,"
+            + "\"pendingHandshakes\":%d,\"maxPendingHandshakes\":%d}",
+        concurrentGames, maxConcurrentGames, pendingHandshakes, maxPendingHandshakes);
+  }
+}
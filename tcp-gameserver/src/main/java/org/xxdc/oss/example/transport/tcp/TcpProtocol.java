@@ -1,5 +1,6 @@
 package org.xxdc.oss.example.transport.tcp;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.regex.Matcher;
@@ -10,7 +11,8 @@ import org.xxdc.oss.example.GameState;
 /**
  * Provides utility methods for parsing and formatting JSON messages used in the TCP protocol for
  * the game. The protocol defines two main message types: "start" to indicate the game has started,
- * and "nextMove" to communicate the current game state.
+ * and "nextMove" to communicate the current game state. A server at capacity answers with "reject"
+ * in place of "start", asking the client to retry after a delay.
  */
 public class TcpProtocol {
 
@@ -29,6 +31,50 @@ public class TcpProtocol {
   public static final String GAME_STARTED_JSON_FORMAT =
       "{" + "\"version\":1," + "\"message\":\"start\"," + "\"assignedPlayerMarker\":\"%s\"" + "}";
 
+  /**
+   * A constant representing the JSON format for a "game started" message that also reports the
+   * server's load, as produced by {@link ServerLoad#asJsonString()}. Clients that do not read the
+   * load still match {@link #GAME_STARTED_JSON_PATTERN}.
+   */
+  public static final String GAME_STARTED_WITH_LOAD_JSON_FORMAT =
+      "{"
+          + "\"version\":1,"
+          + "\"message\":\"start\","
+          + "\"assignedPlayerMarker\":\"%s\","
+          + "\"load\":%s"
+          + "}";
+
+  /**
+   * A constant representing the JSON format for a "game rejected" message, sent in place of "game
+   * started" when the server is at capacity. It includes the number of milliseconds the client
+   * should wait before reconnecting and the server's load.
+   */
+  public static final String GAME_REJECTED_JSON_FORMAT =
+      "{"
+          + "\"version\":1,"
+          + "\"message\":\"reject\","
+          + "\"retryAfterMillis\":%d,"
+          + "\"load\":%s"
+          + "}";
+
+  /**
+   * A regular expression pattern that matches a JSON string representing a "game rejected" message.
+   * The pattern captures the following groups: 1. The version number as an integer 2. The retry
+   * delay in milliseconds
+   */
+  public static final Pattern GAME_REJECTED_JSON_PATTERN =
+      Pattern.compile(
+          "\\{\\\"version\\\":(\\d+),\\\"message\\\":\\\"reject\\\",\\\"retryAfterMillis\\\":(\\d+).*}");
+
+  /**
+   * A regular expression pattern that matches the server load reported within a "start" or "reject"
+   * message.
+   */
+  public static final Pattern SERVER_LOAD_JSON_PATTERN =
+      Pattern.compile(
+          "\\\"load\\\":\\{\\\"concurrentGames\\\":(\\d+),\\\"maxConcurrentGames\\\":(\\d+),"
+              + "\\\"pendingHandshakes\\\":(\\d+),\\\"maxPendingHandshakes\\\":(\\d+)\\}");
+
   /**
    * A regular expression pattern that matches a JSON string representing a "game started" message.
    * The pattern captures the following groups: 1. The version number as an integer 2. The message
@@ -116,4 +162,42 @@ public class TcpProtocol {
     }
     return Optional.ofNullable(playerMarker);
   }
+
+  /**
+   * Parses a JSON string representing a "game rejected" message and returns the delay the server
+   * asked the client to wait before reconnecting.
+   *
+   * @param serverMessage the JSON string representing the "game rejected" message
+   * @return an {@link Optional} containing the retry delay, or {@link Optional#empty()} if the
+   *     input string is not a "game rejected" message
+   */
+  public static Optional<Duration> fromGameRejectedState(String serverMessage) {
+    Matcher matcher = TcpProtocol.GAME_REJECTED_JSON_PATTERN.matcher(serverMessage);
+    Duration retryAfter = null;
+    if (matcher.matches()) {
+      retryAfter = Duration.ofMillis(Long.parseLong(matcher.group(2)));
+    }
+    return Optional.ofNullable(retryAfter);
+  }
+
+  /**
+   * Parses the server load reported within a "game started" or "game rejected" message.
+   *
+   * @param serverMessage the JSON string representing the "game started" or "game rejected" message
+   * @return an {@link Optional} containing the server load, or {@link Optional#empty()} if the
+   *     message does not report the server's load
+   */
+  public static Optional<ServerLoad> fromServerLoad(String serverMessage) {
+    Matcher matcher = TcpProtocol.SERVER_LOAD_JSON_PATTERN.matcher(serverMessage);
+    ServerLoad load = null;
+    if (matcher.find()) {
+      load =
+          new ServerLoad(
+              Integer.parseInt(matcher.group(1)),
+              Integer.parseInt(matcher.group(2)),
+              Integer.parseInt(matcher.group(3)),
+              Integer.parseInt(matcher.group(4)));
+    }
+    return Optional.ofNullable(load);
+  }
 }
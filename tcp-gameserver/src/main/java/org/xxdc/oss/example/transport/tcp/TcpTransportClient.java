@@ -46,6 +46,8 @@ public record TcpTransportClient<T extends Player>(MessageHandler connection, T
    * Runs the TCP transport client, initializing the player marker, receiving messages from the
    * server, and handling the game logic based on the received messages. The client will continue to
    * receive messages until an exit code is received from the server.
+   *
+   * @throws ServerBusyException if the server rejects the client because it is at capacity
    */
   public void run() {
     log.log(Level.DEBUG, "Started TCP transport client");
@@ -95,6 +97,12 @@ public record TcpTransportClient<T extends Player>(MessageHandler connection, T
   private String initPlayerMarker() throws IOException {
     String serverMessage = connection.receiveMessage();
     log.log(Level.DEBUG, "Received initial message from server: {0}", serverMessage);
+    var retryAfter = TcpProtocol.fromGameRejectedState(serverMessage);
+    if (retryAfter.isPresent()) {
+      throw new ServerBusyException(retryAfter.get());
+    }
+    TcpProtocol.fromServerLoad(serverMessage)
+        .ifPresent(load -> log.log(Level.DEBUG, "Server reported load: {0}", load));
     String playerMarker =
         TcpProtocol.fromGameStartedState(serverMessage)
             .orElseThrow(
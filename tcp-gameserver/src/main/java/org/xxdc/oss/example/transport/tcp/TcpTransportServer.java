@@ -6,7 +6,10 @@ import java.io.ObjectOutputStream;
 import java.lang.System.Logger;
 import java.lang.System.Logger.Level;
 import java.net.Socket;
+import java.time.Duration;
+import java.util.function.Supplier;
 import org.xxdc.oss.example.GameState;
+import org.xxdc.oss.example.security.KeyPairPool;
 import org.xxdc.oss.example.transport.*;
 
 /**
@@ -22,6 +25,8 @@ public class TcpTransportServer implements TransportServer {
 
   private final MessageHandler handler;
 
+  private final Supplier<ServerLoad> serverLoad;
+
   /**
    * Constructs a new {@link TcpTransportServer} instance with the provided {@link Socket}. This
    * constructor initializes the {@link SecureBouncyCastleKyberServer} with a {@link
@@ -32,13 +37,71 @@ public class TcpTransportServer implements TransportServer {
    *     handler
    */
   public TcpTransportServer(Socket socket) {
+    this(socket, (SessionTicketIssuer) null);
+  }
+
+  /**
+   * Constructs a new {@link TcpTransportServer} instance with the provided {@link Socket} that
+   * supports secure session resumption. This constructor initializes the {@link SecureKyberServer}
+   * with a {@link DuplexMessageHandler} that uses the input and output streams of the provided
+   * socket and the given {@link SessionTicketIssuer}.
+   *
+   * @param socket the {@link Socket} to use for the transport server
+   * @param ticketIssuer the issuer of session tickets shared across connections, or null to always
+   *     perform a full handshake
+   * @throws TransportException if an {@link IOException} occurs while initializing the message
+   *     handler
+   */
+  public TcpTransportServer(Socket socket, SessionTicketIssuer ticketIssuer) {
+    this(socket, ticketIssuer, (KeyPairPool) null);
+  }
+
+  /**
+   * Constructs a new {@link TcpTransportServer} instance with the provided {@link Socket} that
+   * supports secure session resumption and draws handshake key pairs from a shared pool.
+   *
+   * @param socket the {@link Socket} to use for the transport server
+   * @param ticketIssuer the issuer of session tickets shared across connections, or null to always
+   *     perform a full handshake
+   * @param keyPairPool the pool of pre-generated ML-KEM-1024 key pairs shared across connections,
+   *     or null to generate key pairs inline
+   * @throws TransportException if an {@link IOException} occurs while initializing the message
+   *     handler
+   */
+  public TcpTransportServer(
+      Socket socket, SessionTicketIssuer ticketIssuer, KeyPairPool keyPairPool) {
+    this(socket, ticketIssuer, keyPairPool, null);
+  }
+
+  /**
+   * Constructs a new {@link TcpTransportServer} instance with the provided {@link Socket} that
+   * supports secure session resumption, draws handshake key pairs from a shared pool and reports
+   * the server's load to the client at the start of the game.
+   *
+   * @param socket the {@link Socket} to use for the transport server
+   * @param ticketIssuer the issuer of session tickets shared across connections, or null to always
+   *     perform a full handshake
+   * @param keyPairPool the pool of pre-generated ML-KEM-1024 key pairs shared across connections,
+   *     or null to generate key pairs inline
+   * @param serverLoad the supplier of the server's current load, or null to not report load
+   * @throws TransportException if an {@link IOException} occurs while initializing the message
+   *     handler
+   */
+  public TcpTransportServer(
+      Socket socket,
+      SessionTicketIssuer ticketIssuer,
+      KeyPairPool keyPairPool,
+      Supplier<ServerLoad> serverLoad) {
     this.socket = socket;
+    this.serverLoad = serverLoad;
     try {
       this.handler =
           new SecureKyberServer(
               new DuplexMessageHandler(
                   new ObjectOutputStream(socket.getOutputStream()),
-                  new ObjectInputStream(socket.getInputStream())));
+                  new ObjectInputStream(socket.getInputStream())),
+              ticketIssuer,
+              keyPairPool);
     } catch (IOException e) {
       throw new TransportException("IO exception: " + e.getMessage(), e);
     }
@@ -55,6 +118,7 @@ public class TcpTransportServer implements TransportServer {
   public TcpTransportServer(Socket socket, MessageHandler handler) {
     this.socket = socket;
     this.handler = handler;
+    this.serverLoad = null;
   }
 
   @Override
@@ -67,7 +131,12 @@ public class TcpTransportServer implements TransportServer {
     try {
       handler.init();
       handler.sendMessage(
-          String.format(TcpProtocol.GAME_STARTED_JSON_FORMAT, configuration.playerMarker()));
+          serverLoad == null
+              ? String.format(TcpProtocol.GAME_STARTED_JSON_FORMAT, configuration.playerMarker())
+              : String.format(
+                  TcpProtocol.GAME_STARTED_WITH_LOAD_JSON_FORMAT,
+                  configuration.playerMarker(),
+                  serverLoad.get().asJsonString()));
     } catch (IOException e) {
       log.log(
           Level.WARNING,
@@ -78,6 +147,28 @@ public class TcpTransportServer implements TransportServer {
     }
   }
 
+  /**
+   * Rejects the client instead of starting a game because the server is at capacity. Completes the
+   * secure handshake, sends a "reject" message asking the client to retry after the given delay,
+   * and closes the connection.
+   *
+   * @param retryAfter how long the client should wait before reconnecting
+   * @throws TransportException if an {@link IOException} occurs while rejecting the client
+   */
+  public void reject(Duration retryAfter) {
+    log.log(Level.DEBUG, "Rejecting socket {0}, retry after {1}.", socket, retryAfter);
+    try (handler) {
+      handler.init();
+      handler.sendMessage(
+          String.format(
+              TcpProtocol.GAME_REJECTED_JSON_FORMAT,
+              retryAfter.toMillis(),
+              serverLoad == null ? "null" : serverLoad.get().asJsonString()));
+    } catch (Exception e) {
+      throw new TransportException(e.getMessage(), e);
+    }
+  }
+
   @Override
   public void close() throws Exception {
     if (socket.isClosed()) {
@@ -7,6 +7,7 @@ import java.net.Socket;
 import org.xxdc.oss.example.Player;
 import org.xxdc.oss.example.transport.DuplexMessageHandler;
 import org.xxdc.oss.example.transport.SecureKyberClient;
+import org.xxdc.oss.example.transport.SessionTicketStore;
 
 /** A utility class for creating transport clients and servers. */
 public class TcpTransports {
@@ -24,11 +25,29 @@ public class TcpTransports {
    */
   public static <P extends Player> TcpTransportClient<P> newTcpTransportClient(
       P player, Socket socket) throws IOException {
+    return newTcpTransportClient(player, socket, null);
+  }
+
+  /**
+   * Creates a new TCP transport client for the given player and socket that resumes secure sessions
+   * using the tickets held in the given store.
+   *
+   * @param <P> the type of player
+   * @param player the player instance
+   * @param socket the socket to use for the transport
+   * @param ticketStore the store of session tickets shared across reconnects, or null to always
+   *     perform a full handshake
+   * @return a new TCP transport client
+   * @throws IOException if an I/O error occurs
+   */
+  public static <P extends Player> TcpTransportClient<P> newTcpTransportClient(
+      P player, Socket socket, SessionTicketStore ticketStore) throws IOException {
     return new TcpTransportClient<>(
         new SecureKyberClient(
             new DuplexMessageHandler(
                 new ObjectOutputStream(socket.getOutputStream()),
-                new ObjectInputStream(socket.getInputStream()))),
+                new ObjectInputStream(socket.getInputStream())),
+            ticketStore),
         player);
   }
 }
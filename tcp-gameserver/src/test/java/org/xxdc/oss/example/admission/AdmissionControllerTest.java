@@ -0,0 +1,65 @@
+package org.xxdc.oss.example.admission;
+
+import static org.testng.Assert.*;
+
+import java.time.Duration;
+import org.testng.annotations.Test;
+import org.xxdc.oss.example.admission.AdmissionController.Admission;
+import org.xxdc.oss.example.transport.tcp.ServerLoad;
+
+public class AdmissionControllerTest {
+
+  @Test
+  public void should_admit_until_pending_handshakes_are_exhausted_then_shed() {
+    var admission = new AdmissionController(10, 2, Duration.ofSeconds(1));
+    assertEquals(admission.admit(), Admission.ADMIT);
+    assertEquals(admission.admit(), Admission.ADMIT);
+    assertEquals(admission.admit(), Admission.SHED);
+    assertEquals(admission.shed(), 1);
+    assertTrue(admission.tryStartGame(2));
+    // Starting the game keeps the slots until the handshakes complete
+    assertEquals(admission.admit(), Admission.SHED);
+    admission.releasePending();
+    assertEquals(admission.admit(), Admission.ADMIT);
+  }
+
+  @Test
+  public void should_reject_with_retry_after_once_games_are_at_capacity() {
+    var admission = new AdmissionController(1, 10, Duration.ofMillis(750));
+    admission.admit();
+    admission.admit();
+    assertTrue(admission.tryStartGame(2));
+    admission.releasePending();
+    admission.releasePending();
+    assertEquals(admission.admit(), Admission.REJECT);
+    assertEquals(admission.rejected(), 1);
+    assertEquals(admission.retryAfter(), Duration.ofMillis(750));
+    admission.releasePending();
+    admission.endGame();
+    assertEquals(admission.admit(), Admission.ADMIT);
+  }
+
+  @Test
+  public void should_not_start_more_games_than_allowed() {
+    var admission = new AdmissionController(1, 10, Duration.ofSeconds(1));
+    for (int i = 0; i < 4; i++) {
+      admission.admit();
+    }
+    assertTrue(admission.tryStartGame(2));
+    assertFalse(admission.tryStartGame(2));
+    assertEquals(admission.rejected(), 2);
+    assertEquals(admission.load(), new ServerLoad(1, 1, 4, 10));
+    for (int i = 0; i < 4; i++) {
+      admission.releasePending();
+    }
+    assertEquals(admission.load(), new ServerLoad(1, 1, 0, 10));
+  }
+
+  @Test
+  public void should_reject_non_positive_limits() {
+    assertThrows(
+        IllegalArgumentException.class, () -> new AdmissionController(0, 1, Duration.ofSeconds(1)));
+    assertThrows(
+        IllegalArgumentException.class, () -> new AdmissionController(1, 0, Duration.ofSeconds(1)));
+  }
+}
@@ -0,0 +1,85 @@
+package org.xxdc.oss.example.loadgen;
+
+import static org.testng.Assert.*;
+
+import java.util.stream.IntStream;
+import org.testng.annotations.Test;
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void should_report_zero_when_empty() {
+    var histogram = new LatencyHistogram(1_000_000);
+    assertEquals(histogram.count(), 0);
+    assertEquals(histogram.min(), 0);
+    assertEquals(histogram.max(), 0);
+    assertEquals(histogram.valueAtPercentile(99), 0);
+  }
+
+  @Test
+  public void should_track_values_within_one_percent() {
+    var histogram = new LatencyHistogram(10_000_000);
+    IntStream.rangeClosed(1, 100_000).forEach(histogram::recordValue);
+    assertEquals(histogram.count(), 100_000);
+    assertEquals(histogram.min(), 1);
+    assertEquals(histogram.max(), 100_000);
+    assertEquals(histogram.mean(), 50_000.5, 0.001);
+    assertWithinOnePercent(histogram.valueAtPercentile(50), 50_000);
+    assertWithinOnePercent(histogram.valueAtPercentile(90), 90_000);
+    assertWithinOnePercent(histogram.valueAtPercentile(99.9), 99_900);
+    assertEquals(histogram.valueAtPercentile(100), 100_000);
+  }
+
+  @Test
+  public void should_map_every_value_into_a_bucket_that_contains_it() {
+    for (long value = 0; value < 1_000_000; value += 7) {
+      int index = LatencyHistogram.indexOf(value);
+      assertTrue(LatencyHistogram.highestEquivalentValue(index) >= value);
+      assertTrue(index == 0 || LatencyHistogram.highestEquivalentValue(index - 1) < value);
+    }
+  }
+
+  @Test
+  public void should_bound_bucket_error_within_one_percent_at_every_magnitude() {
+    for (long magnitude = 1_000; magnitude <= 10_000_000_000L; magnitude *= 10) {
+      for (long value = magnitude; value < 10 * magnitude; value += magnitude / 1_000) {
+        int index = LatencyHistogram.indexOf(value);
+        long lowest = LatencyHistogram.highestEquivalentValue(index - 1) + 1;
+        long highest = LatencyHistogram.highestEquivalentValue(index);
+        assertTrue(highest - lowest <= lowest / 100, "bucket of " + value + " too wide");
+      }
+    }
+  }
+
+  @Test
+  public void should_clamp_values_above_highest_trackable_value() {
+    var histogram = new LatencyHistogram(1_000);
+    histogram.recordValue(5_000);
+    assertEquals(histogram.count(), 1);
+    assertEquals(histogram.max(), 1_000);
+  }
+
+  @Test
+  public void should_reject_negative_values_and_invalid_percentiles() {
+    var histogram = new LatencyHistogram(1_000);
+    assertThrows(IllegalArgumentException.class, () -> histogram.recordValue(-1));
+    assertThrows(IllegalArgumentException.class, () -> histogram.valueAtPercentile(100.1));
+  }
+
+  @Test
+  public void should_format_machine_readable_report() {
+    var report = new LoadReport(10);
+    report.recordArrival();
+    report.recordCompletion();
+    report.record(LoadPhase.CONNECT, 2_000_000);
+    var json = report.asJsonString();
+    assertTrue(json.startsWith("{\"version\":1,\"unit\":\"us\",\"targetRate\":10.00,"), json);
+    assertTrue(json.contains("\"arrivals\":1,\"completed\":1,\"failed\":0"), json);
+    assertTrue(json.contains("\"connect\":{\"count\":1,\"min\":2000,"), json);
+    assertTrue(json.contains("\"p999\":"), json);
+  }
+
+  private static void assertWithinOnePercent(long actual, long expected) {
+    assertEquals(actual, expected, expected / 100.0);
+  }
+}
@@ -0,0 +1,117 @@
+package org.xxdc.oss.example.matchmaking;
+
+import static org.testng.Assert.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.Test;
+
+public class MatchmakerTest {
+
+  private static final MatchConfiguration THREE_BY_THREE = new MatchConfiguration(3, false);
+
+  @Test
+  public void should_pair_players_waiting_for_the_same_configuration() throws Exception {
+    var listener = new RecordingListener(1);
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      var matchmaker = new Matchmaker<>(Duration.ofMinutes(1), executor, listener);
+      matchmaker.enqueue(THREE_BY_THREE, "alice");
+      assertEquals(matchmaker.waitingPlayers(), 1);
+      matchmaker.enqueue(THREE_BY_THREE, "bob");
+      listener.await();
+      assertEquals(listener.matches, List.of(List.of("alice", "bob")));
+      assertEquals(matchmaker.waitingPlayers(), 0);
+      assertEquals(matchmaker.matches(), 1);
+    }
+  }
+
+  @Test
+  public void should_not_pair_players_waiting_for_different_board_sizes() throws Exception {
+    var listener = new RecordingListener(0);
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      var matchmaker = new Matchmaker<>(Duration.ofMinutes(1), executor, listener);
+      matchmaker.enqueue(THREE_BY_THREE, "alice");
+      matchmaker.enqueue(new MatchConfiguration(4, false), "bob");
+      assertEquals(matchmaker.waitingPlayers(), 2);
+      assertEquals(matchmaker.matches(), 0);
+    }
+  }
+
+  @Test
+  public void should_fall_back_to_bot_after_timeout() throws Exception {
+    var listener = new RecordingListener(1);
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      var matchmaker = new Matchmaker<>(Duration.ofMillis(50), executor, listener);
+      matchmaker.enqueue(new MatchConfiguration(3, true), "alice");
+      listener.await();
+      assertEquals(listener.timedOut, List.of("alice"));
+      assertEquals(matchmaker.waitingPlayers(), 0);
+      assertEquals(matchmaker.botFallbacks(), 1);
+      assertTrue(matchmaker.maxWaitMillis() >= 50);
+    }
+  }
+
+  @Test
+  public void should_keep_waiting_without_bot_fallback() throws Exception {
+    var listener = new RecordingListener(0);
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      var matchmaker = new Matchmaker<>(Duration.ofMillis(10), executor, listener);
+      matchmaker.enqueue(THREE_BY_THREE, "alice");
+      Thread.sleep(100);
+      assertTrue(listener.timedOut.isEmpty());
+      assertEquals(matchmaker.waitingPlayers(), 1);
+    }
+  }
+
+  @Test
+  public void should_match_every_player_exactly_once_under_contention() throws Exception {
+    int players = 2_000;
+    var listener = new RecordingListener(players / 2);
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      var matchmaker = new Matchmaker<>(Duration.ofMinutes(1), executor, listener);
+      for (int i = 0; i < players; i++) {
+        var player = "player-" + i;
+        executor.execute(() -> matchmaker.enqueue(THREE_BY_THREE, player));
+      }
+      listener.await();
+      var seen = ConcurrentHashMap.<String>newKeySet();
+      listener.matches.forEach(match -> match.forEach(player -> assertTrue(seen.add(player))));
+      assertEquals(seen.size(), players);
+      assertEquals(matchmaker.matches(), players / 2);
+    }
+  }
+
+  private static class RecordingListener implements MatchListener<String> {
+
+    private final List<List<String>> matches = new CopyOnWriteArrayList<>();
+
+    private final List<String> timedOut = new CopyOnWriteArrayList<>();
+
+    private final CountDownLatch outcomes;
+
+    RecordingListener(int expectedOutcomes) {
+      this.outcomes = new CountDownLatch(expectedOutcomes);
+    }
+
+    @Override
+    public void matched(MatchConfiguration configuration, String first, String second) {
+      matches.add(List.of(first, second));
+      outcomes.countDown();
+    }
+
+    @Override
+    public void timedOut(MatchConfiguration configuration, String waiting) {
+      timedOut.add(waiting);
+      outcomes.countDown();
+    }
+
+    void await() throws InterruptedException {
+      assertTrue(outcomes.await(10, TimeUnit.SECONDS));
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package org.xxdc.oss.example.security;
+
+import static org.testng.Assert.*;
+
+import java.security.KeyPair;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.Test;
+
+public class KeyPairPoolTest {
+
+  @Test
+  public void should_serve_pre_generated_key_pairs_as_hits() throws Exception {
+    try (var pool = new KeyPairPool("ML-KEM-1024", 4, 1)) {
+      awaitAvailable(pool, 4);
+      var keyPair = pool.take();
+      assertNotNull(keyPair);
+      assertEquals(pool.hits(), 1);
+      assertEquals(pool.misses(), 0);
+    }
+  }
+
+  @Test
+  public void should_never_hand_out_the_same_key_pair_twice() throws Exception {
+    try (var pool = new KeyPairPool("ML-KEM-1024", 2, 0)) {
+      var publicKeys = new HashSet<String>();
+      for (int i = 0; i < 8; i++) {
+        KeyPair keyPair = pool.take();
+        assertTrue(publicKeys.add(HexFormat.of().formatHex(keyPair.getPublic().getEncoded())));
+      }
+      assertEquals(pool.hits() + pool.misses(), 8);
+    }
+  }
+
+  @Test
+  public void should_generate_inline_as_miss_once_closed() throws Exception {
+    var pool = new KeyPairPool("ML-KEM-1024", 2, 0);
+    pool.close();
+    assertNotNull(pool.take());
+    assertEquals(pool.hits(), 0);
+    assertEquals(pool.misses(), 1);
+  }
+
+  @Test
+  public void should_reject_invalid_capacity_and_threshold() {
+    assertThrows(IllegalArgumentException.class, () -> new KeyPairPool("ML-KEM-1024", 0, 0));
+    assertThrows(IllegalArgumentException.class, () -> new KeyPairPool("ML-KEM-1024", 4, 4));
+    assertThrows(IllegalArgumentException.class, () -> new KeyPairPool("ML-KEM-1024", 4, -1));
+  }
+
+  private static void awaitAvailable(KeyPairPool pool, int expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (pool.available() < expected && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(pool.available(), expected);
+  }
+}
@@ -3,6 +3,7 @@ package org.xxdc.oss.example.transport;
 import static org.testng.Assert.*;
 
 import java.io.*;
+import java.util.concurrent.CompletableFuture;
 import org.testng.annotations.Test;
 
 public class SecureKyberTest {
@@ -44,4 +45,64 @@ public class SecureKyberTest {
         client.receiveMessage(),
         "Different denotes neither bad nor good, but it certainly means not the same.");
   }
+
+  @Test
+  public void test_reconnect_resumes_session_from_ticket() throws Exception {
+    var ticketIssuer = new SessionTicketIssuer();
+    var ticketStore = new SessionTicketStore();
+
+    var first = connect(ticketIssuer, ticketStore, "first");
+    assertFalse(first.isResumed());
+    assertEquals(first.receiveMessage(), "first");
+
+    var second = connect(ticketIssuer, ticketStore, "second");
+    assertTrue(second.isResumed());
+    assertEquals(second.receiveMessage(), "second");
+  }
+
+  @Test
+  public void test_reconnect_falls_back_to_full_handshake_for_unknown_ticket() throws Exception {
+    var ticketStore = new SessionTicketStore();
+
+    connect(new SessionTicketIssuer(), ticketStore, "first");
+    // A different server cannot redeem the ticket
+    var second = connect(new SessionTicketIssuer(), ticketStore, "second");
+    assertFalse(second.isResumed());
+    assertEquals(second.receiveMessage(), "second");
+  }
+
+  private SecureKyberClient connect(
+      SessionTicketIssuer ticketIssuer, SessionTicketStore ticketStore, String message)
+      throws Exception {
+    var clientOut = new PipedOutputStream();
+    var serverIn = new PipedInputStream(clientOut);
+    var serverOut = new PipedOutputStream();
+    var clientIn = new PipedInputStream(serverOut);
+
+    var serverResumed =
+        CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                var server =
+                    new SecureKyberServer(
+                        new DuplexMessageHandler(
+                            new ObjectOutputStream(serverOut), new ObjectInputStream(serverIn)),
+                        ticketIssuer);
+                server.init();
+                server.sendMessage(message);
+                return server.isResumed();
+              } catch (IOException e) {
+                throw new RuntimeException(e);
+              }
+            });
+
+    var client =
+        new SecureKyberClient(
+            new DuplexMessageHandler(
+                new ObjectOutputStream(clientOut), new ObjectInputStream(clientIn)),
+            ticketStore);
+    client.init();
+    assertEquals(serverResumed.get().booleanValue(), client.isResumed());
+    return client;
+  }
 }
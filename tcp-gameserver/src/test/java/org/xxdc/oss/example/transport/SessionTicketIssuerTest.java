@@ -0,0 +1,62 @@
+package org.xxdc.oss.example.transport;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.crypto.spec.SecretKeySpec;
+import org.testng.annotations.Test;
+
+public class SessionTicketIssuerTest {
+
+  private final AtomicLong now = new AtomicLong(1_000_000L);
+
+  private final InstantSource clock = () -> Instant.ofEpochMilli(now.get());
+
+  private final SecretKeySpec secret = new SecretKeySpec(new byte[32], "Generic");
+
+  @Test
+  public void should_redeem_issued_ticket() {
+    var issuer = new SessionTicketIssuer(Duration.ofMinutes(10), Duration.ofMinutes(30), clock);
+    var redeemed = issuer.redeem(issuer.issue(secret));
+    assertTrue(redeemed.isPresent());
+    assertEquals(redeemed.get().getEncoded(), secret.getEncoded());
+  }
+
+  @Test
+  public void should_redeem_ticket_sealed_under_previous_key() {
+    var issuer = new SessionTicketIssuer(Duration.ofMinutes(10), Duration.ofMinutes(30), clock);
+    var ticket = issuer.issue(secret);
+    now.addAndGet(Duration.ofMinutes(11).toMillis());
+    assertTrue(issuer.redeem(ticket).isPresent());
+  }
+
+  @Test
+  public void should_reject_ticket_sealed_under_retired_key() {
+    var issuer = new SessionTicketIssuer(Duration.ofMinutes(10), Duration.ofHours(1), clock);
+    var ticket = issuer.issue(secret);
+    now.addAndGet(Duration.ofMinutes(11).toMillis());
+    issuer.issue(secret);
+    now.addAndGet(Duration.ofMinutes(11).toMillis());
+    assertTrue(issuer.redeem(ticket).isEmpty());
+  }
+
+  @Test
+  public void should_reject_expired_ticket() {
+    var issuer = new SessionTicketIssuer(Duration.ofHours(1), Duration.ofMinutes(5), clock);
+    var ticket = issuer.issue(secret);
+    now.addAndGet(Duration.ofMinutes(5).toMillis());
+    assertTrue(issuer.redeem(ticket).isEmpty());
+  }
+
+  @Test
+  public void should_reject_tampered_ticket() {
+    var issuer = new SessionTicketIssuer(Duration.ofHours(1), Duration.ofHours(1), clock);
+    var ticket = issuer.issue(secret);
+    ticket[ticket.length - 1] ^= 1;
+    assertTrue(issuer.redeem(ticket).isEmpty());
+  }
+}
@@ -1,8 +1,10 @@
 package org.xxdc.oss.example.transport.tcp;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.regex.Matcher;
 import org.testng.annotations.Test;
@@ -30,4 +32,23 @@ public class TcpProtocolTest {
     assertEquals(state.board().dimension(), 3);
     assertEquals(state.board().availableMoves(), List.of(1, 3, 5, 7));
   }
+
+  @Test
+  public void testGameStartedWithLoadMessageIsReadableAsGameStarted() {
+    var load = new ServerLoad(3, 100, 7, 50);
+    String msg =
+        String.format(TcpProtocol.GAME_STARTED_WITH_LOAD_JSON_FORMAT, "O", load.asJsonString());
+    assertEquals(TcpProtocol.fromGameStartedState(msg).orElseThrow(), "O");
+    assertEquals(TcpProtocol.fromServerLoad(msg).orElseThrow(), load);
+    assertTrue(TcpProtocol.fromGameRejectedState(msg).isEmpty());
+  }
+
+  @Test
+  public void testCanRetrieveRetryAfterFromGameRejectedMessage() {
+    var load = new ServerLoad(100, 100, 1, 50);
+    String msg = String.format(TcpProtocol.GAME_REJECTED_JSON_FORMAT, 1500, load.asJsonString());
+    assertEquals(TcpProtocol.fromGameRejectedState(msg).orElseThrow(), Duration.ofMillis(1500));
+    assertEquals(TcpProtocol.fromServerLoad(msg).orElseThrow(), load);
+    assertFalse(TcpProtocol.fromGameStartedState(msg).isPresent());
+  }
 }
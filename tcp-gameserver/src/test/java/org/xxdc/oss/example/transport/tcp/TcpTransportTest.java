@@ -1,10 +1,14 @@
 package org.xxdc.oss.example.transport.tcp;
 
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.expectThrows;
+
 import java.io.IOException;
 import java.lang.System.Logger;
 import java.lang.System.Logger.Level;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -33,6 +37,31 @@ public class TcpTransportTest {
     createClientServerGame(BotPlayer::new, BotPlayer::new);
   }
 
+  @Test(timeOut = 30000)
+  public void testClientIsRejectedWithRetryAfterWhenServerIsBusy() throws Exception {
+    var load = new ServerLoad(10, 10, 1, 100);
+    try (var serverSocket = new ServerSocket(0);
+        var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      var rejected =
+          CompletableFuture.runAsync(
+              () -> {
+                try {
+                  new TcpTransportServer(serverSocket.accept(), null, null, () -> load)
+                      .reject(Duration.ofMillis(250));
+                } catch (IOException e) {
+                  throw new RuntimeException(e);
+                }
+              },
+              executor);
+      try (var socket = new Socket(SERVER_HOST, serverSocket.getLocalPort());
+          var client = TcpTransports.newTcpTransportClient(new BotPlayer(), socket)) {
+        var e = expectThrows(ServerBusyException.class, client::run);
+        assertEquals(e.retryAfter(), Duration.ofMillis(250));
+      }
+      rejected.get();
+    }
+  }
+
   @Ignore("This is a manual test that needs to be run manually")
   public void testCanCreateClientServerHumanBotGame() throws Exception {
     createClientServerGame(HumanPlayer::new, BotPlayer::new);